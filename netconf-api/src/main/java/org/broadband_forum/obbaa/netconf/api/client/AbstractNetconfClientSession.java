@@ -26,7 +26,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.broadband_forum.obbaa.netconf.api.ClosureReason;
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
@@ -63,6 +65,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+
 /**
  * An abstract class that takes care of converting Pojo netconf requests into {@link Document}. The class delegates the actual transport of
  * the {@link Document} to the subclasses via {@link #sendRpcMessage(String, Document, long)}
@@ -82,6 +87,8 @@ public abstract class AbstractNetconfClientSession implements NetconfClientSessi
     private Set<NotificationListener> m_notificationListeners = new CopyOnWriteArraySet<>();
     private long m_idleTimeStart;
     private ClosureReason m_closureReason;
+    private Timer m_responseTimeoutTimer;
+    private final LongAdder m_timedOutRequests = new LongAdder();
 
     public AbstractNetconfClientSession() {
         super();
@@ -162,11 +169,57 @@ public abstract class AbstractNetconfClientSession implements NetconfClientSessi
             responseFuture = new NetconfResponseFuture(1, TimeUnit.MILLISECONDS);
             responseFuture.complete(null);
         }
+        scheduleResponseTimeout(currentMessageId, responseFuture, request.getReplyTimeout());
         resetIdleTimeStart();
         unsetConfigElement(request);
         return responseFuture;
     }
 
+    /**
+     * Sets the timer used to expire the requests that are not answered within their reply timeout. An expired request is
+     * removed from the outstanding requests and its future is completed exceptionally with a {@link TimeoutException}.
+     * Without a timer the reply timeout is only enforced by {@link NetconfResponseFuture#get()}.
+     */
+    public void setResponseTimeoutTimer(Timer responseTimeoutTimer) {
+        m_responseTimeoutTimer = responseTimeoutTimer;
+    }
+
+    public int getOutstandingRequestCount() {
+        return m_responseFutures.size();
+    }
+
+    public long getTimedOutRequestCount() {
+        return m_timedOutRequests.sum();
+    }
+
+    private void scheduleResponseTimeout(String messageId, NetconfResponseFuture responseFuture, long replyTimeoutMillis) {
+        Timer timer = m_responseTimeoutTimer;
+        if (timer == null || responseFuture == null || responseFuture.isDone() || replyTimeoutMillis <= 0) {
+            return;
+        }
+        Timeout timeout;
+        try {
+            timeout = timer.newTimeout(expired -> responseTimedOut(messageId, responseFuture, replyTimeoutMillis),
+                    replyTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // the timer was stopped, the reply timeout is then only enforced by NetconfResponseFuture#get()
+            LOGGER.warn("Response timeout timer of session {} is stopped, message-id {} is not expired by it", m_sessionId, messageId);
+            m_responseTimeoutTimer = null;
+            return;
+        }
+        responseFuture.whenComplete((response, throwable) -> timeout.cancel());
+    }
+
+    private void responseTimedOut(String messageId, NetconfResponseFuture responseFuture, long replyTimeoutMillis) {
+        if (m_responseFutures.remove(messageId, responseFuture)) {
+            m_timedOutRequests.increment();
+            LOGGER.warn("No reply received for message-id {} on session {} within {} milliseconds", messageId, m_sessionId,
+                    replyTimeoutMillis);
+            responseFuture.completeExceptionally(new TimeoutException("No reply received for message-id " + messageId + " within "
+                    + replyTimeoutMillis + " milliseconds"));
+        }
+    }
+
     private void unsetConfigElement(AbstractNetconfRequest request) {
         if (hasReqStringCopy(request)) {
             ((EditConfigRequest)request).unsetConfigElement();
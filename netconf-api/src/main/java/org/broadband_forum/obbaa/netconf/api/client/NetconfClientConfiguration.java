@@ -48,6 +48,7 @@ public class NetconfClientConfiguration {
     private AuthenticationListener m_authenticationListener;
     private Long m_readTimeoutMillis;
     private List<UserAuthFactory> m_userAuthFactories;
+    private boolean m_pipelinedSend;
 
     public NetconfClientConfiguration(Long connectionTimeoutMillis, NetconfLoginProvider loginProvider, Set<String> caps,
             NetconfTransport transport, EventLoopGroup eventLoopGroup,
@@ -154,4 +155,15 @@ public class NetconfClientConfiguration {
     public void setUserAuthFactories(List<UserAuthFactory> userAuthFactories) {
         m_userAuthFactories = userAuthFactories;
     }
+
+    public boolean isPipelinedSend() {
+        return m_pipelinedSend;
+    }
+
+    /**
+     * When set, the SSH sessions return the response future without waiting for the request to be written.
+     */
+    public void setPipelinedSend(boolean pipelinedSend) {
+        m_pipelinedSend = pipelinedSend;
+    }
 }
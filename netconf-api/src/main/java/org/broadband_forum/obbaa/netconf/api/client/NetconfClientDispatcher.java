@@ -101,4 +101,11 @@ public interface NetconfClientDispatcher {
      */
     public Future<TcpServerSession> createReverseClient(NetconfClientConfiguration config) throws NetconfClientDispatcherException,ExecutionException;
 
+    /**
+     * Releases the resources held by the dispatcher itself, such as the timer expiring unanswered requests. The sessions
+     * already created are not closed.
+     */
+    default void shutdown() {
+    }
+
 }
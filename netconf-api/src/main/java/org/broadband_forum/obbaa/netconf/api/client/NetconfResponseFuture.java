@@ -17,6 +17,7 @@
 package org.broadband_forum.obbaa.netconf.api.client;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -51,7 +52,7 @@ public class NetconfResponseFuture extends CompletableFuture<NetConfResponse> {
 
     /** Waits if necessary for at most the given time from the time the request was sent to request timeout
      *  for this future to complete, and then returns its result, if available.
-     *  @return the result value, else null if TimeoutException encountered
+     *  @return the result value, else null if TimeoutException encountered or the request was expired by the session
      */
     @Override
     public NetConfResponse get() throws InterruptedException, ExecutionException {
@@ -59,6 +60,11 @@ public class NetconfResponseFuture extends CompletableFuture<NetConfResponse> {
             return super.get(m_messageTimeOut - elapsedTime(), m_timeUnit);
         } catch (TimeoutException e) {
             return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return null;
+            }
+            throw e;
         }
     }
 
@@ -67,7 +73,14 @@ public class NetconfResponseFuture extends CompletableFuture<NetConfResponse> {
      * @return the result value, if completed, else null is returned
      */
     public NetConfResponse getNow() throws InterruptedException, ExecutionException {
-        return super.getNow(null);
+        try {
+            return super.getNow(null);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return null;
+            }
+            throw e;
+        }
     }
 
     /** Checks if the future has been timed out from the time the request was sent to the request timeout
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.api.codec.v2;
+
+import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.RPC_CHUNKED_DELIMITER;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+
+/**
+ * An OutputStream that frames whatever is written to it as a chunked netconf message (RFC 6242 section 4.2).
+ * The bytes are written into buffers taken from the given allocator, each buffer becoming one chunk once it holds
+ * chunkSize bytes. The chunk headers and the end-of-chunks marker are added as separate components, so the message
+ * is never copied into a contiguous buffer.
+ *
+ * <pre>
+ * \n#&lt;chunk-size&gt;\n&lt;chunk-data&gt; ... \n##\n
+ * </pre>
+ */
+public class ChunkedByteBufOutputStream extends OutputStream {
+    private static final int MAX_INITIAL_CHUNK_CAPACITY = 65536;
+    private final ByteBufAllocator m_allocator;
+    private final CompositeByteBuf m_message;
+    private final int m_chunkSize;
+    private ByteBuf m_currentChunk;
+
+    public ChunkedByteBufOutputStream(ByteBufAllocator allocator, int chunkSize) {
+        m_allocator = allocator;
+        m_chunkSize = chunkSize;
+        m_message = allocator.compositeBuffer(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCurrentChunk();
+        m_currentChunk.writeByte(b);
+        addChunkIfFull();
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            ensureCurrentChunk();
+            int bytesToWrite = Math.min(length, m_chunkSize - m_currentChunk.readableBytes());
+            m_currentChunk.writeBytes(bytes, offset, bytesToWrite);
+            offset += bytesToWrite;
+            length -= bytesToWrite;
+            addChunkIfFull();
+        }
+    }
+
+    /**
+     * Adds the pending chunk and the end-of-chunks marker and hands over the framed message to the caller,
+     * who is responsible for releasing it.
+     */
+    public CompositeByteBuf finish() {
+        addCurrentChunk();
+        addComponent(RPC_CHUNKED_DELIMITER);
+        return m_message;
+    }
+
+    /**
+     * @return true if nothing was written yet
+     */
+    public boolean isEmpty() {
+        return m_message.numComponents() == 0 && (m_currentChunk == null || !m_currentChunk.isReadable());
+    }
+
+    /**
+     * Releases everything written so far, to be used when the message could not be completed.
+     */
+    public void release() {
+        if (m_currentChunk != null) {
+            m_currentChunk.release();
+            m_currentChunk = null;
+        }
+        if (m_message.refCnt() > 0) {
+            m_message.release();
+        }
+    }
+
+    private void ensureCurrentChunk() {
+        if (m_currentChunk == null) {
+            m_currentChunk = m_allocator.buffer(Math.min(m_chunkSize, MAX_INITIAL_CHUNK_CAPACITY), m_chunkSize);
+        }
+    }
+
+    private void addChunkIfFull() {
+        if (m_currentChunk.readableBytes() >= m_chunkSize) {
+            addCurrentChunk();
+        }
+    }
+
+    private void addCurrentChunk() {
+        if (m_currentChunk != null && m_currentChunk.isReadable()) {
+            // chunk = LF HASH chunk-size LF chunk-data
+            addComponent("\n#" + m_currentChunk.readableBytes() + "\n");
+            m_message.addComponent(true, m_currentChunk);
+        } else if (m_currentChunk != null) {
+            m_currentChunk.release();
+        }
+        m_currentChunk = null;
+    }
+
+    private void addComponent(String frame) {
+        ByteBuf frameBuf = m_allocator.buffer(frame.length());
+        frameBuf.writeCharSequence(frame, StandardCharsets.US_ASCII);
+        m_message.addComponent(true, frameBuf);
+    }
+}
@@ -17,7 +17,8 @@
 package org.broadband_forum.obbaa.netconf.api.codec.v2;
 
 import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.releaseByteBuf;
-import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.unpooledHeapByteBuf;
+import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.skipLeadingWhitespaces;
+import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.unpooledHeapByteBufWithoutConsolidation;
 import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.CHUNK_SIZE;
 import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.MAXIMUM_SIZE_OF_CHUNKED_MESSAGES;
 
@@ -25,7 +26,6 @@ import java.nio.charset.StandardCharsets;
 
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
 import org.broadband_forum.obbaa.netconf.api.MessageToolargeException;
-import org.broadband_forum.obbaa.netconf.api.messages.DocumentToPojoTransformer;
 import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
 import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
 import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
@@ -34,7 +34,11 @@ import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.w3c.dom.Document;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 
 public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(ChunkedNetconfMessageCodecV2.class, LogAppNames.NETCONF_LIB);
@@ -42,19 +46,20 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
     private ChunkMsgState m_state;
     private CompositeByteBuf m_chunk;
     private int m_chunkSize;
-    private StringBuilder m_chunkString = new StringBuilder();
     private int m_chunkSizeForEncoding;
 
     public ChunkedNetconfMessageCodecV2() {
         m_maxChunkSize = Integer.parseInt(SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(MAXIMUM_SIZE_OF_CHUNKED_MESSAGES, "134217728"));
         m_chunkSizeForEncoding = Integer.parseInt(SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(CHUNK_SIZE, "65536"));
         m_state = ChunkMsgState.HEADER_ONE;
+        initializeChunk();
     }
 
     ChunkedNetconfMessageCodecV2(int maxSizeOfChunkMsg, int chunkSize) {
         m_maxChunkSize = maxSizeOfChunkMsg;
         m_chunkSizeForEncoding = chunkSize;
         m_state = ChunkMsgState.HEADER_ONE;
+        initializeChunk();
     }
 
     /*
@@ -75,7 +80,32 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
 
     @Override
     public byte[] encode(Document msg) throws NetconfMessageBuilderException {
-        return DocumentToPojoTransformer.chunkMessage(m_chunkSizeForEncoding, DocumentUtils.documentToString(msg)).getBytes();
+        ByteBuf encoded = encode(msg, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            return ByteBufUtil.getBytes(encoded);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    /*
+    The document is serialized straight into chunk sized buffers, a chunk header is emitted each time a buffer fills up.
+    The chunk size is counted in bytes, as required by RFC 6242.
+    An empty message is rejected, RFC 6242 has no chunk of size 0 to carry it.
+     */
+    @Override
+    public ByteBuf encode(Document msg, ByteBufAllocator allocator) throws NetconfMessageBuilderException {
+        ChunkedByteBufOutputStream out = new ChunkedByteBufOutputStream(allocator, m_chunkSizeForEncoding);
+        try {
+            DocumentUtils.documentToOutputStream(msg, out);
+            if (out.isEmpty()) {
+                throw new NetconfMessageBuilderException("Cannot encode an empty message in chunked framing");
+            }
+        } catch (NetconfMessageBuilderException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+        return out.finish();
     }
 
     /*
@@ -90,6 +120,8 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
     can be present or the End of Chunk can be present. If next chunk is present , we go back to reading the chunk length, else
     the state is moved to FOOTER_FOUR where we verify that the byte is linefeed. Also we return the RPC document
     read till End of Chunk. In case of example <rpc-example/> is returned.
+    The chunk data is collected as retained slices of the input, without copying it, and the document is parsed straight
+    from those bytes, the message is never materialized as a String unless debug logging asks for it.
      */
     @Override
     public synchronized DocumentInfo decode(ByteBuf in) throws NetconfMessageBuilderException, MessageToolargeException {
@@ -138,10 +170,13 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
                         if(LOGGER.isDebugEnabled()) {
                             LOGGER.debug("going to discard the bytes {} read till now to fetch complete chunk of size {}", in.readableBytes(), m_chunkSize);
                         }
-                        in.discardReadBytes();
+                        // the chunks read so far are slices of the input, its bytes can only be moved when none is held
+                        if (in.refCnt() == 1) {
+                            in.discardReadBytes();
+                        }
                         return null;
                     }
-                    m_chunkString.append(in.readCharSequence(m_chunkSize, StandardCharsets.UTF_8).toString());
+                    appendToChunk(in.readRetainedSlice(m_chunkSize));
                     checkChunkMsgSizeExceedsMax();
                     m_state = ChunkMsgState.FOOTER_ONE;
                     break;
@@ -175,12 +210,7 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
                     final byte b = in.readByte();
                     checkExpectedCharacter(b, '\n');
                     m_state = ChunkMsgState.HEADER_ONE;
-                    String rpcString = m_chunkString.toString();
-                    m_chunkString = new StringBuilder();
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("The content of the rpc after decoding is {}", LOGGER.sensitiveData(rpcString));
-                    }
-                    return new DocumentInfo(DocumentUtils.stringToDocument(rpcString), rpcString);
+                    return buildDocumentInfo();
                 }
                 default:
                     LOGGER.warn("Invalid Chunk State");
@@ -190,6 +220,24 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
         return null;
     }
 
+    private DocumentInfo buildDocumentInfo() throws NetconfMessageBuilderException {
+        CompositeByteBuf rpcBytes = m_chunk;
+        m_chunk = unpooledHeapByteBufWithoutConsolidation();
+        try {
+            int length = rpcBytes.readableBytes();
+            skipLeadingWhitespaces(rpcBytes);
+            String rpcString = null;
+            if (LOGGER.isDebugEnabled()) {
+                rpcString = rpcBytes.toString(StandardCharsets.UTF_8);
+                LOGGER.debug("The content of the rpc after decoding is {}", LOGGER.sensitiveData(rpcString));
+            }
+            Document document = DocumentUtils.inputStreamToDocument(new ByteBufInputStream(rpcBytes), true);
+            return new DocumentInfo(document, rpcString, length);
+        } finally {
+            releaseByteBuf(rpcBytes);
+        }
+    }
+
     private boolean ignoreChar(byte b, char ignorableChar) {
         return b == ignorableChar;
     }
@@ -229,7 +277,7 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
     }
 
     private void checkChunkMsgSizeExceedsMax() throws MessageToolargeException {
-        int chunkMsgSize = m_chunkString.length();
+        int chunkMsgSize = m_chunk.readableBytes();
         if (chunkMsgSize > m_maxChunkSize) {
             LOGGER.error("Incoming message too long. Not decoding the message further to avoid " +
                     "buffer overrun, message size: {} max-size: {}", chunkMsgSize, m_maxChunkSize);
@@ -240,7 +288,7 @@ public class ChunkedNetconfMessageCodecV2 implements NetconfMessageCodecV2 {
 
     private void initializeChunk() {
         releaseByteBuf(m_chunk);
-        m_chunk = unpooledHeapByteBuf();
+        m_chunk = unpooledHeapByteBufWithoutConsolidation();
     }
 
     private void checkHeaderLengthInRange(final byte byteBeingRead, char lowerRange, char upperRange) {
@@ -16,6 +16,8 @@
 
 package org.broadband_forum.obbaa.netconf.api.codec.v2;
 
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
 import org.w3c.dom.Document;
 
 public class DocumentInfo {
@@ -29,10 +31,31 @@ public class DocumentInfo {
         this.m_length = documentString.length();
     }
 
+    /**
+     * Used by the byte based decoders, the string form of the document is only kept when it was already built
+     * (for example for debug logging), otherwise it is derived from the document on demand.
+     */
+    public DocumentInfo(Document document, String documentString, int length) {
+        this.m_document = document;
+        this.m_documentString = documentString;
+        this.m_length = length;
+    }
+
     public String getDocumentString() {
+        if (m_documentString == null && m_document != null) {
+            try {
+                m_documentString = DocumentUtils.documentToString(m_document);
+            } catch (NetconfMessageBuilderException e) {
+                throw new RuntimeException(e);
+            }
+        }
         return m_documentString;
     }
 
+    public boolean hasDocumentString() {
+        return m_documentString != null;
+    }
+
     public void setDocumentString(String documentString) {
         this.m_documentString = documentString;
     }
@@ -16,6 +16,7 @@
 
 package org.broadband_forum.obbaa.netconf.api.codec.v2;
 
+import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.skipLeadingWhitespaces;
 import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.unpooledHeapByteBuf;
 import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.RPC_EOM_DELIMITER;
 
@@ -30,6 +31,9 @@ import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.w3c.dom.Document;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.handler.codec.DelimiterBasedFrameDecoder;
 
 public class EOMNetconfMessageCodecV2 extends DelimiterBasedFrameDecoder implements NetconfMessageCodecV2 {
@@ -43,6 +47,19 @@ public class EOMNetconfMessageCodecV2 extends DelimiterBasedFrameDecoder impleme
         return DocumentToPojoTransformer.addRpcDelimiter(DocumentToPojoTransformer.getBytesFromDocument(msg));
     }
 
+    @Override
+    public ByteBuf encode(Document msg, ByteBufAllocator allocator) throws NetconfMessageBuilderException {
+        ByteBuf encoded = allocator.buffer();
+        try {
+            DocumentToPojoTransformer.writeDocument(msg, new ByteBufOutputStream(encoded));
+            encoded.writeCharSequence(RPC_EOM_DELIMITER, StandardCharsets.US_ASCII);
+            return encoded;
+        } catch (NetconfMessageBuilderException | RuntimeException e) {
+            encoded.release();
+            throw e;
+        }
+    }
+
     @Override
     public DocumentInfo decode(ByteBuf in) throws NetconfMessageBuilderException {
         int before = in.refCnt();
@@ -51,11 +68,15 @@ public class EOMNetconfMessageCodecV2 extends DelimiterBasedFrameDecoder impleme
             ByteBuf decoded = (ByteBuf) decode(null, in);
             after = in.refCnt();
             if (decoded != null) {
-                String decodedStr = decoded.readCharSequence(decoded.readableBytes(), StandardCharsets.UTF_8).toString();
+                int length = decoded.readableBytes();
+                skipLeadingWhitespaces(decoded);
+                String decodedStr = null;
                 if (LOGGER.isDebugEnabled()) {
+                    decodedStr = decoded.toString(StandardCharsets.UTF_8);
                     LOGGER.debug("The content of the rpc after decoding is {}", LOGGER.sensitiveData(decodedStr));
                 }
-                return new DocumentInfo(DocumentUtils.stringToDocument(decodedStr), decodedStr);
+                Document document = DocumentUtils.inputStreamToDocument(new ByteBufInputStream(decoded), true);
+                return new DocumentInfo(document, decodedStr, length);
             }
         } catch (Exception e) {
             throw new NetconfMessageBuilderException(e);
@@ -21,6 +21,7 @@ import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException
 import org.w3c.dom.Document;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
 public class FrameAwareNetconfMessageCodecV2Impl implements FrameAwareNetconfMessageCodecV2 {
     private NetconfMessageCodecV2 m_currentCodec;
@@ -44,12 +45,20 @@ public class FrameAwareNetconfMessageCodecV2Impl implements FrameAwareNetconfMes
         return m_currentCodec.encode(msg);
     }
 
+    @Override
+    public ByteBuf encode(Document msg, ByteBufAllocator allocator) throws NetconfMessageBuilderException {
+        return m_currentCodec.encode(msg, allocator);
+    }
+
     @Override
     public DocumentInfo decode(ByteBuf in) throws NetconfMessageBuilderException, MessageToolargeException {
         try {
             return m_currentCodec.decode(in);
         } finally {
-            in.discardReadBytes();
+            // the chunked codec keeps slices of the input, its bytes can only be moved when none is held
+            if (in.refCnt() == 1) {
+                in.discardReadBytes();
+            }
         }
     }
 }
\ No newline at end of file
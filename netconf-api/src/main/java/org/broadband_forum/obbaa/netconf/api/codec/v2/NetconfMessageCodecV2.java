@@ -21,10 +21,21 @@ import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException
 import org.w3c.dom.Document;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
 public interface NetconfMessageCodecV2 {
     byte[] encode(Document msg) throws NetconfMessageBuilderException;
 
+    /**
+     * Serializes the framed message into buffers taken from the given allocator, without building an intermediate
+     * String or byte[]. The caller owns the returned buffer and must write or release it.
+     * By default the message is encoded with {@link #encode(Document)} and copied into a buffer of the allocator.
+     */
+    default ByteBuf encode(Document msg, ByteBufAllocator allocator) throws NetconfMessageBuilderException {
+        byte[] encoded = encode(msg);
+        return allocator.buffer(encoded.length).writeBytes(encoded);
+    }
+
     DocumentInfo decode(ByteBuf in) throws NetconfMessageBuilderException, MessageToolargeException;
 }
 
@@ -26,6 +26,8 @@ import org.opendaylight.yangtools.yang.common.QName;
 public abstract class AbstractNetconfGetRequest extends AbstractNetconfRequest {
 
     protected int m_depth = NetconfQueryParams.UNBOUNDED;
+    protected int m_offset = 0;
+    protected int m_limit = NetconfQueryParams.UNBOUNDED;
     protected Map<String, List<QName>> m_fieldValues= new HashMap<>();
     private WithDefaults m_withDefaults;
 
@@ -45,6 +47,28 @@ public abstract class AbstractNetconfGetRequest extends AbstractNetconfRequest {
         m_depth = depth;
     }
 
+    /**
+     * @return the number of entries of a big list skipped before the first entry returned
+     */
+    public int getOffset() {
+        return m_offset;
+    }
+
+    public void setOffset(int offset) {
+        m_offset = offset;
+    }
+
+    /**
+     * @return the maximum number of entries of a big list returned, UNBOUNDED to return all of them
+     */
+    public int getLimit() {
+        return m_limit;
+    }
+
+    public void setLimit(int limit) {
+        m_limit = limit;
+    }
+
     public WithDefaults getWithDefaults() {
         return m_withDefaults;
     }
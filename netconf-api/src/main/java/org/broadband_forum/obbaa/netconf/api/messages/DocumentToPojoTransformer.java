@@ -18,6 +18,7 @@ package org.broadband_forum.obbaa.netconf.api.messages;
 
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -91,6 +92,21 @@ public class DocumentToPojoTransformer {
         }
     }
     
+    private static int getListPagingValueFromNode(Node pagingNode, int minimum) throws NetconfMessageBuilderException {
+        String pagingOption = pagingNode.getTextContent();
+        try {
+            int value = Integer.parseInt(pagingOption.trim());
+            if (value < minimum) {
+                throw new NetconfMessageBuilderException("The value of " + pagingNode.getLocalName() + " \"" + pagingOption
+                        + "\" is not valid. Expected a value of at least " + minimum + ".");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new NetconfMessageBuilderException("The value of " + pagingNode.getLocalName() + " \"" + pagingOption
+                    + "\" is not valid. Expected a value of at least " + minimum + ".");
+        }
+    }
+
     private static int getDepthFromNode(Node depthNode) throws NetconfMessageBuilderException {
         String depthOption = depthNode.getTextContent();
         try {
@@ -255,6 +271,16 @@ public class DocumentToPojoTransformer {
             getRequest.setDepth(getDepthFromNode(depthElement));
         
         }
+        Node offsetElement = DocumentUtils.getChildNodeByName(document.getDocumentElement(), NetconfResources.OFFSET,
+                NetconfResources.EXTENSION_NS);
+        if (offsetElement != null) {
+            getRequest.setOffset(getListPagingValueFromNode(offsetElement, 0));
+        }
+        Node limitElement = DocumentUtils.getChildNodeByName(document.getDocumentElement(), NetconfResources.LIMIT,
+                NetconfResources.EXTENSION_NS);
+        if (limitElement != null) {
+            getRequest.setLimit(getListPagingValueFromNode(limitElement, 1));
+        }
 
         Node withDefaultsNode = DocumentUtils.getChildNodeByName(document.getDocumentElement(), NetconfResources.WITH_DEFAULTS,
             NetconfResources.WITH_DEFAULTS_NS);
@@ -340,6 +366,16 @@ public class DocumentToPojoTransformer {
             getConfigRequest.setDepth(getDepthFromNode(depthElement));
         
         }
+        Node offsetElement = DocumentUtils.getChildNodeByName(request.getDocumentElement(), NetconfResources.OFFSET,
+                NetconfResources.EXTENSION_NS);
+        if (offsetElement != null) {
+            getConfigRequest.setOffset(getListPagingValueFromNode(offsetElement, 0));
+        }
+        Node limitElement = DocumentUtils.getChildNodeByName(request.getDocumentElement(), NetconfResources.LIMIT,
+                NetconfResources.EXTENSION_NS);
+        if (limitElement != null) {
+            getConfigRequest.setLimit(getListPagingValueFromNode(limitElement, 1));
+        }
 
         Node withDefaultsNode = DocumentUtils.getChildNodeByName(request.getDocumentElement(), NetconfResources.WITH_DEFAULTS,
             NetconfResources.WITH_DEFAULTS_NS);
@@ -528,6 +564,7 @@ public class DocumentToPojoTransformer {
 
     public static Notification getNotification(DocumentInfo documentInfo) throws NetconfMessageBuilderException {
         Document notificationDoc = documentInfo.getDocument();
+        String notificationString = documentInfo.hasDocumentString() ? documentInfo.getDocumentString() : null;
         NetconfNotification notification = new NetconfNotification();
         notification.setEventTime(DocumentUtils.getInstance().getEventTimeFromNotification(notificationDoc));
         if (isConfigChangeNotification(notificationDoc)) {
@@ -535,11 +572,11 @@ public class DocumentToPojoTransformer {
         } else if (isStateChangeNotification(notificationDoc)) {
             notification = handleStateChangeNotification(notificationDoc, notification);
         } else if (isReplayCompleteNotification(notificationDoc)) {
-            notification = new NetconfNotification(notificationDoc, documentInfo.getDocumentString());
+            notification = new NetconfNotification(notificationDoc, notificationString);
         } else if (isNotificationCompleteNotification(notificationDoc)) {
-            notification = new NetconfNotification(notificationDoc, documentInfo.getDocumentString());
+            notification = new NetconfNotification(notificationDoc, notificationString);
         } else {
-            notification = new NetconfNotification(notificationDoc, documentInfo.getDocumentString());
+            notification = new NetconfNotification(notificationDoc, notificationString);
         }
         return notification;
     }
@@ -741,19 +778,22 @@ public class DocumentToPojoTransformer {
     }
 
     public static byte[] getBytesFromDocument(Document requestDocument) throws NetconfMessageBuilderException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writeDocument(requestDocument, bos);
+        return bos.toByteArray();
+    }
+
+    public static void writeDocument(Document requestDocument, OutputStream out) throws NetconfMessageBuilderException {
         try {
             Transformer transformer;
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
             transformer = TRANSFORMER_FACTORY.newTransformer();
 
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
             transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
 
-            StreamResult result = new StreamResult(new BufferedWriter(new OutputStreamWriter(bos)));
+            StreamResult result = new StreamResult(new BufferedWriter(new OutputStreamWriter(out)));
             DOMSource source = new DOMSource(requestDocument);
             transformer.transform(source, result);
-
-            return bos.toByteArray();
         } catch (TransformerException e) {
             throw new NetconfMessageBuilderException("Error while getting bytes from document ", e);// $COVERAGE-IGNORE$
         }
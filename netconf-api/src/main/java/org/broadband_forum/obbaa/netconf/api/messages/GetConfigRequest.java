@@ -61,7 +61,8 @@ public class GetConfigRequest extends AbstractNetconfGetRequest {
     @Override
     public Document getRequestDocumentInternal() throws NetconfMessageBuilderException {
         Document doc = new PojoToDocumentTransformer().newNetconfRpcDocument(m_messageId)
-                .addGetConfigElement(m_source, m_filter, getWithDefaults(), m_withDelay, m_depth, m_fieldValues).build();
+                .addGetConfigElement(m_source, m_filter, getWithDefaults(), m_withDelay, m_depth, m_fieldValues,
+                        m_offset, m_limit).build();
         return doc;
     }
 
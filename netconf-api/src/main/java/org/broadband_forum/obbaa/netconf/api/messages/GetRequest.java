@@ -65,7 +65,8 @@ public class GetRequest extends AbstractNetconfGetRequest {
     @Override
     public Document getRequestDocumentInternal() throws NetconfMessageBuilderException {
         Document doc = new PojoToDocumentTransformer().newNetconfRpcDocument(m_messageId)
-                .addGetElement(m_filter,m_sliceOwner, getWithDefaults(), m_withDelay, m_depth, m_fieldValues).build();
+                .addGetElement(m_filter,m_sliceOwner, getWithDefaults(), m_withDelay, m_depth, m_fieldValues, m_offset,
+                        m_limit).build();
         return doc;
     }
 
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -65,6 +66,12 @@ public class NetConfResponse implements CompletableMessage {
 
     private Document m_doc;
 
+    private Document m_responseDocument;
+
+    private boolean m_releaseResponseDocumentWhenSent = true;
+
+    private boolean m_dataOwned = false;
+
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(NetConfResponse.class, LogAppNames.NETCONF_LIB);
     
 	private boolean m_instanceReplaced = false;
@@ -86,6 +93,9 @@ public class NetConfResponse implements CompletableMessage {
     }
 
     public NetConfResponse setMessageId(String messageId) {
+        if (!Objects.equals(m_messageId, messageId)) {
+            responseChanged();
+        }
         this.m_messageId = messageId;
         return this;
     }
@@ -99,6 +109,7 @@ public class NetConfResponse implements CompletableMessage {
     }
 
     public NetConfResponse setOk(boolean positive) {
+        responseChanged();
         this.m_ok = positive;
         return this;
     }
@@ -108,11 +119,13 @@ public class NetConfResponse implements CompletableMessage {
     }
 
     public NetConfResponse addError(NetconfRpcError error) {
+        responseChanged();
         this.m_errors.add(error);
         return this;
     }
 
     public NetConfResponse addErrors(List<NetconfRpcError> errors) {
+        responseChanged();
         this.m_errors.addAll(errors);
         return this;
     }
@@ -122,6 +135,7 @@ public class NetConfResponse implements CompletableMessage {
     }
 
     public NetConfResponse addNcExtensionResponse(QName extensionQName, Element ncExtensionResponse) {
+        responseChanged();
     	if (m_ncExtensionResponses.get(extensionQName) == null) {
     		List<Element> elementsList = new ArrayList<Element>();
     		this.m_ncExtensionResponses.put(extensionQName, elementsList);
@@ -131,6 +145,7 @@ public class NetConfResponse implements CompletableMessage {
     }
     
     public NetConfResponse setNcExtensionResponses(QName extensionQName, List<Element> ncExtensionResponses) {
+        responseChanged();
         this.m_ncExtensionResponses.put(extensionQName, ncExtensionResponses);
         return this;
 	}
@@ -140,11 +155,13 @@ public class NetConfResponse implements CompletableMessage {
     }
 
     public NetConfResponse setTxId(String txId) {
+        responseChanged();
         m_txId = txId;
         return this;
     }
 
     public void setAppendTxIdInResponse(boolean appendTxIdInResponse) {
+        responseChanged();
         m_appendTxIdInResponse = appendTxIdInResponse;
     }
 
@@ -207,9 +224,11 @@ public class NetConfResponse implements CompletableMessage {
      * @return the modified response
      */
     public NetConfResponse addDataContent(Element dataContent) {
+        responseChanged();
         try {
             if (this.m_data == null) {
                 this.m_data = createDataElement();
+                m_dataOwned = true;
             }
             if (dataContent != null) {
 
@@ -260,9 +279,11 @@ public class NetConfResponse implements CompletableMessage {
      * @return the modified response
      */
     public NetConfResponse setDataContent(List<Element> dataContents) {
+        responseChanged();
         try {
             if (dataContents != null) {
                 this.m_data = createDataElement();
+                m_dataOwned = true;
                 for (Element dataContent : dataContents) {
                     this.m_data.appendChild(this.m_doc.importNode(dataContent, true));
                 }
@@ -274,6 +295,33 @@ public class NetConfResponse implements CompletableMessage {
         return this;
     }
 
+    /**
+     * Same as {@link #setDataContent(List)}, except that the data contents are moved into the response instead of being
+     * copied, so that a large reply is not held twice in memory. The data contents are removed from their parent and
+     * must not be used by the caller afterwards.
+     *
+     * @param dataContents elements of the same document
+     * @return the modified response
+     */
+    public NetConfResponse moveDataContent(List<Element> dataContents) {
+        responseChanged();
+        if (dataContents == null) {
+            return this;
+        }
+        if (dataContents.isEmpty()) {
+            return setDataContent(dataContents);
+        }
+        Document document = dataContents.get(0).getOwnerDocument();
+        Element data = document.createElementNS(NetconfResources.NETCONF_RPC_NS_1_0, NetconfResources.RPC_REPLY_DATA);
+        for (Element dataContent : dataContents) {
+            data.appendChild(dataContent.getOwnerDocument() == document ? dataContent : document.importNode(dataContent, true));
+        }
+        this.m_doc = document;
+        this.m_data = data;
+        m_dataOwned = true;
+        return this;
+    }
+
     private Element createDataElement() throws ParserConfigurationException {
         if (this.m_doc == null) {
             this.m_doc = DocumentUtils.getNewDocument();
@@ -286,13 +334,15 @@ public class NetConfResponse implements CompletableMessage {
     }
 
     public NetConfResponse setOtherRpcAttributes(Map<String, String> otherRpcAttributes) {
-        if (otherRpcAttributes != null) {
+        if (otherRpcAttributes != null && !otherRpcAttributes.equals(m_otherRpcAttributes)) {
+            responseChanged();
             this.m_otherRpcAttributes = otherRpcAttributes;
         }
         return this;
     }
 
     public NetConfResponse addOtherRpcAttribute(String key, String value) {
+        responseChanged();
         this.m_otherRpcAttributes.put(key, value);
         return this;
     }
@@ -302,26 +352,60 @@ public class NetConfResponse implements CompletableMessage {
         return "NetConfResponse [messageId=" + m_messageId + ", ok=" + m_ok + ", error=" + m_errors + ", data=" + m_data + "]";
     }
 
+    /**
+     * The document is built once and reused until the response is changed through one of its setters, so that the data of
+     * a get or get-config reply is not copied again each time the reply is logged and written. The same document is
+     * returned to every caller, so it must not be modified, and the lists and maps returned by the getters must only be
+     * changed through the setters. The document is released once the response has been sent.
+     * <p>
+     * The data element built by the response itself is moved into the first document instead of being copied, so that the
+     * reply holds a single copy of its data. {@link #getData()} then returns the element of that document.
+     */
     public Document getResponseDocument() throws NetconfMessageBuilderException {
         synchronized (this){
+            if (m_responseDocument != null) {
+                return m_responseDocument;
+            }
             PojoToDocumentTransformer responseBuilder = new PojoToDocumentTransformer()
                     .newNetconfRpcReplyDocument(getMessageId(), m_otherRpcAttributes).addNcExtensionsResponses(getNcExtensionResponses())
-                    .addRpcErrors(getErrors()).addData(getData());
+                    .addRpcErrors(getErrors());
+            if (m_dataOwned) {
+                // the element is not shared with the caller, the following documents copy it from this one
+                responseBuilder.moveData(m_data);
+                m_doc = m_data.getOwnerDocument();
+                m_dataOwned = false;
+            } else {
+                responseBuilder.addData(m_data);
+            }
             if (m_txId != null && m_appendTxIdInResponse) {
                 responseBuilder.addTxId(m_txId);
             } else if (m_ok) {
                 responseBuilder.addOk();
             }
-            return responseBuilder.build();
+            Document responseDocument = responseBuilder.build();
+            if (m_releaseResponseDocumentWhenSent) {
+                m_releaseResponseDocumentWhenSent = false;
+                m_messageSentFuture.whenComplete((result, error) -> responseChanged());
+            }
+            if (!m_messageSentFuture.isDone()) {
+                m_responseDocument = responseDocument;
+            }
+            return responseDocument;
         }
     }
 
+    private synchronized void responseChanged() {
+        m_responseDocument = null;
+    }
+
     public String responseToString() {
         return PojoToDocumentTransformer.responseToString(this);
     }
 
     public NetConfResponse setData(Element dataFromRpcReply) {
+        responseChanged();
         this.m_data = dataFromRpcReply;
+        m_dataOwned = false;
         return this;
     }
     
@@ -108,8 +108,13 @@ public class NetconfNotification implements Notification {
                             }
                         } else {
                             m_type = QName.create(child.getNamespaceURI(), child.getLocalName());
-                            m_notificationElementWR = new WeakReference<>((Element) child);
-                            m_notificationString = notificationString;
+                            if (notificationString == null) {
+                                // nothing to rebuild the element from, so it must not be garbage collected
+                                m_notificationElement = (Element) child;
+                            } else {
+                                m_notificationElementWR = new WeakReference<>((Element) child);
+                                m_notificationString = notificationString;
+                            }
                         }
                     }
                 }
@@ -46,6 +46,7 @@ import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.joda.time.DateTime;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -128,6 +129,19 @@ public class PojoToDocumentTransformer {
         }
     }
     
+    private void addListPagingElements(Element element, int offset, int limit) {
+        if (offset > 0) {
+            Element offsetElement = m_doc.createElementNS(NetconfResources.EXTENSION_NS, NetconfResources.OFFSET);
+            offsetElement.setTextContent(String.valueOf(offset));
+            element.appendChild(offsetElement);
+        }
+        if (limit != NetconfQueryParams.UNBOUNDED) {
+            Element limitElement = m_doc.createElementNS(NetconfResources.EXTENSION_NS, NetconfResources.LIMIT);
+            limitElement.setTextContent(String.valueOf(limit));
+            element.appendChild(limitElement);
+        }
+    }
+
     private void addFieldElements(Element element, Map<String, List<QName>> fieldValues) {
         for ( Entry<String, List<QName>> entry : fieldValues.entrySet()){
             Element fieldsElement = m_doc.createElementNS(NetconfResources.EXTENSION_NS, NetconfResources.FIELDS);
@@ -157,6 +171,12 @@ public class PojoToDocumentTransformer {
 
     public PojoToDocumentTransformer addGetConfigElement(String source, NetconfFilter netconfFilter, WithDefaults withDefaults, int withDelay, int depth, Map<String, List<QName>> fieldValues)
             throws NetconfMessageBuilderException {
+        return addGetConfigElement(source, netconfFilter, withDefaults, withDelay, depth, fieldValues, 0, NetconfQueryParams.UNBOUNDED);
+    }
+
+    public PojoToDocumentTransformer addGetConfigElement(String source, NetconfFilter netconfFilter, WithDefaults withDefaults, int withDelay,
+                                                         int depth, Map<String, List<QName>> fieldValues, int offset, int limit)
+            throws NetconfMessageBuilderException {
         // Add it right after "<rpc>"
         Node rpcNode = m_doc.getFirstChild();
         if (rpcNode == null) {
@@ -177,6 +197,7 @@ public class PojoToDocumentTransformer {
         addWithDelayElement(getConfigElement, withDelay);
         
         addDepthElement(getConfigElement, depth);
+        addListPagingElements(getConfigElement, offset, limit);
         addFieldElements(getConfigElement, fieldValues);
 
         return this;
@@ -528,6 +549,12 @@ public class PojoToDocumentTransformer {
                                                    int depth,
                                                    Map<String, List<QName>> fieldValues)
             throws NetconfMessageBuilderException {
+        return addGetElement(filter, sliceOwner, withDefaults, withDelay, depth, fieldValues, 0, NetconfQueryParams.UNBOUNDED);
+    }
+
+    public PojoToDocumentTransformer addGetElement(NetconfFilter filter, String sliceOwner, WithDefaults withDefaults, int withDelay,
+                                                   int depth, Map<String, List<QName>> fieldValues, int offset, int limit)
+            throws NetconfMessageBuilderException {
         // Add it right after "<rpc>"
         Node rpcNode = m_doc.getFirstChild();
         if (rpcNode == null) {
@@ -557,6 +584,7 @@ public class PojoToDocumentTransformer {
         addWithDelayElement(getElement, withDelay);
         
         addDepthElement(getElement, depth);
+        addListPagingElements(getElement, offset, limit);
         if(sliceOwner!=null) {
             addWithSliceOwnerElement(getElement, sliceOwner);
         }
@@ -708,6 +736,27 @@ public class PojoToDocumentTransformer {
         }
         return this;
     }
+
+    /**
+     * Same as {@link #addData(Element)}, except that the data is moved into the document instead of being copied when the
+     * DOM implementation allows it. The data is removed from its parent.
+     */
+    public PojoToDocumentTransformer moveData(Element data) throws NetconfMessageBuilderException {
+        Node rpcReplyNode = m_doc.getFirstChild();
+        if (rpcReplyNode == null) {
+            throw new NetconfMessageBuilderException("<rpc-reply> Element is null, create the rpc element first");
+        }
+        if (data != null) {
+            Node movedData = null;
+            try {
+                movedData = m_doc.adoptNode(data);
+            } catch (DOMException e) {
+                LOGGER.debug("Could not move the data into the rpc-reply, copying it", e);
+            }
+            rpcReplyNode.appendChild(movedData != null ? movedData : m_doc.importNode(data, true));
+        }
+        return this;
+    }
     
 	public PojoToDocumentTransformer addNcExtensionsResponses(Map<QName, List<Element>> ncExtensionResponses)
 			throws NetconfMessageBuilderException {
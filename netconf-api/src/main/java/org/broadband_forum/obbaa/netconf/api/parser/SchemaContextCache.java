@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.api.parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.broadband_forum.obbaa.netconf.api.LogAppNames;
+import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Caches the results of YANG parsing by content, so that the same sources are not parsed again when a schema registry
+ * is rebuilt after a plug is deployed or undeployed, or when schema registries are created for devices sharing a model set.
+ * <ul>
+ * <li>The AST of a source is keyed by its identifier and the hash of its text, the AST carries the identifier.</li>
+ * <li>A schema context is keyed by the hashes of its sources together with the supported features and deviations.</li>
+ * </ul>
+ * Both are immutable and held by soft references. The caches are sized with the YANG_AST_CACHE_SIZE and
+ * YANG_SCHEMA_CONTEXT_CACHE_SIZE env/system properties, 0 disables a cache. The caches are in memory only, they do not
+ * shorten the first build after a restart.
+ */
+public final class SchemaContextCache {
+
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(SchemaContextCache.class, LogAppNames.NETCONF_LIB);
+
+    public static final String YANG_AST_CACHE_SIZE = "YANG_AST_CACHE_SIZE";
+    public static final String YANG_SCHEMA_CONTEXT_CACHE_SIZE = "YANG_SCHEMA_CONTEXT_CACHE_SIZE";
+
+    private static final String DEFAULT_AST_CACHE_SIZE = "4096";
+    private static final String DEFAULT_SCHEMA_CONTEXT_CACHE_SIZE = "16";
+
+    private static final Cache<Entry<SourceIdentifier, HashCode>, ASTSchemaSource> c_asts = newCache(YANG_AST_CACHE_SIZE,
+            DEFAULT_AST_CACHE_SIZE);
+    private static final Cache<HashCode, SchemaContext> c_schemaContexts = newCache(YANG_SCHEMA_CONTEXT_CACHE_SIZE,
+            DEFAULT_SCHEMA_CONTEXT_CACHE_SIZE);
+
+    private SchemaContextCache() {
+    }
+
+    private static <K, V> Cache<K, V> newCache(String sizeProperty, String defaultSize) {
+        String size = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(sizeProperty, defaultSize);
+        long maximumSize;
+        try {
+            maximumSize = Long.parseLong(size);
+        } catch (NumberFormatException e) {
+            maximumSize = -1;
+        }
+        if (maximumSize < 0) {
+            LOGGER.warn("Invalid {} '{}', using the default of {}", sizeProperty, size, defaultSize);
+            maximumSize = Long.parseLong(defaultSize);
+        }
+        return CacheBuilder.newBuilder().maximumSize(maximumSize).softValues().build();
+    }
+
+    public static HashCode hashSource(YangTextSchemaSource source) throws IOException {
+        return source.hash(Hashing.sha256());
+    }
+
+    static ASTSchemaSource getAST(SourceIdentifier sourceId, HashCode sourceHash, Callable<ASTSchemaSource> parser)
+            throws ExecutionException {
+        return get(c_asts, new SimpleImmutableEntry<>(sourceId, sourceHash), parser);
+    }
+
+    static SchemaContext getSchemaContext(HashCode schemaContextKey, Callable<SchemaContext> builder) throws ExecutionException {
+        return get(c_schemaContexts, schemaContextKey, builder);
+    }
+
+    private static <K, V> V get(Cache<K, V> cache, K key, Callable<V> loader) throws ExecutionException {
+        try {
+            return cache.get(key, loader);
+        } catch (UncheckedExecutionException e) {
+            throw new ExecutionException(e.getCause());
+        }
+    }
+
+    /**
+     * @param supportedFeatures null if all features are supported
+     * @param supportedDeviations null if all deviations are supported
+     */
+    static HashCode schemaContextKey(List<HashCode> sourceHashes, Set<QName> supportedFeatures,
+                                     Map<QName, Set<QName>> supportedDeviations) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        List<String> sortedSources = new ArrayList<>();
+        for (HashCode sourceHash : sourceHashes) {
+            sortedSources.add(sourceHash.toString());
+        }
+        putSorted(hasher.putString("sources", StandardCharsets.UTF_8), sortedSources);
+        if (supportedFeatures != null) {
+            List<String> features = new ArrayList<>();
+            for (QName feature : supportedFeatures) {
+                features.add(feature.toString());
+            }
+            putSorted(hasher.putString("features", StandardCharsets.UTF_8), features);
+        }
+        if (supportedDeviations != null) {
+            List<String> deviations = new ArrayList<>();
+            for (Entry<QName, Set<QName>> entry : supportedDeviations.entrySet()) {
+                for (QName deviation : entry.getValue()) {
+                    deviations.add(entry.getKey() + "<-" + deviation);
+                }
+            }
+            putSorted(hasher.putString("deviations", StandardCharsets.UTF_8), deviations);
+        }
+        return hasher.hash();
+    }
+
+    /**
+     * @return the key of the schema context built from the given sources, features and deviations, which identifies the
+     * content of the module set whatever the order of the sources
+     */
+    public static HashCode moduleSetKey(List<YangTextSchemaSource> sources, Set<QName> supportedFeatures,
+                                        Map<QName, Set<QName>> supportedDeviations) throws IOException {
+        Set<HashCode> sourceHashes = new LinkedHashSet<>();
+        for (YangTextSchemaSource source : sources) {
+            sourceHashes.add(hashSource(source));
+        }
+        return schemaContextKey(new ArrayList<>(sourceHashes), supportedFeatures, supportedDeviations);
+    }
+
+    private static void putSorted(Hasher hasher, List<String> values) {
+        Collections.sort(values);
+        hasher.putInt(values.size());
+        for (String value : values) {
+            hasher.putString(value, StandardCharsets.UTF_8).putChar('\n');
+        }
+    }
+
+    @VisibleForTesting
+    public static long getCachedSchemaContextCount() {
+        c_schemaContexts.cleanUp();
+        return c_schemaContexts.size();
+    }
+
+    @VisibleForTesting
+    public static void invalidateAll() {
+        c_asts.invalidateAll();
+        c_schemaContexts.invalidateAll();
+    }
+}
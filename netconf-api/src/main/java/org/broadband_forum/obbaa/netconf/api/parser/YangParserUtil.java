@@ -53,6 +53,7 @@ import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
+import com.google.common.hash.HashCode;
 import com.google.common.io.ByteSource;
 import com.google.common.io.Resources;
 import com.google.common.util.concurrent.Futures;
@@ -77,25 +78,26 @@ public class YangParserUtil {
     public static SchemaContext parseSchemaSources(String repoName, List<YangTextSchemaSource> inputFiles, Set<QName> supportedFeatures, Map<QName,Set<QName>> supportedDeviations) {
         try {
 
-            // TODO: once the ODL ticket https://jira.opendaylight.org/browse/YANGTOOLS-859 (tracked internally in FNMS-22439) is fixed we should remove this
-            if (supportedFeatures != null) {
-                supportedFeatures = new HashSet<>(supportedFeatures);
-                QName candidateFeature = QName.create("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01", "candidate");
-                supportedFeatures.add(candidateFeature);
-            }
-            
+            Set<QName> features = withCandidateFeature(supportedFeatures);
             List<YangTextSchemaSource> filteredInputFiles = removeDuplicates(inputFiles);
-            SharedSchemaRepository repo = new SharedSchemaRepository(repoName);
-            List<SourceIdentifier> sourceIds = prepareSchemaRepo(repo, filteredInputFiles);
-
-            SchemaContextFactoryConfiguration factoryConfig = new SchemaContextFactoryConfiguration.Builder()
-                    .setFilter(SchemaSourceFilter.ALWAYS_ACCEPT)
-                    .setSupportedFeatures(supportedFeatures)
-                    .setModulesDeviatedByModules(createDeviationSetMultimap(supportedDeviations))
-                    .build();
-            EffectiveModelContextFactory factory = repo.createEffectiveModelContextFactory(factoryConfig);
-            ListenableFuture<EffectiveModelContext> schemaContextFuture = factory.createEffectiveModelContext(sourceIds);
-            return schemaContextFuture.get();
+            List<HashCode> sourceHashes = new ArrayList<>();
+            for (YangTextSchemaSource yangSource : filteredInputFiles) {
+                sourceHashes.add(SchemaContextCache.hashSource(yangSource));
+            }
+            HashCode schemaContextKey = SchemaContextCache.schemaContextKey(sourceHashes, features, supportedDeviations);
+            return SchemaContextCache.getSchemaContext(schemaContextKey, () -> {
+                SharedSchemaRepository repo = new SharedSchemaRepository(repoName);
+                List<SourceIdentifier> sourceIds = prepareSchemaRepo(repo, filteredInputFiles, sourceHashes);
+
+                SchemaContextFactoryConfiguration factoryConfig = new SchemaContextFactoryConfiguration.Builder()
+                        .setFilter(SchemaSourceFilter.ALWAYS_ACCEPT)
+                        .setSupportedFeatures(features)
+                        .setModulesDeviatedByModules(createDeviationSetMultimap(supportedDeviations))
+                        .build();
+                EffectiveModelContextFactory factory = repo.createEffectiveModelContextFactory(factoryConfig);
+                ListenableFuture<EffectiveModelContext> schemaContextFuture = factory.createEffectiveModelContext(sourceIds);
+                return schemaContextFuture.get();
+            });
         } catch (Exception e) {
             Throwable deepestException = e;
             while (deepestException.getCause() != null && !deepestException.getCause().equals(deepestException)) {
@@ -105,10 +107,32 @@ public class YangParserUtil {
         }
     }
 
+    private static Set<QName> withCandidateFeature(Set<QName> supportedFeatures) {
+        // TODO: once the ODL ticket https://jira.opendaylight.org/browse/YANGTOOLS-859 (tracked internally in FNMS-22439) is fixed we should remove this
+        if (supportedFeatures == null) {
+            return null;
+        }
+        Set<QName> features = new HashSet<>(supportedFeatures);
+        features.add(QName.create("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01", "candidate"));
+        return features;
+    }
+
     public static List<SourceIdentifier> prepareSchemaRepo(SharedSchemaRepository repo, List<YangTextSchemaSource> inputFiles) throws SchemaSourceException, IOException, YangSyntaxErrorException, InterruptedException, java.util.concurrent.ExecutionException {
-        List<SourceIdentifier> sourceIds = new ArrayList<>();
+        List<HashCode> sourceHashes = new ArrayList<>();
         for (YangTextSchemaSource yangSource : inputFiles) {
-            ListenableFuture<ASTSchemaSource> aSTSchemaSource = Futures.immediateFuture(TextToASTTransformer.transformText(yangSource));
+            sourceHashes.add(SchemaContextCache.hashSource(yangSource));
+        }
+        return prepareSchemaRepo(repo, inputFiles, sourceHashes);
+    }
+
+    private static List<SourceIdentifier> prepareSchemaRepo(SharedSchemaRepository repo, List<YangTextSchemaSource> inputFiles,
+                                                            List<HashCode> sourceHashes) throws InterruptedException,
+            java.util.concurrent.ExecutionException {
+        List<SourceIdentifier> sourceIds = new ArrayList<>();
+        for (int i = 0; i < inputFiles.size(); i++) {
+            YangTextSchemaSource yangSource = inputFiles.get(i);
+            ListenableFuture<ASTSchemaSource> aSTSchemaSource = Futures.immediateFuture(SchemaContextCache.getAST(yangSource.getIdentifier(),
+                sourceHashes.get(i), () -> TextToASTTransformer.transformText(yangSource)));
             SettableSchemaProvider<ASTSchemaSource> schemaProvider = SettableSchemaProvider.createImmediate(aSTSchemaSource.get(),
                     ASTSchemaSource.class);
             schemaProvider.setResult();
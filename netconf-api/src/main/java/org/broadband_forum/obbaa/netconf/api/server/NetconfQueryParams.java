@@ -19,6 +19,7 @@ package org.broadband_forum.obbaa.netconf.api.server;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.opendaylight.yangtools.yang.common.QName;
 
@@ -32,23 +33,73 @@ public class NetconfQueryParams {
     private int m_depth;
     private boolean m_includeConfig;
     private Map<String, List<QName>> m_fieldValues= new HashMap<>();
+    private int m_subtreeDepth;
+    private int m_offset = 0;
+    private int m_limit = UNBOUNDED;
  
     public NetconfQueryParams(int depth, boolean includeConfig) {
         m_depth = depth;
         m_includeConfig = includeConfig;
-       
+        m_subtreeDepth = depth;
     }
     
     public NetconfQueryParams(int depth, boolean includeConfig, Map<String, List<QName>> fieldValues) {
         m_depth = depth;
         m_includeConfig = includeConfig;
         m_fieldValues = fieldValues;
+        m_subtreeDepth = depth;
+    }
+
+    /**
+     * @param subtreeDepth the depth up to which the subtrees selected as a whole by a filter are retrieved, lower than
+     *                     depth when depth was raised only to evaluate the match conditions of a pruned-subtree filter
+     */
+    public NetconfQueryParams(int depth, boolean includeConfig, Map<String, List<QName>> fieldValues, int subtreeDepth) {
+        this(depth, includeConfig, fieldValues);
+        m_subtreeDepth = subtreeDepth;
+    }
+
+    /**
+     * @param offset the number of entries of a big list skipped before the first entry returned
+     * @param limit the maximum number of entries of a big list returned, UNBOUNDED to return all of them
+     */
+    public NetconfQueryParams(int depth, boolean includeConfig, Map<String, List<QName>> fieldValues, int subtreeDepth, int offset,
+                              int limit) {
+        this(depth, includeConfig, fieldValues, subtreeDepth);
+        m_offset = offset;
+        m_limit = limit;
     }
 
     public int getDepth() {
         return m_depth;
     }
 
+    public int getSubtreeDepth() {
+        return m_subtreeDepth;
+    }
+
+    public int getOffset() {
+        return m_offset;
+    }
+
+    public int getLimit() {
+        return m_limit;
+    }
+
+    public boolean isListPaged() {
+        return m_offset > 0 || m_limit != UNBOUNDED;
+    }
+
+    /**
+     * @return the same parameters without the offset and limit
+     */
+    public NetconfQueryParams withoutListPaging() {
+        if (!isListPaged()) {
+            return this;
+        }
+        return new NetconfQueryParams(m_depth, m_includeConfig, m_fieldValues, m_subtreeDepth);
+    }
+
     public boolean isIncludeConfig() {
         return m_includeConfig;
     }
@@ -62,7 +113,11 @@ public class NetconfQueryParams {
         final int prime = 31;
         int result = 1;
         result = prime * result + m_depth;
+        result = prime * result + m_subtreeDepth;
+        result = prime * result + m_offset;
+        result = prime * result + m_limit;
         result = prime * result + (m_includeConfig ? 1231 : 1237);
+        result = prime * result + Objects.hashCode(m_fieldValues);
         return result;
     }
 
@@ -84,12 +139,22 @@ public class NetconfQueryParams {
         if (m_includeConfig != other.m_includeConfig) {
             return false;
         }
+        if (m_subtreeDepth != other.m_subtreeDepth) {
+            return false;
+        }
+        if (m_offset != other.m_offset || m_limit != other.m_limit) {
+            return false;
+        }
+        if (!Objects.equals(m_fieldValues, other.m_fieldValues)) {
+            return false;
+        }
         return true;
     }
 
     @Override
     public String toString() {
-        return "NetconfQueryParams [m_depth=" + m_depth + ", m_includeConfig=" + m_includeConfig + "]";
+        return "NetconfQueryParams [m_depth=" + m_depth + ", m_subtreeDepth=" + m_subtreeDepth + ", m_includeConfig=" + m_includeConfig + ", m_offset=" + m_offset
+                + ", m_limit=" + m_limit + ", m_fieldValues=" + m_fieldValues + "]";
     }
 
 }
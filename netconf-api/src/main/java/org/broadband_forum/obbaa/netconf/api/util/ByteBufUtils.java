@@ -31,6 +31,27 @@ public class ByteBufUtils {
         return new CompositeByteBuf(new UnpooledByteBufAllocator(false), false, 16);
     }
 
+    /**
+     * Composite buffer that never consolidates its components, so that appending many chunks does not copy the
+     * bytes accumulated so far.
+     */
+    public static CompositeByteBuf unpooledHeapByteBufWithoutConsolidation() {
+        return new CompositeByteBuf(new UnpooledByteBufAllocator(false), false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Moves the reader index past any whitespace, an XML declaration is only valid at the very start of the document.
+     */
+    public static void skipLeadingWhitespaces(ByteBuf byteBuf) {
+        while (byteBuf.isReadable()) {
+            byte b = byteBuf.getByte(byteBuf.readerIndex());
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            byteBuf.skipBytes(1);
+        }
+    }
+
     public static void releaseByteBuf(ByteBuf byteBuf) {
         if(byteBuf != null) {
             int refCount = byteBuf.refCnt();
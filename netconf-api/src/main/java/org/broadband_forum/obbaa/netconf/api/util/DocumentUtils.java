@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -694,42 +695,57 @@ public class DocumentUtils {
 
     public static Document stringToDocument(String msg, boolean logging) throws NetconfMessageBuilderException {
         try {
-            DocumentBuilderFactory factory;
-            if (c_getNewDocBuildFactoryEveryTime) {
-                factory = DocumentBuilderFactoryWithoutDTD.newInstance();
-            } else {
-                factory = DocumentBuilderFactoryWithoutDTD.getInstance();
-            }
-            DocumentBuilder builder;
-            builder = factory.newDocumentBuilder();
-            builder.setErrorHandler(new ErrorHandler() {
+            return newParsingDocumentBuilder(logging).parse(new InputSource(new StringReader(msg.trim())));
+        } catch (SAXException | IOException | ParserConfigurationException e) {
+            throw new NetconfMessageBuilderException(PARSE_ERROR, e);
+        }
+    }
 
-                @Override
-                public void warning(SAXParseException e) throws SAXException {
-                    if (logging) {
-                        LOGGER.warn(PARSE_ERROR, e);
-                    }
-                }
+    /**
+     * Parses the document directly from the given stream, without materializing the message as a String first.
+     * Leading whitespace before the XML declaration is expected to be skipped by the caller.
+     */
+    public static Document inputStreamToDocument(InputStream msg, boolean logging) throws NetconfMessageBuilderException {
+        try {
+            return newParsingDocumentBuilder(logging).parse(new InputSource(msg));
+        } catch (SAXException | IOException | ParserConfigurationException e) {
+            throw new NetconfMessageBuilderException(PARSE_ERROR, e);
+        }
+    }
 
-                @Override
-                public void fatalError(SAXParseException e) throws SAXException {
-                    if (logging) {
-                        LOGGER.error(PARSE_ERROR, e);
-                    }
+    private static DocumentBuilder newParsingDocumentBuilder(boolean logging) throws ParserConfigurationException {
+        DocumentBuilderFactory factory;
+        if (c_getNewDocBuildFactoryEveryTime) {
+            factory = DocumentBuilderFactoryWithoutDTD.newInstance();
+        } else {
+            factory = DocumentBuilderFactoryWithoutDTD.getInstance();
+        }
+        DocumentBuilder builder;
+        builder = factory.newDocumentBuilder();
+        builder.setErrorHandler(new ErrorHandler() {
+
+            @Override
+            public void warning(SAXParseException e) throws SAXException {
+                if (logging) {
+                    LOGGER.warn(PARSE_ERROR, e);
                 }
+            }
 
-                @Override
-                public void error(SAXParseException e) throws SAXException {
-                    if (logging) {
-                        LOGGER.error(PARSE_ERROR, e);
-                    }
+            @Override
+            public void fatalError(SAXParseException e) throws SAXException {
+                if (logging) {
+                    LOGGER.error(PARSE_ERROR, e);
                 }
-            });
-            return builder.parse(new InputSource(new StringReader(msg.trim())));
+            }
 
-        } catch (SAXException | IOException | ParserConfigurationException e) {
-            throw new NetconfMessageBuilderException(PARSE_ERROR, e);
-        }
+            @Override
+            public void error(SAXParseException e) throws SAXException {
+                if (logging) {
+                    LOGGER.error(PARSE_ERROR, e);
+                }
+            }
+        });
+        return builder;
     }
 
     public static String format(String unformattedXml) {
@@ -796,6 +812,18 @@ public class DocumentUtils {
 
     }
 
+    public static final void documentToOutputStream(Node xml, OutputStream out) throws NetconfMessageBuilderException {
+        Transformer tf;
+        try {
+            tf = TRANSFORMER_FACTORY.newTransformer();
+            tf.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            tf.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            tf.transform(new DOMSource(xml), new StreamResult(out));
+        } catch (TransformerException e) {
+            throw new NetconfMessageBuilderException("Error while converting document to String ", e);
+        }
+    }
+
     public static final String documentToPrettyString(Node xml) throws NetconfMessageBuilderException {
         Transformer tf;
         try {
@@ -109,6 +109,8 @@ public final class NetconfResources {
     public static final String SYS_CURRENT_DATE_TIME = "sys:current-datetime";
     public static final String CURRENT_DATE_TIME = "current-datetime";
     public static final String DEPTH = "depth";
+    public static final String OFFSET = "offset";
+    public static final String LIMIT = "limit";
     public static final String TRIGGER_SYNC_UPON_SUCCESS = "trigger-sync-upon-success";
     public static final String XMLNS_CTX = "xmlns:ctx";
     public static final String CTX_USER_CONTEXT = "ctx:user-context";
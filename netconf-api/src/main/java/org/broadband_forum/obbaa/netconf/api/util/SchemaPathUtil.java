@@ -26,20 +26,67 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.broadband_forum.obbaa.netconf.api.LogAppNames;
+import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Created by keshava on 12/28/15.
  */
 public class SchemaPathUtil {
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(SchemaPathUtil.class, LogAppNames.NETCONF_LIB);
+
     public static final String DELIMITER = ",";
+    public static final String SCHEMA_PATH_CACHE_SIZE = "SCHEMA_PATH_CACHE_SIZE";
+    private static final String DEFAULT_SCHEMA_PATH_CACHE_SIZE = "10000";
 
     public static Map<String, URI> m_namespaceCache = new ConcurrentHashMap<>();
     public static Map<String, Revision> m_revisionCache = new ConcurrentHashMap<>();
+    /**
+     * The schema paths parsed from the strings stored with the entities, so that the entities of a list share one
+     * immutable SchemaPath instead of each parsing its own. Sized with the SCHEMA_PATH_CACHE_SIZE env/system property,
+     * 0 disables the cache.
+     */
+    private static final Cache<String, SchemaPath> c_schemaPaths = newSchemaPathCache();
+
+    private static Cache<String, SchemaPath> newSchemaPathCache() {
+        String size = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(SCHEMA_PATH_CACHE_SIZE, DEFAULT_SCHEMA_PATH_CACHE_SIZE);
+        long maximumSize;
+        try {
+            maximumSize = Long.parseLong(size);
+        } catch (NumberFormatException e) {
+            maximumSize = -1;
+        }
+        if (maximumSize < 0) {
+            LOGGER.warn("Invalid {} '{}', using the default of {}", SCHEMA_PATH_CACHE_SIZE, size, DEFAULT_SCHEMA_PATH_CACHE_SIZE);
+            maximumSize = Long.parseLong(DEFAULT_SCHEMA_PATH_CACHE_SIZE);
+        }
+        return CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
 
     public static SchemaPath fromString(String schemaPathStr) {
+        SchemaPath schemaPath = c_schemaPaths.getIfPresent(schemaPathStr);
+        if (schemaPath == null) {
+            schemaPath = parse(schemaPathStr);
+            c_schemaPaths.put(schemaPathStr, schemaPath);
+        }
+        return schemaPath;
+    }
+
+    @VisibleForTesting
+    static void invalidateSchemaPathCache() {
+        c_schemaPaths.invalidateAll();
+    }
+
+    private static SchemaPath parse(String schemaPathStr) {
         List<String> parts = Arrays.asList(schemaPathStr.split(DELIMITER));
         List<QName> qNames = new ArrayList<>();
         Iterator<String> partsIter = parts.iterator();
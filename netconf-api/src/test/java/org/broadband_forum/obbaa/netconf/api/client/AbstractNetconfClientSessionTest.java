@@ -31,7 +31,9 @@ import static org.mockito.Mockito.verify;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.broadband_forum.obbaa.netconf.api.client.util.AbstractNetconfClientSessionTestSetUp;
@@ -61,6 +63,8 @@ import org.joda.time.DateTime;
 import org.junit.Test;
 import org.w3c.dom.Document;
 
+import io.netty.util.HashedWheelTimer;
+
 public class AbstractNetconfClientSessionTest extends AbstractNetconfClientSessionTestSetUp {
     private static final String TEST_STREAM = "testStream";
     private static final String TEST_SOURCE = "testSource";
@@ -468,4 +472,63 @@ public class AbstractNetconfClientSessionTest extends AbstractNetconfClientSessi
             fail("Got Exception : " + ex.getMessage());
         }
     }
+
+    @Test
+    public void testUnansweredRequestIsExpiredByTheResponseTimeoutTimer() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        try {
+            m_abstractNetconfClientSession.setResponseTimeoutTimer(timer);
+            GetRequest request = new GetRequest();
+            request.setReplyTimeout(50);
+            NetconfResponseFuture future = m_abstractNetconfClientSession.get(request);
+            assertEquals(1, m_abstractNetconfClientSession.getOutstandingRequestCount());
+
+            try {
+                future.join();
+                fail("Expected the request to time out");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertNull(future.get());
+            assertEquals(0, m_abstractNetconfClientSession.getOutstandingRequestCount());
+            assertEquals(1, m_abstractNetconfClientSession.getTimedOutRequestCount());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testAnsweredRequestIsNotExpired() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        try {
+            m_abstractNetconfClientSession.setResponseTimeoutTimer(timer);
+            GetRequest request = new GetRequest();
+            request.setReplyTimeout(50);
+            NetconfResponseFuture future = m_abstractNetconfClientSession.get(request);
+            NetConfResponse response = new NetConfResponse().setMessageId(request.getMessageId());
+            m_abstractNetconfClientSession.responseRecieved(request.getMessageId(), response);
+
+            Thread.sleep(100);
+            assertEquals(response, future.get());
+            assertEquals(0, m_abstractNetconfClientSession.getOutstandingRequestCount());
+            assertEquals(0, m_abstractNetconfClientSession.getTimedOutRequestCount());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testRequestIsSentWhenTheResponseTimeoutTimerIsStopped() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        timer.stop();
+        m_abstractNetconfClientSession.setResponseTimeoutTimer(timer);
+        GetRequest request = new GetRequest();
+        request.setReplyTimeout(50);
+        NetconfResponseFuture future = m_abstractNetconfClientSession.get(request);
+        NetConfResponse response = new NetConfResponse().setMessageId(request.getMessageId());
+        m_abstractNetconfClientSession.responseRecieved(request.getMessageId(), response);
+
+        assertEquals(response, future.get());
+        assertEquals(0, m_abstractNetconfClientSession.getOutstandingRequestCount());
+    }
 }
@@ -17,10 +17,12 @@
 package org.broadband_forum.obbaa.netconf.api.client;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.broadband_forum.obbaa.netconf.api.messages.NetConfResponse;
 import org.junit.Before;
@@ -48,4 +50,11 @@ public class NetconfResponseFutureTest {
         NetconfResponseFuture completedTimeoutFuture = NetconfResponseFuture.completedNetconfResponseFuture(response);
         assertTrue(completedTimeoutFuture.isDone());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testExpiredFutureReturnsNull() throws InterruptedException, ExecutionException {
+        m_timeoutResponse.completeExceptionally(new TimeoutException("expired"));
+        assertNull(m_timeoutResponse.get());
+        assertNull(m_timeoutResponse.getNow());
+    }
+}
@@ -27,6 +27,7 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
 import org.broadband_forum.obbaa.netconf.api.MessageToolargeException;
@@ -43,6 +44,7 @@ import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import junit.framework.Assert;
 
 public class ChunkedNetconfMessageCodecV2Test extends SystemPropertyUtilsUserTest {
@@ -107,6 +109,19 @@ public class ChunkedNetconfMessageCodecV2Test extends SystemPropertyUtilsUserTes
         assertXMLEqual(DocumentUtils.stringToDocument("<rpc/>"), rpc.getDocument());
     }
 
+    @Test
+    public void testChunkedDecodingKeepsTheChunksAsSlicesOfTheInput() throws NetconfMessageBuilderException, MessageToolargeException {
+        m_buf.writeBytes("\n#4\n<rpc\n#2\n/".getBytes());
+        assertNull(m_codec.decode(m_buf));
+        // the first chunk still refers to the bytes of the input, so the incomplete second chunk must not move them
+        assertEquals(2, m_buf.refCnt());
+
+        m_buf.writeBytes(">\n##\n".getBytes());
+        DocumentInfo rpc = m_codec.decode(m_buf);
+        assertXMLEqual(DocumentUtils.stringToDocument("<rpc/>"), rpc.getDocument());
+        assertEquals(1, m_buf.refCnt());
+    }
+
     @Test
     public void testChunkedDecodingWhenHeaderLengthIsLesserThanChunkContent() throws NetconfMessageBuilderException, MessageToolargeException {
         String payload = "\n#5\n<rpc/>\n##\n";
@@ -229,6 +244,29 @@ public class ChunkedNetconfMessageCodecV2Test extends SystemPropertyUtilsUserTes
         assertXMLEqual(DocumentUtils.stringToDocument("<rpc/>"), rpc);
     }
 
+    @Test
+    public void testChunkedDecodingWithLeadingWhiteSpacesBeforeXmlDeclaration() throws NetconfMessageBuilderException, MessageToolargeException {
+        String payload = "\n#47\n \n<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<rpc/>\n##\n";
+        m_buf.writeBytes(payload.getBytes());
+        DocumentInfo rpc = m_codec.decode(m_buf);
+        assertXMLEqual(DocumentUtils.stringToDocument("<rpc/>"), rpc.getDocument());
+        assertEquals(47, rpc.getLength());
+    }
+
+    @Test
+    public void testChunkedDecodingWithMultiByteCharacterSplitAcrossChunks() throws Exception {
+        byte[] rpcBytes = "<rpc><name>caf\u00e9</name></rpc>".getBytes(StandardCharsets.UTF_8);
+        int splitIndex = 15; // in the middle of the two byte encoding of the last character
+        m_buf.writeBytes(("\n#" + splitIndex + "\n").getBytes());
+        m_buf.writeBytes(rpcBytes, 0, splitIndex);
+        m_buf.writeBytes(("\n#" + (rpcBytes.length - splitIndex) + "\n").getBytes());
+        m_buf.writeBytes(rpcBytes, splitIndex, rpcBytes.length - splitIndex);
+        m_buf.writeBytes("\n##\n".getBytes());
+        DocumentInfo rpc = m_codec.decode(m_buf);
+        assertXMLEqual(DocumentUtils.stringToDocument("<rpc><name>caf\u00e9</name></rpc>"), rpc.getDocument());
+        assertEquals(rpcBytes.length, rpc.getLength());
+    }
+
     @Test
     public void testChunkedDecodingFor2ChunkEom() throws NetconfMessageBuilderException, MessageToolargeException {
         String payload = "\n\n#6\n<rpc/>\n##\n      \n \n#7\n<rpc2/>\n##\n";
@@ -280,6 +318,38 @@ public class ChunkedNetconfMessageCodecV2Test extends SystemPropertyUtilsUserTes
     }
 
 
+    @Test
+    public void testEncodeChunkedMessageIntoByteBuf() throws NetconfMessageBuilderException, MessageToolargeException {
+        ChunkedNetconfMessageCodecV2 codec = new ChunkedNetconfMessageCodecV2(65536, 10);
+        Document rpc = DocumentUtils.stringToDocument("<rpc><name>caf\u00e9</name></rpc>");
+        ByteBuf encoded = codec.encode(rpc, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals("\n#10\n<rpc><name\n#10\n>caf\u00e9</na\n#9\nme></rpc>\n##\n", encoded.toString(StandardCharsets.UTF_8));
+            assertXMLEqual(rpc, codec.decode(m_buf.writeBytes(encoded)).getDocument());
+        } finally {
+            encoded.release();
+        }
+        assertEquals(0, encoded.refCnt());
+    }
+
+    @Test
+    public void testEncodeChunkedMessageWhenMessageIsSmallerThanChunkSize() throws NetconfMessageBuilderException {
+        ChunkedNetconfMessageCodecV2 codec = new ChunkedNetconfMessageCodecV2(65536, 200);
+        Document rpc = DocumentUtils.stringToDocument("<rpc/>");
+        assertEquals("\n#6\n<rpc/>\n##\n", new String(codec.encode(rpc), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEncodeEmptyMessageIsRejected() {
+        ChunkedNetconfMessageCodecV2 codec = new ChunkedNetconfMessageCodecV2(65536, 200);
+        try {
+            codec.encode(DocumentUtils.createDocument(), UnpooledByteBufAllocator.DEFAULT);
+            fail("Should have thrown exception");
+        } catch (NetconfMessageBuilderException e) {
+            assertEquals("Cannot encode an empty message in chunked framing", e.getMessage());
+        }
+    }
+
     @Test
     public void testDecodeChunkedMessage() throws NetconfMessageBuilderException, MessageToolargeException {
         mockPropertyUtils(MAXIMUM_SIZE_OF_CHUNKED_MESSAGES, "65536");
@@ -22,6 +22,8 @@ import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.MAXIMU
 import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 
 import org.broadband_forum.obbaa.netconf.api.MessageToolargeException;
 import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
@@ -50,4 +52,13 @@ public class DocumentInfoTest {
         assertEquals(6, documentInfo.getLength());
         assertEquals("<rpc/>", documentInfo.getDocumentString());
     }
+
+    @Test
+    public void test_DocumentStringIsDerivedFromDocumentWhenNotKept() throws NetconfMessageBuilderException {
+        DocumentInfo documentInfo = new DocumentInfo(DocumentUtils.stringToDocument("<rpc/>"), null, 6);
+        assertFalse(documentInfo.hasDocumentString());
+        assertEquals(6, documentInfo.getLength());
+        assertEquals("<rpc/>", documentInfo.getDocumentString());
+        assertTrue(documentInfo.hasDocumentString());
+    }
 }
@@ -22,6 +22,8 @@ import static junit.framework.TestCase.assertTrue;
 import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.unpooledHeapByteBuf;
 import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.RPC_EOM_DELIMITER;
 
+import java.nio.charset.StandardCharsets;
+
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
 import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
 import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
@@ -33,7 +35,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.w3c.dom.Document;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import junit.framework.Assert;
 
 public class EOMNetconfMessageCodecV2Test {
@@ -101,6 +105,18 @@ public class EOMNetconfMessageCodecV2Test {
         Assert.assertEquals(expectedLength, new Long(m_codec.encode(sampleResponse).length));
     }
 
+    @Test
+    public void testEncodeEomIntoByteBuf() throws NetconfMessageBuilderException {
+        Document sampleResponse = DocumentUtils.stringToDocument(FileUtil
+                .loadAsString("/sampleResponseEOM.xml"));
+        ByteBuf encoded = m_codec.encode(sampleResponse, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            Assert.assertEquals(new String(m_codec.encode(sampleResponse)), encoded.toString(StandardCharsets.UTF_8));
+        } finally {
+            encoded.release();
+        }
+    }
+
     @Test
     public void testDecodeEom() throws NetconfMessageBuilderException {
 
@@ -17,6 +17,7 @@
 package org.broadband_forum.obbaa.netconf.api.codec.v2;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
 import static org.broadband_forum.obbaa.netconf.api.util.ByteBufUtils.unpooledHeapByteBuf;
 import static org.broadband_forum.obbaa.netconf.api.util.DocumentUtils.documentToPrettyString;
 
@@ -52,6 +53,16 @@ public class FrameAwareNetconfMessageCodecV2Test {
         m_buf.writeBytes(payload.getBytes());
         assertEquals("<rpc/>\n", documentToPrettyString(m_codec.decode(m_buf).getDocument()));
     }
+
+    @Test
+    public void testChunkedMessageSplitAcrossReads() throws NetconfMessageBuilderException, MessageToolargeException {
+        m_codec.useChunkedFraming();
+        m_buf.writeBytes("\n#6\n<rpc/>\n".getBytes());
+        assertNull(m_codec.decode(m_buf));
+
+        m_buf.writeBytes("##\n".getBytes());
+        assertEquals("<rpc/>\n", documentToPrettyString(m_codec.decode(m_buf).getDocument()));
+    }
 }
 
 
@@ -30,6 +30,7 @@ import java.net.URL;
 import java.util.List;
 
 import org.broadband_forum.obbaa.netconf.api.codec.v2.DocumentInfo;
+import org.broadband_forum.obbaa.netconf.api.server.NetconfQueryParams;
 import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
 import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
 import org.broadband_forum.obbaa.netconf.api.util.NetconfResources;
@@ -798,6 +799,57 @@ public class DocumentToPojoTransformerTest {
         
     }
 
+    @Test
+    public void testGetRequestWithListPaging() throws NetconfMessageBuilderException {
+        String getRequestString = "<nc:rpc xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"100\">\n" +
+                "<nc:get>\n" +
+                "    <offset xmlns=\"http://www.test-company.com/solutions/netconf-extensions\">200</offset>\n" +
+                "    <limit xmlns=\"http://www.test-company.com/solutions/netconf-extensions\">100</limit>\n" +
+                "</nc:get>\n" +
+                "</nc:rpc>";
+        GetRequest getRequest = DocumentToPojoTransformer.getGet(stringToDocument(getRequestString));
+        assertEquals(200, getRequest.getOffset());
+        assertEquals(100, getRequest.getLimit());
+
+        getRequest = DocumentToPojoTransformer.getGet(getRequest.getRequestDocument());
+        assertEquals(200, getRequest.getOffset());
+        assertEquals(100, getRequest.getLimit());
+
+        getRequest = DocumentToPojoTransformer.getGet(stringToDocument("<nc:rpc xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\" " +
+                "message-id=\"100\"><nc:get/></nc:rpc>"));
+        assertEquals(0, getRequest.getOffset());
+        assertEquals(NetconfQueryParams.UNBOUNDED, getRequest.getLimit());
+    }
+
+    @Test
+    public void testGetConfigRequestWithListPaging() throws NetconfMessageBuilderException {
+        String getConfigRequestString = "<nc:rpc xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"5\">\n" +
+                "    <nc:get-config>\n" +
+                "        <nc:source>\n" +
+                "            <nc:running/>\n" +
+                "        </nc:source>\n" +
+                "        <limit xmlns=\"http://www.test-company.com/solutions/netconf-extensions\">50</limit>\n" +
+                "    </nc:get-config>\n" +
+                "</nc:rpc>";
+        GetConfigRequest getConfigRequest = DocumentToPojoTransformer.getGetConfig(stringToDocument(getConfigRequestString));
+        assertEquals(0, getConfigRequest.getOffset());
+        assertEquals(50, getConfigRequest.getLimit());
+
+        try {
+            DocumentToPojoTransformer.getGetConfig(stringToDocument(getConfigRequestString.replace(">50<", ">0<")));
+            fail("Expected an exception here");
+        } catch (NetconfMessageBuilderException e) {
+            assertEquals("The value of limit \"0\" is not valid. Expected a value of at least 1.", e.getMessage());
+        }
+        try {
+            DocumentToPojoTransformer.getGetConfig(stringToDocument(getConfigRequestString.replace("limit", "offset")
+                    .replace(">50<", ">first<")));
+            fail("Expected an exception here");
+        } catch (NetconfMessageBuilderException e) {
+            assertEquals("The value of offset \"first\" is not valid. Expected a value of at least 0.", e.getMessage());
+        }
+    }
+
     @Test
     public void testGetRequest() throws NetconfMessageBuilderException {
         String getRequestWithoutFilterString = "<nc:rpc message-id=\"100\" " +
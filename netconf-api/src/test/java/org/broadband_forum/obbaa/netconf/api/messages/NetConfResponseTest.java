@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.api.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfResources;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class NetConfResponseTest {
+
+    private NetConfResponse m_response;
+    private Document m_document;
+
+    @Before
+    public void setUp() {
+        m_response = new NetConfResponse().setMessageId("1");
+        m_document = DocumentUtils.createDocument();
+    }
+
+    @Test
+    public void testResponseDocumentIsReusedUntilTheResponseChanges() throws Exception {
+        m_response.setDataContent(Arrays.asList(createElement("interfaces")));
+        Document responseDocument = m_response.getResponseDocument();
+        assertSame(responseDocument, m_response.getResponseDocument());
+
+        m_response.setMessageId("1");
+        assertSame(responseDocument, m_response.getResponseDocument());
+
+        m_response.addOtherRpcAttribute("xmlns:test", "urn:test");
+        Document changedDocument = m_response.getResponseDocument();
+        assertNotSame(responseDocument, changedDocument);
+        assertEquals("urn:test", changedDocument.getDocumentElement().getAttribute("xmlns:test"));
+
+        m_response.getData();
+        m_response.getErrors();
+        m_response.getDataContent();
+        assertSame(changedDocument, m_response.getResponseDocument());
+    }
+
+    @Test
+    public void testResponseDocumentHoldsTheOnlyCopyOfTheData() throws Exception {
+        m_response.setDataContent(Arrays.asList(createElement("interfaces")));
+        Document responseDocument = m_response.getResponseDocument();
+        assertSame(responseDocument, m_response.getData().getOwnerDocument());
+        assertSame(responseDocument.getDocumentElement(), m_response.getData().getParentNode());
+
+        m_response.setOk(true);
+        Document changedDocument = m_response.getResponseDocument();
+        assertNotSame(responseDocument, changedDocument);
+        assertSame(responseDocument.getDocumentElement(), m_response.getData().getParentNode());
+        assertEquals(1, changedDocument.getElementsByTagNameNS("urn:test", "interfaces").getLength());
+    }
+
+    @Test
+    public void testDataSetByTheCallerIsCopied() throws Exception {
+        Element data = m_document.createElementNS(NetconfResources.NETCONF_RPC_NS_1_0, NetconfResources.RPC_REPLY_DATA);
+        m_document.appendChild(data);
+        m_response.setData(data);
+        m_response.getResponseDocument();
+        assertSame(m_document, m_response.getData().getOwnerDocument());
+        assertSame(m_document, data.getParentNode());
+    }
+
+    @Test
+    public void testResponseDocumentIsReleasedOnceSent() throws Exception {
+        Document responseDocument = m_response.getResponseDocument();
+        m_response.getMessageSentFuture().complete("Response Sent");
+        assertNotSame(responseDocument, m_response.getResponseDocument());
+    }
+
+    @Test
+    public void testMoveDataContentDoesNotCopyTheContents() throws Exception {
+        Element interfaces = createElement("interfaces");
+        Element otherDocumentElement = DocumentUtils.createDocument().createElementNS("urn:test", "hardware");
+        m_response.moveDataContent(Arrays.asList(interfaces, otherDocumentElement));
+
+        assertEquals(2, m_response.getDataContent().size());
+        assertSame(interfaces, m_response.getDataContent().get(0));
+        assertSame(m_response.getData(), interfaces.getParentNode());
+        assertEquals("hardware", m_response.getDataContent().get(1).getLocalName());
+        assertEquals("<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"1\"><data>"
+                        + "<interfaces xmlns=\"urn:test\"/><hardware xmlns=\"urn:test\"/></data></rpc-reply>",
+                DocumentUtils.documentToString(m_response.getResponseDocument()).replaceAll("<\\?xml[^>]*>", "").trim());
+    }
+
+    private Element createElement(String name) {
+        return m_document.createElementNS("urn:test", name);
+    }
+}
@@ -174,6 +174,14 @@ public class NetconfNotificationTest {
         assertNotNull(m_netconfNotification.getNotificationElementWR());
     }
 
+    @Test
+    public void testNotificationWithoutStringKeepsTheElement() throws NetconfMessageBuilderException {
+        m_netconfNotification = new NetconfNotification(m_notifElement, null);
+        assertNull(m_netconfNotification.getNotificationString());
+        assertNull(m_netconfNotification.getNotificationElementWR());
+        assertEquals(m_nodeList.item(1), m_netconfNotification.getNotificationElement());
+    }
+
     @Test
     public void testGetTypeWithNotifElementWR() throws NetconfMessageBuilderException{
         Node node = mock(Element.class);
@@ -34,7 +34,9 @@ package org.broadband_forum.obbaa.netconf.api.parser;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -49,6 +51,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -66,11 +69,15 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.Uint32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
 
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeSet;
+import com.google.common.hash.HashCode;
 
 public class YangParserUtilTest {
 
@@ -114,6 +121,57 @@ public class YangParserUtilTest {
 		assertNotNull(context);
 	}
 
+	@Test
+	public void testParseSchemaSourcesReusesCachedSchemaContext() {
+		SchemaContextCache.invalidateAll();
+		SchemaContext context = YangParserUtil.parseSchemaSources(YangParserUtilTest.class.getName(),
+				m_yangschemaSources, null, null);
+		List<YangTextSchemaSource> reversedSources = new ArrayList<>(m_yangschemaSources);
+		Collections.reverse(reversedSources);
+		assertSame(context, YangParserUtil.parseSchemaSources("another-repo", reversedSources, null, null));
+		assertEquals(1, SchemaContextCache.getCachedSchemaContextCount());
+	}
+
+	@Test
+	public void testCachedASTIsKeyedBySourceIdentifier() throws Exception {
+		SchemaContextCache.invalidateAll();
+		YangTextSchemaSource source = m_yangschemaSources.get(0);
+		ASTSchemaSource ast = TextToASTTransformer.transformText(source);
+		HashCode sourceHash = SchemaContextCache.hashSource(source);
+		AtomicInteger parseCount = new AtomicInteger();
+
+		SchemaContextCache.getAST(source.getIdentifier(), sourceHash, () -> {
+			parseCount.incrementAndGet();
+			return ast;
+		});
+		SchemaContextCache.getAST(source.getIdentifier(), sourceHash, () -> {
+			parseCount.incrementAndGet();
+			return ast;
+		});
+		assertEquals(1, parseCount.get());
+
+		SchemaContextCache.getAST(RevisionSourceIdentifier.create("other-name"), sourceHash, () -> {
+			parseCount.incrementAndGet();
+			return ast;
+		});
+		assertEquals(2, parseCount.get());
+	}
+
+	@Test
+	public void testSchemaContextKeyDependsOnFeatures() throws IOException {
+		List<HashCode> sourceHashes = new ArrayList<>();
+		for (YangTextSchemaSource source : m_yangschemaSources) {
+			sourceHashes.add(SchemaContextCache.hashSource(source));
+		}
+		QName feature = QName.create("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01", "candidate");
+		HashCode allFeatures = SchemaContextCache.schemaContextKey(sourceHashes, null, null);
+		HashCode noFeatures = SchemaContextCache.schemaContextKey(sourceHashes, Collections.emptySet(), null);
+		HashCode oneFeature = SchemaContextCache.schemaContextKey(sourceHashes, Collections.singleton(feature), null);
+		assertNotEquals(allFeatures, noFeatures);
+		assertNotEquals(noFeatures, oneFeature);
+		assertEquals(oneFeature, SchemaContextCache.schemaContextKey(sourceHashes, new HashSet<>(Collections.singleton(feature)), null));
+	}
+
 	@Test
 	public void testGetYangSource() throws IOException {
 		YangTextSchemaSource schemaSource = YangParserUtil.getYangSource(
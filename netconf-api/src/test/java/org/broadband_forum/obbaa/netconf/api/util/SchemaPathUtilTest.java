@@ -17,6 +17,8 @@
 package org.broadband_forum.obbaa.netconf.api.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.net.URI;
 
@@ -65,6 +67,18 @@ public class SchemaPathUtilTest {
         }
     }
     
+    @Test
+    public void testFromStringSharesTheSchemaPathParsedFromTheSameString() {
+        String songPath = SchemaPathUtil.toString(SONG_SCHEMA_PATH);
+        SchemaPath schemaPath = SchemaPathUtil.fromString(songPath);
+        assertSame(schemaPath, SchemaPathUtil.fromString(new String(songPath)));
+
+        SchemaPathUtil.invalidateSchemaPathCache();
+        SchemaPath parsedAgain = SchemaPathUtil.fromString(songPath);
+        assertNotSame(schemaPath, parsedAgain);
+        assertEquals(schemaPath, parsedAgain);
+    }
+
     @Test
     public void testToStringNoRev() {
     	String pathNoRev = SchemaPathUtil.toStringNoRev(JUKEBOX_SCHEMA_PATH);
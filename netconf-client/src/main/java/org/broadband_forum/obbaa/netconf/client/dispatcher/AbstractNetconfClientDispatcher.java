@@ -16,11 +16,16 @@
 
 package org.broadband_forum.obbaa.netconf.client.dispatcher;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
+import org.broadband_forum.obbaa.netconf.api.client.AbstractNetconfClientSession;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientConfiguration;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientDispatcher;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientDispatcherException;
@@ -29,10 +34,18 @@ import org.broadband_forum.obbaa.netconf.api.client.TcpServerSession;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
 public abstract class AbstractNetconfClientDispatcher implements NetconfClientDispatcher {
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(AbstractNetconfClientDispatcher.class, LogAppNames.NETCONF_LIB);
 
+    private static final long RESPONSE_TIMEOUT_TICK_MILLIS = 100;
     private final ExecutorService m_executorService;// NOSONAR
+    private Timer m_responseTimeoutTimer;
+    private final Set<AbstractNetconfClientSession> m_timedSessions = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean m_shutdown;
 
     protected AbstractNetconfClientDispatcher(ExecutorService executorService) {// NOSONAR
         m_executorService = executorService;
@@ -42,6 +55,53 @@ public abstract class AbstractNetconfClientDispatcher implements NetconfClientDi
         return m_executorService;
     }
 
+    /**
+     * @return the timer expiring the unanswered requests of the sessions created by this dispatcher, shared by all of them
+     * and started on first use.
+     */
+    protected synchronized Timer getResponseTimeoutTimer() {
+        if (m_responseTimeoutTimer == null) {
+            m_responseTimeoutTimer = new HashedWheelTimer(new DefaultThreadFactory("NetconfResponseTimeout", true),
+                    RESPONSE_TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return m_responseTimeoutTimer;
+    }
+
+    /**
+     * Lets an open session expire its unanswered requests with the shared response timeout timer. The timer is kept
+     * running until the session is closed.
+     */
+    protected synchronized void useResponseTimeoutTimer(AbstractNetconfClientSession session) {
+        if (!session.isOpen()) {
+            return;
+        }
+        m_timedSessions.add(session);
+        session.setResponseTimeoutTimer(getResponseTimeoutTimer());
+        session.addSessionListener((sessionId, closureReason) -> releaseResponseTimeoutTimer(session));
+    }
+
+    /**
+     * Stops the response timeout timer once the last session using it is closed, the sessions still open keep expiring
+     * their requests until then. A new timer is started if the dispatcher creates sessions again.
+     */
+    @Override
+    public synchronized void shutdown() {
+        m_shutdown = true;
+        stopUnusedResponseTimeoutTimer();
+    }
+
+    private synchronized void releaseResponseTimeoutTimer(AbstractNetconfClientSession session) {
+        m_timedSessions.remove(session);
+        stopUnusedResponseTimeoutTimer();
+    }
+
+    private void stopUnusedResponseTimeoutTimer() {
+        if (m_shutdown && m_timedSessions.isEmpty() && m_responseTimeoutTimer != null) {
+            m_responseTimeoutTimer.stop();
+            m_responseTimeoutTimer = null;
+        }
+    }
+
     @Override
     public Future<NetconfClientSession> createClient(final NetconfClientConfiguration config) throws NetconfClientDispatcherException {
         if (LOGGER.isDebugEnabled()) {
@@ -127,4 +127,9 @@ public class NetconfClientDispatcherImpl implements NetconfClientDispatcher {
 
     }
 
+    @Override
+    public void shutdown() {
+        m_sshClientDispatcher.shutdown();
+        m_callhomeTlsClientDispatcher.shutdown();
+    }
 }
@@ -194,6 +194,7 @@ public class SshClientDispatcherImpl extends AbstractNetconfClientDispatcher {
 
             LOGGER.debug("Initiating netconfSession...");
             final SshNetconfClientSession netconfSession = new SshNetconfClientSession(getSbiSshSessionExecutorService());
+            netconfSession.setPipelined(config.isPipelinedSend());
             LOGGER.debug("Set client session");
             netconfSession.setClientSession(clientSession);
             LOGGER.debug("Add notification listener");
@@ -245,6 +246,7 @@ public class SshClientDispatcherImpl extends AbstractNetconfClientDispatcher {
 
             netconfSession.setClientChannel(clientChannel);
             netconfSession.setSshClient(sshClient);
+            useResponseTimeoutTimer(netconfSession);
             LOGGER.debug("Netconf client session has been created");
             return netconfSession;
         } catch (Exception e) {
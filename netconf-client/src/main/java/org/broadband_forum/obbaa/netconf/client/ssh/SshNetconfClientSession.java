@@ -21,9 +21,16 @@ import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.DATE_T
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.net.StandardSocketOptions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.channel.ChannelSubsystem;
@@ -57,18 +64,161 @@ public class SshNetconfClientSession extends AbstractNetconfClientSession {
     private SshClient m_sshClient;
     private final long m_creationTime;
     private FrameAwareNetconfMessageCodecV2 m_codec = new FrameAwareNetconfMessageCodecV2Impl();
+    private static final int MAX_COALESCED_WRITE_SIZE = 256 * 1024;
+    private final Queue<PendingRpc> m_outboundQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean m_writeInProgress = new AtomicBoolean();
+    private volatile boolean m_pipelined;
 
     public SshNetconfClientSession(ExecutorService executorService) {// NOSONAR
         m_executorService = executorService;
         m_creationTime = System.currentTimeMillis();
     }
 
+    /**
+     * In pipelined mode sendRpcMessage does not wait for the request to be written. The encoded requests are appended to an
+     * outbound queue that is written one batch at a time, the requests queued while a write is in progress being coalesced
+     * into the next write, which is dispatched to the session executor once the previous one completes.
+     * The mode can only be changed while no pipelined write is outstanding.
+     */
+    public synchronized void setPipelined(boolean pipelined) {
+        if (pipelined != m_pipelined && (m_writeInProgress.get() || !m_outboundQueue.isEmpty())) {
+            throw new IllegalStateException("Cannot change the pipelined mode of session " + toString()
+                    + " while RPC messages are being written");
+        }
+        m_pipelined = pipelined;
+    }
+
+    public boolean isPipelined() {
+        return m_pipelined;
+    }
+
     @Override
-    public synchronized NetconfResponseFuture sendRpcMessage(final String currentMessageId, Document requestDocument, final long messageTimeOut) {
+    public NetconfResponseFuture sendRpcMessage(final String currentMessageId, Document requestDocument, final long messageTimeOut) {
         LOGGER.debug("Sending RPC request, message-id: {}", currentMessageId);
         if (m_clientSession.isClosed() || m_clientSession.isClosing()) {
             throw new NetconfSessionClosedException("Session is closed/closing, cannot send messages now");
         }
+        if (m_pipelined) {
+            return sendPipelinedRpcMessage(currentMessageId, requestDocument, messageTimeOut);
+        }
+        return sendRpcMessageAndAwaitWrite(currentMessageId, requestDocument, messageTimeOut);
+    }
+
+    private NetconfResponseFuture sendPipelinedRpcMessage(String currentMessageId, Document requestDocument, long messageTimeOut) {
+        try {
+            DocumentToPojoTransformer.addNetconfNamespace(requestDocument, NetconfResources.NETCONF_RPC_NS_1_0);
+            byte[] encodedMessage = m_codec.encode(requestDocument);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Queueing encoded document: {}", LOGGER.sensitiveData(new String(encodedMessage)));
+            }
+            NetconfResponseFuture futureResponse = new NetconfResponseFuture(messageTimeOut, TimeUnit.MILLISECONDS);
+            m_responseFutures.put(currentMessageId, futureResponse);
+            m_outboundQueue.offer(new PendingRpc(currentMessageId, encodedMessage, futureResponse));
+            flushOutboundQueue();
+            return futureResponse;
+        } catch (Exception e) {
+            LOGGER.error("Error while sending RPC with message-id " + currentMessageId, e);
+        }
+        return null;
+    }
+
+    private void flushOutboundQueue() {
+        while (!m_outboundQueue.isEmpty() && m_writeInProgress.compareAndSet(false, true)) {
+            List<PendingRpc> batch = new ArrayList<>();
+            int batchSize = 0;
+            PendingRpc pendingRpc;
+            while (batchSize < MAX_COALESCED_WRITE_SIZE && (pendingRpc = m_outboundQueue.poll()) != null) {
+                batch.add(pendingRpc);
+                batchSize += pendingRpc.m_encodedMessage.length;
+            }
+            if (batch.isEmpty()) {
+                m_writeInProgress.set(false);
+                continue;
+            }
+            writeBatch(batch, batchSize);
+            return;
+        }
+    }
+
+    private void writeBatch(List<PendingRpc> batch, int batchSize) {
+        ByteArrayBuffer buffer;
+        if (batch.size() == 1) {
+            buffer = new ByteArrayBuffer(batch.get(0).m_encodedMessage);
+        } else {
+            buffer = new ByteArrayBuffer(batchSize, false);
+            for (PendingRpc pendingRpc : batch) {
+                buffer.putRawBytes(pendingRpc.m_encodedMessage, 0, pendingRpc.m_encodedMessage.length);
+            }
+        }
+        LOGGER.debug("Writing {} RPC messages of {} bytes", batch.size(), batchSize);
+        try {
+            IoWriteFuture writeFuture = m_clientChannel.getAsyncIn().writePacket(buffer);
+            writeFuture.addListener(future -> {
+                if (future.isWritten()) {
+                    m_writeInProgress.set(false);
+                    dispatchFlushOutboundQueue();
+                } else {
+                    LOGGER.error("The RPC messages with message-ids {} could not be written, closing the session {}",
+                            getMessageIds(batch), toString(), future.getException());
+                    failPipelinedRpcs(batch);
+                }
+            });
+        } catch (Exception e) {
+            LOGGER.error("Error while writing RPC messages with message-ids " + getMessageIds(batch) + ", closing the session "
+                    + toString(), e);
+            failPipelinedRpcs(batch);
+        }
+    }
+
+    /**
+     * The write completion may be notified on the thread that started the write, so the next write is started from the executor
+     * to keep back to back completions from recursing on the same stack.
+     */
+    private void dispatchFlushOutboundQueue() {
+        if (m_outboundQueue.isEmpty()) {
+            return;
+        }
+        try {
+            m_executorService.submit(() -> {
+                flushOutboundQueue();
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.error("Could not dispatch the queued RPC messages, closing the session " + toString(), e);
+            failPipelinedRpcs(Collections.emptyList());
+        }
+    }
+
+    private void failPipelinedRpcs(List<PendingRpc> batch) {
+        for (PendingRpc pendingRpc : batch) {
+            failPipelinedRpc(pendingRpc);
+        }
+        PendingRpc pendingRpc;
+        while ((pendingRpc = m_outboundQueue.poll()) != null) {
+            failPipelinedRpc(pendingRpc);
+        }
+        try {
+            closeAsync();
+        } catch (Exception e) {
+            LOGGER.error("Error while closing the session " + toString(), e);
+        }
+    }
+
+    private void failPipelinedRpc(PendingRpc pendingRpc) {
+        m_responseFutures.remove(pendingRpc.m_messageId, pendingRpc.m_futureResponse);
+        pendingRpc.m_futureResponse.complete(null);
+    }
+
+    private static List<String> getMessageIds(List<PendingRpc> batch) {
+        List<String> messageIds = new ArrayList<>();
+        for (PendingRpc pendingRpc : batch) {
+            messageIds.add(pendingRpc.m_messageId);
+        }
+        return messageIds;
+    }
+
+    private synchronized NetconfResponseFuture sendRpcMessageAndAwaitWrite(final String currentMessageId, Document requestDocument,
+                                                                           final long messageTimeOut) {
         try {
             LOGGER.debug("Session is opening, sending message-id {} ...", currentMessageId);
             DocumentToPojoTransformer.addNetconfNamespace(requestDocument, NetconfResources.NETCONF_RPC_NS_1_0);
@@ -252,4 +402,16 @@ public class SshNetconfClientSession extends AbstractNetconfClientSession {
             LOGGER.error("Error while setting TCP keep-alive", e);
         }
     }
+
+    private static class PendingRpc {
+        private final String m_messageId;
+        private final byte[] m_encodedMessage;
+        private final NetconfResponseFuture m_futureResponse;
+
+        PendingRpc(String messageId, byte[] encodedMessage, NetconfResponseFuture futureResponse) {
+            m_messageId = messageId;
+            m_encodedMessage = encodedMessage;
+            m_futureResponse = futureResponse;
+        }
+    }
 }
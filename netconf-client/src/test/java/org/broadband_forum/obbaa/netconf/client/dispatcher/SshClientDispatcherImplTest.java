@@ -19,12 +19,16 @@ package org.broadband_forum.obbaa.netconf.client.dispatcher;
 import static junit.framework.TestCase.assertEquals;
 import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.DEFAULT_NC_SSH_CIPHERS;
 import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.DEFAULT_NC_SSH_MACS;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -38,6 +42,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.channel.ChannelSubsystem;
@@ -53,9 +58,11 @@ import org.apache.sshd.common.io.IoReadFuture;
 import org.apache.sshd.common.io.IoWriteFuture;
 import org.apache.sshd.common.mac.BuiltinMacs;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.broadband_forum.obbaa.netconf.api.client.AbstractNetconfClientSession;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientConfiguration;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientDispatcherException;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientSession;
+import org.broadband_forum.obbaa.netconf.api.client.NetconfClientSessionListener;
 import org.broadband_forum.obbaa.netconf.api.client.NetconfLoginProvider;
 import org.broadband_forum.obbaa.netconf.api.client.util.NetconfClientConfigurationBuilder;
 import org.broadband_forum.obbaa.netconf.api.transport.NetconfTransportFactory;
@@ -67,9 +74,12 @@ import org.broadband_forum.obbaa.netconf.client.ssh.SshNetconfClientSession;
 import org.broadband_forum.obbaa.netconf.client.ssh.auth.PasswordLoginProvider;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import io.netty.util.Timer;
+
 public class SshClientDispatcherImplTest extends SystemPropertyUtilsUserTest {
 
     @Mock
@@ -275,6 +285,47 @@ public class SshClientDispatcherImplTest extends SystemPropertyUtilsUserTest {
         }
     }
 
+    @Test
+    public void testShutdownStopsTheResponseTimeoutTimer() {
+        Timer timer = m_dispatcher.getResponseTimeoutTimer();
+        assertSame(timer, m_dispatcher.getResponseTimeoutTimer());
+
+        m_dispatcher.shutdown();
+
+        try {
+            timer.newTimeout(timeout -> { }, 1, TimeUnit.SECONDS);
+            fail("Expected the timer to be stopped");
+        } catch (IllegalStateException e) {
+            assertNotSame(timer, m_dispatcher.getResponseTimeoutTimer());
+        }
+        m_dispatcher.shutdown();
+    }
+
+    @Test
+    public void testShutdownKeepsTheResponseTimeoutTimerUntilTheLastSessionIsClosed() {
+        AbstractNetconfClientSession session = mock(AbstractNetconfClientSession.class);
+        when(session.isOpen()).thenReturn(true);
+        m_dispatcher.useResponseTimeoutTimer(session);
+        ArgumentCaptor<Timer> timerCaptor = ArgumentCaptor.forClass(Timer.class);
+        verify(session).setResponseTimeoutTimer(timerCaptor.capture());
+        ArgumentCaptor<NetconfClientSessionListener> listenerCaptor = ArgumentCaptor.forClass(NetconfClientSessionListener.class);
+        verify(session).addSessionListener(listenerCaptor.capture());
+        Timer timer = timerCaptor.getValue();
+
+        m_dispatcher.shutdown();
+        timer.newTimeout(timeout -> { }, 1, TimeUnit.SECONDS).cancel();
+        assertSame(timer, m_dispatcher.getResponseTimeoutTimer());
+
+        listenerCaptor.getValue().sessionClosed(1, null);
+        try {
+            timer.newTimeout(timeout -> { }, 1, TimeUnit.SECONDS);
+            fail("Expected the timer to be stopped");
+        } catch (IllegalStateException e) {
+            assertNotSame(timer, m_dispatcher.getResponseTimeoutTimer());
+        }
+        m_dispatcher.shutdown();
+    }
+
     private class TestSshClientDispatcherImpl extends SshClientDispatcherImpl {
         @Override
         protected ConnectFuture getConnectFuture(SshClient sshClient, String username, InetSocketAddress socketAddress) throws IOException {
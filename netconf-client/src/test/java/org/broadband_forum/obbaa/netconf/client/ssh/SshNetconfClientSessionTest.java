@@ -20,6 +20,7 @@ import static junit.framework.TestCase.fail;
 import static org.broadband_forum.obbaa.netconf.api.util.DocumentUtils.getDocFromFile;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
@@ -40,6 +41,8 @@ import java.net.InetSocketAddress;
 import java.net.StandardSocketOptions;
 import java.net.URL;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -58,6 +61,7 @@ import org.apache.sshd.common.io.nio2.Nio2Session;
 import org.apache.sshd.common.util.buffer.Buffer;
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
 import org.broadband_forum.obbaa.netconf.api.NetconfSessionClosedException;
+import org.broadband_forum.obbaa.netconf.api.client.NetconfResponseFuture;
 import org.broadband_forum.obbaa.netconf.api.client.NotificationListener;
 import org.broadband_forum.obbaa.netconf.api.messages.CloseSessionRequest;
 import org.broadband_forum.obbaa.netconf.api.messages.CopyConfigRequest;
@@ -219,6 +223,105 @@ public class SshNetconfClientSessionTest {
         assertTrue(m_mockClient.isClosed());
     }
 
+    @Test
+    public void testPipelinedSendCoalescesRequestsQueuedDuringAWrite() throws Exception {
+        m_session.setPipelined(true);
+        IoOutputStream ioOutputStream = mock(IoOutputStream.class);
+        List<String> writes = new ArrayList<>();
+        List<SshFutureListener<IoWriteFuture>> writeListeners = new ArrayList<>();
+        IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        when(writeFuture.isWritten()).thenReturn(true);
+        when(m_clientChannel.getAsyncIn()).thenReturn(ioOutputStream);
+        when(ioOutputStream.writePacket(any(Buffer.class))).thenAnswer(invocation -> {
+            Buffer buffer = (Buffer) invocation.getArguments()[0];
+            writes.add(new String(buffer.array(), buffer.rpos(), buffer.available()));
+            return writeFuture;
+        });
+        doAnswer(invocation -> {
+            writeListeners.add((SshFutureListener<IoWriteFuture>) invocation.getArguments()[0]);
+            return writeFuture;
+        }).when(writeFuture).addListener(any(SshFutureListener.class));
+
+        NetconfResponseFuture first = m_session.get(new GetRequest());
+        NetconfResponseFuture second = m_session.get(new GetRequest());
+        NetconfResponseFuture third = m_session.get(new GetRequest());
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotNull(third);
+        assertFalse(first.isDone());
+        assertEquals(1, writes.size());
+        assertEquals(1, countMessages(writes.get(0)));
+
+        writeListeners.get(0).operationComplete(writeFuture);
+
+        verify(m_executorService).submit(any(Callable.class));
+        assertEquals(2, writes.size());
+        assertEquals(2, countMessages(writes.get(1)));
+        verify(ioOutputStream, times(2)).writePacket(any(Buffer.class));
+
+        writeListeners.get(1).operationComplete(writeFuture);
+        verify(ioOutputStream, times(2)).writePacket(any(Buffer.class));
+        verify(m_clientSession, never()).close(true);
+    }
+
+    @Test
+    public void testPipelinedSendWriteFailureCompletesQueuedRequestsAndClosesSession() throws Exception {
+        m_session.setPipelined(true);
+        IoOutputStream ioOutputStream = mock(IoOutputStream.class);
+        List<SshFutureListener<IoWriteFuture>> writeListeners = new ArrayList<>();
+        IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        when(writeFuture.isWritten()).thenReturn(false);
+        when(m_clientChannel.getAsyncIn()).thenReturn(ioOutputStream);
+        when(ioOutputStream.writePacket(any(Buffer.class))).thenReturn(writeFuture);
+        doAnswer(invocation -> {
+            writeListeners.add((SshFutureListener<IoWriteFuture>) invocation.getArguments()[0]);
+            return writeFuture;
+        }).when(writeFuture).addListener(any(SshFutureListener.class));
+        when(m_clientSession.isOpen()).thenReturn(true);
+        doReturn(true).when(m_mockClient).isOpen();
+
+        NetconfResponseFuture first = m_session.get(new GetRequest());
+        NetconfResponseFuture queued = m_session.get(new GetRequest());
+        writeListeners.get(0).operationComplete(writeFuture);
+
+        assertTrue(first.isDone());
+        assertTrue(queued.isDone());
+        assertEquals(0, m_session.getOutstandingRequestCount());
+        verify(m_clientSession).close(true);
+    }
+
+    @Test
+    public void testPipelinedModeCannotBeChangedWhileAWriteIsInProgress() throws Exception {
+        m_session.setPipelined(true);
+        IoOutputStream ioOutputStream = mock(IoOutputStream.class);
+        List<SshFutureListener<IoWriteFuture>> writeListeners = new ArrayList<>();
+        IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        when(writeFuture.isWritten()).thenReturn(true);
+        when(m_clientChannel.getAsyncIn()).thenReturn(ioOutputStream);
+        when(ioOutputStream.writePacket(any(Buffer.class))).thenReturn(writeFuture);
+        doAnswer(invocation -> {
+            writeListeners.add((SshFutureListener<IoWriteFuture>) invocation.getArguments()[0]);
+            return writeFuture;
+        }).when(writeFuture).addListener(any(SshFutureListener.class));
+
+        m_session.get(new GetRequest());
+        try {
+            m_session.setPipelined(false);
+            fail("Expected the mode change to be rejected while a write is in progress");
+        } catch (IllegalStateException e) {
+            assertTrue(m_session.isPipelined());
+        }
+
+        writeListeners.get(0).operationComplete(writeFuture);
+        m_session.setPipelined(false);
+        assertFalse(m_session.isPipelined());
+    }
+
+    private static int countMessages(String written) {
+        return written.split(NetconfResources.RPC_EOM_DELIMITER, -1).length - 1;
+    }
+
     @Test
     public void testGetConfig() throws NetconfMessageBuilderException, InterruptedException, ExecutionException {
         URL url = Thread.currentThread().getContextClassLoader().getResource("getConfig.xml");
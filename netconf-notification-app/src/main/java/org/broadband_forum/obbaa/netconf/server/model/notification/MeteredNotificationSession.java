@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import java.util.List;
+
+import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
+import org.broadband_forum.obbaa.netconf.api.messages.CreateSubscriptionRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.FilterNode;
+import org.broadband_forum.obbaa.netconf.stack.NcNotificationCounterService;
+
+/**
+ * A <tt>NotificationSession<tt> that counts the notifications sent to the client in the <tt>NcNotificationCounterService<tt>
+ * before handing them over to the decorated session.
+ *
+ * @see NotificationSession
+ */
+public class MeteredNotificationSession implements NotificationSession {
+
+    private final NotificationSession m_notificationSession;
+    private final NcNotificationCounterService m_notificationCounterService;
+    private final String m_userName;
+    private final Integer m_sessionId;
+
+    public MeteredNotificationSession(NotificationSession notificationSession, NcNotificationCounterService notificationCounterService,
+                                      NetconfClientInfo clientInfo) {
+        m_notificationSession = notificationSession;
+        m_notificationCounterService = notificationCounterService;
+        m_userName = clientInfo.getUsername();
+        m_sessionId = clientInfo.getSessionId();
+    }
+
+    @Override
+    public FilterNode getSubscriptionFilter() {
+        return m_notificationSession.getSubscriptionFilter();
+    }
+
+    @Override
+    public CreateSubscriptionRequest getSubscriptionRequest() {
+        return m_notificationSession.getSubscriptionRequest();
+    }
+
+    @Override
+    public void sendNotification(Notification notification) {
+        m_notificationCounterService.increaseNumberOfNotificationsForUsers(m_userName);
+        m_notificationCounterService.increaseOutNotifications(m_sessionId);
+        m_notificationSession.sendNotification(notification);
+    }
+
+    @Override
+    public void replayNotification(List<Notification> replayNotificationList) {
+        m_notificationSession.replayNotification(replayNotificationList);
+    }
+
+    @Override
+    public void sendNotificationComplete() {
+        m_notificationSession.sendNotificationComplete();
+    }
+
+    @Override
+    public void close() {
+        m_notificationSession.close();
+    }
+
+    public NotificationSession getNotificationSession() {
+        return m_notificationSession;
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.broadband_forum.obbaa.netconf.server.model.notification;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.List;
@@ -48,6 +50,11 @@ public class NotificationLoggerImpl implements NotificationLogger {
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(CreateSubscriptionRpcHandlerImpl.class, LogAppNames
             .NETCONF_NOTIFICATION);
 
+    /**
+     * When set, the replay log of the streams supporting replay is kept in memory-mapped files under this directory.
+     */
+    public static final String STREAM_LOGGER_DIRECTORY = "STREAM_LOGGER_DIRECTORY";
+
     private Map<String, StreamLogger> m_streamLoggerMap = new ConcurrentHashMap<String, StreamLogger>();
 
     private List<Stream> m_streamList;
@@ -66,12 +73,25 @@ public class NotificationLoggerImpl implements NotificationLogger {
                 }
             }
             if (SystemPropertyUtils.getInstance().getFromEnvOrSysProperty("DISABLE_STREAM_LOGGER", null) == null) {
-                m_streamLoggerMap.put(stream.getName(), new StreamLoggerInMemoryImpl(stream.getName(), stream.getReplaySupport()));
+                m_streamLoggerMap.put(stream.getName(), createStreamLogger(stream));
             }
             m_debugLogger.put(stream.getName(), Logger.getLogger(stream.getName() + NetconfResources.SUFFIX));
         }
     }
 
+    private StreamLogger createStreamLogger(Stream stream) {
+        String directory = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(STREAM_LOGGER_DIRECTORY, null);
+        if (directory != null && stream.getReplaySupport()) {
+            try {
+                return new StreamLoggerMappedFileImpl(stream.getName(), true, new File(directory, stream.getName()));
+            } catch (IOException e) {
+                LOGGER.error(null, "Error while opening the replay log of stream {} under {}, keeping it in memory", stream.getName(),
+                        directory, e);
+            }
+        }
+        return new StreamLoggerInMemoryImpl(stream.getName(), stream.getReplaySupport());
+    }
+
     public StreamLogger getStreamLogger(String streamName) {
         return m_streamLoggerMap.get(streamName);
     }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, append-only log of serialized notifications backed by a ring buffer.
+ * <p>
+ * Every record gets a sequence number and is indexed by its event time in epoch millis. Appends do not take a lock:
+ * the sequence number is claimed with a CAS and the record is then published into its slot. The oldest records are
+ * evicted once the log holds more than maxRecords records or more than maxBytes bytes of serialized notifications.
+ * <p>
+ * The index time of a record is the highest event time logged so far, so that index times never decrease along the
+ * sequence and a time range can be located with a binary search even when notifications are logged slightly out of
+ * order. The largest difference seen between the index time and the event time of a record bounds how far past the
+ * stop time a read has to scan.
+ */
+public class NotificationReplayLog {
+
+    private final int m_maxRecords;
+    private final long m_maxBytes;
+    private final int m_mask;
+    private final AtomicReferenceArray<Record> m_records;
+    private final AtomicReference<Tail> m_tail = new AtomicReference<>(new Tail(0, Long.MIN_VALUE));
+    private final AtomicLong m_head = new AtomicLong();
+    private final AtomicLong m_bytes = new AtomicLong();
+    private final AtomicLong m_maxLateness = new AtomicLong();
+
+    public NotificationReplayLog(int maxRecords, long maxBytes) {
+        if (maxRecords <= 0 || maxRecords > (1 << 30)) {
+            throw new IllegalArgumentException("maxRecords must be between 1 and 2^30, was " + maxRecords);
+        }
+        m_maxRecords = maxRecords;
+        m_maxBytes = maxBytes;
+        int capacity = Integer.highestOneBit(maxRecords);
+        if (capacity < maxRecords) {
+            capacity <<= 1;
+        }
+        m_mask = capacity - 1;
+        m_records = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Appends a record and evicts the oldest ones if the log exceeds its bounds.
+     *
+     * @return the sequence number of the record
+     */
+    public long append(long eventTime, byte[] notification) {
+        Tail tail;
+        Tail newTail;
+        do {
+            tail = m_tail.get();
+            newTail = new Tail(tail.m_sequence + 1, Math.max(tail.m_indexTime, eventTime));
+        } while (!m_tail.compareAndSet(tail, newTail));
+
+        long sequence = tail.m_sequence;
+        long lateness = newTail.m_indexTime - eventTime;
+        if (lateness > m_maxLateness.get()) {
+            m_maxLateness.accumulateAndGet(lateness, Math::max);
+        }
+        while (sequence - m_head.get() >= m_maxRecords) {
+            evictHead();
+        }
+        m_bytes.addAndGet(notification.length);
+        m_records.set(slot(sequence), new Record(sequence, eventTime, newTail.m_indexTime, notification));
+
+        while (m_bytes.get() > m_maxBytes && m_head.get() <= sequence) {
+            evictHead();
+        }
+        return sequence;
+    }
+
+    /**
+     * @param stopTime the upper bound of the range, Long.MAX_VALUE for no upper bound
+     * @return the serialized notifications with an event time in [startTime, stopTime], in the order they were logged
+     */
+    public List<byte[]> read(long startTime, long stopTime) {
+        List<byte[]> result = new ArrayList<>();
+        long tail = m_tail.get().m_sequence;
+        long sequence = firstSequenceIndexedAtOrAfter(startTime, tail);
+        long maxLateness = m_maxLateness.get();
+        long scanStopTime = stopTime > Long.MAX_VALUE - maxLateness ? Long.MAX_VALUE : stopTime + maxLateness;
+        for (; sequence < tail; sequence++) {
+            Record record = getRecord(sequence);
+            if (record == null) {
+                if (sequence < m_head.get()) {
+                    // evicted while reading, continue from the oldest remaining record
+                    sequence = m_head.get() - 1;
+                    continue;
+                }
+                // not yet published, so neither are the later ones from a reader's perspective
+                break;
+            }
+            if (record.m_indexTime > scanStopTime) {
+                break;
+            }
+            if (record.m_eventTime >= startTime && record.m_eventTime <= stopTime) {
+                result.add(record.m_notification);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the event time of the oldest record, or null if the log is empty
+     */
+    public Long getOldestEventTime() {
+        long head;
+        Record record;
+        do {
+            head = m_head.get();
+            if (head >= m_tail.get().m_sequence) {
+                return null;
+            }
+            record = getRecord(head);
+        } while (record == null && head != m_head.get());
+        return record == null ? null : record.m_eventTime;
+    }
+
+    public int size() {
+        return (int) Math.max(0, m_tail.get().m_sequence - m_head.get());
+    }
+
+    public long getSizeInBytes() {
+        return m_bytes.get();
+    }
+
+    private long firstSequenceIndexedAtOrAfter(long time, long tail) {
+        long low = m_head.get();
+        long high = tail;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            Record record = getRecord(mid);
+            if (record == null) {
+                if (mid < m_head.get()) {
+                    low = m_head.get();
+                } else {
+                    high = mid;
+                }
+            } else if (record.m_indexTime < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void evictHead() {
+        long head = m_head.get();
+        if (head >= m_tail.get().m_sequence) {
+            return;
+        }
+        Record record = getRecord(head);
+        while (record == null) {
+            // the record is being published by the thread that claimed its sequence
+            Thread.yield();
+            if (head != m_head.get()) {
+                return;
+            }
+            record = getRecord(head);
+        }
+        if (m_head.compareAndSet(head, head + 1)) {
+            m_records.compareAndSet(slot(head), record, null);
+            m_bytes.addAndGet(-record.m_notification.length);
+        }
+    }
+
+    private Record getRecord(long sequence) {
+        Record record = m_records.get(slot(sequence));
+        return record != null && record.m_sequence == sequence ? record : null;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & m_mask);
+    }
+
+    private static final class Tail {
+        private final long m_sequence;
+        private final long m_indexTime;
+
+        private Tail(long sequence, long indexTime) {
+            m_sequence = sequence;
+            m_indexTime = indexTime;
+        }
+    }
+
+    private static final class Record {
+        private final long m_sequence;
+        private final long m_eventTime;
+        private final long m_indexTime;
+        private final byte[] m_notification;
+
+        private Record(long sequence, long eventTime, long indexTime, byte[] notification) {
+            m_sequence = sequence;
+            m_eventTime = eventTime;
+            m_indexTime = indexTime;
+            m_notification = notification;
+        }
+    }
+}
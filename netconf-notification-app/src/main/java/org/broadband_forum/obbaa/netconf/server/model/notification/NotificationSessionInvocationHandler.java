@@ -30,6 +30,10 @@ import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
 
+/**
+ * @deprecated use {@link MeteredNotificationSession}, which counts the notifications without reflection.
+ */
+@Deprecated
 public class NotificationSessionInvocationHandler implements InvocationHandler {
 
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(CreateSubscriptionRpcHandlerImpl.class, LogAppNames
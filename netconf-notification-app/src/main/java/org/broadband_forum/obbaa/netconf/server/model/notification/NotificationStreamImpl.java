@@ -19,7 +19,6 @@ package org.broadband_forum.obbaa.netconf.server.model.notification;
 
 import static org.broadband_forum.obbaa.netconf.server.ResponseChannelUtil.sendResponse;
 
-import java.lang.reflect.Proxy;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,15 +28,19 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.broadband_forum.obbaa.netconf.server.model.notification.rpchandlers.CreateSubscriptionRpcHandlerImpl;
+import org.broadband_forum.obbaa.netconf.server.model.notification.utils.CompiledNotificationFilter;
 import org.broadband_forum.obbaa.netconf.server.model.notification.utils.NotificationFilterUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
 import org.joda.time.DateTime;
+import org.w3c.dom.Document;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
 import org.broadband_forum.obbaa.netconf.api.messages.CreateSubscriptionRequest;
-import org.broadband_forum.obbaa.netconf.api.messages.NetconfFilter;
 import org.broadband_forum.obbaa.netconf.api.messages.NetConfResponse;
 import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcError;
 import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorInfo;
@@ -48,6 +51,7 @@ import org.broadband_forum.obbaa.netconf.api.messages.Notification;
 import org.broadband_forum.obbaa.netconf.api.server.ResponseChannel;
 import org.broadband_forum.obbaa.netconf.api.server.notification.NotificationStream;
 import org.broadband_forum.obbaa.netconf.api.server.notification.Stream;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.FilterNode;
 
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.NetconfRpcErrorUtil;
@@ -76,6 +80,8 @@ public class NotificationStreamImpl implements NotificationStream {
 
     private Map<NetconfClientInfo, NotificationSession> m_subscriptions = new ConcurrentHashMap<>();
 
+    private Map<NetconfClientInfo, CompiledNotificationFilter> m_subscriptionFilters = new ConcurrentHashMap<>();
+
 	private static int m_streamIdCounter = 0;
 	private int m_streamId;
 	private final Executor m_notifExecutor;
@@ -117,29 +123,65 @@ public class NotificationStreamImpl implements NotificationStream {
             //subscription and replay scenario
         	createSubscriptionWithReplay(clientInfo, request, startTime, stopTime, responseChannel);
     	}
-		responseChannel.getCloseFuture().thenAccept(isSessionClosed -> m_subscriptions.remove(clientInfo));
+		responseChannel.getCloseFuture().thenAccept(isSessionClosed -> removeSubscription(clientInfo));
 
         m_notificationLogger.logSubScription(request);
     }
 
+    /**
+     * Sends the notification to every subscription. The notification is filtered once per distinct subscription filter, the
+     * subscriptions sharing a filter receive the same filtered notification.
+     */
     @Override
     public void broadcastNotification(Notification notification){
-        for (NotificationSession notificationSession : m_subscriptions.values()) {
-            NetconfFilter filter = notificationSession.getSubscriptionRequest().getFilter();
-            Notification filteredNotification = NotificationFilterUtil.filterNotification(notification, filter);
+        Supplier<Document> filterableContent = Suppliers.memoize(() -> getFilterableContent(notification));
+        Map<String, Notification> filteredNotifications = new HashMap<>();
+        for (Map.Entry<NetconfClientInfo, NotificationSession> subscription : m_subscriptions.entrySet()) {
+            NotificationSession notificationSession = subscription.getValue();
+            CompiledNotificationFilter filter = m_subscriptionFilters.get(subscription.getKey());
+            if (filter == null) {
+                // the subscription is being removed or added concurrently, its filter is not cached so that it is not re-added
+                filter = compileFilter(notificationSession);
+            }
+            Notification filteredNotification;
+            if (filteredNotifications.containsKey(filter.getKey())) {
+                filteredNotification = filteredNotifications.get(filter.getKey());
+            } else {
+                filteredNotification = filter.apply(notification, filterableContent);
+                filteredNotifications.put(filter.getKey(), filteredNotification);
+            }
             if (filteredNotification != null) {
                 notificationSession.sendNotification(filteredNotification);
             }
         }
     }
 
+    private static CompiledNotificationFilter compileFilter(NotificationSession notificationSession) {
+        return CompiledNotificationFilter.compile(notificationSession.getSubscriptionRequest().getFilter());
+    }
+
+    private static Document getFilterableContent(Notification notification) {
+        try {
+            return NotificationFilterUtil.getFilterableContent(notification);
+        } catch (NetconfMessageBuilderException e) {
+            LOGGER.error(null, "Error while building notification document for filtering", e);
+            return null;
+        }
+    }
+
+    private NotificationSession removeSubscription(NetconfClientInfo clientInfo) {
+        NotificationSession notificationSession = m_subscriptions.remove(clientInfo);
+        m_subscriptionFilters.remove(clientInfo);
+        return notificationSession;
+    }
+
 	@Override
 	public void stopNotification(NetconfClientInfo clientInfo) {
 		stopNotification(clientInfo,true);
 	}
 
 	private void stopNotification(NetconfClientInfo clientInfo, boolean sendNotificationComplete){
-		NotificationSession notificationSession = m_subscriptions.remove(clientInfo);
+		NotificationSession notificationSession = removeSubscription(clientInfo);
 		if(notificationSession != null) {
 			if(sendNotificationComplete){
 				notificationSession.sendNotificationComplete();
@@ -218,9 +260,8 @@ public class NotificationStreamImpl implements NotificationStream {
 
 	protected NotificationSession createNotificationSession(NetconfClientInfo clientInfo,
 			CreateSubscriptionRequest request, ResponseChannel responseChannel) {
-		return (NotificationSession) Proxy.newProxyInstance(getClass().getClassLoader(),
-				new Class[] { NotificationSession.class }, new NotificationSessionInvocationHandler(
-						m_nbiNotificationCounterInterceptor, clientInfo, request, responseChannel, m_notifExecutor));
+		return new MeteredNotificationSession(new NotificationSessionImpl(clientInfo, request, responseChannel, m_notifExecutor),
+				m_nbiNotificationCounterInterceptor, clientInfo);
 	}
 
 	private NotificationSession createSubscriptionWithoutReplay(NetconfClientInfo clientInfo, CreateSubscriptionRequest request, 
@@ -228,6 +269,7 @@ public class NotificationStreamImpl implements NotificationStream {
 		LOGGER.debug(null, "Client {} creating subscription without replay", clientInfo);
 		NotificationSession notificationSession = createNotificationSession(clientInfo, request, responseChannel);
 		LOGGER.debug(null, "Using the created notification session and putting it inside subscriptions_map");
+		m_subscriptionFilters.put(clientInfo, compileFilter(notificationSession));
 		m_subscriptions.put(clientInfo, notificationSession);
 		NetConfResponse response = new NetConfResponse();
 		response.setMessageId(request.getMessageId());
@@ -248,6 +290,7 @@ public class NotificationStreamImpl implements NotificationStream {
 	    LOGGER.debug(null, "Client {} creating subscription between startTime: {} stopTime: {}", clientInfo, startTime, stopTime);
 	    NotificationSession  notificationSession = createNotificationSession(clientInfo, request, responseChannel);
 	    LOGGER.debug(null, "Using the created notification session and putting it inside subscriptions_map");
+		m_subscriptionFilters.put(clientInfo, compileFilter(notificationSession));
 		m_subscriptions.put(clientInfo, notificationSession);
 		NetConfResponse response = new NetConfResponse();
 		response.setMessageId(request.getMessageId());
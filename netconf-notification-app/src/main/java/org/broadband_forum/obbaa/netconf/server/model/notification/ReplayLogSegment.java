@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+
+/**
+ * One file of a {@link StreamLoggerMappedFileImpl}, preallocated and memory-mapped.
+ * <p>
+ * A record is laid out as <tt>length (int) | event time in epoch millis (long) | serialized notification</tt>. The
+ * length is written last, so that a record interrupted by a crash is seen as the end of the segment when the file is
+ * opened again. A sparse index keeps the offset of a record every {@link #INDEX_INTERVAL} bytes, together with the
+ * highest event time written up to that record, so that a read can skip the start of the segment.
+ * <p>
+ * Appends must be serialized by the caller, reads can run concurrently with an append. A deleted segment is unmapped
+ * and its file removed once the reads in progress on it are done.
+ */
+class ReplayLogSegment {
+
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(ReplayLogSegment.class, LogAppNames
+            .NETCONF_NOTIFICATION);
+
+    static final String SUFFIX = ".replay";
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    static final int INDEX_INTERVAL = 64 * 1024;
+
+    private final File m_file;
+    private final long m_baseSequence;
+    private final MappedByteBuffer m_buffer;
+    private final List<IndexEntry> m_index = new CopyOnWriteArrayList<>();
+    private volatile int m_position;
+    private volatile int m_recordCount;
+    private volatile long m_minEventTime = Long.MAX_VALUE;
+    private volatile long m_maxEventTime = Long.MIN_VALUE;
+    private int m_lastIndexedPosition = -INDEX_INTERVAL;
+    // one reference held by the log until the segment is deleted, plus one per read in progress
+    private final AtomicInteger m_references = new AtomicInteger(1);
+
+    private ReplayLogSegment(File file, long baseSequence, MappedByteBuffer buffer) {
+        m_file = file;
+        m_baseSequence = baseSequence;
+        m_buffer = buffer;
+    }
+
+    static ReplayLogSegment create(File directory, long baseSequence, int size) throws IOException {
+        File file = new File(directory, String.format("%020d%s", baseSequence, SUFFIX));
+        return new ReplayLogSegment(file, baseSequence, map(file, size));
+    }
+
+    /**
+     * Maps an existing segment and rebuilds its index by scanning the records.
+     */
+    static ReplayLogSegment open(File file) throws IOException {
+        String name = file.getName();
+        long baseSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        ReplayLogSegment segment = new ReplayLogSegment(file, baseSequence, map(file, (int) file.length()));
+        segment.recover();
+        return segment;
+    }
+
+    static boolean isSegmentFile(File file) {
+        String name = file.getName();
+        if (!name.endsWith(SUFFIX) || name.length() == SUFFIX.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length() - SUFFIX.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MappedByteBuffer map(File file, int size) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            if (randomAccessFile.length() < size) {
+                randomAccessFile.setLength(size);
+            }
+            // the mapping stays valid once the channel is closed
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private void recover() {
+        int position = 0;
+        int capacity = m_buffer.capacity();
+        while (position + HEADER_SIZE <= capacity) {
+            int length = m_buffer.getInt(position);
+            if (length <= 0 || length > capacity - position - HEADER_SIZE) {
+                break;
+            }
+            long eventTime = m_buffer.getLong(position + Integer.BYTES);
+            indexRecord(position, eventTime);
+            position += HEADER_SIZE + length;
+            m_position = position;
+        }
+    }
+
+    /**
+     * @return false if the record does not fit in the remaining space of the segment
+     */
+    boolean append(long eventTime, byte[] notification) {
+        int position = m_position;
+        if (position + HEADER_SIZE + notification.length > m_buffer.capacity()) {
+            return false;
+        }
+        ByteBuffer buffer = m_buffer.duplicate();
+        buffer.position(position + Integer.BYTES);
+        buffer.putLong(eventTime);
+        buffer.put(notification);
+        m_buffer.putInt(position, notification.length);
+        indexRecord(position, eventTime);
+        m_position = position + HEADER_SIZE + notification.length;
+        return true;
+    }
+
+    private void indexRecord(int position, long eventTime) {
+        if (eventTime < m_minEventTime) {
+            m_minEventTime = eventTime;
+        }
+        if (eventTime > m_maxEventTime) {
+            m_maxEventTime = eventTime;
+        }
+        if (position - m_lastIndexedPosition >= INDEX_INTERVAL) {
+            m_index.add(new IndexEntry(m_maxEventTime, position));
+            m_lastIndexedPosition = position;
+        }
+        m_recordCount++;
+    }
+
+    /**
+     * Adds the notifications of this segment with an event time in [startTime, stopTime] to the result.
+     */
+    void read(long startTime, long stopTime, List<byte[]> result) {
+        if (m_recordCount == 0 || m_maxEventTime < startTime || m_minEventTime > stopTime || !retain()) {
+            return;
+        }
+        try {
+            readRecords(startTime, stopTime, result);
+        } finally {
+            release();
+        }
+    }
+
+    private void readRecords(long startTime, long stopTime, List<byte[]> result) {
+        int end = m_position;
+        ByteBuffer buffer = m_buffer.duplicate();
+        int position = firstPositionToScan(startTime);
+        while (position < end) {
+            int length = buffer.getInt(position);
+            long eventTime = buffer.getLong(position + Integer.BYTES);
+            if (eventTime >= startTime && eventTime <= stopTime) {
+                byte[] notification = new byte[length];
+                buffer.position(position + HEADER_SIZE);
+                buffer.get(notification);
+                result.add(notification);
+            }
+            position += HEADER_SIZE + length;
+        }
+    }
+
+    /**
+     * The records before the last index entry whose max event time is lower than startTime are all older than
+     * startTime.
+     */
+    private int firstPositionToScan(long startTime) {
+        int low = 0;
+        int high = m_index.size() - 1;
+        int position = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            IndexEntry entry = m_index.get(mid);
+            if (entry.m_maxEventTime < startTime) {
+                position = entry.m_position;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+
+    void flush() {
+        m_buffer.force();
+    }
+
+    /**
+     * Removes the segment from the log, the mapping and the file are released by the last read still using it.
+     */
+    void delete() {
+        release();
+    }
+
+    private boolean retain() {
+        int references;
+        do {
+            references = m_references.get();
+            if (references == 0) {
+                return false;
+            }
+        } while (!m_references.compareAndSet(references, references + 1));
+        return true;
+    }
+
+    private void release() {
+        if (m_references.decrementAndGet() == 0) {
+            unmap(m_buffer);
+            if (!m_file.delete()) {
+                LOGGER.warn(null, "Could not delete replay log segment {}", m_file);
+            }
+        }
+    }
+
+    /**
+     * Releases the mapping right away instead of waiting for the buffer to be garbage collected, which would keep the
+     * disk space of the deleted file in use.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                Method cleanMethod = cleaner.getClass().getMethod("clean");
+                cleanMethod.setAccessible(true);
+                cleanMethod.invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug(null, "Could not unmap the replay log segment, it will be unmapped when garbage collected", e);
+        }
+    }
+
+    long getBaseSequence() {
+        return m_baseSequence;
+    }
+
+    long getNextSequence() {
+        return m_baseSequence + m_recordCount;
+    }
+
+    int getRecordCount() {
+        return m_recordCount;
+    }
+
+    int getSizeInBytes() {
+        return m_buffer.capacity();
+    }
+
+    long getMinEventTime() {
+        return m_minEventTime;
+    }
+
+    long getMaxEventTime() {
+        return m_maxEventTime;
+    }
+
+    File getFile() {
+        return m_file;
+    }
+
+    private static final class IndexEntry {
+        private final long m_maxEventTime;
+        private final int m_position;
+
+        private IndexEntry(long maxEventTime, int position) {
+            m_maxEventTime = maxEventTime;
+            m_position = position;
+        }
+    }
+}
@@ -19,10 +19,9 @@
  */
 package org.broadband_forum.obbaa.netconf.server.model.notification;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 import org.broadband_forum.obbaa.netconf.server.model.notification.rpchandlers.CreateSubscriptionRpcHandlerImpl;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
@@ -30,15 +29,18 @@ import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
 import org.joda.time.DateTime;
 
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfNotification;
 import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.FilterNode;
 
 import org.broadband_forum.obbaa.netconf.server.model.notification.utils.NotificationFilterUtil;
-import com.google.common.collect.Range;
-import com.google.common.collect.RangeMap;
-import com.google.common.collect.TreeRangeMap;
 
 /**
+ * Keeps the replay log of a stream in a {@link NotificationReplayLog}, the notifications being stored as their
+ * serialized XML and parsed again when they are replayed.
+ *
  * @author gnanavek
  *
  */
@@ -46,17 +48,16 @@ public class StreamLoggerInMemoryImpl implements StreamLogger {
 
 	private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(CreateSubscriptionRpcHandlerImpl.class, LogAppNames
 			.NETCONF_NOTIFICATION);
+
+	public static final int DEFAULT_QUEUE_SIZE = 100000;
+
+	public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
 	private String m_streamName;
 	
-	private int defaultQueueSize = 100000;
-	
-	private int m_size;
-	
 	private DateTime m_replayLogCreationTime;
 
-	private RangeMap<DateTime, List<Notification>> m_streamLogger = TreeRangeMap.<DateTime, List<Notification>>create();
-
-	private Object lock_Object = new Object();
+	private final NotificationReplayLog m_replayLog;
 	
 	private boolean m_replaySupport;
 	
@@ -64,69 +65,67 @@ public class StreamLoggerInMemoryImpl implements StreamLogger {
 
 
 	public StreamLoggerInMemoryImpl(String streamName, boolean isReplaySupport) {
-		m_streamName = streamName;
-		m_size = 0;
-		m_replayLogCreationTime = DateTime.now();
-		m_replaySupport = isReplaySupport;
-		m_testForReplayLogAgedTime = null;
+		this(streamName, isReplaySupport, DEFAULT_QUEUE_SIZE);
 	}
 
 	public StreamLoggerInMemoryImpl(String streamName, boolean isReplaySupport, int queueSize) {
+		this(streamName, isReplaySupport, queueSize, DEFAULT_MAX_SIZE_IN_BYTES);
+	}
+
+	public StreamLoggerInMemoryImpl(String streamName, boolean isReplaySupport, int queueSize, long maxSizeInBytes) {
 		m_streamName = streamName;
-		m_size = 0;
 		m_replayLogCreationTime = DateTime.now();
 		m_replaySupport = isReplaySupport;
 		m_testForReplayLogAgedTime = null;
-        defaultQueueSize = queueSize;
+		m_replayLog = new NotificationReplayLog(queueSize, maxSizeInBytes);
 	}
+
 	public String getStreamName() {
 		return m_streamName;
 	}
 	
 	
 	public int getSize() {
-		return m_size;
+		return m_replayLog.size();
+	}
+
+	public long getSizeInBytes() {
+		return m_replayLog.getSizeInBytes();
 	}
 	
 
     @Override
 	public void logNotification(DateTime eventTime, Notification notification) {
-    	synchronized (lock_Object ) {
-			if (m_size >= defaultQueueSize) {
-				DateTime oldestLoggedTime = m_streamLogger.span().lowerEndpoint();
-				m_streamLogger.remove(Range.singleton(oldestLoggedTime));
-				m_size--;
-			}
-			if (m_streamLogger.asMapOfRanges().containsKey(Range.singleton(eventTime))) {
-				m_streamLogger.get(eventTime).add(notification);
-			} else {
-				List<Notification> notificationList = new ArrayList<Notification>();
-				notificationList.add(notification);
-				m_streamLogger.put(Range.singleton(eventTime), notificationList);
-			}
-			m_size++;
-			m_testForReplayLogAgedTime = null;
+		byte[] serializedNotification;
+		try {
+			serializedNotification = notification.notificationToString().getBytes(StandardCharsets.UTF_8);
+		} catch (RuntimeException e) {
+			LOGGER.error(null, "Error while serializing notification for the replay log of stream {}", m_streamName, e);
+			return;
 		}
+		m_replayLog.append(eventTime.getMillis(), serializedNotification);
+		m_testForReplayLogAgedTime = null;
     }
 
     @Override
     public List<Notification> retrieveNotifications(DateTime startTime, DateTime stopTime, FilterNode filterNode) {
         LOGGER.debug(null, "Retrieve notifications between startTime: {} and stopTime: {}", startTime, stopTime);
-    	Map<Range<DateTime>, List<Notification>> subRangeLogger;
-    	if (stopTime == null){
-    		 subRangeLogger = m_streamLogger.subRangeMap(Range.atLeast(startTime)).asMapOfRanges();
-    	} else {
-    		subRangeLogger = m_streamLogger.subRangeMap(Range.closed(startTime, stopTime)).asMapOfRanges();
-    	}
-    	List<Notification> notificationList = new ArrayList<Notification>();
-    	for(Entry<Range<DateTime>, List<Notification>> notificationEntry : subRangeLogger.entrySet()) {
-			for (Notification notification : notificationEntry.getValue()) {
-				if (NotificationFilterUtil.matches(notification, filterNode)) {
-					notificationList.add(notification);
-				}
-			}
-    	}
-    	return notificationList;
+        List<byte[]> serializedNotifications = m_replayLog.read(startTime.getMillis(), stopTime == null ? Long.MAX_VALUE : stopTime
+                .getMillis());
+        List<Notification> notificationList = new ArrayList<Notification>();
+        for (byte[] serializedNotification : serializedNotifications) {
+            String notificationString = new String(serializedNotification, StandardCharsets.UTF_8);
+            try {
+                Notification notification = new NetconfNotification(DocumentUtils.stringToDocument(notificationString),
+                        notificationString);
+                if (NotificationFilterUtil.matches(notification, filterNode)) {
+                    notificationList.add(notification);
+                }
+            } catch (NetconfMessageBuilderException e) {
+                LOGGER.error(null, "Error while parsing notification from the replay log of stream {}", m_streamName, e);
+            }
+        }
+        return notificationList;
     }
 
     @Override
@@ -140,17 +139,14 @@ public class StreamLoggerInMemoryImpl implements StreamLogger {
         if (m_testForReplayLogAgedTime != null) {
             result = m_testForReplayLogAgedTime;
         } else {
-            if (!m_streamLogger.asMapOfRanges().isEmpty()) {
-                result = m_streamLogger.span().lowerEndpoint();
+            Long oldestEventTime = m_replayLog.getOldestEventTime();
+            if (oldestEventTime != null) {
+                result = new DateTime(oldestEventTime);
             }
         }
         return result;
     }
 
-	public RangeMap<DateTime, List<Notification>> getNotificationsRangeMap() {
-		return m_streamLogger;
-	}
-
     @Override
     public void setReplaySupport(boolean isReplaySpport) {
         this.m_replaySupport = isReplaySpport;
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfNotification;
+import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.FilterNode;
+import org.broadband_forum.obbaa.netconf.server.model.notification.utils.NotificationFilterUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+import org.joda.time.DateTime;
+
+/**
+ * Keeps the replay log of a stream in memory-mapped segment files under a directory, so that the replay window is
+ * not bounded by the heap and survives a restart.
+ * <p>
+ * Notifications are appended to the active segment; when it is full a new segment is started and the oldest segments
+ * are deleted while the total size exceeds maxSizeInBytes or while their newest notification is older than the
+ * retention time. The retention time is also enforced before each retrieval, so that a stream which is no longer
+ * written to still ages out. A retrieval only scans the segments whose event time range overlaps the requested range.
+ *
+ * @see ReplayLogSegment
+ */
+public class StreamLoggerMappedFileImpl implements StreamLogger {
+
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(StreamLoggerMappedFileImpl.class, LogAppNames
+            .NETCONF_NOTIFICATION);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 1024L * 1024 * 1024;
+
+    public static final long DEFAULT_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private final String m_streamName;
+    private final File m_directory;
+    private final int m_segmentSize;
+    private final long m_maxSizeInBytes;
+    private final long m_retentionMillis;
+    private final List<ReplayLogSegment> m_segments = new CopyOnWriteArrayList<>();
+    private ReplayLogSegment m_activeSegment;
+    private DateTime m_replayLogCreationTime;
+    private boolean m_replaySupport;
+    private DateTime m_testForReplayLogAgedTime;
+
+    public StreamLoggerMappedFileImpl(String streamName, boolean isReplaySupport, File directory) throws IOException {
+        this(streamName, isReplaySupport, directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SIZE_IN_BYTES, DEFAULT_RETENTION_MILLIS);
+    }
+
+    public StreamLoggerMappedFileImpl(String streamName, boolean isReplaySupport, File directory, int segmentSize, long maxSizeInBytes,
+                                      long retentionMillis) throws IOException {
+        m_streamName = streamName;
+        m_replaySupport = isReplaySupport;
+        m_directory = directory;
+        m_segmentSize = segmentSize;
+        m_maxSizeInBytes = maxSizeInBytes;
+        m_retentionMillis = retentionMillis;
+        m_replayLogCreationTime = DateTime.now();
+        openSegments();
+    }
+
+    private void openSegments() throws IOException {
+        if (!m_directory.isDirectory() && !m_directory.mkdirs()) {
+            throw new IOException("Could not create replay log directory " + m_directory);
+        }
+        File[] files = m_directory.listFiles(ReplayLogSegment::isSegmentFile);
+        if (files != null) {
+            // the zero padded base sequence makes the name order the log order
+            Arrays.sort(files);
+            for (File file : files) {
+                m_segments.add(ReplayLogSegment.open(file));
+            }
+        }
+        if (m_segments.isEmpty()) {
+            m_activeSegment = ReplayLogSegment.create(m_directory, 0, m_segmentSize);
+            m_segments.add(m_activeSegment);
+        } else {
+            m_activeSegment = m_segments.get(m_segments.size() - 1);
+            LOGGER.info(null, "Opened replay log of stream {} with {} segments", m_streamName, m_segments.size());
+        }
+        ageSegments();
+    }
+
+    @Override
+    public String getStreamName() {
+        return m_streamName;
+    }
+
+    @Override
+    public synchronized void logNotification(DateTime eventTime, Notification notification) {
+        byte[] serializedNotification;
+        try {
+            serializedNotification = notification.notificationToString().getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            LOGGER.error(null, "Error while serializing notification for the replay log of stream {}", m_streamName, e);
+            return;
+        }
+        try {
+            if (!m_activeSegment.append(eventTime.getMillis(), serializedNotification)) {
+                rotate(serializedNotification.length);
+                m_activeSegment.append(eventTime.getMillis(), serializedNotification);
+            }
+        } catch (IOException e) {
+            LOGGER.error(null, "Error while writing notification to the replay log of stream {}", m_streamName, e);
+        }
+        m_testForReplayLogAgedTime = null;
+    }
+
+    private void rotate(int recordSize) throws IOException {
+        m_activeSegment.flush();
+        int size = Math.max(m_segmentSize, ReplayLogSegment.HEADER_SIZE + recordSize);
+        ReplayLogSegment segment = ReplayLogSegment.create(m_directory, m_activeSegment.getNextSequence(), size);
+        m_segments.add(segment);
+        m_activeSegment = segment;
+        ageSegments();
+    }
+
+    private void ageSegments() {
+        long oldestRetainedTime = System.currentTimeMillis() - m_retentionMillis;
+        while (m_segments.size() > 1) {
+            ReplayLogSegment oldest = m_segments.get(0);
+            if (getSizeInBytes() <= m_maxSizeInBytes && oldest.getMaxEventTime() >= oldestRetainedTime) {
+                break;
+            }
+            m_segments.remove(0);
+            oldest.delete();
+        }
+    }
+
+    private synchronized void ageSegmentsBeforeRead() {
+        ageSegments();
+    }
+
+    @Override
+    public List<Notification> retrieveNotifications(DateTime startTime, DateTime stopTime, FilterNode filterNode) {
+        LOGGER.debug(null, "Retrieve notifications between startTime: {} and stopTime: {}", startTime, stopTime);
+        long start = startTime.getMillis();
+        long stop = stopTime == null ? Long.MAX_VALUE : stopTime.getMillis();
+        ageSegmentsBeforeRead();
+        List<byte[]> serializedNotifications = new ArrayList<>();
+        for (ReplayLogSegment segment : m_segments) {
+            segment.read(start, stop, serializedNotifications);
+        }
+        List<Notification> notificationList = new ArrayList<>();
+        for (byte[] serializedNotification : serializedNotifications) {
+            String notificationString = new String(serializedNotification, StandardCharsets.UTF_8);
+            try {
+                Notification notification = new NetconfNotification(DocumentUtils.stringToDocument(notificationString),
+                        notificationString);
+                if (NotificationFilterUtil.matches(notification, filterNode)) {
+                    notificationList.add(notification);
+                }
+            } catch (NetconfMessageBuilderException e) {
+                LOGGER.error(null, "Error while parsing notification from the replay log of stream {}", m_streamName, e);
+            }
+        }
+        return notificationList;
+    }
+
+    /**
+     * Forces the active segment to the storage device.
+     */
+    public synchronized void flush() {
+        m_activeSegment.flush();
+    }
+
+    public int getSegmentCount() {
+        return m_segments.size();
+    }
+
+    public long getSizeInBytes() {
+        long size = 0;
+        for (ReplayLogSegment segment : m_segments) {
+            size += segment.getSizeInBytes();
+        }
+        return size;
+    }
+
+    @Override
+    public DateTime getReplayLogCreationTime() {
+        return m_replayLogCreationTime;
+    }
+
+    @Override
+    public DateTime getReplayLogAgedTime() {
+        if (m_testForReplayLogAgedTime != null) {
+            return m_testForReplayLogAgedTime;
+        }
+        ageSegmentsBeforeRead();
+        for (ReplayLogSegment segment : m_segments) {
+            if (segment.getRecordCount() > 0) {
+                return new DateTime(segment.getMinEventTime());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void setReplaySupport(boolean isReplaySpport) {
+        m_replaySupport = isReplaySpport;
+    }
+
+    @Override
+    public boolean isReplaySupport() {
+        return m_replaySupport;
+    }
+
+    @Override
+    public void setReplayLogCreationTime(DateTime logCreationTime) {
+        m_replayLogCreationTime = logCreationTime;
+    }
+
+    @Override
+    public void setTestForReplayLogAgedTime(DateTime logAgedTime) {
+        m_testForReplayLogAgedTime = logAgedTime;
+    }
+}
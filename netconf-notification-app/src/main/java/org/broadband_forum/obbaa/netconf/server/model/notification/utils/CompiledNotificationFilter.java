@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification.utils;
+
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfFilter;
+import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+import org.w3c.dom.Document;
+
+import com.google.common.base.Supplier;
+
+/**
+ * The subtree filter of a subscription, parsed once when the subscription is created.
+ * <p>
+ * Filters with the same content have the same key, so that a notification is filtered once per distinct filter and the
+ * filtered notification is shared by the subscriptions using that filter.
+ */
+public class CompiledNotificationFilter {
+
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(CompiledNotificationFilter.class, LogAppNames
+            .NETCONF_NOTIFICATION);
+
+    public static final CompiledNotificationFilter NO_FILTER = new CompiledNotificationFilter("", null);
+
+    private final String m_key;
+    private final XmlElement m_filterElement;
+
+    private CompiledNotificationFilter(String key, XmlElement filterElement) {
+        m_key = key;
+        m_filterElement = filterElement;
+    }
+
+    public static CompiledNotificationFilter compile(NetconfFilter filter) {
+        if (filter == null || filter.getXmlFilterElements() == null) {
+            return NO_FILTER;
+        }
+        String key;
+        try {
+            key = DocumentUtils.documentToString(filter.getXmlFilter());
+        } catch (NetconfMessageBuilderException e) {
+            LOGGER.error(null, "Error while building the key of notification filter, the filter will not be shared", e);
+            key = String.valueOf(System.identityHashCode(filter));
+        }
+        return new CompiledNotificationFilter(key, XmlElement.fromDomElement(filter.getXmlFilter()));
+    }
+
+    public String getKey() {
+        return m_key;
+    }
+
+    /**
+     * @param filterableContent supplies the content returned by {@link NotificationFilterUtil#getFilterableContent(Notification)},
+     *                          only called when this is not {@link #NO_FILTER}
+     * @return the filtered notification, or null when nothing matches the filter
+     */
+    public Notification apply(Notification notification, Supplier<Document> filterableContent) {
+        if (m_filterElement == null) {
+            return notification;
+        }
+        try {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(null, "Applying filter {} on notification message {}", m_key, notification.notificationToPrettyString());
+            }
+            Document content = filterableContent.get();
+            if (content == null) {
+                return null;
+            }
+            return NotificationFilterUtil.filterNotificationContent(notification, content, m_filterElement);
+        } catch (Exception ex) {
+            LOGGER.error(null, "Error while applying filter notification", ex);
+        }
+        return null;
+    }
+}
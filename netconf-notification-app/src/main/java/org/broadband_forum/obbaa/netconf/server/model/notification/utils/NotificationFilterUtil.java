@@ -243,24 +243,42 @@ public class NotificationFilterUtil {
             LOGGER.debug(null, "Applying filter {} on notification message {}",
                     DocumentUtils.documentToPrettyString(filter.getXmlFilter()), notification.notificationToPrettyString());
             XmlElement filterElement = XmlElement.fromDomElement(filter.getXmlFilter());
-            Document notificationDoc = notification.getNotificationDocument();
-
-            // remove eventType node
-            final Node eventTimeNode = notificationDoc.getDocumentElement().getElementsByTagName(NetconfResources.EVENT_TIME).item(0);
-            notificationDoc.getDocumentElement().removeChild(eventTimeNode);
-
-            Document result = doFilter(notificationDoc, filterElement);
-            if (result != null) {
-                NetconfNotification filteredNotification = new NetconfNotification(notification.getNotificationDocument());
-                filteredNotification.setNotificationElement(result.getDocumentElement());
-                return filteredNotification;
-            }
+            return filterNotificationContent(notification, getFilterableContent(notification), filterElement);
         } catch (Exception ex) {
             LOGGER.error(null, "Error while applying filter notification", ex);
         }
         return null;
     }
 
+    /**
+     * Builds the notification document the subtree filters are applied on, that is the notification without its eventTime.
+     * The returned document is only read by {@link #filterNotificationContent(Notification, Document, XmlElement)}, so it can
+     * be shared by all the filters applied on the same notification.
+     */
+    public static Document getFilterableContent(Notification notification) throws NetconfMessageBuilderException {
+        Document notificationDoc = notification.getNotificationDocument();
+        // remove eventType node
+        final Node eventTimeNode = notificationDoc.getDocumentElement().getElementsByTagName(NetconfResources.EVENT_TIME).item(0);
+        notificationDoc.getDocumentElement().removeChild(eventTimeNode);
+        return notificationDoc;
+    }
+
+    /**
+     * Applies a parsed subtree filter on the content returned by {@link #getFilterableContent(Notification)}.
+     *
+     * @return the filtered notification or null when nothing matches the filter
+     */
+    public static Notification filterNotificationContent(Notification notification, Document filterableContent,
+                                                         XmlElement filterElement) throws NetconfMessageBuilderException {
+        Document result = doFilter(filterableContent, filterElement);
+        if (result != null) {
+            NetconfNotification filteredNotification = new NetconfNotification(notification.getNotificationDocument());
+            filteredNotification.setNotificationElement(result.getDocumentElement());
+            return filteredNotification;
+        }
+        return null;
+    }
+
     private static Document doFilter(Document notification, XmlElement filter) throws IllegalArgumentException {
         Document result = DocumentUtils.createDocument();
         XmlElement dataSrc = XmlElement.fromDomDocument(notification);
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfNotification;
+import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.stack.DefaultNcNotificationCounterService;
+
+public class MeteredNotificationSessionTest {
+
+    private NotificationSession m_delegate;
+    private DefaultNcNotificationCounterService m_counterService;
+    private NetconfClientInfo m_clientInfo = new NetconfClientInfo("test", 1);
+    private MeteredNotificationSession m_meteredSession;
+
+    @Before
+    public void setUp() {
+        m_delegate = mock(NotificationSession.class);
+        m_counterService = new DefaultNcNotificationCounterService();
+        m_meteredSession = new MeteredNotificationSession(m_delegate, m_counterService, m_clientInfo);
+    }
+
+    @Test
+    public void testSendNotificationIsCountedAndDelegated() {
+        Notification notification = new NetconfNotification();
+        m_meteredSession.sendNotification(notification);
+        m_meteredSession.sendNotification(notification);
+
+        verify(m_delegate, times(2)).sendNotification(notification);
+        assertEquals(2, m_counterService.getNumberOfNotifications());
+        assertEquals(2, m_counterService.getNumberOfNotificationsMapForUsers().get("test").get());
+        assertEquals(2, m_counterService.getOutNotifications(1));
+    }
+
+    @Test
+    public void testNotificationsOfClientWithoutUserNameAreCounted() {
+        MeteredNotificationSession session = new MeteredNotificationSession(m_delegate, m_counterService, new NetconfClientInfo(null, 2));
+        session.sendNotification(new NetconfNotification());
+
+        assertEquals(1, m_counterService.getNumberOfNotifications());
+        assertEquals(1, m_counterService.getOutNotifications(2));
+    }
+
+    @Test
+    public void testOtherCallsAreDelegatedWithoutCounting() {
+        List<Notification> replayList = Collections.emptyList();
+        m_meteredSession.replayNotification(replayList);
+        m_meteredSession.sendNotificationComplete();
+        m_meteredSession.getSubscriptionRequest();
+        m_meteredSession.getSubscriptionFilter();
+        m_meteredSession.close();
+
+        verify(m_delegate).replayNotification(replayList);
+        verify(m_delegate).sendNotificationComplete();
+        verify(m_delegate).getSubscriptionRequest();
+        verify(m_delegate).getSubscriptionFilter();
+        verify(m_delegate).close();
+        verifyNoMoreInteractions(m_delegate);
+        assertEquals(0, m_counterService.getNumberOfNotifications());
+    }
+}
@@ -192,7 +192,7 @@ public class NotificationLoggerImplTest {
 
 		StreamLoggerInMemoryImpl streamLogger = (StreamLoggerInMemoryImpl) m_notificationLogger.getStreamLogger(NETCONF);
 
-		assertEquals(1, streamLogger.getNotificationsRangeMap().asMapOfRanges().size());
+		assertEquals(1, streamLogger.getSize());
 	}
 
 	private DateTime generateNotifications(NotificationLogger logger, DateTime dateTime, boolean differentTime){
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class NotificationReplayLogTest {
+
+    @Test
+    public void testReadReturnsRecordsWithinTimeRange() {
+        NotificationReplayLog log = new NotificationReplayLog(10, Long.MAX_VALUE);
+        assertNull(log.getOldestEventTime());
+        for (int i = 1; i <= 5; i++) {
+            log.append(i * 100L, bytes("n" + i));
+        }
+
+        assertEquals(asList("n2", "n3", "n4"), strings(log.read(200, 400)));
+        assertEquals(asList("n3", "n4", "n5"), strings(log.read(250, Long.MAX_VALUE)));
+        assertEquals(asList(), strings(log.read(600, Long.MAX_VALUE)));
+        assertEquals(Long.valueOf(100), log.getOldestEventTime());
+        assertEquals(5, log.size());
+    }
+
+    @Test
+    public void testOldestRecordsAreEvictedWhenMaxRecordsIsReached() {
+        NotificationReplayLog log = new NotificationReplayLog(3, Long.MAX_VALUE);
+        for (int i = 1; i <= 5; i++) {
+            log.append(i * 100L, bytes("n" + i));
+        }
+
+        assertEquals(3, log.size());
+        assertEquals(asList("n3", "n4", "n5"), strings(log.read(0, Long.MAX_VALUE)));
+        assertEquals(Long.valueOf(300), log.getOldestEventTime());
+        assertEquals(6, log.getSizeInBytes());
+    }
+
+    @Test
+    public void testOldestRecordsAreEvictedWhenMaxBytesIsReached() {
+        NotificationReplayLog log = new NotificationReplayLog(100, 10);
+        log.append(100, bytes("aaaa"));
+        log.append(200, bytes("bbbb"));
+        assertEquals(2, log.size());
+
+        log.append(300, bytes("cccc"));
+        assertEquals(2, log.size());
+        assertEquals(8, log.getSizeInBytes());
+        assertEquals(asList("bbbb", "cccc"), strings(log.read(0, Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testRecordLoggedOutOfOrderIsFoundByItsEventTime() {
+        NotificationReplayLog log = new NotificationReplayLog(10, Long.MAX_VALUE);
+        log.append(100, bytes("n1"));
+        log.append(300, bytes("n2"));
+        log.append(200, bytes("n3"));
+        log.append(400, bytes("n4"));
+
+        assertEquals(asList("n2", "n3"), strings(log.read(150, 300)));
+        assertEquals(asList("n3"), strings(log.read(200, 200)));
+    }
+
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        NotificationReplayLog log = new NotificationReplayLog(1000, Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int thread = 0; thread < 4; thread++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        log.append(i, bytes("n"));
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1000, log.size());
+        assertEquals(1000, log.getSizeInBytes());
+        assertEquals(1000, log.read(0, Long.MAX_VALUE).size());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes();
+    }
+
+    private static List<String> strings(List<byte[]> records) {
+        List<String> strings = new ArrayList<>();
+        for (byte[] record : records) {
+            strings.add(new String(record));
+        }
+        return strings;
+    }
+
+    private static List<String> asList(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
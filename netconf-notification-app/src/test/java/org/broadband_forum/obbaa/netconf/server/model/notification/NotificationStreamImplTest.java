@@ -17,6 +17,8 @@
 package org.broadband_forum.obbaa.netconf.server.model.notification;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -34,6 +36,7 @@ import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
 import org.broadband_forum.obbaa.netconf.api.messages.CreateSubscriptionRequest;
@@ -160,6 +163,57 @@ public class NotificationStreamImplTest {
         verify(m_responseChannel).sendNotification(any(Notification.class));
     }
 
+    @Test
+    public void testBroadcastNotificationFiltersOncePerDistinctFilter() throws NetconfMessageBuilderException {
+        Document doc = DocumentUtils.loadXmlDocument(NotificationFilterUtilTest.class.getResourceAsStream("/sample-state-change-notification.xml"));
+        DocumentInfo documentInfo = new DocumentInfo(doc, FileUtil.loadAsString("/sample-state-change-notification.xml"));
+        Notification notification = spy(DocumentToPojoTransformer.getNotification(documentInfo));
+
+        ResponseChannel filteredChannel1 = createSubscription(new NetconfClientInfo("test", 1), true);
+        ResponseChannel filteredChannel2 = createSubscription(new NetconfClientInfo("test", 2), true);
+        ResponseChannel unfilteredChannel = createSubscription(new NetconfClientInfo("test", 3), false);
+
+        m_notificationStream.broadcastNotification(notification);
+
+        ArgumentCaptor<Notification> notification1 = ArgumentCaptor.forClass(Notification.class);
+        ArgumentCaptor<Notification> notification2 = ArgumentCaptor.forClass(Notification.class);
+        verify(filteredChannel1).sendNotification(notification1.capture());
+        verify(filteredChannel2).sendNotification(notification2.capture());
+        assertSame(notification1.getValue(), notification2.getValue());
+        assertNotSame(notification, notification1.getValue());
+        verify(unfilteredChannel).sendNotification(notification);
+        // once to build the filterable content and once to build the filtered notification
+        verify(notification, times(2)).getNotificationDocument();
+    }
+
+    @Test
+    public void testClosedSubscriptionDoesNotReceiveNotifications() throws NetconfMessageBuilderException {
+        NetconfClientInfo clientInfo = new NetconfClientInfo("test", 1);
+        ResponseChannel responseChannel = createSubscription(clientInfo, true);
+        m_notificationStream.closeSubscription(clientInfo);
+        assertFalse(m_notificationStream.isActiveSubscription(clientInfo));
+
+        m_notificationStream.broadcastNotification(mock(Notification.class));
+        verify(responseChannel, never()).sendNotification(any(Notification.class));
+    }
+
+    private ResponseChannel createSubscription(NetconfClientInfo clientInfo, boolean withFilter)
+            throws NetconfMessageBuilderException {
+        ResponseChannel responseChannel = mock(ResponseChannel.class);
+        when(responseChannel.getCloseFuture()).thenReturn(new CompletableFuture<>());
+        CreateSubscriptionRequest request;
+        if (withFilter) {
+            request = DocumentToPojoTransformer.getCreateSubscriptionRequest(DocumentUtils.loadXmlDocument(
+                    NotificationStreamImplTest.class.getResourceAsStream("/create-subscription-with-filter.xml")));
+        } else {
+            request = new CreateSubscriptionRequest();
+            request.setMessageId("1");
+            request.setStream(NetconfResources.NETCONF);
+        }
+        m_notificationStream.createSubscription(clientInfo, request, responseChannel);
+        return responseChannel;
+    }
+
 	@Test
 	public void testCloseSubscription(){
 		CreateSubscriptionRequest request = new CreateSubscriptionRequest();
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfNotification;
+import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfResources;
+
+public class StreamLoggerInMemoryImplTest {
+
+    private static final String NOTIFICATION = "<notification xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">"
+            + "<eventTime>%s</eventTime><test-event xmlns=\"urn:test\"><value>%d</value></test-event></notification>";
+
+    @Test
+    public void testNotificationsAreReplayedFromTheirSerializedForm() throws Exception {
+        StreamLoggerInMemoryImpl streamLogger = new StreamLoggerInMemoryImpl("NETCONF", true);
+        DateTime time = new DateTime(1_000_000L);
+        for (int i = 0; i < 3; i++) {
+            streamLogger.logNotification(time.plus(i), notification(time.plus(i), i));
+        }
+
+        List<Notification> notifications = streamLogger.retrieveNotifications(time.plus(1), null, null);
+        assertEquals(2, notifications.size());
+        assertEquals("1", notifications.get(0).getNotificationElement().getTextContent());
+        assertEquals("2", notifications.get(1).getNotificationElement().getTextContent());
+        assertEquals(time.plus(1).getMillis(), NetconfResources.parseDateTime(notifications.get(0).getEventTime()).getMillis());
+        assertEquals(time, streamLogger.getReplayLogAgedTime());
+    }
+
+    @Test
+    public void testReplayLogIsBoundedBySize() throws Exception {
+        Notification notification = notification(new DateTime(1_000_000L), 0);
+        int notificationSize = notification.notificationToString().getBytes("UTF-8").length;
+        StreamLoggerInMemoryImpl streamLogger = new StreamLoggerInMemoryImpl("NETCONF", true, 100, 2 * notificationSize);
+        for (int i = 0; i < 5; i++) {
+            streamLogger.logNotification(new DateTime(1_000_000L + i), notification);
+        }
+
+        assertEquals(2, streamLogger.getSize());
+        assertEquals(2 * notificationSize, streamLogger.getSizeInBytes());
+        assertEquals(new DateTime(1_000_003L), streamLogger.getReplayLogAgedTime());
+    }
+
+    private static Notification notification(DateTime eventTime, int value) throws Exception {
+        String eventTimeString = NetconfResources.DATE_TIME_WITH_TZ.print(eventTime);
+        return new NetconfNotification(DocumentUtils.stringToDocument(String.format(NOTIFICATION, eventTimeString, value)));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server.model.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfNotification;
+import org.broadband_forum.obbaa.netconf.api.messages.Notification;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.NetconfResources;
+
+public class StreamLoggerMappedFileImplTest {
+
+    private static final String NOTIFICATION = "<notification xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">"
+            + "<eventTime>%s</eventTime><test-event xmlns=\"urn:test\"><value>%d</value></test-event></notification>";
+    private static final int SEGMENT_SIZE = 1024;
+    private static final long RETENTION = TimeUnit.DAYS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder m_folder = new TemporaryFolder();
+
+    private File m_directory;
+    private DateTime m_time;
+
+    @Before
+    public void setUp() {
+        m_directory = new File(m_folder.getRoot(), "NETCONF");
+        m_time = DateTime.now().minusHours(1);
+    }
+
+    @Test
+    public void testNotificationsAreRetrievedAcrossSegments() throws Exception {
+        StreamLoggerMappedFileImpl streamLogger = new StreamLoggerMappedFileImpl("NETCONF", true, m_directory, SEGMENT_SIZE,
+                Long.MAX_VALUE, RETENTION);
+        assertNull(streamLogger.getReplayLogAgedTime());
+        logNotifications(streamLogger, 0, 20);
+
+        assertEquals(true, streamLogger.getSegmentCount() > 1);
+        assertValues(streamLogger.retrieveNotifications(m_time.plus(5), m_time.plus(14), null), 5, 14);
+        assertValues(streamLogger.retrieveNotifications(m_time.plus(15), null, null), 15, 19);
+        assertEquals(m_time, streamLogger.getReplayLogAgedTime());
+    }
+
+    @Test
+    public void testReplayLogSurvivesARestart() throws Exception {
+        StreamLoggerMappedFileImpl streamLogger = new StreamLoggerMappedFileImpl("NETCONF", true, m_directory, SEGMENT_SIZE,
+                Long.MAX_VALUE, RETENTION);
+        logNotifications(streamLogger, 0, 10);
+        streamLogger.flush();
+
+        StreamLoggerMappedFileImpl reopenedLogger = new StreamLoggerMappedFileImpl("NETCONF", true, m_directory, SEGMENT_SIZE,
+                Long.MAX_VALUE, RETENTION);
+        assertEquals(streamLogger.getSegmentCount(), reopenedLogger.getSegmentCount());
+        logNotifications(reopenedLogger, 10, 15);
+
+        assertValues(reopenedLogger.retrieveNotifications(m_time, null, null), 0, 14);
+    }
+
+    @Test
+    public void testOldestSegmentsAreDeletedWhenMaxSizeIsReached() throws Exception {
+        StreamLoggerMappedFileImpl streamLogger = new StreamLoggerMappedFileImpl("NETCONF", true, m_directory, SEGMENT_SIZE,
+                3 * SEGMENT_SIZE, RETENTION);
+        logNotifications(streamLogger, 0, 50);
+
+        assertEquals(3, streamLogger.getSegmentCount());
+        assertEquals(3, m_directory.listFiles().length);
+        List<Notification> notifications = streamLogger.retrieveNotifications(m_time, null, null);
+        assertEquals("49", notifications.get(notifications.size() - 1).getNotificationElement().getTextContent());
+        assertEquals(true, notifications.size() < 50);
+    }
+
+    @Test
+    public void testSegmentsOlderThanRetentionAreDeleted() throws Exception {
+        m_time = DateTime.now().minusDays(2);
+        StreamLoggerMappedFileImpl streamLogger = new StreamLoggerMappedFileImpl("NETCONF", true, m_directory, SEGMENT_SIZE,
+                Long.MAX_VALUE, RETENTION);
+        logNotifications(streamLogger, 0, 10);
+        m_time = DateTime.now();
+        logNotifications(streamLogger, 10, 30);
+
+        List<Notification> notifications = streamLogger.retrieveNotifications(new DateTime(0), null, null);
+        int firstRetainedValue = Integer.parseInt(notifications.get(0).getNotificationElement().getTextContent());
+        assertEquals(true, firstRetainedValue > 0);
+        assertValues(notifications, firstRetainedValue, 29);
+    }
+
+    @Test
+    public void testSegmentsOlderThanRetentionAreDeletedOnReadWithoutNewNotifications() throws Exception {
+        m_time = DateTime.now();
+        StreamLoggerMappedFileImpl streamLogger = new StreamLoggerMappedFileImpl("NETCONF", true, m_directory, SEGMENT_SIZE,
+                Long.MAX_VALUE, 200);
+        logNotifications(streamLogger, 0, 20);
+        assertEquals(true, streamLogger.getSegmentCount() > 1);
+
+        Thread.sleep(300);
+        streamLogger.retrieveNotifications(new DateTime(0), null, null);
+
+        assertEquals(1, streamLogger.getSegmentCount());
+        assertEquals(1, m_directory.listFiles().length);
+    }
+
+    private void logNotifications(StreamLogger streamLogger, int from, int to) throws Exception {
+        for (int i = from; i < to; i++) {
+            DateTime eventTime = m_time.plus(i);
+            streamLogger.logNotification(eventTime, new NetconfNotification(DocumentUtils.stringToDocument(String.format(NOTIFICATION,
+                    NetconfResources.DATE_TIME_WITH_TZ.print(eventTime), i))));
+        }
+    }
+
+    private void assertValues(List<Notification> notifications, int from, int to) {
+        assertEquals(to - from + 1, notifications.size());
+        for (int i = from; i <= to; i++) {
+            assertEquals(String.valueOf(i), notifications.get(i - from).getNotificationElement().getTextContent());
+        }
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.broadband_forum.obbaa.netconf.persistence;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -84,6 +87,21 @@ public interface EntityDataStoreManager {
     public <E> List<E> findByMatchAndNotMatchValues(Class<E> entityClass, Map<String, List<Object>> matchValues, Map<String,
             List<Object>> notMatchValues, String orderByColumn);
 
+    /**
+     * Finds the entities matching matchValues whose inColumn has one of the inValues. The default implementation runs one
+     * query per value, implementations should override it with one IN query per chunk of inValues.
+     */
+    public default <E> List<E> findByMatchValueAndInValues(Class<E> entityClass, Map<String, Object> matchValues, String inColumn,
+            Collection<?> inValues, String orderByColumn) {
+        List<E> entities = new ArrayList<>();
+        for (Object inValue : inValues) {
+            Map<String, Object> values = new HashMap<>(matchValues);
+            values.put(inColumn, inValue);
+            entities.addAll(findByMatchValue(entityClass, values, orderByColumn));
+        }
+        return entities;
+    }
+
     public <E> List<E> findByIsNotNull(Class<E> entityClass, List<String> attributes);
 
     public <E> List<E> findLike(Class<E> entity, Map<String, String> matchValue);
@@ -93,6 +111,27 @@ public interface EntityDataStoreManager {
     public <E> List<E> findWithPagingAndOrderByColumn(Class<E> entityClass, PagingInput pagingInput, Map<String, Object> matchValues,
                                                       String orderByColumn, Boolean isDesc);
 
+    /**
+     * Finds the page of the entities matching matchValues ordered by all the orderByColumns. The default implementation
+     * only orders by the first column, implementations should override it so that the pages do not depend on the order of
+     * the rows having the same first column value.
+     */
+    public default <E> List<E> findWithPagingAndOrderByColumns(Class<E> entityClass, PagingInput pagingInput, Map<String, Object> matchValues,
+                                                       List<String> orderByColumns) {
+        String orderByColumn = orderByColumns == null || orderByColumns.isEmpty() ? null : orderByColumns.get(0);
+        return findWithPagingAndOrderByColumn(entityClass, pagingInput, matchValues, orderByColumn, false);
+    }
+
+    /**
+     * Finds the page of the entities matching matchValues that follows the continuation token of the paging input, without
+     * the OFFSET scan of the pages before it.
+     *
+     * @throws UnsupportedOperationException if the implementation does not support keyset paging, which is the default
+     */
+    public default <E> KeysetPage<E> findWithKeysetPaging(Class<E> entityClass, KeysetPagingInput pagingInput, Map<String, Object> matchValues) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support keyset paging");
+    }
+
     public Long countByMatchAndNotMatchValue(Class entityClass, Map<String, Object> matchValues, Map<String, Object> notMatchValues);
     
     public Long countByMatchAndLikeValue(Class entityClass, Map<String, String> matchValues, Map<String, String> likeValues, LockModeType lockMode);
@@ -126,6 +165,15 @@ public interface EntityDataStoreManager {
 
     public void flush();
 
+    /**
+     * Sets the number of statements sent to the database in one JDBC batch when the changes of the current session are flushed.
+     * The default implementation ignores it.
+     *
+     * @param batchSize - null to fall back to the batch size of the persistence unit
+     */
+    public default void setJdbcBatchSize(Integer batchSize) {
+    }
+
     public boolean isOpen();
 
     //FIXME: FNMS-10118 Exposing the entity manager must be avoided. Paves way for uncontrolled life-cycle of EM!!
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.persistence;
+
+import java.util.List;
+
+/**
+ * A page found with a {@link KeysetPagingInput}, together with the token to get the next page.
+ */
+public class KeysetPage<E> {
+    private final List<E> m_results;
+    private final String m_continuationToken;
+
+    public KeysetPage(List<E> results, String continuationToken) {
+        m_results = results;
+        m_continuationToken = continuationToken;
+    }
+
+    public List<E> getResults() {
+        return m_results;
+    }
+
+    /**
+     * @return null if the page is the last one
+     */
+    public String getContinuationToken() {
+        return m_continuationToken;
+    }
+
+    public boolean hasNextPage() {
+        return m_continuationToken != null;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPage [m_results=" + m_results + ", m_continuationToken=" + m_continuationToken + "]";
+    }
+}
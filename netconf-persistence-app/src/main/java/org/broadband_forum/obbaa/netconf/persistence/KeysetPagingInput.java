@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keyset paging, the alternative to the OFFSET of a {@link PagingInput} for deep pages of large tables.
+ * <p>
+ * A page holds the pageSize entities that follow, in the order of the orderByColumns, the last entity of the previous page.
+ * They are selected with a condition on the ordering columns instead of skipping the previous rows, so every page costs the
+ * same as the first one. The continuation token of a {@link KeysetPage} carries the ordering values of its last entity;
+ * a null token asks for the first page.
+ * <p>
+ * The ordering columns must not be null. The id attributes of the entity, all of them for a composite id, are appended to
+ * them when they are not among them, so that the order is total.
+ */
+public class KeysetPagingInput {
+    private static final String TOKEN_SEPARATOR = ".";
+    private static final String TOKEN_SEPARATOR_PATTERN = "\\.";
+    private static final String NANOS_SEPARATOR = ",";
+
+    private final List<String> m_orderByColumns;
+    private final boolean m_desc;
+    private final int m_pageSize;
+    private final String m_continuationToken;
+
+    public KeysetPagingInput(List<String> orderByColumns, boolean isDesc, int pageSize, String continuationToken) {
+        m_orderByColumns = orderByColumns == null ? Collections.emptyList() : orderByColumns;
+        m_desc = isDesc;
+        m_pageSize = pageSize;
+        m_continuationToken = continuationToken;
+    }
+
+    public List<String> getOrderByColumns() {
+        return m_orderByColumns;
+    }
+
+    public boolean isDesc() {
+        return m_desc;
+    }
+
+    public int getPageSize() {
+        return m_pageSize;
+    }
+
+    /**
+     * @return null for the first page
+     */
+    public String getContinuationToken() {
+        return m_continuationToken;
+    }
+
+    /**
+     * Dates are encoded as epoch milliseconds, timestamps as epoch milliseconds and nanoseconds, see
+     * {@link #parseTimestamp(String)}, other values as their string form.
+     */
+    public static String encodeContinuationToken(List<?> lastSeenValues) {
+        StringBuilder token = new StringBuilder();
+        for (Object value : lastSeenValues) {
+            if (value == null) {
+                throw new IllegalArgumentException("Keyset paging does not support null values in the ordering columns");
+            }
+            String stringValue;
+            if (value instanceof Timestamp) {
+                stringValue = ((Timestamp) value).getTime() + NANOS_SEPARATOR + ((Timestamp) value).getNanos();
+            } else if (value instanceof Date) {
+                stringValue = String.valueOf(((Date) value).getTime());
+            } else {
+                stringValue = String.valueOf(value);
+            }
+            if (token.length() > 0) {
+                token.append(TOKEN_SEPARATOR);
+            }
+            token.append(Base64.getUrlEncoder().withoutPadding().encodeToString(stringValue.getBytes(StandardCharsets.UTF_8)));
+        }
+        return token.toString();
+    }
+
+    public static List<String> decodeContinuationToken(String continuationToken) {
+        List<String> lastSeenValues = new ArrayList<>();
+        try {
+            for (String encodedValue : continuationToken.split(TOKEN_SEPARATOR_PATTERN, -1)) {
+                lastSeenValues.add(new String(Base64.getUrlDecoder().decode(encodedValue), StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token '" + continuationToken + "'", e);
+        }
+        return lastSeenValues;
+    }
+
+    /**
+     * @param value a timestamp encoded by {@link #encodeContinuationToken(List)}
+     */
+    public static Timestamp parseTimestamp(String value) {
+        String[] parts = value.split(NANOS_SEPARATOR, -1);
+        Timestamp timestamp = new Timestamp(Long.parseLong(parts[0]));
+        if (parts.length > 1) {
+            timestamp.setNanos(Integer.parseInt(parts[1]));
+        }
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPagingInput [m_orderByColumns=" + m_orderByColumns + ", m_desc=" + m_desc + ", m_pageSize=" + m_pageSize
+                + ", m_continuationToken=" + m_continuationToken + "]";
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.broadband_forum.obbaa.netconf.persistence;
 
+import java.util.Collections;
+import java.util.List;
+
 public class PagingInput {
 	private int m_firstResult;
 	private int m_maxResult;
@@ -41,6 +44,17 @@ public class PagingInput {
 		m_maxResult = maxResult;
 	}
 
+	/**
+	 * Applies the paging to results that were not paged by the query.
+	 */
+	public <E> List<E> getPage(List<E> results) {
+		if (m_firstResult >= results.size()) {
+			return Collections.emptyList();
+		}
+		int toIndex = (int) Math.min((long) m_firstResult + m_maxResult, results.size());
+		return results.subList(m_firstResult, toIndex);
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
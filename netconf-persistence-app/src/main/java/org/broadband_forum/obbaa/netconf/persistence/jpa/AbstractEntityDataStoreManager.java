@@ -19,17 +19,23 @@ package org.broadband_forum.obbaa.netconf.persistence.jpa;
 import static org.broadband_forum.obbaa.netconf.api.util.ReflectionUtils.getAllDeclaredFields;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Id;
 import javax.persistence.LockModeType;
+import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -44,13 +50,17 @@ import javax.persistence.criteria.Selection;
 import javax.persistence.metamodel.Metamodel;
 
 import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.PropertyUtils;
 import org.broadband_forum.obbaa.netconf.api.LogAppNames;
 import org.broadband_forum.obbaa.netconf.api.messages.LogUtil;
 import org.broadband_forum.obbaa.netconf.api.util.StringUtil;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPage;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.hibernate.Session;
 
 /**
  * Created by keshava on 2/19/16.
@@ -61,6 +71,24 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
 
     private static final String DOT = ".";
     private static final String DOT_PATTERN = "\\.";
+    /**
+     * Keeps the IN lists below the bind parameter limits of the databases.
+     */
+    public static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    private static volatile Supplier<LockModeType> c_readLockModeSupplier = () -> LockModeType.PESSIMISTIC_READ;
+
+    /**
+     * Sets the lock mode of the reads that are not given one, PESSIMISTIC_READ by default. The supplier is called on the
+     * thread doing the read, so the lock mode can depend on the request being served.
+     */
+    public static void setReadLockModeSupplier(Supplier<LockModeType> readLockModeSupplier) {
+        c_readLockModeSupplier = readLockModeSupplier;
+    }
+
+    protected static LockModeType getReadLockMode() {
+        return c_readLockModeSupplier.get();
+    }
 
 
     private <E> List<Predicate> getPredicates(List<Predicate> predicates, Map<String, Object> values, CriteriaBuilder criteriaBuilder,
@@ -145,7 +173,7 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
 
     @Override
     public <E> E findById(Class<E> entityClass, Object primaryKey) {
-    	return findById(entityClass, primaryKey, LockModeType.PESSIMISTIC_READ);
+    	return findById(entityClass, primaryKey, getReadLockMode());
     }
 
     @Override
@@ -226,7 +254,7 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
     	LockModeType lockModeType = allQuery.getLockMode();
     	
     	if (lockModeType == null){
-    		allQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+    		allQuery.setLockMode(getReadLockMode());
     	}
     	m_forTest = allQuery;
         LogUtil.logDebug(LOGGER, "%s called for class: %s and query: %s", methodName, entityClass, allQuery);
@@ -397,7 +425,7 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
         
     	LockModeType lockModeType = allQuery.getLockMode();
     	if (lockModeType == null){
-    		allQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+    		allQuery.setLockMode(getReadLockMode());
     	}
     	
         List<E> resultList = allQuery.getResultList();
@@ -457,6 +485,31 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
         return logAndReturnQueryResult("findByMatchAndNotMatchValues", entityClass, allQuery);
     }
 
+    @Override
+    public <E> List<E> findByMatchValueAndInValues(Class<E> entityClass, Map<String, Object> matchValues, String inColumn,
+                                                   Collection<?> inValues, String orderByColumn) {
+        List<E> result = new ArrayList<>();
+        List<Object> values = new ArrayList<>(inValues);
+        for (int start = 0; start < values.size(); start += IN_CLAUSE_CHUNK_SIZE) {
+            List<Object> chunk = values.subList(start, Math.min(start + IN_CLAUSE_CHUNK_SIZE, values.size()));
+            CriteriaBuilder criteriaBuilder = getEntityManager().getCriteriaBuilder();
+            CriteriaQuery<E> criteriaQuery = criteriaBuilder.createQuery(entityClass);
+            Root<E> rootEntry = criteriaQuery.from(entityClass);
+
+            List<Predicate> predicates = new ArrayList<>();
+            getPredicates(predicates, matchValues, criteriaBuilder, rootEntry, true);
+            predicates.add(getPathObject(rootEntry, inColumn).in(chunk));
+
+            criteriaQuery.where(predicates.toArray(new Predicate[predicates.size()]));
+            CriteriaQuery<E> all = criteriaQuery.select(rootEntry);
+            addOrderByAsc(all, criteriaBuilder, rootEntry, orderByColumn);
+
+            TypedQuery<E> allQuery = getEntityManager().createQuery(all);
+            result.addAll(logAndReturnQueryResult("findByMatchValueAndInValues", entityClass, allQuery));
+        }
+        return result;
+    }
+
     @Override
     public Long countByMatchAndNotMatchValue(Class entityClass, Map<String, Object> matchValues, Map<String, Object> notMatchValues) {
         CriteriaBuilder criteriaBuilder = getEntityManager().getCriteriaBuilder();
@@ -469,7 +522,7 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
         Expression<Long> count = criteriaBuilder.count(rootEntry);
         criteriaQuery.select(count);
         TypedQuery<Long> query = getEntityManager().createQuery(criteriaQuery);
-        query.setLockMode(LockModeType.PESSIMISTIC_READ);
+        query.setLockMode(getReadLockMode());
         return logAndReturnQuerySingleResult("countByMatchAndNotMatchValue", entityClass, query);
     }
     
@@ -573,6 +626,18 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
         LogUtil.logDebug(LOGGER, "flush returned");
     }
 
+    @Override
+    public void setJdbcBatchSize(Integer batchSize) {
+        Session session;
+        try {
+            session = getEntityManager().unwrap(Session.class);
+        } catch (PersistenceException e) {
+            LogUtil.logDebug(LOGGER, "JDBC batch size %s not set, the entity manager has no hibernate session", batchSize);
+            return;
+        }
+        session.setJdbcBatchSize(batchSize);
+    }
+
     public static synchronized EntityDataStoreManager getPersistenceManager(JPAEntityManagerFactory entityManagerFactory) {
         return new JPAEntityDataStoreManager();
     }
@@ -688,6 +753,19 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
         return null;
     }
 
+    /**
+     * @return the names of all the @Id fields, several of them when the entity has an @IdClass
+     */
+    private List<String> getIdAttributes(Class entityClass) {
+        List<String> idAttributes = new ArrayList<>();
+        for (Field field : getAllDeclaredFields(entityClass)) {
+            if (field.isAnnotationPresent(Id.class)) {
+                idAttributes.add(field.getName());
+            }
+        }
+        return idAttributes;
+    }
+
 
     @Override
     public boolean isOpen() {
@@ -754,7 +832,7 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
         CriteriaQuery<E> all = cq.select(rootEntry);
         TypedQuery<E> allQuery = getEntityManager().createQuery(all);
         
-        allQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+        allQuery.setLockMode(getReadLockMode());
 
         return allQuery.getResultList();
     }
@@ -920,14 +998,107 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
     @Override
     public <E> List<E> findWithPagingAndOrderByColumn(Class<E> entityClass, PagingInput pagingInput, Map<String, Object> matchValues,
                                                       String orderByColumn, Boolean isDesc) {
-        TypedQuery<E> allQuery = findWithCriterias(entityClass, pagingInput, matchValues, null, null, null, orderByColumn, isDesc);
+        TypedQuery<E> allQuery = findWithCriterias(entityClass, pagingInput, matchValues, null, null, null,
+                StringUtil.isEmpty(orderByColumn) ? Collections.emptyList() : Arrays.asList(orderByColumn), isDesc);
         return logAndReturnQueryResult("findWithPagingAndOrderByColumn", entityClass, allQuery);
     }
 
+    @Override
+    public <E> List<E> findWithPagingAndOrderByColumns(Class<E> entityClass, PagingInput pagingInput, Map<String, Object> matchValues,
+                                                       List<String> orderByColumns) {
+        TypedQuery<E> allQuery = findWithCriterias(entityClass, pagingInput, matchValues, null, null, null, orderByColumns, false);
+        return logAndReturnQueryResult("findWithPagingAndOrderByColumns", entityClass, allQuery);
+    }
+
+    @Override
+    public <E> KeysetPage<E> findWithKeysetPaging(Class<E> entityClass, KeysetPagingInput pagingInput, Map<String, Object> matchValues) {
+        List<String> orderByColumns = new ArrayList<>(pagingInput.getOrderByColumns());
+        for (String idAttribute : getIdAttributes(entityClass)) {
+            if (!orderByColumns.contains(idAttribute)) {
+                orderByColumns.add(idAttribute);
+            }
+        }
+        CriteriaBuilder criteriaBuilder = getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<E> criteriaQuery = criteriaBuilder.createQuery(entityClass);
+        Root<E> rootEntry = criteriaQuery.from(entityClass);
+
+        List<Predicate> predicates = new ArrayList<>();
+        getPredicates(predicates, matchValues, criteriaBuilder, rootEntry, true);
+        if (pagingInput.getContinuationToken() != null) {
+            List<String> lastSeenValues = KeysetPagingInput.decodeContinuationToken(pagingInput.getContinuationToken());
+            if (lastSeenValues.size() != orderByColumns.size()) {
+                throw new IllegalArgumentException("Continuation token '" + pagingInput.getContinuationToken()
+                        + "' does not match the ordering columns " + orderByColumns);
+            }
+            predicates.add(getKeysetPredicate(criteriaBuilder, rootEntry, orderByColumns, lastSeenValues, pagingInput.isDesc()));
+        }
+        criteriaQuery.where(predicates.toArray(new Predicate[predicates.size()]));
+
+        CriteriaQuery<E> all = criteriaQuery.select(rootEntry);
+        if (pagingInput.isDesc()) {
+            addOrderByDesc(all, criteriaBuilder, rootEntry, orderByColumns);
+        } else {
+            addOrderByAsc(all, criteriaBuilder, rootEntry, orderByColumns);
+        }
+
+        TypedQuery<E> allQuery = getEntityManager().createQuery(all);
+        allQuery.setMaxResults(pagingInput.getPageSize());
+        List<E> results = logAndReturnQueryResult("findWithKeysetPaging", entityClass, allQuery);
+
+        String continuationToken = null;
+        if (!results.isEmpty() && results.size() == pagingInput.getPageSize()) {
+            continuationToken = KeysetPagingInput.encodeContinuationToken(getColumnValues(results.get(results.size() - 1),
+                    orderByColumns));
+        }
+        return new KeysetPage<>(results, continuationToken);
+    }
+
+    /**
+     * Selects the rows after the last seen one: (c1 > v1) OR (c1 = v1 AND c2 > v2) OR ... for an ascending order.
+     */
+    private Predicate getKeysetPredicate(CriteriaBuilder criteriaBuilder, Root rootEntry, List<String> orderByColumns,
+                                         List<String> lastSeenValues, boolean isDesc) {
+        List<Predicate> orPredicates = new ArrayList<>();
+        List<Predicate> equalPredicates = new ArrayList<>();
+        for (int i = 0; i < orderByColumns.size(); i++) {
+            Path pathObject = getPathObject(rootEntry, orderByColumns.get(i));
+            Comparable value = (Comparable) getColumnValue(lastSeenValues.get(i), pathObject.getJavaType());
+            List<Predicate> andPredicates = new ArrayList<>(equalPredicates);
+            andPredicates.add(isDesc ? criteriaBuilder.lessThan(pathObject, value) : criteriaBuilder.greaterThan(pathObject, value));
+            orPredicates.add(criteriaBuilder.and(andPredicates.toArray(new Predicate[andPredicates.size()])));
+            equalPredicates.add(criteriaBuilder.equal(pathObject, value));
+        }
+        return criteriaBuilder.or(orPredicates.toArray(new Predicate[orPredicates.size()]));
+    }
+
+    private Object getColumnValue(String value, Class javaType) {
+        if (Timestamp.class.isAssignableFrom(javaType)) {
+            return KeysetPagingInput.parseTimestamp(value);
+        } else if (Date.class.isAssignableFrom(javaType)) {
+            return new Date(Long.parseLong(value));
+        } else if (javaType.isEnum()) {
+            return Enum.valueOf(javaType, value);
+        }
+        return ConvertUtils.convert(value, javaType);
+    }
+
+    private List<Object> getColumnValues(Object entity, List<String> columns) {
+        List<Object> values = new ArrayList<>();
+        for (String column : columns) {
+            try {
+                values.add(PropertyUtils.getNestedProperty(entity, column));
+            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                throw new IllegalArgumentException("Could not read the ordering column " + column + " of " + entity.getClass(), e);
+            }
+        }
+        return values;
+    }
+
     @Override
     public <E> List<E> findSelectedColumnsWithMatchedValues(Class<E> entityClass, PagingInput pagingInput,
                                                             Map<String, Object> matchedValues, List<String> selectedAttrs) {
-        TypedQuery<E> allQuery = findWithCriterias(entityClass, pagingInput, matchedValues, selectedAttrs, null, null, null, null);
+        TypedQuery<E> allQuery = findWithCriterias(entityClass, pagingInput, matchedValues, selectedAttrs, null, null,
+                Collections.emptyList(), null);
         return logAndReturnQueryResult("findSelectedColumnsWithMatchedValues", entityClass, allQuery);
     }
 
@@ -947,8 +1118,8 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
     }
 
     private <E> TypedQuery<E> findWithCriterias(Class<E> entityClass, PagingInput pagingInput, Map<String, Object> matchedValues,
-                                                List<String> selectedAttrs, List<String> groupByAttrs, Boolean countByGroup, String
-                                                        orderByColumn, Boolean isDesc) {
+                                                List<String> selectedAttrs, List<String> groupByAttrs, Boolean countByGroup,
+                                                List<String> orderByColumns, Boolean isDesc) {
 
         CriteriaBuilder criteriaBuilder = getEntityManager().getCriteriaBuilder();
         CriteriaQuery<E> criteriaQuery = criteriaBuilder.createQuery(entityClass);
@@ -985,9 +1156,9 @@ public abstract class AbstractEntityDataStoreManager implements EntityDataStoreM
          * Start for 'order by'
          */
         if (isDesc != null && isDesc) {
-            addOrderByDesc(all, criteriaBuilder, rootEntry, orderByColumn);
+            addOrderByDesc(all, criteriaBuilder, rootEntry, orderByColumns);
         } else {
-            addOrderByAsc(all, criteriaBuilder, rootEntry, orderByColumn);
+            addOrderByAsc(all, criteriaBuilder, rootEntry, orderByColumns);
         }
         // End for 'order by'
 
@@ -74,6 +74,11 @@ public class DoNothingEntityDsm extends AbstractEntityDataStoreManager {
 
     }
 
+    @Override
+    public void setJdbcBatchSize(Integer batchSize) {
+
+    }
+
     @Override
     public <E> E findById(Class<E> entityClass, Object primaryKey, LockModeType lockMode) {
         return (E) new Object();
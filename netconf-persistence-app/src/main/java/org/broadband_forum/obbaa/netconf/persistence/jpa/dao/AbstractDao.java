@@ -25,6 +25,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPage;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PersistenceManagerUtil;
 
@@ -116,6 +118,11 @@ public abstract class AbstractDao<E, PK extends Serializable> implements EntityD
             Boolean isDesc) {
         return getPersistenceManager().findWithPagingAndOrderByColumn(m_entityClass, pagingInput, matchValues, orderByColumn, isDesc);
     }
+
+    @Override
+    public KeysetPage<E> findWithKeysetPaging(KeysetPagingInput pagingInput, Map<String, Object> matchValues) {
+        return getPersistenceManager().findWithKeysetPaging(m_entityClass, pagingInput, matchValues);
+    }
     /**
      * The DAO of a Entity must override this method and supply a list of java entity attribute names
      * to return a system ordered list always
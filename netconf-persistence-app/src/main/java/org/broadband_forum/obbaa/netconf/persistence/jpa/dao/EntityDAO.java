@@ -20,6 +20,8 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPage;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 
 public interface EntityDAO<E, PK extends Serializable> {
@@ -52,4 +54,12 @@ public interface EntityDAO<E, PK extends Serializable> {
     
     public List<E> findWithPagingAndOrderByColumn(PagingInput pagingInput, Map<String, Object> matchValues,
             String orderByColumn, Boolean isDesc);
+
+    /**
+     * @throws UnsupportedOperationException if the DAO does not support keyset paging, which is the default
+     * @see org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager#findWithKeysetPaging
+     */
+    public default KeysetPage<E> findWithKeysetPaging(KeysetPagingInput pagingInput, Map<String, Object> matchValues) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support keyset paging");
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.broadband_forum.obbaa.netconf.persistence.jpa.query;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -95,6 +96,26 @@ public class QueryBuilder {
         return queryStr;
     }
     
+    /**
+     * Builds the keyset paging condition selecting the rows that follow the last seen row in the order of the attributes,
+     * e.g. (name > 'Bob') OR (name = 'Bob' AND id > 2) for an ascending order.
+     */
+    public static Query getKeysetQuery(List<String> attributes, List<?> lastSeenValues, boolean isDesc) {
+        if (attributes.size() != lastSeenValues.size()) {
+            throw new IllegalArgumentException("Expected one last seen value per attribute of " + attributes + " but got " + lastSeenValues);
+        }
+        QueryConditionOperator beyondOperator = isDesc ? QueryConditionOperator.LESS_THAN : QueryConditionOperator.GREATER_THAN;
+        Query keysetQuery = new Query(new ArrayList<>(), LogicOperator.OR);
+        List<QueryCondition> equalConditions = new ArrayList<>();
+        for (int i = 0; i < attributes.size(); i++) {
+            Query beyondQuery = new Query(new ArrayList<>(equalConditions), LogicOperator.AND);
+            beyondQuery.addQueryCondition(new QueryCondition(attributes.get(i), beyondOperator, lastSeenValues.get(i)));
+            keysetQuery.addQueryCondition(new QueryCondition(beyondQuery));
+            equalConditions.add(new QueryCondition(attributes.get(i), QueryConditionOperator.EQUALS, lastSeenValues.get(i)));
+        }
+        return keysetQuery;
+    }
+
     public static String getValueQueryString(Object value, QueryConditionOperator conditionOperator) {
         StringBuilder valueQueryStr = new StringBuilder();
         final String none = "";
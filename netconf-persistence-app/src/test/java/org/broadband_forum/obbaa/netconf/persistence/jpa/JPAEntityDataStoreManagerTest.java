@@ -18,14 +18,21 @@ package org.broadband_forum.obbaa.netconf.persistence.jpa;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.persistence.LockModeType;
+
 import org.broadband_forum.obbaa.netconf.persistence.EMFactory;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPage;
+import org.broadband_forum.obbaa.netconf.persistence.KeysetPagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.junit.Before;
 import org.junit.Test;
@@ -121,6 +128,110 @@ public class JPAEntityDataStoreManagerTest {
         m_jpaPersistenceManager.close();
     }
     
+    @Test
+    public void testMatchAndInValues(){
+        m_jpaPersistenceManager.beginTransaction();
+        Person personWhoLikesRed = buildPersonWhoLikesRed();
+        m_jpaPersistenceManager.create(personWhoLikesRed);
+        Person personWhoLikesGreen = buildPersonWhoLikesGreen();
+        m_jpaPersistenceManager.create(personWhoLikesGreen);
+        Person personWhoLikesPurple = buildPersonWhoLikesPurple();
+        m_jpaPersistenceManager.create(personWhoLikesPurple);
+        m_jpaPersistenceManager.commitTransaction();
+
+        m_jpaPersistenceManager.beginTransaction();
+        List<Person> persons = m_jpaPersistenceManager.findByMatchValueAndInValues(Person.class, new HashMap<>(), "firstName",
+                Arrays.asList("Charles", "Alice", "Dave"), "firstName");
+        assertEquals(Arrays.asList(personWhoLikesRed, personWhoLikesPurple), persons);
+
+        Map<String, Object> matchValues = new HashMap<>();
+        matchValues.put("favoriteColor", "Purple");
+        persons = m_jpaPersistenceManager.findByMatchValueAndInValues(Person.class, matchValues, "firstName",
+                Arrays.asList("Charles", "Alice"), null);
+        assertEquals(Arrays.asList(personWhoLikesPurple), persons);
+        m_jpaPersistenceManager.commitTransaction();
+        m_jpaPersistenceManager.close();
+    }
+
+    @Test
+    public void testKeysetPaging(){
+        m_jpaPersistenceManager.beginTransaction();
+        Person personWhoLikesRed = buildPersonWhoLikesRed();
+        m_jpaPersistenceManager.create(personWhoLikesRed);
+        Person personWhoLikesGreen = buildPersonWhoLikesGreen();
+        m_jpaPersistenceManager.create(personWhoLikesGreen);
+        Person personWhoLikesPurple = buildPersonWhoLikesPurple();
+        m_jpaPersistenceManager.create(personWhoLikesPurple);
+        Person personWhoLikesOrange = buildPersonWhoLikesOrange();
+        m_jpaPersistenceManager.create(personWhoLikesOrange);
+        m_jpaPersistenceManager.commitTransaction();
+
+        m_jpaPersistenceManager.beginTransaction();
+        List<String> orderByColumns = Arrays.asList("firstName");
+        KeysetPage<Person> page = m_jpaPersistenceManager.findWithKeysetPaging(Person.class,
+                new KeysetPagingInput(orderByColumns, false, 2, null), new HashMap<>());
+        assertEquals(Arrays.asList(personWhoLikesRed, personWhoLikesOrange), page.getResults());
+        assertTrue(page.hasNextPage());
+
+        page = m_jpaPersistenceManager.findWithKeysetPaging(Person.class,
+                new KeysetPagingInput(orderByColumns, false, 2, page.getContinuationToken()), new HashMap<>());
+        assertEquals(Arrays.asList(personWhoLikesGreen, personWhoLikesPurple), page.getResults());
+
+        page = m_jpaPersistenceManager.findWithKeysetPaging(Person.class,
+                new KeysetPagingInput(orderByColumns, false, 2, page.getContinuationToken()), new HashMap<>());
+        assertTrue(page.getResults().isEmpty());
+        assertNull(page.getContinuationToken());
+
+        Map<String, Object> matchValues = new HashMap<>();
+        matchValues.put("firstName", "Alice");
+        page = m_jpaPersistenceManager.findWithKeysetPaging(Person.class, new KeysetPagingInput(null, true, 1, null), matchValues);
+        assertEquals(Arrays.asList(personWhoLikesOrange), page.getResults());
+        page = m_jpaPersistenceManager.findWithKeysetPaging(Person.class,
+                new KeysetPagingInput(null, true, 5, page.getContinuationToken()), matchValues);
+        assertEquals(Arrays.asList(personWhoLikesRed), page.getResults());
+        assertNull(page.getContinuationToken());
+        m_jpaPersistenceManager.commitTransaction();
+        m_jpaPersistenceManager.close();
+    }
+
+    @Test
+    public void testKeysetPagingWithCompositeIdAndTimestampColumn(){
+        Ticket seat1 = new Ticket().setEvent("concert").setSeat(1).setSoldAt(timestamp(100000));
+        Ticket seat2 = new Ticket().setEvent("concert").setSeat(2).setSoldAt(timestamp(100000));
+        Ticket seat3 = new Ticket().setEvent("concert").setSeat(3).setSoldAt(timestamp(200000));
+        m_jpaPersistenceManager.beginTransaction();
+        m_jpaPersistenceManager.create(seat3);
+        m_jpaPersistenceManager.create(seat2);
+        m_jpaPersistenceManager.create(seat1);
+        m_jpaPersistenceManager.commitTransaction();
+
+        m_jpaPersistenceManager.beginTransaction();
+        List<Ticket> tickets = new ArrayList<>();
+        String continuationToken = null;
+        for (int pages = 0; pages < 5; pages++) {
+            KeysetPage<Ticket> page = m_jpaPersistenceManager.findWithKeysetPaging(Ticket.class,
+                    new KeysetPagingInput(Arrays.asList("soldAt"), false, 1, continuationToken), new HashMap<>());
+            tickets.addAll(page.getResults());
+            continuationToken = page.getContinuationToken();
+            if (continuationToken == null) {
+                break;
+            }
+        }
+        assertEquals(Arrays.asList(seat1, seat2, seat3), tickets);
+        m_jpaPersistenceManager.commitTransaction();
+        m_jpaPersistenceManager.close();
+
+        Timestamp soldAt = timestamp(123456789);
+        assertEquals(soldAt, KeysetPagingInput.parseTimestamp(KeysetPagingInput.decodeContinuationToken(
+                KeysetPagingInput.encodeContinuationToken(Arrays.asList(soldAt))).get(0)));
+    }
+
+    private static Timestamp timestamp(int nanos) {
+        Timestamp timestamp = new Timestamp(1500000000000L);
+        timestamp.setNanos(nanos);
+        return timestamp;
+    }
+
     @Test
     public void testLikeValues(){
     	EntityDataStoreManager manager = m_jpaPersistenceManager;
@@ -214,6 +325,39 @@ public class JPAEntityDataStoreManagerTest {
         manager.close();
     }
     
+    @Test
+    public void testFindWithPagingAndOrderByColumns(){
+        EntityDataStoreManager manager = m_jpaPersistenceManager;
+        manager.beginTransaction();
+
+        for (Person person : prepareDatas()) {
+            m_jpaPersistenceManager.create(person);
+        }
+
+        manager.commitTransaction();
+
+        Map<String, Object> matchValues = new HashMap<>();
+        matchValues.put("favoriteColor", "Orange");
+
+        // ordered by phoneNumber then firstName: Vagrant(12345), Job(6789), Nexus(6789)
+        manager.beginTransaction();
+        List<Person> person = manager.findWithPagingAndOrderByColumns(Person.class, new PagingInput(1, 1), matchValues,
+                Arrays.asList("phoneNumber", "firstName"));
+        manager.commitTransaction();
+        assertEquals(1, person.size());
+        assertEquals("Job", person.get(0).getFirstName());
+
+        manager.beginTransaction();
+        person = manager.findWithPagingAndOrderByColumns(Person.class, new PagingInput(1, Integer.MAX_VALUE), matchValues,
+                Arrays.asList("phoneNumber", "firstName"));
+        manager.commitTransaction();
+        assertEquals(2, person.size());
+        assertEquals("Job", person.get(0).getFirstName());
+        assertEquals("Nexus", person.get(1).getFirstName());
+
+        manager.close();
+    }
+
     @Test
     public void testLikeValuesWithMatchValues(){
         EntityDataStoreManager manager = m_jpaPersistenceManager;
@@ -402,6 +546,31 @@ public class JPAEntityDataStoreManagerTest {
         manager.close();
     }
 
+    @Test
+    public void testReadsWithoutALockModeUseTheReadLockModeSupplier() {
+        m_jpaPersistenceManager.beginTransaction();
+        m_jpaPersistenceManager.create(buildPersonWhoLikesRed());
+        m_jpaPersistenceManager.commitTransaction();
+
+        Map<String, Object> matchValues = new HashMap<>();
+        matchValues.put("favoriteColor", "Red");
+        m_jpaPersistenceManager.beginTransaction();
+        assertEquals(1L, m_jpaPersistenceManager.countByMatchAndNotMatchValue(Person.class, matchValues, null).longValue());
+        assertEquals(LockModeType.PESSIMISTIC_READ, m_jpaPersistenceManager.getTypedQuery().getLockMode());
+        m_jpaPersistenceManager.commitTransaction();
+
+        AbstractEntityDataStoreManager.setReadLockModeSupplier(() -> LockModeType.NONE);
+        try {
+            m_jpaPersistenceManager.beginTransaction();
+            assertEquals(1L, m_jpaPersistenceManager.countByMatchAndNotMatchValue(Person.class, matchValues, null).longValue());
+            assertEquals(LockModeType.NONE, m_jpaPersistenceManager.getTypedQuery().getLockMode());
+            m_jpaPersistenceManager.commitTransaction();
+        } finally {
+            AbstractEntityDataStoreManager.setReadLockModeSupplier(() -> LockModeType.PESSIMISTIC_READ);
+            m_jpaPersistenceManager.close();
+        }
+    }
+
     private Person buildPersonWhoLikesPurple() {
         return new Person()
                 .setFirstName("Charles")
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.persistence.jpa;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+@Entity
+@IdClass(TicketPK.class)
+@Table(name="Ticket")
+public class Ticket {
+
+    @Id
+    @Column(name="event")
+    private String event;
+
+    @Id
+    @Column(name="seat")
+    private Integer seat;
+
+    @Column(name="soldAt")
+    private Timestamp soldAt;
+
+    public String getEvent() {
+        return event;
+    }
+
+    public Ticket setEvent(String event) {
+        this.event = event;
+        return this;
+    }
+
+    public Integer getSeat() {
+        return seat;
+    }
+
+    public Ticket setSeat(Integer seat) {
+        this.seat = seat;
+        return this;
+    }
+
+    public Timestamp getSoldAt() {
+        return soldAt;
+    }
+
+    public Ticket setSoldAt(Timestamp soldAt) {
+        this.soldAt = soldAt;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Ticket ticket = (Ticket) o;
+        return Objects.equals(event, ticket.event) && Objects.equals(seat, ticket.seat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(event, seat);
+    }
+
+    @Override
+    public String toString() {
+        return "Ticket [event=" + event + ", seat=" + seat + ", soldAt=" + soldAt + "]";
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.persistence.jpa;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class TicketPK implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String event;
+
+    private Integer seat;
+
+    public TicketPK() {
+    }
+
+    public TicketPK(String event, Integer seat) {
+        this.event = event;
+        this.seat = seat;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TicketPK ticketPK = (TicketPK) o;
+        return Objects.equals(event, ticketPK.event) && Objects.equals(seat, ticketPK.seat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(event, seat);
+    }
+}
@@ -257,4 +257,11 @@ public class QueryTest {
         assertEquals("attribute2 LIKE '%value2%'", QueryBuilder.getConditionQueryString(QueryConditionOperator.CONTAINS, "attribute2", "value2", false));
         assertEquals("attribute3 NOT LIKE 'value3%'", QueryBuilder.getConditionQueryString(QueryConditionOperator.NOT_BEGIN_WITH, "attribute3", "value3", false));
     }
+
+    @Test
+    public void testGetKeysetQuery() {
+        assertEquals("(name > 'Bob') OR (name = 'Bob' AND id > 2)",
+                QueryBuilder.getKeysetQuery(Arrays.asList("name", "id"), Arrays.asList("Bob", 2), false).toString());
+        assertEquals("(name < 'Bob')", QueryBuilder.getKeysetQuery(Arrays.asList("name"), Arrays.asList("Bob"), true).toString());
+    }
 }
@@ -116,7 +116,7 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
     private Map<SchemaPath, RpcDefinition> m_allRpcDefinitions = new LinkedHashMap<>();
     private Map<String, List<YangTextSchemaSource>> m_componentModules = new LinkedHashMap<>();
     private Map<String, Set<LocationPath>> m_expressionsWithoutKeysInList = new HashMap<>();
-    private Map<SchemaPath, String> m_shortPaths = new HashMap<>();
+    private Map<SchemaPath, String> m_shortPaths = new ConcurrentHashMap<>();
     private static ServiceListener c_serviceListener;
     private static YinAnnotationService c_yinAnnotationService;
     private Map<String, List<String>> m_prefixes = new LinkedHashMap<>();
@@ -185,12 +185,12 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
     private final Map<String, Map<DataSchemaNode, Expression>> m_relativePaths = new DefaultConcurrentHashMap<>(new HashMap<DataSchemaNode, Expression>(), true);
 
     private final Set <SchemaPath> m_childBigListSchemaNodes = Sets.newConcurrentHashSet();
-    private Map<SchemaPath, HashMap<String, String>> m_xPathWithPrefixToXPathWithModuleNameInPrefixMap = new ConcurrentHashMap<>();
+    private Map<SchemaPath, Map<String, String>> m_xPathWithPrefixToXPathWithModuleNameInPrefixMap = new ConcurrentHashMap<>();
     private Map<SchemaPath, Set<String>> m_attributesWithSameLocalNameDifferentNameSpace = new ConcurrentHashMap<>();
     private final DefaultConcurrentHashMap<String, HashSet<String>> m_componentIdAbsSchemaPaths =
             new DefaultConcurrentHashMap<>(new HashSet<String>(), true);
 
-    private boolean m_isYangLibrarySupportedInHelloMessage;
+    private volatile boolean m_isYangLibrarySupportedInHelloMessage;
     private YangLibraryChangeNotificationListener m_yangLibraryChangeNotificationListener;
     private static final String YANG_LIBRARY_CAP_FORMAT = "urn:ietf:params:netconf:capability:yang-library:1.0?revision=2016-04-09&module-set-id=%s";
     private final Map<ModuleIdentifier, Set<QName>> m_supportedFeatures = new HashMap<>();
@@ -200,27 +200,16 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
     private Set<QName> m_supportedPlugFeatures = Sets.newConcurrentHashSet();
     private ConcurrentHashMap<QName, Set<QName>> m_supportedPlugDeviations = new ConcurrentHashMap<>();
     private ConcurrentHashMap<String, DataSchemaNode> m_mountPointsSchemaPathMap = new ConcurrentHashMap<>();
-    private SchemaMountRegistry m_schemaMountRegistry;
-    private SchemaPath m_parentMountPath;
-    private SchemaRegistry m_parent;
+    private volatile SchemaMountRegistry m_schemaMountRegistry;
+    private volatile SchemaPath m_parentMountPath;
+    private volatile SchemaRegistry m_parent;
     private SchemaSupportVerifierImpl m_schemaSupportVerifier = new SchemaSupportVerifierImpl();
     private final ConcurrentHashMap<SchemaPath, Set<String>> m_skipValidationHintSchemaPaths = new ConcurrentHashMap<>();
     private final Map<DataSchemaNode, Map<Expression, Module>> m_nodeConstraintsDefinedModules = new DefaultConcurrentHashMap<>(new HashMap<Expression, Module>(), true);
-    private boolean m_isYangLibraryIgnored = false;
+    private volatile boolean m_isYangLibraryIgnored = false;
     private Set<ActionDefinition> m_actionDefinitionsWithListAndLeafRef = new LinkedHashSet<>();
-
-    @SuppressWarnings("unchecked")
-    private Map<SchemaPath, Map<QName, DataSchemaNode>> getIndexedCache() {
-        RequestScope scope = RequestScope.getCurrentScope();
-        Map<SchemaPath, Map<QName, DataSchemaNode>> cache = (Map<SchemaPath, Map<QName, DataSchemaNode>>) scope.getFromCache(CHILD_NODE_INDEX_CACHE);
-        if (cache == null) {
-            cache = new HashMap<>();
-            scope.putInCache(CHILD_NODE_INDEX_CACHE, cache);
-            cache = (Map<SchemaPath, Map<QName, DataSchemaNode>>) scope.getFromCache(CHILD_NODE_INDEX_CACHE);
-        }
-        return cache;
-
-    }
+    // children indexed by QName, built once per parent as long as the schema nodes are not re-indexed
+    private final ConcurrentHashMap<SchemaPath, Map<QName, DataSchemaNode>> m_indexedChildren = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unchecked")
     @VisibleForTesting
@@ -253,22 +242,6 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
         }
     }
 
-    private void addToCache(SchemaPath parentPath, Map<QName, DataSchemaNode> children) {
-        Map<SchemaPath, Map<QName, DataSchemaNode>> cache = getIndexedCache();
-        Map<QName, DataSchemaNode> cacheChildren = cache.get(parentPath);
-        if (cacheChildren == null) {
-            cacheChildren = new HashMap<>(children.size());
-            cache.put(parentPath, cacheChildren);
-            cacheChildren = cache.get(parentPath);
-        }
-        cacheChildren.putAll(children);
-    }
-
-    private Map<QName, DataSchemaNode> getFromIndexedCache(SchemaPath parentPath) {
-        Map<SchemaPath, Map<QName, DataSchemaNode>> cache = getIndexedCache();
-        return cache.get(parentPath);
-    }
-
     /*
      * @deprecated You have to use a constructor that passes the yang models, features and deviations from now onwards.
      */
@@ -712,12 +685,15 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Map<QName, DataSchemaNode> getIndexedChildren(final SchemaPath parentSchemaPath) {
-        Map<QName, DataSchemaNode> cacheList = getFromIndexedCache(parentSchemaPath);
-        if (cacheList != null) {
-            return cacheList;
+        Map<QName, DataSchemaNode> indexedChildren = m_indexedChildren.get(parentSchemaPath);
+        if (indexedChildren == null) {
+            indexedChildren = m_indexedChildren.computeIfAbsent(parentSchemaPath, this::indexChildren);
         }
+        return indexedChildren;
+    }
 
-        Map<QName, DataSchemaNode> returnList = new HashMap<QName, DataSchemaNode>(1000);
+    private Map<QName, DataSchemaNode> indexChildren(SchemaPath parentSchemaPath) {
+        Map<QName, DataSchemaNode> returnList = new HashMap<QName, DataSchemaNode>();
         DataSchemaNode parentNode = getDataSchemaNode(parentSchemaPath);
         if (parentNode != null && parentNode instanceof DataNodeContainer) {
             Collection<DataSchemaNode> childNodes = ((DataNodeContainer) parentNode).getChildNodes();
@@ -729,8 +705,7 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
                 }
             }
         }
-        addToCache(parentSchemaPath, returnList);
-        return returnList;
+        return Collections.unmodifiableMap(returnList);
     }
 
     public DataSchemaNode getDataSchemaNode(final List<QName> qNames) {
@@ -772,7 +747,9 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
         m_supportedFeatures.clear();
         m_supportedDeviations.clear();
         m_componentIdModuleIdentifiersMap.clear();
-        m_supportedPlugDeviations.clear();
+        if (m_supportedPlugDeviations != null) {
+            m_supportedPlugDeviations.clear();
+        }
         m_relativePaths.clear();
         m_expressionsWithoutKeysInList.clear();
         m_childBigListSchemaNodes.clear();
@@ -927,6 +904,7 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
     }
 
     private void clearLazilyLoadedCaches(){
+        m_indexedChildren.clear();
         m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.clear();
         m_attributesWithSameLocalNameDifferentNameSpace.clear();
         m_shortPaths.clear();
@@ -1508,9 +1486,12 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Expression getExpressionWithModuleNameInPrefix(SchemaPath schemaPath, String expression) {
-        HashMap <String, String> expressionMap = m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.get(schemaPath);
-        if(expressionMap != null && expressionMap.containsKey(expression)) {
-            return JXPathUtils.getExpression(expressionMap.get(expression));
+        Map<String, String> expressionMap = m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.get(schemaPath);
+        if (expressionMap != null) {
+            String expressionWithModuleNameInPrefix = expressionMap.get(expression);
+            if (expressionWithModuleNameInPrefix != null) {
+                return JXPathUtils.getExpression(expressionWithModuleNameInPrefix);
+            }
         }
         return null;
     }
@@ -1518,12 +1499,9 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
     @Override
     public void registerExpressionWithModuleNameInPrefix(SchemaPath schemaPath,
             String expression, String expressionWithPrefix) {
-        HashMap <String, String> expressionMap = m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.get(schemaPath);
-        if(expressionMap == null) {
-            expressionMap = new HashMap<>();
-            m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.put(schemaPath, expressionMap);
-        }
-        expressionMap.put(expression, expressionWithPrefix);
+        // filled lazily while requests are served, so both levels have to be concurrent
+        m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.computeIfAbsent(schemaPath, path -> new ConcurrentHashMap<>())
+                .put(expression, expressionWithPrefix);
     }
 
     @Override
@@ -1828,9 +1806,17 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
     }
 
     public DecoratedSchemaRegistryImpl deepClone() throws SchemaBuildException, LockServiceException {
+        return deepClone(m_isYangLibraryIgnored);
+    }
+
+    /**
+     * Clones the registry as if the yang library ignored flag was set to the given value beforehand, the registry itself
+     * being left untouched.
+     */
+    public DecoratedSchemaRegistryImpl deepClone(boolean isYangLibraryIgnored) throws SchemaBuildException, LockServiceException {
         DecoratedSchemaRegistryImpl clonedSchemaRegistry = null;
         try {
-            clonedSchemaRegistry = new DecoratedSchemaRegistryImpl(Collections.emptyList(), Collections.emptySet(), Collections.emptyMap(), m_isYangLibraryIgnored);
+            clonedSchemaRegistry = new DecoratedSchemaRegistryImpl(Collections.emptyList(), Collections.emptySet(), Collections.emptyMap(), isYangLibraryIgnored);
         } catch (SchemaBuildException e) {
             throw new LockServiceException(e);
         }
@@ -1857,12 +1843,17 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
         clonedSchemaRegistry.m_relativePath.addAll(m_relativePath);
         clonedSchemaRegistry.m_relativePaths.putAll(m_relativePaths);
         clonedSchemaRegistry.m_componentIdAbsSchemaPaths.putAll(m_componentIdAbsSchemaPaths);
-        clonedSchemaRegistry.m_isYangLibraryIgnored = m_isYangLibraryIgnored;
+        clonedSchemaRegistry.m_isYangLibraryIgnored = isYangLibraryIgnored;
         clonedSchemaRegistry.m_isYangLibrarySupportedInHelloMessage = m_isYangLibrarySupportedInHelloMessage;
         clonedSchemaRegistry.m_yangLibraryChangeNotificationListener = m_yangLibraryChangeNotificationListener;
         //clonedSchemaRegistry.YANG_LIBRARY_CAP_FORMAT
         if(!clonedSchemaRegistry.isYangLibraryIgnored()) {
-            clonedSchemaRegistry.m_supportedPlugDeviations.putAll(m_supportedPlugDeviations);
+            if (m_supportedPlugFeatures != null) {
+                clonedSchemaRegistry.m_supportedPlugFeatures.addAll(m_supportedPlugFeatures);
+            }
+            if (m_supportedPlugDeviations != null) {
+                clonedSchemaRegistry.m_supportedPlugDeviations.putAll(m_supportedPlugDeviations);
+            }
         }
         clonedSchemaRegistry.m_supportedFeatures.putAll(m_supportedFeatures);
         clonedSchemaRegistry.m_supportedDeviations.putAll(m_supportedDeviations);
@@ -1871,6 +1862,19 @@ public class DecoratedSchemaRegistryImpl implements SchemaRegistry {
         clonedSchemaRegistry.m_mountPointsSchemaPathMap.putAll(m_mountPointsSchemaPathMap);
         clonedSchemaRegistry.m_schemaMountRegistry = m_schemaMountRegistry;
         clonedSchemaRegistry.m_parentMountPath = m_parentMountPath;
+        clonedSchemaRegistry.m_parent = m_parent;
+        clonedSchemaRegistry.m_childBigListSchemaNodes.addAll(m_childBigListSchemaNodes);
+        clonedSchemaRegistry.m_skipValidationHintSchemaPaths.putAll(m_skipValidationHintSchemaPaths);
+        clonedSchemaRegistry.m_nodeConstraintsDefinedModules.putAll(m_nodeConstraintsDefinedModules);
+        clonedSchemaRegistry.m_actionDefinitionsWithListAndLeafRef.addAll(m_actionDefinitionsWithListAndLeafRef);
+        clonedSchemaRegistry.m_attributesWithSameLocalNameDifferentNameSpace.putAll(m_attributesWithSameLocalNameDifferentNameSpace);
+        for (Map.Entry<String, Set<LocationPath>> entry : m_expressionsWithoutKeysInList.entrySet()) {
+            clonedSchemaRegistry.m_expressionsWithoutKeysInList.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        clonedSchemaRegistry.m_shortPaths.putAll(m_shortPaths);
+        for (Map.Entry<SchemaPath, Map<String, String>> entry : m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.entrySet()) {
+            clonedSchemaRegistry.m_xPathWithPrefixToXPathWithModuleNameInPrefixMap.put(entry.getKey(), new ConcurrentHashMap<>(entry.getValue()));
+        }
         clonedSchemaRegistry.m_validators.putAll(m_validators);
         clonedSchemaRegistry.m_whenReferringNodes.putAll(m_whenReferringNodes);
         clonedSchemaRegistry.m_constraintValidators.putAll(m_constraintValidators);
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.schema;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.broadband_forum.obbaa.netconf.api.parser.SchemaContextCache;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+/**
+ * A {@link MountKey} identifying a module set by its content (sources, supported features and supported deviations)
+ * instead of by the plug it comes from. The mount points acquiring their registries with this key from the
+ * {@link MountRegistryService} share one {@link MountRegistries} for all the plugs with the same module set, and a new one
+ * is only built when the module set differs. A key computed with {@link #of} keeps the module set, so that the registries
+ * can be built from it, see {@link MountRegistryService#acquireModuleSetMountRegistries}.
+ */
+public class ModuleSetMountKey implements MountKey {
+
+    private final String m_moduleSetId;
+    private final List<YangTextSchemaSource> m_yangModelByteSources;
+    private final Set<QName> m_supportedFeatures;
+    private final Map<QName, Set<QName>> m_supportedDeviations;
+
+    public ModuleSetMountKey(String moduleSetId) {
+        this(moduleSetId, Collections.emptyList(), Collections.emptySet(), Collections.emptyMap());
+    }
+
+    private ModuleSetMountKey(String moduleSetId, List<YangTextSchemaSource> yangModelByteSources, Set<QName> supportedFeatures,
+                              Map<QName, Set<QName>> supportedDeviations) {
+        m_moduleSetId = moduleSetId;
+        m_yangModelByteSources = yangModelByteSources;
+        m_supportedFeatures = supportedFeatures;
+        m_supportedDeviations = supportedDeviations;
+    }
+
+    public static ModuleSetMountKey of(List<YangTextSchemaSource> yangModelByteSources, Set<QName> supportedFeatures,
+                                       Map<QName, Set<QName>> supportedDeviations) throws SchemaBuildException {
+        try {
+            return new ModuleSetMountKey(SchemaContextCache.moduleSetKey(yangModelByteSources, supportedFeatures,
+                    supportedDeviations).toString(), yangModelByteSources, supportedFeatures, supportedDeviations);
+        } catch (IOException e) {
+            throw new SchemaBuildException("Error while computing the module set id", e);
+        }
+    }
+
+    public String getModuleSetId() {
+        return m_moduleSetId;
+    }
+
+    public List<YangTextSchemaSource> getYangModelByteSources() {
+        return m_yangModelByteSources;
+    }
+
+    public Set<QName> getSupportedFeatures() {
+        return m_supportedFeatures;
+    }
+
+    public Map<QName, Set<QName>> getSupportedDeviations() {
+        return m_supportedDeviations;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        return m_moduleSetId.equals(((ModuleSetMountKey) other).m_moduleSetId);
+    }
+
+    @Override
+    public int hashCode() {
+        return m_moduleSetId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ModuleSetMountKey{moduleSetId=" + m_moduleSetId + "}";
+    }
+}
@@ -28,7 +28,12 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeHe
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.RootModelNodeAggregator;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.util.DSExpressionValidator;
 import org.broadband_forum.obbaa.netconf.mn.fwk.util.ReadWriteLockService;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * The registries of a mount key, shared by all the mount points of the key (see
+ * {@link MountRegistryService#acquireMountRegistries}), so they are created lazily under the lock of this object.
+ */
 public class MountRegistries {
     
     private SubSystemRegistry m_subSystemRegistry;
@@ -41,14 +46,32 @@ public class MountRegistries {
     public MountRegistries(ReadWriteLockService readWriteLockService) {
         m_readWriteLockService = readWriteLockService;
     }
+
+    /**
+     * Creates the registries of a module set, shared by the mount points of all the plugs with the same module set under
+     * the parent registry and mount path. The schema registry is built once from the module set of the key and is then
+     * read-only, so that no mount point can change the schema of the others.
+     */
+    public static MountRegistries forModuleSet(ModuleSetMountKey key, SchemaRegistry parentRegistry, SchemaPath mountPath,
+                                               ReadWriteLockService readWriteLockService) throws SchemaBuildException {
+        SchemaRegistryImpl schemaRegistry = new SchemaRegistryImpl(key.getYangModelByteSources(), key.getSupportedFeatures(),
+                key.getSupportedDeviations(), readWriteLockService);
+        schemaRegistry.setName(key.getModuleSetId());
+        schemaRegistry.setParentRegistry(parentRegistry);
+        schemaRegistry.setMountPath(mountPath);
+        schemaRegistry.setReadOnly();
+        MountRegistries mountRegistries = new MountRegistries(readWriteLockService);
+        mountRegistries.m_schemaRegistry = schemaRegistry;
+        return mountRegistries;
+    }
     
-    public SubSystemRegistry getSubSystemRegistry() {
+    public synchronized SubSystemRegistry getSubSystemRegistry() {
         if (m_subSystemRegistry == null) {
             m_subSystemRegistry = new SubSystemRegistryImpl();
         }
         return m_subSystemRegistry;
     }
-    public SchemaRegistry getSchemaRegistry() {
+    public synchronized SchemaRegistry getSchemaRegistry() {
         if (m_schemaRegistry == null) {
             try {
                 m_schemaRegistry = new SchemaRegistryImpl(Collections.emptyList(), Collections.emptySet(), Collections.emptyMap(), m_readWriteLockService);
@@ -59,7 +82,7 @@ public class MountRegistries {
         return m_schemaRegistry;
     }
 
-    public SchemaRegistry getSchemaRegistry(boolean isYangLibraryIgnored) {
+    public synchronized SchemaRegistry getSchemaRegistry(boolean isYangLibraryIgnored) {
         if (m_schemaRegistry == null) {
             try {
                 if (!isYangLibraryIgnored) {
@@ -76,14 +99,14 @@ public class MountRegistries {
         return m_schemaRegistry;
     }
 
-    public ModelNodeDSMRegistry getDsmRegistry() {
+    public synchronized ModelNodeDSMRegistry getDsmRegistry() {
         if (m_dsmRegistry == null) {
             m_dsmRegistry = new ModelNodeDSMRegistryImpl();
         }
         return m_dsmRegistry;
     }
     
-    public ModelNodeHelperRegistry getModelNodeHelperRegistry()  {
+    public synchronized ModelNodeHelperRegistry getModelNodeHelperRegistry()  {
         if (m_modelNodeHelperRegistry == null) {
             m_modelNodeHelperRegistry = new ModelNodeHelperRegistryImpl(getSchemaRegistry());
             DSExpressionValidator validator = new DSExpressionValidator(getSchemaRegistry(), m_modelNodeHelperRegistry, getSubSystemRegistry());
@@ -16,10 +16,52 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.schema;
 
+import java.util.function.Supplier;
+
+import org.broadband_forum.obbaa.netconf.mn.fwk.util.ReadWriteLockService;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
 public interface MountRegistryService {
 	
 	public void registerMountRegistries(MountKey key, MountRegistries registries);
 	public void unRegisterMountRegistries(MountKey key);
 	public MountRegistries getMountRegistries(MountKey key);
 
+	/**
+	 * Returns the registries of the key, they are created with the factory and registered only when the key has none yet,
+	 * so that all the mount points of a key share them. Implementations counting the references keep the registries
+	 * until every mount point has released them, the default implementation keeps them until they are unregistered.
+	 */
+	public default MountRegistries acquireMountRegistries(MountKey key, Supplier<MountRegistries> factory) {
+		MountRegistries mountRegistries = getMountRegistries(key);
+		if (mountRegistries == null) {
+			mountRegistries = factory.get();
+			registerMountRegistries(key, mountRegistries);
+		}
+		return mountRegistries;
+	}
+
+	/**
+	 * Drops a reference taken with {@link #acquireMountRegistries(MountKey, Supplier)}, the default implementation does not
+	 * count the references and does nothing.
+	 */
+	public default void releaseMountRegistries(MountKey key) {
+	}
+
+	/**
+	 * Returns the registries of the module set of the key, shared by the mount points of all the plugs with the same
+	 * module set. When the module set has no registries yet, its schema registry is built once and made read-only, see
+	 * {@link MountRegistries#forModuleSet}. The registries are released with {@link #releaseMountRegistries(MountKey)}.
+	 */
+	public default MountRegistries acquireModuleSetMountRegistries(ModuleSetMountKey key, SchemaRegistry parentRegistry,
+																   SchemaPath mountPath, ReadWriteLockService readWriteLockService) {
+		return acquireMountRegistries(key, () -> {
+			try {
+				return MountRegistries.forModuleSet(key, parentRegistry, mountPath, readWriteLockService);
+			} catch (SchemaBuildException e) {
+				throw new RuntimeException("Unable to build the mount registries of " + key, e);
+			}
+		});
+	}
+
 }
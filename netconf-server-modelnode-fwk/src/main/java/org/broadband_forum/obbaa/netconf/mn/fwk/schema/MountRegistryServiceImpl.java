@@ -17,15 +17,21 @@
 package org.broadband_forum.obbaa.netconf.mn.fwk.schema;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public class MountRegistryServiceImpl implements MountRegistryService {
 	
 	private final Map<MountKey, MountRegistries> registries = new HashMap<>();
+	private final Set<MountKey> m_registeredKeys = new HashSet<>();
+	private final Map<MountKey, Integer> m_referenceCounts = new HashMap<>();
 
 	@Override
-	public void registerMountRegistries(MountKey key, MountRegistries registries) {
+	public synchronized void registerMountRegistries(MountKey key, MountRegistries registries) {
 		this.registries.put(key, registries);
+		m_registeredKeys.add(key);
 	}
 
 	/**
@@ -34,12 +40,51 @@ public class MountRegistryServiceImpl implements MountRegistryService {
 	 * 
 	 */
 	@Override
-	public MountRegistries getMountRegistries(MountKey key) {
+	public synchronized MountRegistries getMountRegistries(MountKey key) {
 		return registries.get(key);
 	}
 
 	@Override
-	public void unRegisterMountRegistries(MountKey key) {
+	public synchronized void unRegisterMountRegistries(MountKey key) {
 		registries.remove(key);
+		m_registeredKeys.remove(key);
+		m_referenceCounts.remove(key);
+	}
+
+	@Override
+	public synchronized MountRegistries acquireMountRegistries(MountKey key, Supplier<MountRegistries> factory) {
+		MountRegistries mountRegistries = registries.get(key);
+		if (mountRegistries == null) {
+			mountRegistries = factory.get();
+			registries.put(key, mountRegistries);
+		}
+		m_referenceCounts.merge(key, 1, Integer::sum);
+		return mountRegistries;
+	}
+
+	/**
+	 * Drops a reference taken with {@link #acquireMountRegistries(MountKey, Supplier)}, the registries created on acquire
+	 * are removed with the last reference, the ones registered with {@link #registerMountRegistries(MountKey, MountRegistries)}
+	 * are kept until they are unregistered.
+	 */
+	@Override
+	public synchronized void releaseMountRegistries(MountKey key) {
+		Integer referenceCount = m_referenceCounts.get(key);
+		if (referenceCount == null) {
+			return;
+		}
+		if (referenceCount > 1) {
+			m_referenceCounts.put(key, referenceCount - 1);
+		} else {
+			m_referenceCounts.remove(key);
+			if (!m_registeredKeys.contains(key)) {
+				registries.remove(key);
+			}
+		}
+	}
+
+	int getReferenceCount(MountKey key) {
+		Integer referenceCount = m_referenceCounts.get(key);
+		return referenceCount == null ? 0 : referenceCount;
 	}
 }
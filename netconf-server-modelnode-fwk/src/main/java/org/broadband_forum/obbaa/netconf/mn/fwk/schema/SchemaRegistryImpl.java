@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.apache.commons.jxpath.ri.compiler.Expression;
 import org.apache.commons.jxpath.ri.compiler.LocationPath;
@@ -69,8 +70,22 @@ import com.google.common.annotations.VisibleForTesting;
 public class SchemaRegistryImpl implements SchemaRegistry {
 
     private ReadWriteLockService m_readWriteLockService;
-    private DecoratedSchemaRegistryImpl m_innerSchemaRegistry;
+    /*
+     * The schema context and the indexes built from it are never modified in place: building, loading, unloading and
+     * clearing work on a clone that is then published here, see modifyAndPublish. Lookups on the schema nodes, modules
+     * and definitions therefore read the current snapshot without taking the read lock. The registry settings (yang
+     * library flags, mount registry, mount path, parent registry) are single volatile references set in place under the
+     * write lock, so that setting them does not clone the whole registry. The registrations modified in place (referring
+     * nodes, validators, relative paths, big lists, supported features/deviations) keep going through the lock, and the
+     * caches filled lazily while serving requests (expressions with module names in prefix, attributes with the same
+     * local name, short paths) are concurrent maps.
+     */
+    private volatile DecoratedSchemaRegistryImpl m_innerSchemaRegistry;
     private String m_registryName = GLOBAL_SCHEMA_REGISTRY;
+    /*
+     * Set on the schema registries shared by the mount points of a module set, see MountRegistries.forModuleSet.
+     */
+    private volatile boolean m_readOnly;
 
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(SchemaRegistryImpl.class, LogAppNames.NETCONF_STACK);
 
@@ -155,12 +170,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public SchemaContext getSchemaContext() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<SchemaContext>() {
-            @Override
-            public SchemaContext execute() {
-                return m_innerSchemaRegistry.getSchemaContext();
-            }
-        });
+        return m_innerSchemaRegistry.getSchemaContext();
     }
 
     @Override
@@ -184,6 +194,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public void buildSchemaContext(final List<YangTextSchemaSource> coreYangModelByteSources, Set<QName> supportedFeatures, Map<QName,Set<QName>> supportedDeviations, boolean isYangLibNotificationSupported) throws SchemaBuildException {
+        checkNotReadOnly();
         try {
             m_readWriteLockService.executeWithWriteLock(new WriteLockTemplate<Void>() {
                 @Override
@@ -206,52 +217,27 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Collection<DataSchemaNode> getRootDataSchemaNodes() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Collection<DataSchemaNode>>() {
-            @Override
-            public Collection<DataSchemaNode> execute() {
-                return m_innerSchemaRegistry.getRootDataSchemaNodes();
-            }
-        });
+        return m_innerSchemaRegistry.getRootDataSchemaNodes();
     }
 
     @Override
     public Optional<Module> getModule(final String name){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Optional<Module>>() {
-            @Override
-            public Optional<Module> execute() {
-                return m_innerSchemaRegistry.getModule(name);
-            }
-        });
+        return m_innerSchemaRegistry.getModule(name);
     }
 
     @Override
     public Optional<Module> getModule(final String name, final Revision revision) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Optional<Module>>() {
-            @Override
-            public Optional<Module> execute() {
-                return m_innerSchemaRegistry.getModule(name, revision);
-            }
-        });
+        return m_innerSchemaRegistry.getModule(name, revision);
     }
 
     @Override
     public Collection<RpcDefinition> getRpcDefinitions() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Collection<RpcDefinition>>() {
-            @Override
-            public Collection<RpcDefinition> execute() {
-                return m_innerSchemaRegistry.getRpcDefinitions();
-            }
-        });
+        return m_innerSchemaRegistry.getRpcDefinitions();
     }
 
     @Override
     public RpcDefinition getRpcDefinition(final SchemaPath schemaPath) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<RpcDefinition>() {
-            @Override
-            public RpcDefinition execute() {
-                return m_innerSchemaRegistry.getRpcDefinition(schemaPath);
-            }
-        });
+        return m_innerSchemaRegistry.getRpcDefinition(schemaPath);
     }
 
     @Override
@@ -267,7 +253,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public synchronized void loadSchemaContext(final String componentId, final List<YangTextSchemaSource> yangModelByteSources, Set<QName> supportedFeatures, Map<QName, Set<QName>> supportedDeviations, boolean isYangLibNotificationSupported, boolean isYangLibraryIgnored) throws SchemaBuildException {
-
+        checkNotReadOnly();
         try {
             m_readWriteLockService.executeWithWriteLock(new WriteLockTemplate<Void>() {
                 @Override
@@ -300,15 +286,14 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public synchronized void unloadSchemaContext(final String componentId, Set<QName> supportedFeatures, Map<QName,Set<QName>> supportedDeviations, boolean isYangLibNotificationSupported, boolean isYangLibraryIgnored) throws SchemaBuildException {
+        checkNotReadOnly();
         try {
             m_readWriteLockService.executeWithWriteLock(new WriteLockTemplate<Void>() {
                 @Override
                 public Void execute() throws LockServiceException {
                     try{
-                        if(isYangLibraryIgnored) {
-                            m_innerSchemaRegistry.setYangLibraryIgnored(true);
-                        }
-                        DecoratedSchemaRegistryImpl clonedSchemaRegistry = m_innerSchemaRegistry.deepClone();
+                        DecoratedSchemaRegistryImpl clonedSchemaRegistry = m_innerSchemaRegistry.deepClone(
+                                isYangLibraryIgnored || m_innerSchemaRegistry.isYangLibraryIgnored());
                         clonedSchemaRegistry.unloadSchemaContext(componentId,supportedFeatures,supportedDeviations, isYangLibNotificationSupported, isYangLibraryIgnored);
                         m_innerSchemaRegistry = clonedSchemaRegistry;
                     }catch (SchemaBuildException e){
@@ -325,22 +310,12 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Set<ModuleIdentifier> getAllModuleAndSubmoduleIdentifiers() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<ModuleIdentifier>>() {
-            @Override
-            public Set<ModuleIdentifier> execute() {
-                return m_innerSchemaRegistry.getAllModuleAndSubmoduleIdentifiers();
-            }
-        });
+        return m_innerSchemaRegistry.getAllModuleAndSubmoduleIdentifiers();
     }
 
     @Override
     public Set<Module> getAllModules() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<Module>>() {
-            @Override
-            public Set<Module> execute() {
-                return m_innerSchemaRegistry.getAllModules();
-            }
-        });
+        return m_innerSchemaRegistry.getAllModules();
     }
 
     @Override
@@ -364,213 +339,136 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public DataSchemaNode getDataSchemaNode(final SchemaPath dataNodeSchemaPath) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.getDataSchemaNode(dataNodeSchemaPath);
-            }
-        });
+        return m_innerSchemaRegistry.getDataSchemaNode(dataNodeSchemaPath);
     }
 
     @Override
     public Collection<DataSchemaNode> getChildren(final SchemaPath parentSchemaPath) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Collection<DataSchemaNode>>() {
-            @Override
-            public Collection<DataSchemaNode> execute() {
-                return m_innerSchemaRegistry.getChildren(parentSchemaPath);
-            }
-        });
+        return m_innerSchemaRegistry.getChildren(parentSchemaPath);
     }
 
     @Override
     public DataSchemaNode getChild(final SchemaPath parentSchemaPath, final QName childQName) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.getChild(parentSchemaPath, childQName);
-            }
-        });
+        return m_innerSchemaRegistry.getChild(parentSchemaPath, childQName);
     }
 
     @Override
     public Map<QName,DataSchemaNode> getIndexedChildren(final SchemaPath parentSchemaPath) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Map<QName,DataSchemaNode>>() {
-            @Override
-            public Map<QName,DataSchemaNode> execute() {
-                return m_innerSchemaRegistry.getIndexedChildren(parentSchemaPath);
-            }
-        });
+        return m_innerSchemaRegistry.getIndexedChildren(parentSchemaPath);
     }
 
     public DataSchemaNode getDataSchemaNode(final List<QName> qNames) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.getDataSchemaNode(qNames);
-            }
-        });
+        return m_innerSchemaRegistry.getDataSchemaNode(qNames);
     }
 
     public DataSchemaNode findChild(final DataSchemaNode currentNode, final QName qname) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.findChild(currentNode, qname);
-            }
-        });
+        return m_innerSchemaRegistry.findChild(currentNode, qname);
     }
 
     @Override
     public void clear() {
+        checkNotReadOnly();
+        modifyAndPublish(DecoratedSchemaRegistryImpl::clear);
+    }
+
+    private void modifyAndPublish(Consumer<DecoratedSchemaRegistryImpl> modification) {
         m_readWriteLockService.executeWithWriteLock(new WriteLockTemplate<Void>() {
             @Override
             public Void execute() throws LockServiceException {
-                m_innerSchemaRegistry.clear();
+                DecoratedSchemaRegistryImpl clonedSchemaRegistry;
+                try {
+                    clonedSchemaRegistry = m_innerSchemaRegistry.deepClone();
+                } catch (SchemaBuildException e) {
+                    throw new LockServiceException(e);
+                }
+                modification.accept(clonedSchemaRegistry);
+                m_innerSchemaRegistry = clonedSchemaRegistry;
                 return null;
             }
         });
     }
 
-    @Override
-    public Collection<DataSchemaNode> getNonChoiceChildren(final SchemaPath parentSchemaPath) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Collection<DataSchemaNode>>() {
+    private void modifySetting(Consumer<DecoratedSchemaRegistryImpl> modification) {
+        checkNotReadOnly();
+        m_readWriteLockService.executeWithWriteLock(new WriteLockTemplate<Void>() {
             @Override
-            public Collection<DataSchemaNode> execute() {
-                return m_innerSchemaRegistry.getNonChoiceChildren(parentSchemaPath);
+            public Void execute() throws LockServiceException {
+                modification.accept(m_innerSchemaRegistry);
+                return null;
             }
         });
     }
 
+    @Override
+    public Collection<DataSchemaNode> getNonChoiceChildren(final SchemaPath parentSchemaPath) {
+        return m_innerSchemaRegistry.getNonChoiceChildren(parentSchemaPath);
+    }
+
     @Override
     public DataSchemaNode getNonChoiceChild(SchemaPath parentSchemaPath,QName qName){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.getNonChoiceChild(parentSchemaPath, qName);
-            }
-        });
+        return m_innerSchemaRegistry.getNonChoiceChild(parentSchemaPath, qName);
     }
 
     @Override
     public DataSchemaNode getNonChoiceParent(SchemaPath schemaPath) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.getNonChoiceParent(schemaPath);
-            }
-        });
+        return m_innerSchemaRegistry.getNonChoiceParent(schemaPath);
     }
 
     @Override
     public boolean isKnownNamespace(final String namespaceURI) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Boolean>() {
-            @Override
-            public Boolean execute() {
-                return m_innerSchemaRegistry.isKnownNamespace(namespaceURI);
-            }
-        });
+        return m_innerSchemaRegistry.isKnownNamespace(namespaceURI);
     }
 
     @Override
     public Set<ModuleIdentifier> getAllModuleIdentifiers() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<ModuleIdentifier>>() {
-            @Override
-            public Set<ModuleIdentifier> execute() {
-                return m_innerSchemaRegistry.getAllModuleIdentifiers();
-            }
-        });
+        return m_innerSchemaRegistry.getAllModuleIdentifiers();
     }
 
     @Override
     public List<YangTextSchemaSource> getYangModelByteSourcesOfAPlugin(String componentId) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<List<YangTextSchemaSource>>() {
-            @Override
-            public List<YangTextSchemaSource> execute() {
-                return m_innerSchemaRegistry.getYangModelByteSourcesOfAPlugin(componentId) ;
-            }
-        });
+        return m_innerSchemaRegistry.getYangModelByteSourcesOfAPlugin(componentId);
     }
 
     @Override
     public QName lookupQName(final String namespace, final String localName) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<QName>() {
-            @Override
-            public QName execute() {
-                return m_innerSchemaRegistry.lookupQName(namespace,localName);
-            }
-        });
+        return m_innerSchemaRegistry.lookupQName(namespace,localName);
     }
 
     @Override
     public String getPrefix(final String namespace) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<String>() {
-            @Override
-            public String execute() {
-                return m_innerSchemaRegistry.getPrefix(namespace);
-            }
-        });
+        return m_innerSchemaRegistry.getPrefix(namespace);
     }
 
     @Override
     public String getNamespaceURI(final String prefix) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<String>() {
-            @Override
-            public String execute() {
-                return m_innerSchemaRegistry.getNamespaceURI(prefix);
-            }
-        });
+        return m_innerSchemaRegistry.getNamespaceURI(prefix);
     }
 
     @Override
     public String getModuleNameByNamespace(final String namespace){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<String>() {
-            @Override
-            public String execute() {
-                return m_innerSchemaRegistry.getModuleNameByNamespace(namespace);
-            }
-        });
+        return m_innerSchemaRegistry.getModuleNameByNamespace(namespace);
 
     }
 
     @Override
     public String getComponentIdByNamespace(final String namespace){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<String>() {
-            @Override
-            public String execute() {
-                return m_innerSchemaRegistry.getComponentIdByNamespace(namespace);
-            }
-        });
+        return m_innerSchemaRegistry.getComponentIdByNamespace(namespace);
     }
 
     @Override
     public String getNamespaceOfModule(final String moduleName){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<String>() {
-            @Override
-            public String execute() {
-                return m_innerSchemaRegistry.getNamespaceOfModule(moduleName);
-            }
-        });
+        return m_innerSchemaRegistry.getNamespaceOfModule(moduleName);
     }
 
 
     @Override
     public Iterator<?> getPrefixes(final String namespace) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Iterator<?>>() {
-            @Override
-            public Iterator<?> execute() {
-                return m_innerSchemaRegistry.getPrefixes(namespace);
-            }
-        });
+        return m_innerSchemaRegistry.getPrefixes(namespace);
     }
 
     @Override
     public Set<SchemaPath> getRootSchemaPaths() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<SchemaPath>>() {
-            @Override
-            public Set<SchemaPath> execute() {
-                return m_innerSchemaRegistry.getRootSchemaPaths();
-            }
-        });
+        return m_innerSchemaRegistry.getRootSchemaPaths();
     }
 
     /*
@@ -667,22 +565,12 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public SchemaPath getDescendantSchemaPath(final SchemaPath parentSchemaPath, final QName qname) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<SchemaPath>() {
-            @Override
-            public SchemaPath execute() {
-                return m_innerSchemaRegistry.getDescendantSchemaPath(parentSchemaPath,qname);
-            }
-        });
+        return m_innerSchemaRegistry.getDescendantSchemaPath(parentSchemaPath,qname);
     }
 
     @Override
     public Module getModuleByNamespace(final String namespace) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Module>() {
-            @Override
-            public Module execute() {
-                return m_innerSchemaRegistry.getModuleByNamespace(namespace);
-            }
-        });
+        return m_innerSchemaRegistry.getModuleByNamespace(namespace);
     }
 
     @Override
@@ -708,12 +596,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Optional<Module> findModuleByNamespaceAndRevision(final URI namespace, final Revision revision) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Optional<Module>>() {
-            @Override
-            public Optional<Module> execute() {
-                return m_innerSchemaRegistry.findModuleByNamespaceAndRevision(namespace, revision);
-            }
-        });
+        return m_innerSchemaRegistry.findModuleByNamespaceAndRevision(namespace, revision);
     }
 
     @Override
@@ -754,22 +637,12 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public ActionDefinition getActionDefinitionNode(DataPath actionDataPath){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<ActionDefinition>() {
-            @Override
-            public ActionDefinition execute() {
-                return m_innerSchemaRegistry.getActionDefinitionNode(actionDataPath);
-            }
-        });
+        return m_innerSchemaRegistry.getActionDefinitionNode(actionDataPath);
     }
 
     @Override
     public NotificationDefinition getNotificationDefinitionNode(List<QName> paths){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<NotificationDefinition>() {
-            @Override
-            public NotificationDefinition execute() {
-                return m_innerSchemaRegistry.getNotificationDefinitionNode(paths);
-            }
-        });
+        return m_innerSchemaRegistry.getNotificationDefinitionNode(paths);
     }
 
     @Override
@@ -858,32 +731,22 @@ public class SchemaRegistryImpl implements SchemaRegistry {
     }
 
     public boolean isYangLibrarySupportedInHelloMessage() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Boolean>() {
-            @Override
-            public Boolean execute() {
-                return m_innerSchemaRegistry.isYangLibrarySupportedInHelloMessage();
-            }
-        });
+        return m_innerSchemaRegistry.isYangLibrarySupportedInHelloMessage();
     }
 
     @VisibleForTesting
     public boolean isYangLibraryIgnored() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Boolean>() {
-            @Override
-            public Boolean execute() {
-                return m_innerSchemaRegistry.isYangLibraryIgnored();
-            }
-        });
+        return m_innerSchemaRegistry.isYangLibraryIgnored();
     }
 
     //only for UT
     public void setYangLibrarySupportInHelloMessage(boolean value){
-        m_innerSchemaRegistry.setYangLibrarySupportInHelloMessage(value);
+        modifySetting(registry -> registry.setYangLibrarySupportInHelloMessage(value));
     }
 
     //only for UT
     public void setYangLibraryIgnored(boolean isYangLibraryIgnored){
-        m_innerSchemaRegistry.setYangLibraryIgnored(isYangLibraryIgnored);
+        modifySetting(registry -> registry.setYangLibraryIgnored(isYangLibraryIgnored));
     }
 
     @Override
@@ -990,22 +853,12 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Set<ActionDefinition> retrieveAllActionDefinitions() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<ActionDefinition>>() {
-            @Override
-            public Set<ActionDefinition> execute() {
-                return m_innerSchemaRegistry.retrieveAllActionDefinitions();
-            }
-        });
+        return m_innerSchemaRegistry.retrieveAllActionDefinitions();
     }
 
     @Override
     public Set<NotificationDefinition> retrieveAllNotificationDefinitions() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<NotificationDefinition>>() {
-            @Override
-            public Set<NotificationDefinition> execute() {
-                return m_innerSchemaRegistry.retrieveAllNotificationDefinitions();
-            }
-        });
+        return m_innerSchemaRegistry.retrieveAllNotificationDefinitions();
     }
 
     public Map<ModuleIdentifier, Set<QName>> getSupportedDeviations() {
@@ -1029,34 +882,19 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public DataSchemaNode getRPCInputChildNode(RpcDefinition rpcDef, List<QName> qnames){
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<DataSchemaNode>() {
-            @Override
-            public DataSchemaNode execute() {
-                return m_innerSchemaRegistry.getRPCInputChildNode(rpcDef, qnames);
-            }
-        });
+        return m_innerSchemaRegistry.getRPCInputChildNode(rpcDef, qnames);
 
     }
 
     @Override
     public SchemaPath stripRevisions(SchemaPath schemaPathWithRevisions) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<SchemaPath>() {
-            @Override
-            public SchemaPath execute() {
-                return m_innerSchemaRegistry.stripRevisions(schemaPathWithRevisions);
-            }
-        });
+        return m_innerSchemaRegistry.stripRevisions(schemaPathWithRevisions);
     }
 
 
     @Override
     public SchemaPath addRevisions(SchemaPath schemaPathWithoutRevisions) {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<SchemaPath>() {
-            @Override
-            public SchemaPath execute() {
-                return m_innerSchemaRegistry.addRevisions(schemaPathWithoutRevisions);
-            }
-        });
+        return m_innerSchemaRegistry.addRevisions(schemaPathWithoutRevisions);
     }
 
     /**
@@ -1069,7 +907,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
     }
 
     public void setSchemaMountRegistry(SchemaMountRegistry schemaMountRegistry) {
-        m_innerSchemaRegistry.setSchemaMountRegistry(schemaMountRegistry);
+        modifySetting(registry -> registry.setSchemaMountRegistry(schemaMountRegistry));
     }
 
     @Override
@@ -1078,7 +916,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
     }
 
     public void setMountPath(SchemaPath mountPath) {
-        m_innerSchemaRegistry.setMountPath(mountPath);
+        modifySetting(registry -> registry.setMountPath(mountPath));
     }
 
     public SchemaPath getMountPath() {
@@ -1109,26 +947,16 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Set<QName> retrieveAllMountPointsPath() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<QName>>() {
-            @Override
-            public Set<QName> execute() {
-                return m_innerSchemaRegistry.retrieveAllMountPointsPath();
-            }
-        });
+        return m_innerSchemaRegistry.retrieveAllMountPointsPath();
     }
 
     @Override
     public Collection<DataSchemaNode> retrieveAllNodesWithMountPointExtension() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Collection<DataSchemaNode>>() {
-            @Override
-            public Collection<DataSchemaNode> execute() {
-                return m_innerSchemaRegistry.retrieveAllNodesWithMountPointExtension();
-            }
-        });
+        return m_innerSchemaRegistry.retrieveAllNodesWithMountPointExtension();
     }
 
     public void setParentRegistry(SchemaRegistry parent){
-        m_innerSchemaRegistry.setParentRegistry(parent);
+        modifySetting(registry -> registry.setParentRegistry(parent));
     }
 
     public SchemaRegistry getParentRegistry(){
@@ -1185,9 +1013,28 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public void setName(String registryName){
+        checkNotReadOnly();
         m_registryName = registryName;
     }
 
+    /**
+     * Makes the schema context, the name and the settings of the registry read-only, building, loading, unloading or
+     * clearing the schema context and changing the settings then throw an {@link UnsupportedOperationException}.
+     */
+    public void setReadOnly() {
+        m_readOnly = true;
+    }
+
+    public boolean isReadOnly() {
+        return m_readOnly;
+    }
+
+    private void checkNotReadOnly() {
+        if (m_readOnly) {
+            throw new UnsupportedOperationException("Schema registry " + m_registryName + " is read-only");
+        }
+    }
+
     @Override
     public String toString() {
         return m_registryName;
@@ -1205,12 +1052,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Map<SchemaPath, DataSchemaNode> getSchemaNodes() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Map<SchemaPath, DataSchemaNode>>() {
-            @Override
-            public Map<SchemaPath, DataSchemaNode> execute() {
-                return m_innerSchemaRegistry.getSchemaNodes();
-            }
-        });
+        return m_innerSchemaRegistry.getSchemaNodes();
     }
 
     @Override
@@ -1406,12 +1248,7 @@ public class SchemaRegistryImpl implements SchemaRegistry {
 
     @Override
     public Set<ActionDefinition> getActionDefinitionNodesWithListAndLeafRef() {
-        return m_readWriteLockService.executeWithReadLock(new ReadLockTemplate<Set<ActionDefinition>>() {
-            @Override
-            public Set<ActionDefinition> execute() {
-                return m_innerSchemaRegistry.getActionDefinitionNodesWithListAndLeafRef();
-            }
-        });
+        return m_innerSchemaRegistry.getActionDefinitionNodesWithListAndLeafRef();
     }
 
 }
@@ -23,6 +23,7 @@ import static org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.cons
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -72,6 +73,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.DynamicDataStoreValidator;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.TimingLogger;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.util.DataStoreValidationUtil;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.util.UniqueConstraintIndex;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.DSMTimingLogger;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.utils.TxException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.utils.TxService;
@@ -122,6 +124,8 @@ public class DataStore {
     private List<AbstractNetconfRequest> m_requestListForTest = null;    
     private DateTime m_lockTime = null;
     private SubSystem m_globalSubSystem;
+    private GetConfigReplyCache m_getConfigReplyCache = GetConfigReplyCache.newInstanceFromProperty();
+    private UniqueConstraintIndex m_uniqueConstraintIndex = UniqueConstraintIndex.newInstanceFromProperty();
 
     public DateTime getLockTime() {
         return m_lockTime;
@@ -179,6 +183,39 @@ public class DataStore {
         m_globalSubSystem = root.getSubsystemRegistry().getCompositeSubSystem();
     }
 
+    public GetConfigReplyCache getGetConfigReplyCache() {
+        return m_getConfigReplyCache;
+    }
+
+    /**
+     * @param getConfigReplyCache null to disable the caching of get-config replies
+     */
+    public void setGetConfigReplyCache(GetConfigReplyCache getConfigReplyCache) {
+        m_getConfigReplyCache = getConfigReplyCache;
+    }
+
+    public UniqueConstraintIndex getUniqueConstraintIndex() {
+        return m_uniqueConstraintIndex;
+    }
+
+    /**
+     * @param uniqueConstraintIndex null to check the unique constraints against all the entries of the lists
+     */
+    public void setUniqueConstraintIndex(UniqueConstraintIndex uniqueConstraintIndex) {
+        m_uniqueConstraintIndex = uniqueConstraintIndex;
+    }
+
+    /**
+     * To be called when the access control rules or the permissions of the users change, the cached get-config replies
+     * were filtered with the previous ones.
+     */
+    public void invalidateGetConfigReplies() {
+        GetConfigReplyCache getConfigReplyCache = m_getConfigReplyCache;
+        if (getConfigReplyCache != null) {
+            getConfigReplyCache.invalidateAll();
+        }
+    }
+
     public DataStoreValidator getValidator() {
         return m_validator;
     }
@@ -264,6 +301,7 @@ public class DataStore {
         if (m_lockOwner != NO_LOCK && m_lockOwner != clientInfo.getSessionId()) {
             throw new LockedByOtherSessionException(m_lockOwner);
         }
+        beginGetConfigReplyChange();
         try {
             m_rootModelNodeAggregator.copyConfig(source.getConfig(clientInfo, DocumentUtils.getNewDocument(), null, NetconfQueryParams.NO_PARAMS));
             List<ChangeNotification> copyNotification = new ArrayList<ChangeNotification>();
@@ -279,6 +317,9 @@ public class DataStore {
         } catch (GetException e) {
             LOGGER.error("Error while getting ModelNodeId ", e);
             throw new CopyConfigException(e.getRpcError());
+        } finally {
+            endGetConfigReplyChange(null);
+            invalidateUniqueConstraintIndex();
         }
 
     }
@@ -288,7 +329,13 @@ public class DataStore {
         if (m_lockOwner != NO_LOCK && m_lockOwner != clientInfo.getSessionId()) {
             throw new LockedByOtherSessionException(m_lockOwner);
         }
-        m_rootModelNodeAggregator.copyConfig(DocumentUtils.getChildElements(sourceConfigElement));
+        beginGetConfigReplyChange();
+        try {
+            m_rootModelNodeAggregator.copyConfig(DocumentUtils.getChildElements(sourceConfigElement));
+        } finally {
+            endGetConfigReplyChange(null);
+            invalidateUniqueConstraintIndex();
+        }
         List<ChangeNotification> copyNotification = new ArrayList<ChangeNotification>();
         for (ModelNode rootNode : m_rootModelNodeAggregator.getModelServiceRoots()) {
             copyNotification.add(new CopyConfigChangeNotification(null, this.getName(), sourceConfigElement, rootNode));
@@ -298,6 +345,30 @@ public class DataStore {
         //m_subSystemRegistry.lookupSubsystem(m_rootModelNodeAggregator.getClass().getName()).notifyChanged(copyNotification);
     }
 
+    private void beginGetConfigReplyChange() {
+        GetConfigReplyCache getConfigReplyCache = m_getConfigReplyCache;
+        if (getConfigReplyCache != null) {
+            getConfigReplyCache.beginChange();
+        }
+    }
+
+    /**
+     * @param changeTrees null if the changes are not known
+     */
+    private void endGetConfigReplyChange(Collection<ChangeTreeNode> changeTrees) {
+        GetConfigReplyCache getConfigReplyCache = m_getConfigReplyCache;
+        if (getConfigReplyCache != null) {
+            getConfigReplyCache.endChange(changeTrees);
+        }
+    }
+
+    private void invalidateUniqueConstraintIndex() {
+        UniqueConstraintIndex uniqueConstraintIndex = m_uniqueConstraintIndex;
+        if (uniqueConstraintIndex != null) {
+            uniqueConstraintIndex.invalidateAll();
+        }
+    }
+
     public String getName() {
         return m_name;
     }
@@ -308,7 +379,20 @@ public class DataStore {
         DSMTimingLogger.start();
         try {
             DSMTimingLogger.startPhase("get-config");
-            return m_rootModelNodeAggregator.getConfig(new GetConfigContext(client, doc, root, new ConfigAttributeGetContext()), params);
+            GetConfigReplyCache getConfigReplyCache = m_getConfigReplyCache;
+            if (getConfigReplyCache == null) {
+                return m_rootModelNodeAggregator.getConfig(new GetConfigContext(client, doc, root, new ConfigAttributeGetContext()), params);
+            }
+            List<Element> cachedReply = getConfigReplyCache.get(client, doc, root, params);
+            if (cachedReply != null) {
+                return cachedReply;
+            }
+            long generation = getConfigReplyCache.getGeneration();
+            List<Element> reply = m_rootModelNodeAggregator.getConfig(new GetConfigContext(client, doc, root, new ConfigAttributeGetContext()), params);
+            if (reply != null) {
+                getConfigReplyCache.put(client, root, params, reply, generation);
+            }
+            return reply;
         }finally{
             DSMTimingLogger.endPhase("get-config");
             try {
@@ -534,6 +618,13 @@ public class DataStore {
 		 * 2) Sending the notifications - After successful validation, send the notification to SBI and return the notifications
 		 */
 		Map<EditConfigRequest, NotificationContext> editRequestsMap = Collections.emptyMap();
+		Collection<ChangeTreeNode> committedChanges = Collections.emptyList();
+		boolean committed = false;
+		beginGetConfigReplyChange();
+		UniqueConstraintIndex uniqueConstraintIndex = m_uniqueConstraintIndex;
+		if (uniqueConstraintIndex != null) {
+			uniqueConstraintIndex.beginChange();
+		}
 		try {
 			editRequestsMap = m_txService
 				.executeWithTxRequired(() -> {
@@ -549,10 +640,17 @@ public class DataStore {
                         throw new TxException(e);
                     }
                 });
+			committedChanges = getChangeTrees(editRequestsMap);
+			committed = true;
 		} catch (TxException e) {
 			// Throw the actual exception to NetconfServerImpl#editConfig
 			Throwable cause = e.getCause();
 			checkInstanceAndRethrow(cause);
+		} finally {
+			endGetConfigReplyChange(committedChanges);
+			if (uniqueConstraintIndex != null) {
+				uniqueConstraintIndex.endChange(committedChanges, committed);
+			}
 		}
 		long postCommitStartTime = System.currentTimeMillis();
         List<Notification> notifications = postCommit(request, response, startTime, editRequestsMap);
@@ -564,6 +662,20 @@ public class DataStore {
 		return notifications;
     }
 
+    /**
+     * @return null if the change tree of an edit is not known
+     */
+    private Collection<ChangeTreeNode> getChangeTrees(Map<EditConfigRequest, NotificationContext> editRequestsMap) {
+        List<ChangeTreeNode> changeTrees = new ArrayList<>();
+        for (NotificationContext notificationContext : editRequestsMap.values()) {
+            if (notificationContext.getChangeTree() == null) {
+                return null;
+            }
+            changeTrees.add(notificationContext.getChangeTree());
+        }
+        return changeTrees;
+    }
+
     private long preCommit(EditConfigRequest request,long startTime, Map<EditConfigRequest, NotificationContext> editRequestsMap) {
         long preCommitStartTime = System.currentTimeMillis();
         TimingLogger.start();
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
+import org.broadband_forum.obbaa.netconf.api.server.NetconfQueryParams;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
+import org.broadband_forum.obbaa.netconf.mn.fwk.ChangeTreeNode;
+import org.broadband_forum.obbaa.netconf.server.RequestContext;
+import org.broadband_forum.obbaa.netconf.server.UserContext;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the replies of get-config on a data store, keyed by the normalized filter, the query params and the user.
+ * <p>
+ * Since the reply depends on the permissions of the user, {@link #invalidateAll()} must be called when the access control
+ * rules or the permissions change, see {@link DataStore#invalidateGetConfigReplies()}. The requests that bypass the
+ * authorization or that run on behalf of an additional user are neither served from nor stored in the cache.
+ * <p>
+ * Every entry remembers the data paths its filter selects. When an edit is committed, only the entries with a path
+ * that is a prefix of a changed node path, or that has a changed node path as prefix, are invalidated. A reply built
+ * while an edit is in progress is not cached, since it may be stale by the time the edit returns.
+ * <p>
+ * The cache is sized with the GET_CONFIG_REPLY_CACHE_SIZE env/system property and is disabled by default. It only
+ * sees the changes made through {@link DataStore}, so it must not be enabled when the backing store is also written
+ * by other means.
+ */
+public class GetConfigReplyCache {
+
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(GetConfigReplyCache.class, LogAppNames.NETCONF_STACK);
+
+    public static final String GET_CONFIG_REPLY_CACHE_SIZE = "GET_CONFIG_REPLY_CACHE_SIZE";
+
+    private static final String DEFAULT_CACHE_SIZE = "0";
+
+    private final Cache<Key, CachedReply> m_replies;
+    private final AtomicLong m_generation = new AtomicLong();
+    private final AtomicInteger m_changesInProgress = new AtomicInteger();
+
+    public GetConfigReplyCache(long maximumSize) {
+        m_replies = CacheBuilder.newBuilder().maximumSize(maximumSize).softValues().build();
+    }
+
+    /**
+     * @return the cache sized by GET_CONFIG_REPLY_CACHE_SIZE, or null if it is disabled
+     */
+    public static GetConfigReplyCache newInstanceFromProperty() {
+        String size = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(GET_CONFIG_REPLY_CACHE_SIZE, DEFAULT_CACHE_SIZE);
+        long maximumSize;
+        try {
+            maximumSize = size == null ? 0 : Long.parseLong(size);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid {} '{}', the get-config reply cache is disabled", GET_CONFIG_REPLY_CACHE_SIZE, size);
+            maximumSize = 0;
+        }
+        return maximumSize > 0 ? new GetConfigReplyCache(maximumSize) : null;
+    }
+
+    /**
+     * To be passed to {@link #put} once the reply is built.
+     */
+    public long getGeneration() {
+        return m_generation.get();
+    }
+
+    /**
+     * @return copies of the cached reply elements owned by doc, or null if the reply is not cached
+     */
+    public List<Element> get(NetconfClientInfo client, Document doc, FilterNode root, NetconfQueryParams params) {
+        if (!isCacheable()) {
+            return null;
+        }
+        CachedReply reply = m_replies.getIfPresent(new Key(client, root, params));
+        if (reply == null) {
+            return null;
+        }
+        return reply.copyInto(doc);
+    }
+
+    /**
+     * Caches a copy of the reply, unless the data store was changed since generation was read.
+     */
+    public synchronized void put(NetconfClientInfo client, FilterNode root, NetconfQueryParams params, List<Element> elements,
+                                 long generation) {
+        if (m_changesInProgress.get() > 0 || m_generation.get() != generation || !isCacheable()) {
+            return;
+        }
+        m_replies.put(new Key(client, root, params), new CachedReply(getSelectedPaths(root), elements));
+    }
+
+    /**
+     * Stops replies from being cached until the matching {@link #endChange}.
+     */
+    public void beginChange() {
+        m_changesInProgress.incrementAndGet();
+        m_generation.incrementAndGet();
+    }
+
+    /**
+     * @param changeTrees the change trees of the committed edits, null if the changes are not known, in which case all the
+     *                    replies are invalidated
+     */
+    public synchronized void endChange(Collection<ChangeTreeNode> changeTrees) {
+        try {
+            if (changeTrees == null) {
+                m_replies.invalidateAll();
+            } else {
+                invalidate(changeTrees);
+            }
+        } finally {
+            m_generation.incrementAndGet();
+            m_changesInProgress.decrementAndGet();
+        }
+    }
+
+    /**
+     * Also invalidates the replies being built, so that a reply built with the previous permissions is not cached.
+     */
+    public synchronized void invalidateAll() {
+        m_generation.incrementAndGet();
+        m_replies.invalidateAll();
+    }
+
+    /**
+     * The reply of a request that bypasses the authorization, or that is also authorized for an additional user, is not
+     * the one the user of the session gets.
+     */
+    private static boolean isCacheable() {
+        return !RequestContext.isByPassed() && RequestContext.getByPassPermissions() == null
+                && RequestContext.getAdditionalUserCtxtTL() == null;
+    }
+
+    private void invalidate(Collection<ChangeTreeNode> changeTrees) {
+        List<List<QName>> changedPaths = new ArrayList<>();
+        for (ChangeTreeNode changeTree : changeTrees) {
+            if (changeTree != null) {
+                collectChangedPaths(changeTree, changedPaths);
+            }
+        }
+        if (changedPaths.isEmpty()) {
+            return;
+        }
+        Iterator<CachedReply> replies = m_replies.asMap().values().iterator();
+        while (replies.hasNext()) {
+            if (replies.next().isAffectedBy(changedPaths)) {
+                replies.remove();
+            }
+        }
+    }
+
+    /**
+     * Only the leaves of the change tree are collected, the other nodes are merely the ancestors of a change.
+     */
+    private static void collectChangedPaths(ChangeTreeNode node, List<List<QName>> changedPaths) {
+        Map<?, ChangeTreeNode> children = node.getChildren();
+        if (children == null || children.isEmpty()) {
+            if (node.getType() != null) {
+                changedPaths.add(getDataPath(node));
+            }
+            return;
+        }
+        for (ChangeTreeNode child : children.values()) {
+            collectChangedPaths(child, changedPaths);
+        }
+    }
+
+    private static List<QName> getDataPath(ChangeTreeNode node) {
+        List<QName> path = new ArrayList<>();
+        for (ChangeTreeNode current = node; current != null && current.getType() != null; current = current.getParent()) {
+            path.add(current.getType().getQName());
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * The paths of the select nodes, of the match nodes and of the containment nodes without select or containment
+     * children. No filter selects everything, which is the empty path.
+     */
+    @VisibleForTesting
+    static List<List<AbstractFilterNode>> getSelectedPaths(FilterNode root) {
+        List<List<AbstractFilterNode>> paths = new ArrayList<>();
+        if (root == null) {
+            paths.add(Collections.emptyList());
+        } else {
+            collectSelectedPaths(root, Collections.emptyList(), paths);
+        }
+        return paths;
+    }
+
+    private static void collectSelectedPaths(FilterNode node, List<AbstractFilterNode> path, List<List<AbstractFilterNode>> paths) {
+        for (FilterNode child : node.getChildNodes()) {
+            List<AbstractFilterNode> childPath = append(path, child);
+            if (child.getChildNodes().isEmpty() && child.getSelectNodes().isEmpty()) {
+                paths.add(childPath);
+            } else {
+                collectSelectedPaths(child, childPath, paths);
+            }
+        }
+        for (FilterMatchNode matchNode : node.getMatchNodes()) {
+            paths.add(append(path, matchNode));
+        }
+        for (FilterNode selectNode : node.getSelectNodes()) {
+            paths.add(append(path, selectNode));
+        }
+    }
+
+    private static List<AbstractFilterNode> append(List<AbstractFilterNode> path, AbstractFilterNode node) {
+        List<AbstractFilterNode> newPath = new ArrayList<>(path.size() + 1);
+        newPath.addAll(path);
+        newPath.add(node);
+        return newPath;
+    }
+
+    /**
+     * Writes the filter with its match, select and containment nodes each in a sorted order, so that filters that only
+     * differ in the order of their nodes have the same key.
+     */
+    @VisibleForTesting
+    static String normalize(FilterNode root) {
+        if (root == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(root.getFilterType());
+        appendNormalized(root, sb);
+        return sb.toString();
+    }
+
+    private static void appendNormalized(FilterNode node, StringBuilder sb) {
+        sb.append('{').append(node.getNamespace()).append('}').append(node.getNodeName()).append(new TreeMap<>(node.getAttributes()));
+        List<String> children = new ArrayList<>();
+        for (FilterMatchNode matchNode : node.getMatchNodes()) {
+            children.add("m{" + matchNode.getNamespace() + "}" + matchNode.getNodeName() + new TreeMap<>(matchNode.getAttributes())
+                    + "=" + matchNode.getFilter());
+        }
+        for (FilterNode selectNode : node.getSelectNodes()) {
+            StringBuilder child = new StringBuilder("s");
+            appendNormalized(selectNode, child);
+            children.add(child.toString());
+        }
+        for (FilterNode childNode : node.getChildNodes()) {
+            StringBuilder child = new StringBuilder("c");
+            appendNormalized(childNode, child);
+            children.add(child.toString());
+        }
+        Collections.sort(children);
+        sb.append('(');
+        for (String child : children) {
+            sb.append(child).append(',');
+        }
+        sb.append(')');
+    }
+
+    @VisibleForTesting
+    long size() {
+        m_replies.cleanUp();
+        return m_replies.size();
+    }
+
+    private static final class Key {
+        private final String m_username;
+        private final String m_loggedInUsername;
+        private final String m_filter;
+        private final NetconfQueryParams m_params;
+
+        private Key(NetconfClientInfo client, FilterNode root, NetconfQueryParams params) {
+            m_username = client == null ? null : client.getUsername();
+            UserContext loggedInUser = RequestContext.getLoggedInUserCtxtTL();
+            m_loggedInUsername = loggedInUser == null ? null : loggedInUser.getUsername();
+            m_filter = normalize(root);
+            m_params = params;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(m_username, key.m_username) && Objects.equals(m_loggedInUsername, key.m_loggedInUsername)
+                    && m_filter.equals(key.m_filter) && Objects.equals(m_params, key.m_params);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m_username, m_loggedInUsername, m_filter, m_params);
+        }
+    }
+
+    private static final class CachedReply {
+        private final List<List<AbstractFilterNode>> m_selectedPaths;
+        private final List<Element> m_elements;
+
+        private CachedReply(List<List<AbstractFilterNode>> selectedPaths, List<Element> elements) {
+            m_selectedPaths = selectedPaths;
+            Document cacheDoc = DocumentUtils.createDocument();
+            m_elements = new ArrayList<>(elements.size());
+            for (Element element : elements) {
+                m_elements.add((Element) cacheDoc.importNode(element, true));
+            }
+        }
+
+        private synchronized List<Element> copyInto(Document doc) {
+            // DOM nodes are not safe for concurrent reads, hence the lock
+            List<Element> copies = new ArrayList<>(m_elements.size());
+            for (Element element : m_elements) {
+                copies.add((Element) doc.importNode(element, true));
+            }
+            return copies;
+        }
+
+        private boolean isAffectedBy(List<List<QName>> changedPaths) {
+            for (List<AbstractFilterNode> selectedPath : m_selectedPaths) {
+                for (List<QName> changedPath : changedPaths) {
+                    if (isPrefixEither(selectedPath, changedPath)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static boolean isPrefixEither(List<AbstractFilterNode> selectedPath, List<QName> changedPath) {
+            int length = Math.min(selectedPath.size(), changedPath.size());
+            for (int i = 0; i < length; i++) {
+                AbstractFilterNode filterNode = selectedPath.get(i);
+                QName qName = changedPath.get(i);
+                if (!qName.getLocalName().equals(filterNode.getNodeName())) {
+                    return false;
+                }
+                if (filterNode.getNamespace() != null && !filterNode.getNamespace().equals(qName.getNamespace().toString())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -438,14 +438,15 @@ public class NetConfServerImpl implements NetconfServer {
                     int pseudoDepth = getPseudoDepth(filterNode);
                     LOGGER.debug("Pseudo depth value calculated during pruned-subtree filtering is " + pseudoDepth);
                     elements = store.get(client, doc, filterNode, new NetconfQueryParams(max(pseudoDepth, request.getDepth()),
-                            request.isIncludeConfig(), request.getFieldValues()));
+                            request.isIncludeConfig(), request.getFieldValues(), request.getDepth(), request.getOffset(), request.getLimit()));
                 } else {
                     elements = store.get(client, doc, filterNode, new NetconfQueryParams(request.getDepth(),
-                            request.isIncludeConfig(), request.getFieldValues()));
+                            request.isIncludeConfig(), request.getFieldValues(), request.getDepth(), request.getOffset(), request.getLimit()));
                 }
 
                 if (elements != null && !elements.isEmpty()) {
-                    response.setDataContent(elements);
+                    // the elements were built for this reply only, move them instead of copying a possibly large tree
+                    response.moveDataContent(elements);
                 } else {
                     response.setDataContent(Collections.<Element> emptyList());
                 }
@@ -498,13 +499,15 @@ public class NetConfServerImpl implements NetconfServer {
             if(filterNode != null && filterNode.isTypePrunedSubtree() && request.getDepth() != UNBOUNDED) {
                 int pseudoDepth = getPseudoDepth(filterNode);
                 LOGGER.debug("Pseudo depth value calculated during pruned-subtree filtering is " + pseudoDepth);
-                elements = store.getConfig(client, doc, filterNode, new NetconfQueryParams(max(pseudoDepth, request.getDepth()), true, request.getFieldValues()));
+                elements = store.getConfig(client, doc, filterNode, new NetconfQueryParams(max(pseudoDepth, request.getDepth()), true,
+                        request.getFieldValues(), request.getDepth(), request.getOffset(), request.getLimit()));
             } else {
-                elements = store.getConfig(client, doc, filterNode, new NetconfQueryParams(request.getDepth(), true, request.getFieldValues()));
+                elements = store.getConfig(client, doc, filterNode, new NetconfQueryParams(request.getDepth(), true, request.getFieldValues(),
+                        request.getDepth(), request.getOffset(), request.getLimit()));
             }
 
             if(elements != null && !elements.isEmpty()) {
-                response.setDataContent(elements);
+                response.moveDataContent(elements);
             }else{
                 response.setDataContent(Collections.emptyList());
             }
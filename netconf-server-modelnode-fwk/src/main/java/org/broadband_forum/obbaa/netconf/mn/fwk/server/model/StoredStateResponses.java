@@ -16,30 +16,19 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class StoredStateResponses {
-    Map<SubSystem, StoredLeaves> m_storedLeaves = new HashMap<>();
-    Map<SubSystem, StoredFilters> m_storedFilters = new HashMap<>();
+    // the state attributes of several SubSystems can be retrieved concurrently
+    Map<SubSystem, StoredLeaves> m_storedLeaves = new ConcurrentHashMap<>();
+    Map<SubSystem, StoredFilters> m_storedFilters = new ConcurrentHashMap<>();
 
     public StoredLeaves getStoredLeaves(SubSystem subsystem) {
-        StoredLeaves leavesForSs = m_storedLeaves.get(subsystem);
-        if(leavesForSs == null){
-            leavesForSs = new StoredLeaves();
-            m_storedLeaves.put(subsystem, leavesForSs);
-            return leavesForSs;
-        }
-        return leavesForSs;
+        return m_storedLeaves.computeIfAbsent(subsystem, ss -> new StoredLeaves());
     }
 
     public StoredFilters getStoredFilterNodes(SubSystem subsystem) {
-        StoredFilters filtersForSs = m_storedFilters.get(subsystem);
-        if(filtersForSs == null){
-            filtersForSs = new StoredFilters();
-            m_storedFilters.put(subsystem, filtersForSs);
-            return filtersForSs;
-        }
-        return filtersForSs;
+        return m_storedFilters.computeIfAbsent(subsystem, ss -> new StoredFilters());
     }
 }
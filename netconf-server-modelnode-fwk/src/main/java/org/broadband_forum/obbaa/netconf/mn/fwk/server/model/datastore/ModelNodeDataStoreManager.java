@@ -16,6 +16,7 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore;
 
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ConfigLeafAttribute;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ListEntryInfo;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EntityRegistry;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
@@ -44,6 +46,12 @@ public interface ModelNodeDataStoreManager {
      * DSMs that choose to optimize modify operation should synchronise the modified changes with the backing store on this callback.
      */
     void endModify();
+    /**
+     * Abort modify callback to DSMs, called instead of {@link #endModify()} when the modification failed and is rolled back.
+     * DSMs that choose to optimize modify operation should drop the modified changes instead of synchronising them.
+     */
+    default void abortModify() {
+    }
 
     @Deprecated()
     /**
@@ -55,6 +63,20 @@ public interface ModelNodeDataStoreManager {
     List<ModelNode> listChildNodes(SchemaPath childType, ModelNodeId parentId, SchemaRegistry mountRegistry) throws DataStoreException;
     ModelNode findNode(SchemaPath nodeType, ModelNodeKey key, ModelNodeId parentId, SchemaRegistry mountRegistry) throws DataStoreException;
     List<ModelNode> findNodes(SchemaPath nodeType, Map<QName,ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, SchemaRegistry mountRegistry) throws DataStoreException;
+    /**
+     * Returns one page of the nodes matching the criteria.
+     * The default retrieves all the nodes and pages them in memory, DSMs backed by a database push the paging down to the query.
+     */
+    default List<ModelNode> findNodes(SchemaPath nodeType, Map<QName,ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, SchemaRegistry mountRegistry,
+                                      PagingInput pagingInput) throws DataStoreException {
+        return pagingInput.getPage(findNodes(nodeType, matchCriteria, parentId, mountRegistry));
+    }
+    /**
+     * Tells the DSM that the children of type childType of each of the parents are about to be retrieved one parent at a time,
+     * so that it can load them all with one query instead of one query per parent. The default does nothing.
+     */
+    default void prefetchChildNodes(SchemaPath childType, Collection<ModelNodeId> parentIds, SchemaRegistry mountRegistry) throws DataStoreException {
+    }
     ModelNode createNode(ModelNode modelNode, ModelNodeId parentId) throws DataStoreException;
     ModelNode createNode(ModelNode modelNode, ModelNodeId parentId, int insertIndex) throws DataStoreException;
     void updateNode(ModelNode modelNode, ModelNodeId parentId, Map<QName,ConfigLeafAttribute> configAttributes, Map<QName, LinkedHashSet<ConfigLeafAttribute>> leafListAttributes, boolean removeNode) throws DataStoreException;
@@ -37,6 +37,7 @@ import org.broadband_forum.obbaa.netconf.api.util.SchemaPathBuilder;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.ModelNodeDSMRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.annotation.AnnotationUtil;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EntityAccessor;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EntityRegistry;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
 import org.broadband_forum.obbaa.netconf.stack.api.annotations.AttributeType;
@@ -175,6 +176,7 @@ public class EntityRegistryBuilder {
         if (yangXmlSubtreeSetter!=null) {
             entityRegistry.addYangXmlSubtreeSetter(subrootClass, yangXmlSubtreeSetter);
         }
+        entityRegistry.addEntityAccessor(subrootClass, EntityAccessor.forClass(entityRegistry, subrootClass));
     }
 
     private static  Map<QName, String> getJpaAttributesInfo(Class klass, QName klassQName) {
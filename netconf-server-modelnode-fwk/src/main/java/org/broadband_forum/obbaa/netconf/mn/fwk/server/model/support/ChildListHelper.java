@@ -16,12 +16,14 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 
 import org.broadband_forum.obbaa.netconf.api.messages.InsertOperation;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeCreateException;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -40,6 +42,19 @@ public interface ChildListHelper extends ConstraintHelper {
 	 */
 	Collection<ModelNode> getValue(ModelNode parentNode, Map<QName, ConfigLeafAttribute> matchCriteria) throws ModelNodeGetException;
 
+	/**
+	 * Returns one page of the children modelNode instances which matches all criteria.
+	 * @param parentNode
+	 * @param matchCriteria
+	 * @param pagingInput
+	 * @return
+	 * @throws ModelNodeGetException
+	 */
+	default Collection<ModelNode> getValue(ModelNode parentNode, Map<QName, ConfigLeafAttribute> matchCriteria, PagingInput pagingInput)
+			throws ModelNodeGetException {
+		return pagingInput.getPage(new ArrayList<>(getValue(parentNode, matchCriteria)));
+	}
+
 	ModelNode addChild(ModelNode instance, boolean visibility, Map<QName, ConfigLeafAttribute> keyAttrs, Map<QName, ConfigLeafAttribute> configAttrs) throws
 			ModelNodeCreateException;
 
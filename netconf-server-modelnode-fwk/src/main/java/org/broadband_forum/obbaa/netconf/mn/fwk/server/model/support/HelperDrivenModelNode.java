@@ -110,6 +110,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.utils.ReplaceMNUtil;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.NetconfRpcErrorUtil;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.Operation;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.server.RequestScope;
 import org.broadband_forum.obbaa.netconf.server.RequestTask;
 import org.broadband_forum.obbaa.netconf.server.ssh.auth.AccessDeniedException;
@@ -433,7 +434,8 @@ public abstract class HelperDrivenModelNode implements ModelNode {
             if (selectNode != null) {
                 LOGGER.trace("select node: {}, copying everything to output", selectNode.getNodeName());
                 try {
-                    copyCompletelyToOutput(clientInfo, doc, modelNodeId, parent, includeState, stateContext, configContext, params);
+                    copyCompletelyToOutput(clientInfo, doc, modelNodeId, parent, includeState, stateContext, configContext,
+                            getSubtreeParams(params, NetconfQueryParams.UNBOUNDED));
                 } catch (DOMException | GetAttributeException e) {
                     LOGGER.debug("cannot create get response", e);
                 }
@@ -457,6 +459,26 @@ public abstract class HelperDrivenModelNode implements ModelNode {
         }
     }
 
+    /**
+     * A subtree selected as a whole by the filter does not need to be retrieved deeper than the subtree depth, the depth
+     * of the query can be higher only to reach the match conditions of a pruned-subtree filter.
+     */
+    private NetconfQueryParams getSubtreeParams(NetconfQueryParams params, int minimumDepth) {
+        int subtreeDepth = params.getSubtreeDepth();
+        if (params.getDepth() == NetconfQueryParams.UNBOUNDED || subtreeDepth == NetconfQueryParams.UNBOUNDED
+                || subtreeDepth >= params.getDepth()) {
+            return params;
+        }
+        subtreeDepth = Math.min(Math.max(subtreeDepth, minimumDepth), params.getDepth());
+        return new NetconfQueryParams(subtreeDepth, params.isIncludeConfig(), params.getFields(), subtreeDepth, params.getOffset(),
+                params.getLimit());
+    }
+
+    private static PagingInput getPagingInput(NetconfQueryParams params) {
+        int maxResult = params.getLimit() == NetconfQueryParams.UNBOUNDED ? Integer.MAX_VALUE : params.getLimit();
+        return new PagingInput(params.getOffset(), maxResult);
+    }
+
     private boolean isAboveDepth(NetconfQueryParams params) {
         return params.getDepth() == NetconfQueryParams.UNBOUNDED || params.getDepth()-1 > m_modelNodeId.getDepth();
     }
@@ -550,7 +572,9 @@ public abstract class HelperDrivenModelNode implements ModelNode {
                     stateSubtreeFilterNodes, stateElements);
             if (proceedFurther) {
                 if ((filter.getSelectNodes().isEmpty()) && (filter.getChildNodes().isEmpty())) {
-                    copyCompletelyToOutput(clientInfo, doc, modelNodeId, parent, includeState, stateContext, configContext, params);
+                    // the leaves of this node are needed to evaluate the match conditions again on the output
+                    copyCompletelyToOutput(clientInfo, doc, modelNodeId, parent, includeState, stateContext, configContext,
+                            getSubtreeParams(params, m_modelNodeId.getDepth() + 2));
                 } else {
                     LOGGER.trace("copyFilteredToOutput: proceedFurther!");
                     List<QName> stateAttributeQNames = new ArrayList<>();
@@ -663,10 +687,12 @@ public abstract class HelperDrivenModelNode implements ModelNode {
                     qName = getQNameFromMountRegistry(fsn, qName);
                     if (qName != null) {
                         if (getModelNodeHelperRegistry().getChildListHelpers(this.getModelNodeSchemaPath()).containsKey(qName)) {
-                            Collection<ModelNode> children = getChildModelNodes(qName, fsn.getMatchNodes());
+                            Collection<ModelNode> children = getChildModelNodes(qName, fsn.getMatchNodes(), params);
+                            NetconfQueryParams entryParams = getEntryParams(getModelNodeHelperRegistry().getChildListHelper(
+                                    this.getModelNodeSchemaPath(), qName), params);
                             for (ModelNode child : children) {
                                 if(child.isVisible()) {
-                                    Element elemChild = delegateToChild(clientInfo, doc, filter, includeState, child, stateContext, configContext, params);
+                                    Element elemChild = delegateToChild(clientInfo, doc, filter, includeState, child, stateContext, configContext, entryParams);
                                     appendChildIfNotNull(elemChild, parent);
                                 }
                             }
@@ -956,8 +982,37 @@ public abstract class HelperDrivenModelNode implements ModelNode {
 
     @Override
     public Collection<ModelNode> getChildModelNodes(QName nodeName, List<FilterMatchNode> matchNodes) throws ModelNodeGetException {
-        Map<QName, ConfigLeafAttribute> matchCriteria = new HashMap<>();
         ChildListHelper childListHelper = getModelNodeHelperRegistry().getChildListHelper(this.getModelNodeSchemaPath(), nodeName);
+        return getModelNodeHelperRegistry().getChildListHelpers(this.getModelNodeSchemaPath()).get(nodeName).getValue(this,
+                getFilterMatchCriteria(childListHelper, matchNodes));
+    }
+
+    /**
+     * Only the entries of big lists are paged, by the offset and limit of the request.
+     */
+    private static boolean isPagedList(ChildListHelper childListHelper, NetconfQueryParams params) {
+        return params.isListPaged() && childListHelper.isChildBigList();
+    }
+
+    /**
+     * The offset and limit of the request only apply to the first big list reached, the lists below its entries are
+     * returned in full.
+     */
+    private static NetconfQueryParams getEntryParams(ChildListHelper childListHelper, NetconfQueryParams params) {
+        return isPagedList(childListHelper, params) ? params.withoutListPaging() : params;
+    }
+
+    private Collection<ModelNode> getChildModelNodes(QName nodeName, List<FilterMatchNode> matchNodes, NetconfQueryParams params)
+            throws ModelNodeGetException {
+        ChildListHelper childListHelper = getModelNodeHelperRegistry().getChildListHelper(this.getModelNodeSchemaPath(), nodeName);
+        if (isPagedList(childListHelper, params)) {
+            return childListHelper.getValue(this, getFilterMatchCriteria(childListHelper, matchNodes), getPagingInput(params));
+        }
+        return getChildModelNodes(nodeName, matchNodes);
+    }
+
+    private Map<QName, ConfigLeafAttribute> getFilterMatchCriteria(ChildListHelper childListHelper, List<FilterMatchNode> matchNodes) {
+        Map<QName, ConfigLeafAttribute> matchCriteria = new HashMap<>();
         for(FilterMatchNode matchNode: matchNodes){
             QName qName = getSchemaRegistry().lookupQName(matchNode.getNamespace(), matchNode.getNodeName());
             DataSchemaNode nonChoiceChild = getSchemaRegistry().getNonChoiceChild(childListHelper.getChildModelNodeSchemaPath(), qName);
@@ -966,7 +1021,7 @@ public abstract class HelperDrivenModelNode implements ModelNode {
                 matchCriteria.put(qName, new GenericConfigAttribute(qName.getLocalName(), qName.getNamespace().toString(), matchNode.getFilter()));
             }
         }
-        return getModelNodeHelperRegistry().getChildListHelpers(this.getModelNodeSchemaPath()).get(nodeName).getValue(this, matchCriteria);
+        return matchCriteria;
     }
 
     private void updateFilter(FilterMatchNode matchNode, DataSchemaNode nonChoiceChild) {
@@ -1363,14 +1418,21 @@ public abstract class HelperDrivenModelNode implements ModelNode {
     private void copyAllChildListToOutput(NetconfClientInfo clientInfo, Document doc, Element parent, boolean includeState, StateAttributeGetContext stateContext, ConfigAttributeGetContext configContext, NetconfQueryParams params) throws GetException {
         for (ChildListHelper helper : getModelNodeHelperRegistry().getChildListHelpers(this.getModelNodeSchemaPath()).values()) {
             try {
-                Collection<ModelNode> result = helper.getValue(this, Collections.<QName, ConfigLeafAttribute>emptyMap());
+                Collection<ModelNode> result;
+                if (isPagedList(helper, params)) {
+                    result = helper.getValue(this, Collections.<QName, ConfigLeafAttribute>emptyMap(), getPagingInput(params));
+                } else {
+                    result = helper.getValue(this, Collections.<QName, ConfigLeafAttribute>emptyMap());
+                }
+                prefetchChildListsOfEntries(helper, result, params);
+                NetconfQueryParams entryParams = getEntryParams(helper, params);
                 for (ModelNode child : result) {
                     if ( isAboveDepth(params, child.getModelNodeId()) && child.isVisible()){
                         if (includeState) {
-                            Element element = child.get(new GetContext(clientInfo, doc, null, stateContext, configContext), params);
+                            Element element = child.get(new GetContext(clientInfo, doc, null, stateContext, configContext), entryParams);
                             appendChildIfNotNull(element, parent);
                         } else if (params.isIncludeConfig()) {
-                            Element element =child.getConfig(new GetConfigContext(clientInfo, doc, null, configContext), params);
+                            Element element =child.getConfig(new GetConfigContext(clientInfo, doc, null, configContext), entryParams);
                             appendChildIfNotNull(element, parent);
                         }
                     }
@@ -1382,6 +1444,26 @@ public abstract class HelperDrivenModelNode implements ModelNode {
         }
     }
 
+    /**
+     * Lets the DSM load the child lists of all the entries with one query per list, instead of one query per entry and list.
+     * Big lists are left out, they are not meant to be loaded completely.
+     */
+    private void prefetchChildListsOfEntries(ChildListHelper helper, Collection<ModelNode> entries, NetconfQueryParams params) {
+        if (entries.size() < 2 || getModelNodeDSM() == null || !grandChildNodesToBeLoaded(params)) {
+            return;
+        }
+        List<ModelNodeId> entryIds = new ArrayList<>();
+        for (ModelNode entry : entries) {
+            entryIds.add(entry.getModelNodeId());
+        }
+        SchemaRegistry entryRegistry = entries.iterator().next().getSchemaRegistry();
+        for (ChildListHelper entryListHelper : getModelNodeHelperRegistry().getChildListHelpers(helper.getChildModelNodeSchemaPath()).values()) {
+            if (!entryListHelper.isChildBigList()) {
+                getModelNodeDSM().prefetchChildNodes(entryListHelper.getChildModelNodeSchemaPath(), entryIds, entryRegistry);
+            }
+        }
+    }
+
     protected void appendChildIfNotNull(Element element, Element parent) {
         if (element != null) {
             parent.appendChild(element);
@@ -25,12 +25,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.transaction.Transactional;
 import javax.transaction.Transactional.TxType;
@@ -79,6 +85,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.NetconfRpcErrorUtil;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.Operation;
 import org.broadband_forum.obbaa.netconf.mn.fwk.util.SchemaMountUtil;
+import org.broadband_forum.obbaa.netconf.server.RequestScopedCallable;
 import org.broadband_forum.obbaa.netconf.server.ssh.auth.AccessDeniedException;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
@@ -96,6 +103,8 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.google.common.annotations.VisibleForTesting;
+
 /**
  * An aggregator for multiple Root level ModelNodes.
  * The calls to RootModelNodeAggregatorImpl is redirected to the aggregated ModelNodes.
@@ -114,6 +123,10 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
     private Map<String, List<ModelNode>> m_componentRoots = new ConcurrentHashMap<>();
     private final ModelNodeDataStoreManager m_dsm;
     private SubSystemRegistry m_subsystemRegistry;
+    private ExecutorService m_stateRetrievalExecutor;
+    private long m_stateRetrievalTimeoutMillis = DEFAULT_STATE_RETRIEVAL_TIMEOUT_MILLIS;
+
+    public static final long DEFAULT_STATE_RETRIEVAL_TIMEOUT_MILLIS = 30000L;
 
     public RootModelNodeAggregatorImpl(SchemaRegistry schemaRegistry, ModelNodeHelperRegistry modelNodeHelperRegistry,
             ModelNodeDataStoreManager dataStoreManager, SubSystemRegistry subsystemRegistry) {
@@ -137,6 +150,23 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
         return m_subsystemRegistry;
     }
 
+    /**
+     * When set, the state attributes of the SubSystems involved in a get are retrieved concurrently on this executor
+     * instead of one SubSystem after the other. The request context of the caller is propagated to the executor threads,
+     * each retrieval runs with a request scope of its own. The caller's transaction is not propagated, so it should only
+     * be set when the SubSystems do not need it.
+     */
+    public void setStateRetrievalExecutor(ExecutorService stateRetrievalExecutor) {
+        m_stateRetrievalExecutor = stateRetrievalExecutor;
+    }
+
+    /**
+     * The time a get waits for the state attributes of each SubSystem retrieved on the state retrieval executor.
+     */
+    public void setStateRetrievalTimeoutMillis(long stateRetrievalTimeoutMillis) {
+        m_stateRetrievalTimeoutMillis = stateRetrievalTimeoutMillis;
+    }
+
     private List<ModelNode> getComponentRoots(String componentId) {
         List<ModelNode> rootsFromComponent = m_componentRoots.get(componentId);
         if(rootsFromComponent == null){
@@ -398,8 +428,12 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
      * @param params 
      * @return Map<ModelNodeId, List<Element>>
      */
-    private Map<ModelNodeId, List<Element>> getAllStateElementsFromSubSystems(NetconfClientInfo clientInfo, ConfigAttributeGetContext configContext, StateAttributeGetContext stateContext, NetconfQueryParams params) throws GetException {
+    @VisibleForTesting
+    Map<ModelNodeId, List<Element>> getAllStateElementsFromSubSystems(NetconfClientInfo clientInfo, ConfigAttributeGetContext configContext, StateAttributeGetContext stateContext, NetconfQueryParams params) throws GetException {
         Map<ModelNodeId, List<Element>> nodeIds = stateContext.getStateMatchNodes();
+        if (m_stateRetrievalExecutor != null && stateContext.getSubSystems().size() > 1) {
+            return getAllStateElementsFromSubSystemsConcurrently(clientInfo, configContext, stateContext, params, nodeIds);
+        }
 
         for (Entry<SubSystem, Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>>> subSystemEntry : stateContext.getSubSystems().entrySet()) {
             SubSystem subSystem = subSystemEntry.getKey();
@@ -412,21 +446,10 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
                 Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>> attributes = subSystemEntry.getValue();
                 // call retrieveStateAttributes only once for each SubSystem
                 Map<ModelNodeId, List<Element>> stateAttributeValues = subSystem.retrieveStateAttributes(attributes, params,stateContext);
-
-                for (Entry<ModelNodeId, List<Element>> entry : stateAttributeValues.entrySet()) {
-                    ModelNodeId nodeId = entry.getKey();
-                    if (nodeIds.containsKey(nodeId)) {
-                        nodeIds.get(nodeId).addAll(entry.getValue());
-                    } else {
-                        nodeIds.put(nodeId, entry.getValue());
-                    }
-                }
+                mergeStateAttributeValues(nodeIds, stateAttributeValues);
 
             } catch (GetAttributeException e) {
-                NetconfRpcError netconfRpcError = NetconfRpcErrorUtil.getApplicationError(NetconfRpcErrorTag.OPERATION_FAILED, "Could not get state values: " + e.getMessage());
-                GetException exception = new GetException(netconfRpcError);
-                exception.addSuppressed(e);
-                throw exception;
+                throw getStateValuesException(e);
             } catch (AccessDeniedException e) {
                 LOGGER.warn(null, "User '{}' is not permitted to access subsystem '{}'", LOGGER.sensitiveData(clientInfo.getUsername()), subSystem);
             }
@@ -435,6 +458,86 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
         return nodeIds;
     }
 
+    /**
+     * Starts the retrieval of all the SubSystems and then merges their results in the order of the SubSystems, so that
+     * the reply does not depend on which SubSystem answers first.
+     */
+    private Map<ModelNodeId, List<Element>> getAllStateElementsFromSubSystemsConcurrently(NetconfClientInfo clientInfo,
+            ConfigAttributeGetContext configContext, StateAttributeGetContext stateContext, NetconfQueryParams params,
+            Map<ModelNodeId, List<Element>> nodeIds) throws GetException {
+        Map<SubSystem, Future<Map<ModelNodeId, List<Element>>>> retrievals = new LinkedHashMap<>();
+        try {
+            for (Entry<SubSystem, Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>>> subSystemEntry : stateContext.getSubSystems().entrySet()) {
+                SubSystem subSystem = subSystemEntry.getKey();
+                try {
+                    if (!configContext.isSubSystemAuthorized(subSystem)) {
+                        subSystem.checkRequiredPermissions(clientInfo, Operation.GET.getType());
+                    }
+                } catch (AccessDeniedException e) {
+                    LOGGER.warn(null, "User '{}' is not permitted to access subsystem '{}'", LOGGER.sensitiveData(clientInfo.getUsername()), subSystem);
+                    continue;
+                }
+                Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>> attributes = subSystemEntry.getValue();
+                retrievals.put(subSystem, m_stateRetrievalExecutor.submit(new RequestScopedCallable<>(
+                    () -> subSystem.retrieveStateAttributes(attributes, params, stateContext))));
+            }
+
+            for (Entry<SubSystem, Future<Map<ModelNodeId, List<Element>>>> retrieval : retrievals.entrySet()) {
+                try {
+                    // each SubSystem gets the whole timeout, a slow one does not use up the time of the next ones
+                    mergeStateAttributeValues(nodeIds, retrieval.getValue().get(m_stateRetrievalTimeoutMillis, TimeUnit.MILLISECONDS));
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof GetAttributeException) {
+                        throw getStateValuesException((GetAttributeException) cause);
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new RuntimeException(cause);
+                } catch (TimeoutException e) {
+                    LOGGER.error(null, "Timed out after {} ms while getting state values from subsystem '{}'", m_stateRetrievalTimeoutMillis,
+                            retrieval.getKey());
+                    NetconfRpcError netconfRpcError = NetconfRpcErrorUtil.getApplicationError(NetconfRpcErrorTag.OPERATION_FAILED,
+                            "Could not get state values: timed out after " + m_stateRetrievalTimeoutMillis + " ms");
+                    GetException exception = new GetException(netconfRpcError);
+                    exception.addSuppressed(e);
+                    throw exception;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    NetconfRpcError netconfRpcError = NetconfRpcErrorUtil.getApplicationError(NetconfRpcErrorTag.OPERATION_FAILED,
+                            "Could not get state values: interrupted");
+                    GetException exception = new GetException(netconfRpcError);
+                    exception.addSuppressed(e);
+                    throw exception;
+                }
+            }
+        } finally {
+            for (Future<Map<ModelNodeId, List<Element>>> retrieval : retrievals.values()) {
+                retrieval.cancel(true);
+            }
+        }
+        return nodeIds;
+    }
+
+    private void mergeStateAttributeValues(Map<ModelNodeId, List<Element>> nodeIds, Map<ModelNodeId, List<Element>> stateAttributeValues) {
+        for (Entry<ModelNodeId, List<Element>> entry : stateAttributeValues.entrySet()) {
+            ModelNodeId nodeId = entry.getKey();
+            if (nodeIds.containsKey(nodeId)) {
+                nodeIds.get(nodeId).addAll(entry.getValue());
+            } else {
+                nodeIds.put(nodeId, entry.getValue());
+            }
+        }
+    }
+
+    private GetException getStateValuesException(GetAttributeException e) {
+        NetconfRpcError netconfRpcError = NetconfRpcErrorUtil.getApplicationError(NetconfRpcErrorTag.OPERATION_FAILED, "Could not get state values: " + e.getMessage());
+        GetException exception = new GetException(netconfRpcError);
+        exception.addSuppressed(e);
+        return exception;
+    }
+
     private ModelNodeId getModelNodeId(Element element, ModelNodeId parentNodeId, DataSchemaNode schemaNode) {
         ModelNodeId modelNodeId = new ModelNodeId(parentNodeId);
         modelNodeId.addRdn(ModelNodeRdn.CONTAINER, schemaNode.getQName().getNamespace().toString(), getContainerName(schemaNode));
@@ -602,6 +705,7 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
             if(request.getDefaultOperation()!= null){
                 editTree.setEditOperation(request.getDefaultOperation());
             }
+            boolean modifyEnded = false;
             try{
                 m_dsm.beginModify();
                 TimingLogger.startPhase("createEditTree.prepareEditSubTree");
@@ -616,12 +720,17 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
                 modelNode.editConfig(editContext, aggregatorCTN);
 
                 //call end modify so that the Subsystems can access the backing store to validate changes.
+                modifyEnded = true;
                 m_dsm.endModify();
                 TimingLogger.endPhase("createEditTree.makeChangesInDataStore", false);
 
             } catch (ValidationException e) {
                 LOGGER.error("Validation constraints failed due to: ", e);
                 throw new EditConfigException(e.getRpcError());
+            } finally {
+                if (!modifyEnded) {
+                    abortFailedModify();
+                }
             }
         }
         notificationContext.addChangeTreeNode(aggregatorCTN);
@@ -747,32 +856,58 @@ public class RootModelNodeAggregatorImpl implements RootModelNodeAggregator {
 
     @Transactional(value=TxType.REQUIRED,rollbackOn={CopyConfigException.class,RuntimeException.class,Exception.class})
     public void copyConfig(List<Element> copyConfigElements) throws CopyConfigException {
+        boolean modifyEnded = false;
         m_dsm.beginModify();
-        for(Element copyConfigElement: copyConfigElements){
-            if(!validNamespace(copyConfigElement)){
-                throw new CopyConfigException(NetconfRpcError.getUnknownNamespaceError(copyConfigElement.getNamespaceURI(), copyConfigElement.getLocalName(), NetconfRpcErrorType.Application));
-            }
-        }
-        Map<SchemaPath, Element> rootNodeToConfigElementMap = null;
         try {
-            rootNodeToConfigElementMap = getRootNodeToConfigElementMap(getModelServiceRoots(), copyConfigElements);
-        } catch (GetAttributeException e) {
-            LOGGER.error("Error while getting the matching root node ", e);
-            throw new CopyConfigException(e.getRpcError());
-        }
+            for(Element copyConfigElement: copyConfigElements){
+                if(!validNamespace(copyConfigElement)){
+                    throw new CopyConfigException(NetconfRpcError.getUnknownNamespaceError(copyConfigElement.getNamespaceURI(), copyConfigElement.getLocalName(), NetconfRpcErrorType.Application));
+                }
+            }
+            Map<SchemaPath, Element> rootNodeToConfigElementMap = null;
+            try {
+                rootNodeToConfigElementMap = getRootNodeToConfigElementMap(getModelServiceRoots(), copyConfigElements);
+            } catch (GetAttributeException e) {
+                LOGGER.error("Error while getting the matching root node ", e);
+                throw new CopyConfigException(e.getRpcError());
+            }
 
-        //check the request is valid
-        checkEachRootNodeHasCopyConfigElement(getModelServiceRoots(), rootNodeToConfigElementMap);
-        checkEachCopyConfigElementHasRootNode(copyConfigElements, rootNodeToConfigElementMap);
+            //check the request is valid
+            checkEachRootNodeHasCopyConfigElement(getModelServiceRoots(), rootNodeToConfigElementMap);
+            checkEachCopyConfigElementHasRootNode(copyConfigElements, rootNodeToConfigElementMap);
 
-        //all good, so lets invoke copy-config on each of the modelNode roots exclude config false modelNodes
-        for (ModelNode modelNode : getModelServiceRoots()) {
-            if(isConfigurationNode(modelNode) && rootNodeToConfigElementMap.containsKey(modelNode.getModelNodeSchemaPath())) {
-                modelNode.copyConfig(rootNodeToConfigElementMap.get(modelNode.getModelNodeSchemaPath()));
+            //all good, so lets invoke copy-config on each of the modelNode roots exclude config false modelNodes
+            for (ModelNode modelNode : getModelServiceRoots()) {
+                if(isConfigurationNode(modelNode) && rootNodeToConfigElementMap.containsKey(modelNode.getModelNodeSchemaPath())) {
+                    modelNode.copyConfig(rootNodeToConfigElementMap.get(modelNode.getModelNodeSchemaPath()));
                 
+                }
+            }
+            modifyEnded = true;
+            try {
+                m_dsm.endModify();
+            } catch (ValidationException e) {
+                LOGGER.error("Error while storing the copied configuration ", e);
+                throw new CopyConfigException(e.getRpcError());
             }
+        } finally {
+            if (!modifyEnded) {
+                abortFailedModify();
+            }
+        }
+    }
+
+    /**
+     * Aborts the modification of an edit that failed before its endModify, so that the DSMs release what they set up in
+     * beginModify without writing the partial changes. The edit is rolled back, so a failure to abort it is only logged
+     * and does not hide the original one.
+     */
+    private void abortFailedModify() {
+        try {
+            m_dsm.abortModify();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error while aborting the modification of a failed edit ", e);
         }
-        m_dsm.endModify();
     }
 
     @Override
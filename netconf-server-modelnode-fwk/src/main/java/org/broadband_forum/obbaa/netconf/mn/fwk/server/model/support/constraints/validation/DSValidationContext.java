@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import org.broadband_forum.obbaa.netconf.api.messages.EditConfigDefaultOperations;
 import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
 import org.broadband_forum.obbaa.netconf.api.util.Pair;
+import org.broadband_forum.obbaa.netconf.mn.fwk.ChangeTreeNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.EditContainmentNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNode;
@@ -63,6 +64,7 @@ public class DSValidationContext {
     private ValidatedAugment m_validatedAugment = new ValidatedAugment();
     private ValidatedConstraints m_validatedConstraints = new ValidatedConstraints();
     private ValidatedUniqueConstraints m_validatedUniqueConstraints = new ValidatedUniqueConstraints();
+    private ChangeTreeNode m_changeTree;
     private RetrievedParentModelNodes m_retrievedParentModelNodes = new RetrievedParentModelNodes();
     private ValidatedDeletedList m_validatedDeletedList = new ValidatedDeletedList();
     private Map<SchemaPath,ModelNodeId> m_schemaPathModelNodeIdCache = new HashMap<>();
@@ -375,6 +377,17 @@ public class DSValidationContext {
         return m_validatedUniqueConstraints;
     }
 
+    /**
+     * @return the change tree of the edit being validated, null if it is not known
+     */
+    public ChangeTreeNode getChangeTree() {
+        return m_changeTree;
+    }
+
+    public void setChangeTree(ChangeTreeNode changeTree) {
+        m_changeTree = changeTree;
+    }
+
     public void setAugmentationSchemaNodeForWhen(AugmentationSchemaNode augmentationSchemaNodeForWhen) {
         m_augmentationSchemaNodeForWhen = augmentationSchemaNodeForWhen;
     }
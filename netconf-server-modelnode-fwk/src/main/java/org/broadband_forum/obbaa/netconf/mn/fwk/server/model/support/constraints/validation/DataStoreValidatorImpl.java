@@ -222,6 +222,7 @@ public class DataStoreValidatorImpl implements DataStoreValidator {
             initializeCache();
             DSValidationContext context = new DSValidationContext();
             context.setRootNodeAggregator(aggregator);
+            context.setChangeTree(changeTree);
             for (ModelNode rootNode : rootNodes) {
                 /*
                  * every editTree will start from a root node. Find the right root node for the edit tree and
@@ -424,6 +425,9 @@ public class DataStoreValidatorImpl implements DataStoreValidator {
         DSValidationMountContext context = SchemaRegistryUtil.getDataSchemaNode(registry, referencedSchemaPath);
         DataSchemaNode schemaNode = context.getDataSchemaNode();
         boolean impactedNodeParentFound = false;
+        if (schemaNode instanceof ListSchemaNode) {
+            prefetchImpactedListEntries(referencedSchemaPath, parentNodes, registry);
+        }
         for (ModelNode parentModelNode : parentNodes) {
             if (isParent(parentModelNode, referencedSchemaPath)) {
                 if (schemaNode instanceof LeafSchemaNode) {
@@ -472,6 +476,26 @@ public class DataStoreValidatorImpl implements DataStoreValidator {
 
     }
 
+    /**
+     * Validating the impacted list under each parent reads its entries parent by parent, let the DSM load them for all the parents
+     * at once.
+     */
+    private void prefetchImpactedListEntries(SchemaPath listSchemaPath, List<ModelNode> parentNodes, SchemaRegistry registry) {
+        DataSchemaNode listParent = registry.getNonChoiceParent(listSchemaPath);
+        if (parentNodes.size() < 2 || listParent == null) {
+            return;
+        }
+        List<ModelNodeId> parentIds = new ArrayList<>();
+        for (ModelNode parentNode : parentNodes) {
+            if (listParent.getPath().equals(parentNode.getModelNodeSchemaPath())) {
+                parentIds.add(parentNode.getModelNodeId());
+            }
+        }
+        if (parentIds.size() > 1 && !m_modelNodeDSM.isChildTypeBigList(listSchemaPath, registry)) {
+            m_modelNodeDSM.prefetchChildNodes(listSchemaPath, parentIds, registry);
+        }
+    }
+
     private void addImpactedNodeToCheckMMN(Set<Pair<ModelNode, DataSchemaNode>> mMNToCheckTriggeredByImpact, DataSchemaNode schemaNode, ModelNode parentModelNode) {
         ModelNode existingParentNodeInDs = parentModelNode;
         DataSchemaNode existingNodeInDs = schemaNode;
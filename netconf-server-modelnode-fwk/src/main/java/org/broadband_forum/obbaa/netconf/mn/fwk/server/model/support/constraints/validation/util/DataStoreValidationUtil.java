@@ -152,7 +152,7 @@ public class DataStoreValidationUtil {
 
     public static Collection<Object> evaluateXpath(JXPathContext context, String xPath) {
         Collection<Object> returnValue = null;
-        Iterator<?> leafRefs = context.iterate(xPath);
+        Iterator<?> leafRefs = JXPathUtils.getCompiledExpression(xPath).iterate(context);
         while (leafRefs.hasNext()) {
             if (returnValue == null) {
                 returnValue = new ArrayList<Object>();
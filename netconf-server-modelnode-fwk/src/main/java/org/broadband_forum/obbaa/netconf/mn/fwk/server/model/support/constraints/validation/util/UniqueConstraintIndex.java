@@ -0,0 +1,444 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
+import org.broadband_forum.obbaa.netconf.mn.fwk.ChangeTreeNode;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
+import org.broadband_forum.obbaa.netconf.server.RequestScope;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Indexes the unique values of the entries of the lists with unique constraints of a data store, per list instance, so
+ * that an edit only reads and checks the entries it changes instead of all the entries of the list, see
+ * {@link UniqueConstraintValidator}.
+ * <p>
+ * A list instance is indexed from the entries read by its first full check. The values read while validating the edits
+ * of a request are kept aside in the request scope between {@link #beginChange()} and {@link #endChange}, and are only
+ * added to the index when the edits are committed. A list instance changed by a committed edit that did not check it,
+ * or whose parent was deleted, is dropped from the index and is checked in full again by the next edit.
+ * <p>
+ * The index is sized with the UNIQUE_CONSTRAINT_INDEX_SIZE env/system property, the number of list instances it keeps,
+ * 0 disables it. It only sees the changes made through the edits of its data store, so it must be disabled when the
+ * backing store is also written by other means.
+ */
+public class UniqueConstraintIndex {
+
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(UniqueConstraintIndex.class, LogAppNames.NETCONF_STACK);
+
+    public static final String UNIQUE_CONSTRAINT_INDEX_SIZE = "UNIQUE_CONSTRAINT_INDEX_SIZE";
+
+    private static final String DEFAULT_INDEX_SIZE = "1000";
+    private static final String CURRENT_CHANGE = UniqueConstraintIndex.class.getName() + ".currentChange";
+
+    private final Cache<ListInstance, IndexedList> m_lists;
+
+    public UniqueConstraintIndex(long maximumSize) {
+        m_lists = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * @return the index sized by UNIQUE_CONSTRAINT_INDEX_SIZE, or null if it is disabled
+     */
+    public static UniqueConstraintIndex newInstanceFromProperty() {
+        String size = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(UNIQUE_CONSTRAINT_INDEX_SIZE, DEFAULT_INDEX_SIZE);
+        long maximumSize;
+        try {
+            maximumSize = size == null ? 0 : Long.parseLong(size);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid {} '{}', the unique constraint index is disabled", UNIQUE_CONSTRAINT_INDEX_SIZE, size);
+            maximumSize = 0;
+        }
+        return maximumSize > 0 ? new UniqueConstraintIndex(maximumSize) : null;
+    }
+
+    /**
+     * Makes the index used by the unique constraint checks of the current request until the matching {@link #endChange}.
+     */
+    public void beginChange() {
+        RequestScope scope = RequestScope.getCurrentScope();
+        scope.putInCache(CURRENT_CHANGE, new Change(this, (Change) scope.getFromCache(CURRENT_CHANGE)));
+    }
+
+    /**
+     * @param changeTrees the change trees of the committed edits, null if the edits failed or if their changes are not
+     *                    known, in which case the values read by the request are dropped
+     * @param committed   true if the edits were committed, if their changes are not known all the lists are dropped
+     */
+    public void endChange(Collection<ChangeTreeNode> changeTrees, boolean committed) {
+        RequestScope scope = RequestScope.getCurrentScope();
+        Change change = (Change) scope.getFromCache(CURRENT_CHANGE);
+        if (change == null || change.m_index != this) {
+            return;
+        }
+        if (change.m_previous == null) {
+            scope.removeFromCache(CURRENT_CHANGE);
+        } else {
+            scope.putInCache(CURRENT_CHANGE, change.m_previous);
+        }
+        if (committed) {
+            if (changeTrees == null) {
+                invalidateAll();
+            } else {
+                commit(change, changeTrees);
+            }
+        }
+    }
+
+    /**
+     * To be called when the data store is changed without an edit, by a copy-config for instance.
+     */
+    public synchronized void invalidateAll() {
+        m_lists.invalidateAll();
+    }
+
+    /**
+     * @return the values of the list instance as changed by the edits of the current request, null if no index is used
+     * by the request, see {@link ListChange#isIndexed()}
+     */
+    static ListChange getListChange(ModelNodeId parentId, SchemaPath listPath, List<Set<SchemaPath>> constraintPaths,
+                                    Set<SchemaPath> uniqueLeafPaths) {
+        Change change = (Change) RequestScope.getCurrentScope().getFromCache(CURRENT_CHANGE);
+        if (change == null) {
+            return null;
+        }
+        ListInstance listInstance = new ListInstance(parentId, listPath);
+        ListChange listChange = change.m_listChanges.get(listInstance);
+        if (listChange == null || !listChange.m_list.m_constraintPaths.equals(constraintPaths)) {
+            IndexedList indexedList = change.m_index.getIndexedList(listInstance, constraintPaths);
+            if (indexedList == null) {
+                indexedList = new IndexedList(constraintPaths, uniqueLeafPaths);
+            }
+            listChange = new ListChange(indexedList);
+            change.m_listChanges.put(listInstance, listChange);
+        }
+        return listChange;
+    }
+
+    private synchronized IndexedList getIndexedList(ListInstance listInstance, List<Set<SchemaPath>> constraintPaths) {
+        IndexedList indexedList = m_lists.getIfPresent(listInstance);
+        if (indexedList != null && indexedList.m_constraintPaths.equals(constraintPaths)) {
+            return indexedList;
+        }
+        return null;
+    }
+
+    private synchronized void commit(Change change, Collection<ChangeTreeNode> changeTrees) {
+        Set<ListInstance> staleLists = new HashSet<>();
+        Map<ListInstance, Map<ModelNodeId, List<UniqueConstraintCheck>>> deletedEntries = new HashMap<>();
+        List<ModelNodeId> deletedNodes = new ArrayList<>();
+        for (ChangeTreeNode changeTree : changeTrees) {
+            if (changeTree != null && changeTree.getNodesIndex() != null) {
+                collectStaleLists(change, changeTree, staleLists, deletedEntries, deletedNodes);
+            }
+        }
+        for (Map.Entry<ListInstance, ListChange> listChange : change.m_listChanges.entrySet()) {
+            if (listChange.getValue().m_isIndexed && !staleLists.contains(listChange.getKey())) {
+                IndexedList indexedList = listChange.getValue().m_list;
+                indexedList.putAll(listChange.getValue().m_changedValues);
+                m_lists.put(listChange.getKey(), indexedList);
+            }
+        }
+        m_lists.invalidateAll(staleLists);
+        for (Map.Entry<ListInstance, Map<ModelNodeId, List<UniqueConstraintCheck>>> entries : deletedEntries.entrySet()) {
+            IndexedList indexedList = m_lists.getIfPresent(entries.getKey());
+            if (indexedList != null && !staleLists.contains(entries.getKey())) {
+                indexedList.putAll(entries.getValue());
+            }
+        }
+        if (!deletedNodes.isEmpty()) {
+            Iterator<ListInstance> lists = m_lists.asMap().keySet().iterator();
+            while (lists.hasNext()) {
+                ModelNodeId parentId = lists.next().m_parentId;
+                for (ModelNodeId deletedNode : deletedNodes) {
+                    if (parentId.beginsWith(deletedNode)) {
+                        lists.remove();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A list instance is stale when one of its entries was changed by an edit whose change tree was not checked with the
+     * list, unless the change does not touch a unique leaf or deletes an entry not otherwise changed by the request.
+     */
+    private void collectStaleLists(Change change, ChangeTreeNode changeTree, Set<ListInstance> staleLists,
+                                   Map<ListInstance, Map<ModelNodeId, List<UniqueConstraintCheck>>> deletedEntries,
+                                   List<ModelNodeId> deletedNodes) {
+        for (Map<ModelNodeId, ChangeTreeNode> nodes : changeTree.getNodesIndex().values()) {
+            for (ChangeTreeNode node : nodes.values()) {
+                if (!(node.getType() instanceof DataNodeContainer)) {
+                    continue;
+                }
+                if (ChangeTreeNode.ChangeType.isDelete(node.getChange())) {
+                    deletedNodes.add(new ModelNodeId(node.getId()));
+                }
+                if (!(node.getType() instanceof ListSchemaNode) || node.getParent() == null) {
+                    continue;
+                }
+                ListInstance listInstance = new ListInstance(node.getParent().getId(), node.getType().getPath());
+                ListChange listChange = change.m_listChanges.get(listInstance);
+                if (listChange != null && listChange.m_checkedChangeTrees.containsKey(changeTree)) {
+                    continue;
+                }
+                IndexedList indexedList = listChange != null ? listChange.m_list : m_lists.getIfPresent(listInstance);
+                if (indexedList == null || !indexedList.isAffectedBy(node, changeTree)) {
+                    continue;
+                }
+                if (ChangeTreeNode.ChangeType.isDelete(node.getChange())
+                        && (listChange == null || !listChange.m_changedValues.containsKey(node.getId()))) {
+                    // a deleted entry cannot break a unique constraint, its values are released
+                    deletedEntries.computeIfAbsent(listInstance, key -> new HashMap<>()).put(new ModelNodeId(node.getId()), null);
+                } else {
+                    staleLists.add(listInstance);
+                }
+            }
+        }
+    }
+
+    @VisibleForTesting
+    public synchronized long size() {
+        m_lists.cleanUp();
+        return m_lists.size();
+    }
+
+    private static final class Change {
+        private final UniqueConstraintIndex m_index;
+        private final Change m_previous;
+        private final Map<ListInstance, ListChange> m_listChanges = new HashMap<>();
+
+        private Change(UniqueConstraintIndex index, Change previous) {
+            m_index = index;
+            m_previous = previous;
+        }
+    }
+
+    private static final class ListInstance {
+        private final ModelNodeId m_parentId;
+        private final SchemaPath m_listPath;
+
+        private ListInstance(ModelNodeId parentId, SchemaPath listPath) {
+            // model node ids are mutable
+            m_parentId = new ModelNodeId(parentId);
+            m_listPath = listPath;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ListInstance that = (ListInstance) o;
+            return m_parentId.equals(that.m_parentId) && m_listPath.equals(that.m_listPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m_parentId, m_listPath);
+        }
+    }
+
+    /**
+     * The committed values of a list instance, per entry and per unique constraint. The entries without a value for all
+     * the leaves of a constraint are not indexed for that constraint.
+     */
+    private static final class IndexedList {
+        private final List<Set<SchemaPath>> m_constraintPaths;
+        // null if a unique leaf is not reachable by its schema path (through a choice), any change of an entry then affects it
+        private final Set<SchemaPath> m_uniqueLeafPaths;
+        private final Map<ModelNodeId, List<UniqueConstraintCheck>> m_entryValues = new HashMap<>();
+        private final List<Map<UniqueConstraintCheck, ModelNodeId>> m_owners = new ArrayList<>();
+
+        private IndexedList(List<Set<SchemaPath>> constraintPaths, Set<SchemaPath> uniqueLeafPaths) {
+            m_constraintPaths = constraintPaths;
+            m_uniqueLeafPaths = uniqueLeafPaths;
+            for (int i = 0; i < constraintPaths.size(); i++) {
+                m_owners.add(new HashMap<>());
+            }
+        }
+
+        private synchronized ModelNodeId getOwner(int constraint, UniqueConstraintCheck value) {
+            return m_owners.get(constraint).get(value);
+        }
+
+        private synchronized void putAll(Map<ModelNodeId, List<UniqueConstraintCheck>> entryValues) {
+            for (Map.Entry<ModelNodeId, List<UniqueConstraintCheck>> entry : entryValues.entrySet()) {
+                List<UniqueConstraintCheck> oldValues = m_entryValues.remove(entry.getKey());
+                if (oldValues != null) {
+                    for (int i = 0; i < oldValues.size(); i++) {
+                        if (oldValues.get(i) != null) {
+                            m_owners.get(i).remove(oldValues.get(i), entry.getKey());
+                        }
+                    }
+                }
+                List<UniqueConstraintCheck> newValues = entry.getValue();
+                if (newValues != null) {
+                    m_entryValues.put(entry.getKey(), newValues);
+                    for (int i = 0; i < newValues.size(); i++) {
+                        if (newValues.get(i) != null) {
+                            m_owners.get(i).put(newValues.get(i), entry.getKey());
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean isAffectedBy(ChangeTreeNode entryNode, ChangeTreeNode changeTree) {
+            if (entryNode.getChange() != ChangeTreeNode.ChangeType.modify || m_uniqueLeafPaths == null) {
+                return true;
+            }
+            for (SchemaPath uniqueLeafPath : m_uniqueLeafPaths) {
+                Map<ModelNodeId, ChangeTreeNode> leafNodes = changeTree.getNodesIndex().get(uniqueLeafPath);
+                if (leafNodes != null) {
+                    for (ModelNodeId leafParentId : leafNodes.keySet()) {
+                        if (leafParentId.beginsWith(entryNode.getId())) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The values of a list instance as changed by the edits of a request, on top of its committed values.
+     */
+    static final class ListChange {
+        private final IndexedList m_list;
+        private boolean m_isIndexed;
+        // the values of the entries read during the request, null for the deleted entries
+        private final Map<ModelNodeId, List<UniqueConstraintCheck>> m_changedValues = new LinkedHashMap<>();
+        private final List<Map<UniqueConstraintCheck, Set<ModelNodeId>>> m_changedOwners = new ArrayList<>();
+        private final Map<ChangeTreeNode, Boolean> m_checkedChangeTrees = new IdentityHashMap<>();
+
+        private ListChange(IndexedList list) {
+            m_list = list;
+            m_isIndexed = !list.m_entryValues.isEmpty();
+            for (int i = 0; i < list.m_constraintPaths.size(); i++) {
+                m_changedOwners.add(new HashMap<>());
+            }
+        }
+
+        /**
+         * @return false if the list instance has no values yet, its entries must then all be checked and indexed with
+         * {@link #indexAll}
+         */
+        boolean isIndexed() {
+            return m_isIndexed;
+        }
+
+        void indexAll(Map<ModelNodeId, List<UniqueConstraintCheck>> entryValues, ChangeTreeNode changeTree) {
+            m_changedValues.clear();
+            for (Map<UniqueConstraintCheck, Set<ModelNodeId>> owners : m_changedOwners) {
+                owners.clear();
+            }
+            for (Map.Entry<ModelNodeId, List<UniqueConstraintCheck>> entry : entryValues.entrySet()) {
+                setValues(entry.getKey(), entry.getValue());
+            }
+            m_isIndexed = true;
+            markChecked(changeTree);
+        }
+
+        /**
+         * Replaces the values of the entries, the deleted entries having null values, and returns for each constraint the
+         * entries whose values are already owned by another entry, in the order of the entries.
+         */
+        List<List<ModelNodeId>> change(Map<ModelNodeId, List<UniqueConstraintCheck>> entryValues) {
+            for (ModelNodeId entry : entryValues.keySet()) {
+                setValues(entry, null);
+            }
+            List<List<ModelNodeId>> nonUniqueEntries = new ArrayList<>();
+            for (int i = 0; i < m_changedOwners.size(); i++) {
+                List<ModelNodeId> nonUnique = new ArrayList<>();
+                for (Map.Entry<ModelNodeId, List<UniqueConstraintCheck>> entry : entryValues.entrySet()) {
+                    UniqueConstraintCheck value = entry.getValue() == null ? null : entry.getValue().get(i);
+                    if (value != null) {
+                        if (isOwned(i, value)) {
+                            nonUnique.add(entry.getKey());
+                        }
+                        m_changedOwners.get(i).computeIfAbsent(value, v -> new HashSet<>()).add(entry.getKey());
+                    }
+                }
+                nonUniqueEntries.add(nonUnique);
+            }
+            // the owners are already up to date
+            m_changedValues.putAll(entryValues);
+            return nonUniqueEntries;
+        }
+
+        void markChecked(ChangeTreeNode changeTree) {
+            if (changeTree != null) {
+                m_checkedChangeTrees.put(changeTree, Boolean.TRUE);
+            }
+        }
+
+        private boolean isOwned(int constraint, UniqueConstraintCheck value) {
+            Set<ModelNodeId> changedOwners = m_changedOwners.get(constraint).get(value);
+            if (changedOwners != null && !changedOwners.isEmpty()) {
+                return true;
+            }
+            ModelNodeId owner = m_list.getOwner(constraint, value);
+            return owner != null && !m_changedValues.containsKey(owner);
+        }
+
+        private void setValues(ModelNodeId entry, List<UniqueConstraintCheck> values) {
+            List<UniqueConstraintCheck> oldValues = m_changedValues.put(entry, values);
+            if (oldValues != null) {
+                for (int i = 0; i < oldValues.size(); i++) {
+                    Set<ModelNodeId> owners = oldValues.get(i) == null ? null : m_changedOwners.get(i).get(oldValues.get(i));
+                    if (owners != null) {
+                        owners.remove(entry);
+                    }
+                }
+            }
+            if (values != null) {
+                for (int i = 0; i < values.size(); i++) {
+                    if (values.get(i) != null) {
+                        m_changedOwners.get(i).computeIfAbsent(values.get(i), v -> new HashSet<>()).add(entry);
+                    }
+                }
+            }
+        }
+    }
+}
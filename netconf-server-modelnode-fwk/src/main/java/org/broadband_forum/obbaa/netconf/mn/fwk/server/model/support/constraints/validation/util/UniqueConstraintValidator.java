@@ -16,16 +16,16 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.util;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
 import org.broadband_forum.obbaa.netconf.api.util.NetconfResources;
+import org.broadband_forum.obbaa.netconf.mn.fwk.ChangeTreeNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.constraints.payloadparsing.typevalidators.ValidationException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.constraints.payloadparsing.util.ChoiceCaseNodeUtil;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeRdn;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.DataStoreException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ChildListHelper;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ConfigLeafAttribute;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeGetException;
@@ -33,6 +33,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeWi
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.DSValidationContext;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.TimingLogger;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.ValidatedUniqueConstraints;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.MNKeyUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
@@ -82,9 +83,7 @@ public class UniqueConstraintValidator {
                 QName qName = listSchemaNode.getQName();
                 TimingLogger.startConstraint(TimingLogger.ConstraintType.UNIQUE, qName.toString());
                 try {
-                    Collection<ModelNode> childModelNodes = getChildListModelNodeFromParentNode(modelNode, listSchemaNode);
-                    validateUniqueConstraint(listSchemaNode.getUniqueConstraints(), modelNode, childModelNodes,
-                            qName.getLocalName(), qName.getNamespace().toString(), listSchemaNode.getPath());
+                    validateUniqueConstraint(modelNode, listSchemaNode, validationContext.getChangeTree());
                 } finally {
                     TimingLogger.endConstraint(TimingLogger.ConstraintType.UNIQUE, qName.toString());
                 }
@@ -106,56 +105,178 @@ public class UniqueConstraintValidator {
         return childModelNodes;
     }
 
-    private static void validateUniqueConstraint(Collection<UniqueConstraint> constraints, ModelNode parentModelNode,
-                                            Collection<ModelNode> childModelNodes, String childName, String namespace, SchemaPath ListNodeSchemaPath) throws ValidationException {
+    /**
+     * When the list instance is in the {@link UniqueConstraintIndex} of the edit, only its entries in the change tree
+     * are read and looked up in the index. Otherwise the unique leaves of all the constraints are read once per child,
+     * the values of each constraint are then indexed in a hash map so that a constraint is checked in a single pass over
+     * the children, and the values are handed to the index.
+     */
+    private static void validateUniqueConstraint(ModelNode parentModelNode, ListSchemaNode listSchemaNode, ChangeTreeNode changeTree)
+            throws ValidationException {
         SchemaRegistry registry = parentModelNode.getSchemaRegistry();
-        ValidationException violateUniqueException = DataStoreValidationErrors.getUniqueConstraintException();
-        Document doc = DocumentUtils.createDocument();
-        Element errorInfo = doc.createElementNS(NetconfResources.NETCONF_RPC_NS_1_0, NetconfResources.RPC_ERROR_INFO);
-        // validate each unique constraint
-        for (UniqueConstraint constraint : constraints) {
+        SchemaPath listPath = listSchemaNode.getPath();
+        List<Set<SchemaPath>> constraintPaths = new ArrayList<>();
+        Set<SchemaPath> allUniqueConstraintPaths = new HashSet<>();
+        for (UniqueConstraint constraint : listSchemaNode.getUniqueConstraints()) {
             Set<SchemaPath> uniqueConstraintPaths = new HashSet<>();
             for (SchemaNodeIdentifier.Relative relative : constraint.getTag()) {
                 uniqueConstraintPaths.add(relative.asSchemaPath());
             }
-            BiMap<ModelNode, UniqueConstraintCheck> modelNodeToAllUniqueAttr = HashBiMap.create();
-            boolean isUnique = true;
-            int nonUniqueChild = 0;
-            for (ModelNode childModelNode : childModelNodes) {
-                ModelNodeWithAttributes attr = (ModelNodeWithAttributes) childModelNode;
-                Map<SchemaPath, ConfigLeafAttribute> attributes = getAllUniqueConstraintAttributes(attr, uniqueConstraintPaths, registry, ListNodeSchemaPath);
-                if (attributes.keySet().containsAll(uniqueConstraintPaths)) {
-                    UniqueConstraintCheck unique = new UniqueConstraintCheck();
-                    for (SchemaPath schemaPath : uniqueConstraintPaths) {
-                        unique.m_attributes.put(schemaPath.toString(), attributes.get(schemaPath).getStringValue());
+            constraintPaths.add(uniqueConstraintPaths);
+            allUniqueConstraintPaths.addAll(uniqueConstraintPaths);
+        }
+        UniqueConstraintIndex.ListChange listChange = null;
+        if (changeTree != null) {
+            listChange = UniqueConstraintIndex.getListChange(parentModelNode.getModelNodeId(), listPath, constraintPaths,
+                    getUniqueLeafPaths(registry, listPath, allUniqueConstraintPaths));
+        }
+        if (listChange != null && listChange.isIndexed()) {
+            try {
+                validateChangedEntries(parentModelNode, listSchemaNode, constraintPaths, allUniqueConstraintPaths, changeTree, listChange);
+                return;
+            } catch (DataStoreException e) {
+                LOGGER.debug("Error while reading the changed entries of {}, all the entries are checked", listPath, e);
+            }
+        }
+        Collection<ModelNode> childModelNodes = getChildListModelNodeFromParentNode(parentModelNode, listSchemaNode);
+        List<ModelNode> children = new ArrayList<>(childModelNodes);
+        Map<ModelNodeId, List<UniqueConstraintCheck>> childValues = new LinkedHashMap<>();
+        for (ModelNode childModelNode : children) {
+            Map<SchemaPath, ConfigLeafAttribute> attributes = getAllUniqueConstraintAttributes((ModelNodeWithAttributes) childModelNode,
+                    allUniqueConstraintPaths, registry, listPath);
+            childValues.put(new ModelNodeId(childModelNode.getModelNodeId()), getUniqueValues(attributes, constraintPaths));
+        }
+        List<List<UniqueConstraintCheck>> values = new ArrayList<>(childValues.values());
+        // validate each unique constraint
+        for (int constraint = 0; constraint < constraintPaths.size(); constraint++) {
+            Map<UniqueConstraintCheck, ModelNode> uniqueValuesIndex = new HashMap<>();
+            List<ModelNode> nonUniqueChildren = new ArrayList<>();
+            UniqueConstraintCheck nonUniqueValue = null;
+            for (int i = 0; i < children.size(); i++) {
+                UniqueConstraintCheck unique = values.get(i).get(constraint);
+                if (unique != null && uniqueValuesIndex.putIfAbsent(unique, children.get(i)) != null) {
+                    nonUniqueChildren.add(children.get(i));
+                    if (nonUniqueValue == null) {
+                        nonUniqueValue = unique;
                     }
-                    try {
-                        modelNodeToAllUniqueAttr.put(childModelNode, unique);
-                    } catch (IllegalArgumentException e) {
-                        ModelNodeId id = buildModelNodeId(parentModelNode, childName, namespace);
-                        isUnique = false;
-                        nonUniqueChild++;
-                        Element nonUnique = doc.createElementNS(NetconfResources.NETCONF_YANG_1, "non-unique");
-                        ModelNodeId childModelNodeId = buildModelNodeId(childModelNode, childName, namespace);
-                        String instanceIdentifier = childModelNodeId.xPathString(registry);
-                        nonUnique.setTextContent(instanceIdentifier);
-                        errorInfo.appendChild(nonUnique);
-                        violateUniqueException.getRpcError().setErrorPath(id.xPathString(registry), id.xPathStringNsByPrefix(registry));
-                        if(nonUniqueChild == 1) {
-                            violateUniqueException.getRpcError().setErrorMessage(e.getMessage());
-                        }
+                }
+            }
+            if (!nonUniqueChildren.isEmpty()) {
+                throw getNonUniqueException(parentModelNode, listSchemaNode, nonUniqueChildren, nonUniqueValue);
+            }
+        }
+        if (listChange != null) {
+            listChange.indexAll(childValues, changeTree);
+        }
+    }
+
+    private static void validateChangedEntries(ModelNode parentModelNode, ListSchemaNode listSchemaNode, List<Set<SchemaPath>> constraintPaths,
+                                               Set<SchemaPath> allUniqueConstraintPaths, ChangeTreeNode changeTree,
+                                               UniqueConstraintIndex.ListChange listChange) throws ValidationException {
+        SchemaRegistry registry = parentModelNode.getSchemaRegistry();
+        SchemaPath listPath = listSchemaNode.getPath();
+        ModelNodeId parentId = parentModelNode.getModelNodeId();
+        Map<ModelNodeId, ChangeTreeNode> listNodes = changeTree.getNodesIndex() == null ? null : changeTree.getNodesIndex().get(listPath);
+        Map<ModelNodeId, List<UniqueConstraintCheck>> entryValues = new LinkedHashMap<>();
+        Map<ModelNodeId, ModelNode> entries = new HashMap<>();
+        if (listNodes != null) {
+            for (ChangeTreeNode listNode : listNodes.values()) {
+                if (listNode.getParent() == null || !parentId.equals(listNode.getParent().getId())) {
+                    continue;
+                }
+                ModelNodeId entryId = new ModelNodeId(listNode.getId());
+                ModelNode entry = null;
+                if (!ChangeTreeNode.ChangeType.isDelete(listNode.getChange())) {
+                    entry = parentModelNode.getModelNodeDSM().findNode(listPath, MNKeyUtil.getModelNodeKey(entryId, listPath, registry),
+                            parentId, registry);
+                }
+                if (entry == null) {
+                    entryValues.put(entryId, null);
+                } else {
+                    entries.put(entryId, entry);
+                    Map<SchemaPath, ConfigLeafAttribute> attributes = getAllUniqueConstraintAttributes((ModelNodeWithAttributes) entry,
+                            allUniqueConstraintPaths, registry, listPath);
+                    entryValues.put(entryId, getUniqueValues(attributes, constraintPaths));
+                }
+            }
+        }
+        if (!entryValues.isEmpty()) {
+            List<List<ModelNodeId>> nonUniqueEntries = listChange.change(entryValues);
+            for (int constraint = 0; constraint < nonUniqueEntries.size(); constraint++) {
+                List<ModelNodeId> nonUnique = nonUniqueEntries.get(constraint);
+                if (!nonUnique.isEmpty()) {
+                    List<ModelNode> nonUniqueChildren = new ArrayList<>();
+                    for (ModelNodeId entryId : nonUnique) {
+                        nonUniqueChildren.add(entries.get(entryId));
                     }
+                    throw getNonUniqueException(parentModelNode, listSchemaNode, nonUniqueChildren,
+                            entryValues.get(nonUnique.get(0)).get(constraint));
                 }
             }
-            if (!isUnique) {
-                violateUniqueException.getRpcError().setErrorInfo(errorInfo);
-                throw violateUniqueException;
+        }
+        listChange.markChecked(changeTree);
+    }
+
+    /**
+     * @return the values of each constraint, null for a constraint without a value for all its leaves
+     */
+    private static List<UniqueConstraintCheck> getUniqueValues(Map<SchemaPath, ConfigLeafAttribute> attributes,
+                                                               List<Set<SchemaPath>> constraintPaths) {
+        List<UniqueConstraintCheck> values = new ArrayList<>(constraintPaths.size());
+        for (Set<SchemaPath> uniqueConstraintPaths : constraintPaths) {
+            UniqueConstraintCheck unique = null;
+            if (attributes.keySet().containsAll(uniqueConstraintPaths)) {
+                unique = new UniqueConstraintCheck();
+                for (SchemaPath schemaPath : uniqueConstraintPaths) {
+                    unique.m_attributes.put(schemaPath.toString(), attributes.get(schemaPath).getStringValue());
+                }
             }
+            values.add(unique);
         }
+        return values;
+    }
+
+    /**
+     * @return the absolute schema paths of the unique leaves, null if one of them is not reachable by its path, through a
+     * choice for instance
+     */
+    private static Set<SchemaPath> getUniqueLeafPaths(SchemaRegistry registry, SchemaPath listPath, Set<SchemaPath> uniqueConstraintPaths) {
+        Set<SchemaPath> uniqueLeafPaths = new HashSet<>();
+        for (SchemaPath uniqueConstraintPath : uniqueConstraintPaths) {
+            SchemaPath uniqueLeafPath = listPath.createChild(uniqueConstraintPath);
+            if (registry.getDataSchemaNode(uniqueLeafPath) == null) {
+                return null;
+            }
+            uniqueLeafPaths.add(uniqueLeafPath);
+        }
+        return uniqueLeafPaths;
+    }
+
+    private static ValidationException getNonUniqueException(ModelNode parentModelNode, ListSchemaNode listSchemaNode,
+                                                             List<ModelNode> nonUniqueChildren, UniqueConstraintCheck nonUniqueValue) {
+        SchemaRegistry registry = parentModelNode.getSchemaRegistry();
+        String childName = listSchemaNode.getQName().getLocalName();
+        String namespace = listSchemaNode.getQName().getNamespace().toString();
+        ValidationException violateUniqueException = DataStoreValidationErrors.getUniqueConstraintException();
+        Document doc = DocumentUtils.createDocument();
+        Element errorInfo = doc.createElementNS(NetconfResources.NETCONF_RPC_NS_1_0, NetconfResources.RPC_ERROR_INFO);
+        ModelNodeId id = buildModelNodeId(parentModelNode, childName, namespace);
+        for (ModelNode childModelNode : nonUniqueChildren) {
+            Element nonUnique = doc.createElementNS(NetconfResources.NETCONF_YANG_1, "non-unique");
+            ModelNodeId childModelNodeId = buildModelNodeId(childModelNode, childName, namespace);
+            nonUnique.setTextContent(childModelNodeId.xPathString(registry));
+            errorInfo.appendChild(nonUnique);
+        }
+        violateUniqueException.getRpcError().setErrorPath(id.xPathString(registry), id.xPathStringNsByPrefix(registry));
+        violateUniqueException.getRpcError().setErrorMessage("value already present: " + nonUniqueValue);
+        violateUniqueException.getRpcError().setErrorInfo(errorInfo);
+        return violateUniqueException;
     }
 
     private static Map<SchemaPath, ConfigLeafAttribute> getAllUniqueConstraintAttributes(ModelNodeWithAttributes attr, Set<SchemaPath> uniqueConstraintNodes, SchemaRegistry registry, SchemaPath listPath) {
         Map<SchemaPath, ConfigLeafAttribute> attributeValues = new HashMap<>();
+        // unique leaves often share their containers, each container is retrieved once
+        Map<SchemaPath, ModelNodeWithAttributes> retrievedContainers = new HashMap<>();
         for ( SchemaPath path : uniqueConstraintNodes){
             Iterator<QName> itr = path.getPathFromRoot().iterator();
             SchemaPath parentPath = listPath;
@@ -172,13 +293,20 @@ public class UniqueConstraintValidator {
                 }
                 parentPath = dsn.getPath();
                 if ( dsn instanceof ContainerSchemaNode){
-                    try {
-                        parent = (ModelNodeWithAttributes) parent.getChildContainerModelNode(qName);
-                    } catch (ModelNodeGetException e) {
-                        // Considering no child model node. So unique constraint should go through.
-                        dsn = null;
-                        break;
+                    ModelNodeWithAttributes container = retrievedContainers.get(parentPath);
+                    if (container == null) {
+                        try {
+                            container = (ModelNodeWithAttributes) parent.getChildContainerModelNode(qName);
+                        } catch (ModelNodeGetException e) {
+                            // Considering no child model node. So unique constraint should go through.
+                            dsn = null;
+                            break;
+                        }
+                        if (container != null) {
+                            retrievedContainers.put(parentPath, container);
+                        }
                     }
+                    parent = container;
                 }
             }
             if ( parent != null){
@@ -40,6 +40,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeWi
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EMNKeyUtil;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.yang.YangConstraintHelper;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.XmlUtil;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -80,6 +81,22 @@ public class DsmListModelNodeHelper extends YangConstraintHelper implements Chil
         return modelNodes;
     }
 
+    @Override
+    public Collection<ModelNode> getValue(ModelNode parentNode, Map<QName, ConfigLeafAttribute> matchCriteria, PagingInput pagingInput)
+            throws ModelNodeGetException {
+        ModelNodeId parentNodeId;
+        SchemaRegistry registry = m_schemaRegistry;
+        if (parentNode != null) {
+            parentNodeId = parentNode.getModelNodeId();
+            registry = parentNode.getSchemaRegistry();
+        } else {
+            parentNodeId = new ModelNodeId();
+        }
+        Collection<ModelNode> modelNodes = XmlUtil.createCollection(m_schemaNode);
+        modelNodes.addAll(m_modelNodeDSM.findNodes(m_schemaNode.getPath(), matchCriteria, parentNodeId, registry, pagingInput));
+        return modelNodes;
+    }
+
     @Override
     public ModelNode addChild(ModelNode parentNode, ModelNode childNode) throws ModelNodeSetException {
         ModelNodeId parentNodeId;
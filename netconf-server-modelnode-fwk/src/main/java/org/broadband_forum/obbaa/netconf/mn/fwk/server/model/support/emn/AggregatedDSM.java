@@ -17,6 +17,7 @@
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn;
 
 
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.ModelNode
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ConfigLeafAttribute;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ListEntryInfo;
 import org.broadband_forum.obbaa.netconf.mn.fwk.util.SchemaMountUtil;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
@@ -61,6 +63,13 @@ public class AggregatedDSM implements ModelNodeDataStoreManager {
         }
     }
 
+    @Override
+    public void abortModify() {
+        for(ModelNodeDataStoreManager dsm: m_modelNodeDSMRegistry.getAllDSMs()){
+            dsm.abortModify();
+        }
+    }
+
     @Override
     public List<ModelNode> listNodes(SchemaPath nodeType, SchemaRegistry mountRegistry) throws DataStoreException {
         return getModelNodeDSM(nodeType, mountRegistry).listNodes(nodeType, mountRegistry);
@@ -81,6 +90,17 @@ public class AggregatedDSM implements ModelNodeDataStoreManager {
             return getModelNodeDSM(nodeType, mountRegistry).findNodes(nodeType, matchCriteria, parentId, mountRegistry);
     }
 
+    @Override
+    public List<ModelNode> findNodes(SchemaPath nodeType, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, SchemaRegistry mountRegistry,
+                                     PagingInput pagingInput) throws DataStoreException {
+            return getModelNodeDSM(nodeType, mountRegistry).findNodes(nodeType, matchCriteria, parentId, mountRegistry, pagingInput);
+    }
+
+    @Override
+    public void prefetchChildNodes(SchemaPath childType, Collection<ModelNodeId> parentIds, SchemaRegistry mountRegistry) throws DataStoreException {
+        getModelNodeDSM(childType, mountRegistry).prefetchChildNodes(childType, parentIds, mountRegistry);
+    }
+
     @Override
     public ModelNode createNode(ModelNode modelNode, ModelNodeId parentId) throws DataStoreException {
         if(modelNode!=null){
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +35,9 @@ import javax.transaction.Transactional;
 import javax.transaction.Transactional.TxType;
 
 import org.broadband_forum.obbaa.netconf.api.util.SchemaPathUtil;
+import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
+import org.broadband_forum.obbaa.netconf.mn.fwk.schema.constraints.payloadparsing.typevalidators.ValidationException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.SubSystemRegistry;
@@ -48,8 +51,12 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ListEntryQN
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeHelperRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeWithAttributes;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PersistenceManagerUtil;
+import org.broadband_forum.obbaa.netconf.persistence.jpa.AbstractEntityDataStoreManager;
 import org.broadband_forum.obbaa.netconf.persistence.jpa.PredicateCondition;
+import org.broadband_forum.obbaa.netconf.server.RequestScope;
+import org.broadband_forum.obbaa.netconf.server.RequestTask;
 import org.broadband_forum.obbaa.netconf.stack.api.annotations.YangParentId;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
@@ -61,6 +68,8 @@ import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+import com.google.common.annotations.VisibleForTesting;
+
 /**
  * A ModelNodeDataStoreManager for nodeTypes which has corresponding entity classes
  */
@@ -71,9 +80,27 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
     private final PersistenceManagerUtil m_persistenceManagerUtil;
     private final SchemaRegistry m_schemaRegistry;
     private ModelNodeDSMRegistry m_modelNodeDSMRegistry;
+    private final RequestScopePrefetchCache m_prefetchCache = new RequestScopePrefetchCache();
+    private final RequestScopeBulkModifyContext m_bulkModifyContext = new RequestScopeBulkModifyContext();
     
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(AnnotationBasedModelNodeDataStoreManager.class, LogAppNames.NETCONF_STACK);
 
+    public static final String NC_ENABLE_LOCK_FREE_READS = "NC_ENABLE_LOCK_FREE_READS";
+
+    private static boolean c_lockFreeReads = Boolean.parseBoolean(SystemPropertyUtils.getInstance()
+            .getFromEnvOrSysProperty(NC_ENABLE_LOCK_FREE_READS, "false"));
+
+    static {
+        // the queries of the entity data store managers that are not given a lock mode follow the same rule
+        AbstractEntityDataStoreManager.setReadLockModeSupplier(AnnotationBasedModelNodeDataStoreManager::getReadLockMode);
+    }
+
+    public static final String NC_BULK_MODIFY_BATCH_SIZE = "NC_BULK_MODIFY_BATCH_SIZE";
+
+    private static final String DEFAULT_BULK_MODIFY_BATCH_SIZE = "0";
+
+    private static int c_bulkModifyBatchSize = getBulkModifyBatchSizeFromProperty();
+
     public AnnotationBasedModelNodeDataStoreManager(PersistenceManagerUtil persistenceManagerUtil, EntityRegistry entityRegistry,
                                                     SchemaRegistry schemaRegistry, ModelNodeHelperRegistry modelNodeHelperRegistry,
                                                     SubSystemRegistry subsystemRegistry, ModelNodeDSMRegistry modelNodeDSMRegistry){
@@ -88,14 +115,90 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
         }
     }
 
+    /**
+     * The entities read by get and get-config requests are not locked when NC_ENABLE_LOCK_FREE_READS is set, so that these
+     * requests neither wait for nor block the edits of the same rows. The edits keep locking the rows they modify.
+     */
+    protected static LockModeType getReadLockMode() {
+        if (c_lockFreeReads) {
+            Object requestType = RequestScope.getCurrentScope().getFromCache(RequestTask.CURRENT_REQ_TYPE);
+            if (RequestTask.REQ_TYPE_GET.equals(requestType) || RequestTask.REQ_TYPE_GET_CONFIG.equals(requestType)) {
+                return LockModeType.NONE;
+            }
+        }
+        return LockModeType.PESSIMISTIC_READ;
+    }
+
+    @VisibleForTesting
+    static void setLockFreeReads(boolean lockFreeReads) {
+        c_lockFreeReads = lockFreeReads;
+    }
+
+    private static int getBulkModifyBatchSizeFromProperty() {
+        String batchSize = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(NC_BULK_MODIFY_BATCH_SIZE,
+                DEFAULT_BULK_MODIFY_BATCH_SIZE);
+        try {
+            return batchSize == null ? 0 : Integer.parseInt(batchSize);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid {} '{}', bulk modifications are disabled", NC_BULK_MODIFY_BATCH_SIZE, batchSize);
+            return 0;
+        }
+    }
+
+    @VisibleForTesting
+    static void setBulkModifyBatchSize(int bulkModifyBatchSize) {
+        c_bulkModifyBatchSize = bulkModifyBatchSize;
+    }
+
+    /**
+     * When NC_BULK_MODIFY_BATCH_SIZE is greater than 0, the modifications made until {@link #endModify()} are not flushed
+     * node by node: they are flushed once at the end, in JDBC batches of that size, and the parent of the created and deleted
+     * nodes is looked up and locked once. A failure of that flush is reported as an operation-failed error on the deepest
+     * node containing the parents of the created and deleted nodes.
+     */
     @Override
     public void beginModify() {
-
+        m_prefetchCache.clear();
+        if (c_bulkModifyBatchSize > 0) {
+            // a modification of the request that failed before its endModify must not leave its batch size behind
+            resetJdbcBatchSize(m_bulkModifyContext.begin());
+        }
     }
 
     @Override
     public void endModify() {
+        if (m_bulkModifyContext.isActive()) {
+            List<EntityDataStoreManager> modifiedDSMs = m_bulkModifyContext.getModifiedDSMs();
+            try {
+                for (EntityDataStoreManager modifiedDSM : modifiedDSMs) {
+                    modifiedDSM.flush();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Error while flushing the bulk modification", e);
+                throw new ValidationException(m_bulkModifyContext.getFlushError(e));
+            } finally {
+                m_bulkModifyContext.end();
+                resetJdbcBatchSize(modifiedDSMs);
+            }
+        }
+    }
 
+    /**
+     * The modifications of a bulk modification are left unflushed, they are dropped with the rolled back transaction.
+     */
+    @Override
+    public void abortModify() {
+        if (m_bulkModifyContext.isActive()) {
+            List<EntityDataStoreManager> modifiedDSMs = m_bulkModifyContext.getModifiedDSMs();
+            m_bulkModifyContext.end();
+            resetJdbcBatchSize(modifiedDSMs);
+        }
+    }
+
+    private void resetJdbcBatchSize(List<EntityDataStoreManager> entityDSMs) {
+        for (EntityDataStoreManager entityDSM : entityDSMs) {
+            entityDSM.setJdbcBatchSize(null);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -153,7 +256,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
         Class klass = m_entityRegistry.getEntityClass(nodeType);
         if(klass != null){
             Object pk = buildPrimaryKey(nodeType, klass, key, parentId);
-            Object entity = getEntityDataStoreManager(klass).findById(klass, pk,LockModeType.PESSIMISTIC_READ);
+            Object entity = getEntityDataStoreManager(klass).findById(klass, pk, getReadLockMode());
             if(entity == null){
                 return null;
             }
@@ -180,6 +283,40 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
         return nodes;
     }
 
+    @Override
+    public List<ModelNode> findNodes(SchemaPath nodeType, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, SchemaRegistry mountRegistry,
+                                     PagingInput pagingInput) throws DataStoreException {
+        LOGGER.debug("findNodes with nodeType: {} matchCriteria: {} parentId: {} pagingInput: {}", nodeType, matchCriteria, parentId, pagingInput);
+        Class klass = m_entityRegistry.getEntityClass(nodeType);
+        Map<String, Object> matchValues = getMatchValues(klass, matchCriteria, parentId);
+        List<Object> entities = getEntityDataStoreManager(klass).findWithPagingAndOrderByColumns(klass, pagingInput, matchValues,
+                getPagingOrderByColumns(klass, nodeType, mountRegistry));
+        return getModelNodes(entities);
+    }
+
+    /**
+     * A page is only stable if the entries are sorted, lists ordered by user are sorted by their order column and the others by key.
+     */
+    private List<String> getPagingOrderByColumns(Class klass, SchemaPath nodeType, SchemaRegistry mountRegistry) {
+        List<String> orderByColumns = new ArrayList<>();
+        String orderByFieldName = m_entityRegistry.getOrderByFieldName(klass);
+        if (orderByFieldName != null) {
+            orderByColumns.add(orderByFieldName);
+            return orderByColumns;
+        }
+        SchemaRegistry schemaRegistry = mountRegistry == null ? m_schemaRegistry : mountRegistry;
+        DataSchemaNode schemaNode = schemaRegistry.getDataSchemaNode(nodeType);
+        if (schemaNode instanceof ListSchemaNode) {
+            for (QName keyQName : ((ListSchemaNode) schemaNode).getKeyDefinition()) {
+                String fieldName = m_entityRegistry.getFieldName(klass, keyQName);
+                if (fieldName != null) {
+                    orderByColumns.add(fieldName);
+                }
+            }
+        }
+        return orderByColumns;
+    }
+
     private List<ModelNode> getModelNodes(List<Object> entities) {
         List<ModelNode> nodes = new ArrayList<>();
         for(Object entity : entities){
@@ -194,13 +331,19 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
 
     protected List<Object> getEntities(Class storedParentClass, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId) throws
             DataStoreException {
-        Map<String, Object> matchValues = new HashMap<>();
-        String yangParentId = m_entityRegistry.getYangParentIdFieldName(storedParentClass);
-        if (yangParentId == null || yangParentId.isEmpty()){
-            matchValues.put(YangParentId.PARENT_ID_FIELD_NAME, parentId.getModelNodeIdAsString());
-        }else{
-            matchValues.put(yangParentId, parentId.getModelNodeIdAsString());
+        if (matchCriteria.isEmpty()) {
+            List<Object> prefetchedEntities = m_prefetchCache.getChildEntities(storedParentClass, parentId.getModelNodeIdAsString());
+            if (prefetchedEntities != null) {
+                return new ArrayList<>(prefetchedEntities);
+            }
         }
+        Map<String, Object> matchValues = getMatchValues(storedParentClass, matchCriteria, parentId);
+        return getEntityDataStoreManager(storedParentClass).findByMatchValue(storedParentClass, matchValues, m_entityRegistry.getOrderByFieldName(storedParentClass));
+    }
+
+    private Map<String, Object> getMatchValues(Class storedParentClass, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId) {
+        Map<String, Object> matchValues = new HashMap<>();
+        matchValues.put(getParentIdFieldName(storedParentClass), parentId.getModelNodeIdAsString());
         for(Map.Entry<QName, ConfigLeafAttribute> entry : matchCriteria.entrySet()){
             String fieldName = m_entityRegistry.getFieldName(storedParentClass, entry.getKey());
             if(fieldName == null){
@@ -211,8 +354,55 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
             }
             matchValues.put(fieldName, entry.getValue().getStringValue());
         }
-        return getEntityDataStoreManager(storedParentClass).findByMatchValue(storedParentClass, matchValues, m_entityRegistry.getOrderByFieldName(storedParentClass));
+        return matchValues;
+    }
+    private String getParentIdFieldName(Class klass) {
+        String yangParentId = m_entityRegistry.getYangParentIdFieldName(klass);
+        if (yangParentId == null || yangParentId.isEmpty()){
+            return YangParentId.PARENT_ID_FIELD_NAME;
+        }
+        return yangParentId;
     }
+
+    /**
+     * Loads the children of all the parents with one IN query per chunk of parents, later reads of the children of one of these
+     * parents in the same request are served from the request scope until the DSM modifies an entity.
+     */
+    @Override
+    public void prefetchChildNodes(SchemaPath childType, Collection<ModelNodeId> parentIds, SchemaRegistry mountRegistry) {
+        Class klass = m_entityRegistry.getEntityClass(childType);
+        Method parentIdGetter = klass == null ? null : m_entityRegistry.getParentIdGetter(klass);
+        if (parentIdGetter == null || parentIds.size() < 2) {
+            return;
+        }
+        Map<String, List<Object>> childEntities = new LinkedHashMap<>();
+        for (ModelNodeId parentId : parentIds) {
+            String parentIdString = parentId.getModelNodeIdAsString();
+            if (m_prefetchCache.getChildEntities(klass, parentIdString) == null) {
+                childEntities.put(parentIdString, new ArrayList<>());
+            }
+        }
+        if (childEntities.size() < 2) {
+            return;
+        }
+        LOGGER.debug("prefetchChildNodes with childType: {} for {} parents", childType, childEntities.size());
+        List<Object> entities = getEntityDataStoreManager(klass).findByMatchValueAndInValues(klass, Collections.emptyMap(),
+                getParentIdFieldName(klass), childEntities.keySet(), m_entityRegistry.getOrderByFieldName(klass));
+        try {
+            for (Object entity : entities) {
+                List<Object> children = childEntities.get(parentIdGetter.invoke(entity));
+                if (children != null) {
+                    children.add(entity);
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new DataStoreException(e);
+        }
+        for (Map.Entry<String, List<Object>> entry : childEntities.entrySet()) {
+            m_prefetchCache.putChildEntities(klass, entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public ModelNode createNode(ModelNode modelNode, ModelNodeId parentId) {
         return createNode(modelNode, parentId, -1);
@@ -220,6 +410,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
 
     @Override
 	public ModelNode createNode(ModelNode modelNode, ModelNodeId parentId, int insertIndex) {
+        m_prefetchCache.clear();
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("createNode : {} parentId: {}", modelNode.getModelNodeSchemaPath(),parentId);
         }
@@ -246,8 +437,9 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
             if (newEntity !=null) {
                 createEntityAndUpdateParent(newEntity, nodeType, klass, parentId);
             }
+            m_bulkModifyContext.addModifiedParent(parentId, modelNode.getSchemaRegistry());
             //flush to make sure newly created objects are flushed
-            getEntityDataStoreManager(klass).getEntityManager().flush();
+            flushUnlessBulkModify(klass);
         }
         return modelNode;
 	}
@@ -255,6 +447,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
     @SuppressWarnings("unchecked")
     @Override
     public void updateIndex(ModelNode modelNode, ModelNodeId parentId, int newIndex) {
+        m_prefetchCache.clear();
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("updateIndex Of Node: {} parentId: {}", modelNode.getModelNodeSchemaPath(), parentId);
         }
@@ -350,6 +543,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
     @Transactional(value=TxType.REQUIRED,rollbackOn={DataStoreException.class,RuntimeException.class})
     public void updateNode(ModelNode modelNode, ModelNodeId parentId, Map<QName,ConfigLeafAttribute> configAttributes,
                            Map<QName, LinkedHashSet<ConfigLeafAttribute>> leafListAttributes, int insertIndex, boolean removeNode) {
+        m_prefetchCache.clear();
 	    if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("updateNode : {}, parentId: {}",modelNode.getModelNodeSchemaPath() ,parentId);
 	    }
@@ -377,6 +571,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
                 }
                 m_entityToModelNodeMapper.updateEntity(entity, modelNode.getModelNodeSchemaPath(), entityModelNode,
                         m_entityRegistry.getEntityClass(modelNode.getModelNodeSchemaPath()), parentId, insertIndex);
+                addToBulkModify(getEntityDataStoreManager(entity.getClass()));
             } else {
             	entityModelNode = (ModelNodeWithAttributes) modelNode;
             	createNode(entityModelNode, parentId, insertIndex);
@@ -386,6 +581,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
 
     @Override
     public void removeNode(ModelNode modelNode, ModelNodeId parentId) {
+        m_prefetchCache.clear();
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("removeNode : {} parentId: {}",modelNode.getModelNodeSchemaPath(),parentId);
         }
@@ -395,8 +591,10 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
             klass = entity.getClass();
             deleteEntityAndUpdateParent(entity, modelNode, parentId);
         }
+        m_bulkModifyContext.clearLockedParents();
+        m_bulkModifyContext.addModifiedParent(parentId, modelNode.getSchemaRegistry());
         //flush to make sure deleted objects are flushed
-        getEntityDataStoreManager(klass).getEntityManager().flush();
+        flushUnlessBulkModify(klass);
     }
 
     /**
@@ -408,6 +606,8 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
      */
     @Override
     public void removeAllNodes(ModelNode parentNode, SchemaPath nodeType, ModelNodeId grandParentId) {
+        m_prefetchCache.clear();
+        m_bulkModifyContext.clearLockedParents();
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("removeAllNodes : {} parentId: {}",parentNode.getModelNodeSchemaPath(), grandParentId);
         }
@@ -415,10 +615,15 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
         if (entity!=null) {
             deleteAllChildEntities(entity, nodeType.getLastComponent());
         }
+        m_bulkModifyContext.addModifiedParent(grandParentId, parentNode.getSchemaRegistry());
     }
 
     protected Collection<Object> getChildEntities(SchemaPath childType, ModelNodeId parentId) {
         Class childEntityClass = m_entityRegistry.getEntityClass(childType);
+        List<Object> prefetchedEntities = m_prefetchCache.getChildEntities(childEntityClass, parentId.getModelNodeIdAsString());
+        if (prefetchedEntities != null) {
+            return new ArrayList<>(prefetchedEntities);
+        }
         Map<String, Object> matchBySchemaPathAndParentId = new HashMap<String, Object>();
         matchBySchemaPathAndParentId.put(m_entityRegistry.getYangParentIdFieldName(childEntityClass), parentId.getModelNodeIdAsString());
         return getEntityDataStoreManager(childEntityClass).findByMatchValue(childEntityClass, matchBySchemaPathAndParentId);
@@ -441,6 +646,37 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
         return EMNKeyUtil.buildPrimaryKey(klass,parentId, keys, m_entityRegistry, getEntityDataStoreManager(klass));
     }
 
+    private void flushUnlessBulkModify(Class klass) {
+        EntityDataStoreManager entityDSM = getEntityDataStoreManager(klass);
+        if (!addToBulkModify(entityDSM)) {
+            entityDSM.getEntityManager().flush();
+        }
+    }
+
+    /**
+     * @return false if no bulk modification is in progress
+     */
+    private boolean addToBulkModify(EntityDataStoreManager entityDSM) {
+        if (m_bulkModifyContext.isActive()) {
+            if (m_bulkModifyContext.addModifiedDSM(entityDSM)) {
+                entityDSM.setJdbcBatchSize(c_bulkModifyBatchSize);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private Object findParentEntity(Class parentKlass, Object parentPK, LockModeType lockMode) {
+        Object parentEntity = m_bulkModifyContext.getLockedParent(parentKlass, parentPK, lockMode);
+        if (parentEntity == null) {
+            parentEntity = getEntityDataStoreManager(parentKlass).findById(parentKlass, parentPK, lockMode);
+            if (parentEntity != null) {
+                m_bulkModifyContext.putLockedParent(parentKlass, parentPK, lockMode, parentEntity);
+            }
+        }
+        return parentEntity;
+    }
+
     private EntityDataStoreManager getEntityDataStoreManager(Class klass) {
         if (klass != null) {
             EntityDataStoreManager entityDSM = m_modelNodeDSMRegistry.getEntityDSM(klass);
@@ -465,7 +701,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
                     Object parentPK = buildPrimaryKey(parentSchemaPath, parentKlass,
                             MNKeyUtil.getModelNodeKey(m_schemaRegistry, parentSchemaPath, modelNodeId),
                             EMNKeyUtil.getParentId(m_schemaRegistry, parentSchemaPath, modelNodeId));
-                    Object parentEntity = getEntityDataStoreManager(parentKlass).findById(parentKlass, parentPK, LockModeType.PESSIMISTIC_READ);
+                    Object parentEntity = findParentEntity(parentKlass, parentPK, LockModeType.PESSIMISTIC_READ);
                     if (parentEntity != null) {
                         getChildSetAndAddChild(parentEntity, newEntity, parentKlass, klass, m_schemaRegistry.getDataSchemaNode(nodeSchemaPath));
                     }
@@ -491,7 +727,7 @@ public class AnnotationBasedModelNodeDataStoreManager implements ModelNodeDataSt
                 if (parentKlass != null) {
                     Object parentPK = buildPrimaryKey(parentSchemaPath, parentKlass, MNKeyUtil.getModelNodeKey(m_schemaRegistry, parentSchemaPath, parentModelNodeId),
                             EMNKeyUtil.getParentId(m_schemaRegistry, parentSchemaPath, parentModelNodeId));
-                    Object parentEntity = getEntityDataStoreManager(parentKlass).findById(parentKlass, parentPK, LockModeType.PESSIMISTIC_WRITE);
+                    Object parentEntity = findParentEntity(parentKlass, parentPK, LockModeType.PESSIMISTIC_WRITE);
                     if (parentEntity != null) {
                         DataSchemaNode schemaNode = m_schemaRegistry.getDataSchemaNode(nodeSchemaPath);
                         if(schemaNode instanceof ListSchemaNode) {
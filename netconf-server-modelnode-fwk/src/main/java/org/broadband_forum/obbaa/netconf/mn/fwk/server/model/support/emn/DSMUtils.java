@@ -97,6 +97,17 @@ public class DSMUtils {
         return entityObject.getClass();
     }
 
+    /**
+     * @return the accessor registered for the class, or one built from its registered getters
+     */
+    public static EntityAccessor getEntityAccessor(EntityRegistry entityRegistry, Class<?> klass) {
+        EntityAccessor entityAccessor = entityRegistry.getEntityAccessor(klass);
+        if (entityAccessor == null) {
+            entityAccessor = EntityAccessor.forClass(entityRegistry, klass);
+        }
+        return entityAccessor;
+    }
+
     private static Integer getInsertIndex(Object leafListEntity, Class leafListKlass, EntityRegistry entityRegistry) {
         Method orderByUserGetter = entityRegistry.getOrderByUserGetter(leafListKlass);
         if(orderByUserGetter != null){
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Reads the parent id, the schema path and the YANG attributes of the entities of one class through method handles
+ * resolved once when the class is registered, instead of looking up and invoking a reflective Method per field and entity.
+ * <p>
+ * The handles are unreflected from the getters found by the EntityRegistryBuilder, so they see exactly the same members
+ * and work with entity classes loaded by any bundle.
+ */
+public class EntityAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle m_parentIdGetter;
+    private final MethodHandle m_schemaPathGetter;
+    private final Map<QName, MethodHandle> m_attributeGetters;
+    private final Map<QName, MethodHandle> m_attributeNSGetters;
+
+    public EntityAccessor(Method parentIdGetter, Method schemaPathGetter, Map<QName, Method> attributeGetters,
+                          Map<QName, Method> attributeNSGetters) {
+        m_parentIdGetter = unreflect(parentIdGetter);
+        m_schemaPathGetter = unreflect(schemaPathGetter);
+        m_attributeGetters = unreflect(attributeGetters);
+        m_attributeNSGetters = unreflect(attributeNSGetters);
+    }
+
+    public static EntityAccessor forClass(EntityRegistry entityRegistry, Class klass) {
+        return new EntityAccessor(entityRegistry.getParentIdGetter(klass), entityRegistry.getSchemaPathGetter(klass),
+                entityRegistry.getAttributeGetters(klass), entityRegistry.getYangAttributeNSGetters(klass));
+    }
+
+    public String getParentId(Object entity) {
+        return (String) get(m_parentIdGetter, entity);
+    }
+
+    public String getSchemaPath(Object entity) {
+        return (String) get(m_schemaPathGetter, entity);
+    }
+
+    public Set<QName> getAttributes() {
+        return m_attributeGetters.keySet();
+    }
+
+    public String getAttribute(Object entity, QName attribute) {
+        return (String) get(m_attributeGetters.get(attribute), entity);
+    }
+
+    public boolean hasAttributeNS(QName attribute) {
+        return m_attributeNSGetters.containsKey(attribute);
+    }
+
+    public String getAttributeNS(Object entity, QName attribute) {
+        return (String) get(m_attributeNSGetters.get(attribute), entity);
+    }
+
+    private static Object get(MethodHandle getter, Object entity) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ModelNodeMapperException("Error while reading entity of " + DSMUtils.getEntityClass(entity), e);
+        }
+    }
+
+    private static Map<QName, MethodHandle> unreflect(Map<QName, Method> getters) {
+        if (getters == null || getters.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<QName, MethodHandle> handles = new LinkedHashMap<>();
+        for (Map.Entry<QName, Method> getter : getters.entrySet()) {
+            handles.put(getter.getKey(), unreflect(getter.getValue()));
+        }
+        return handles;
+    }
+
+    private static MethodHandle unreflect(Method getter) {
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(getter).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ModelNodeMapperException("Error while creating accessor for " + getter, e);
+        }
+    }
+}
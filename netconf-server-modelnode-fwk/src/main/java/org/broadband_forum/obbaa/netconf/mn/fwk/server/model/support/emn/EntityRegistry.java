@@ -85,6 +85,16 @@ public interface EntityRegistry extends WrappedService<EntityRegistry> {
     void addYangLeafListSetters(Class subrootClass, Map<QName, Method> yangLeafListSetters);
     Map<QName, Method> getYangLeafListSetters(Class klass);
     
+    /**
+     * Registers the accessor built from the getters of the class, it must be added after the getters.
+     */
+    void addEntityAccessor(Class klass, EntityAccessor entityAccessor);
+
+    /**
+     * @return null if no accessor was registered for the class
+     */
+    EntityAccessor getEntityAccessor(Class klass);
+
     void addBigListType(Class klass, boolean bigListType);
     boolean getBigListType(Class klass);
 
@@ -74,6 +74,7 @@ public class EntityRegistryImpl implements EntityRegistry {
     private final ConcurrentHashMap<Class, Method> m_orderByUserGetters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Class, Method> m_orderByUserSetters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Class, Boolean> m_bigListType = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class, EntityAccessor> m_entityAccessors = new ConcurrentHashMap<>();
 
     private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(EntityRegistryImpl.class, LogAppNames.NETCONF_STACK);
     private ConcurrentHashMap<String, List<Class>> m_classesWithYangParentSchemaPathAnnotation = new ConcurrentHashMap<>();
@@ -345,6 +346,16 @@ public class EntityRegistryImpl implements EntityRegistry {
         return m_bigListType.get(klass);
     }
 
+    @Override
+    public void addEntityAccessor(Class klass, EntityAccessor entityAccessor) {
+        m_entityAccessors.put(klass, entityAccessor);
+    }
+
+    @Override
+    public EntityAccessor getEntityAccessor(Class klass) {
+        return m_entityAccessors.get(klass);
+    }
+
     @Override
     public void undeploy(String componentId) {
         Set<Class> classSet = m_componentClass.get(componentId);
@@ -365,6 +376,7 @@ public class EntityRegistryImpl implements EntityRegistry {
             m_yangLeafListSetters.keySet().removeAll(classSet);
             m_fieldNames.keySet().removeAll(classSet);
             m_bigListType.keySet().removeAll(classSet);
+            m_entityAccessors.keySet().removeAll(classSet);
             m_yangVisibilityControllerGetter.keySet().removeAll(classSet);
             m_yangVisibilityControllerSetter.keySet().removeAll(classSet);
         }
@@ -69,11 +69,10 @@ public class EntityToModelNodeMapperImpl implements EntityToModelNodeMapper {
         SchemaPath schemaPath;
         Class<?> klass = DSMUtils.getEntityClass(entityObject);
         SchemaPath parentSchemaPath = null;
+        EntityAccessor entityAccessor = DSMUtils.getEntityAccessor(m_entityRegistry, klass);
         try {
-            Method parentIdMethod = m_entityRegistry.getParentIdGetter(klass);
-            String parentIdStr = (String) parentIdMethod.invoke(entityObject);
-            Method schemaPathMethod = m_entityRegistry.getSchemaPathGetter(klass);
-            schemaPath = SchemaPathUtil.fromString((String) schemaPathMethod.invoke(entityObject));
+            String parentIdStr = entityAccessor.getParentId(entityObject);
+            schemaPath = SchemaPathUtil.fromString(entityAccessor.getSchemaPath(entityObject));
             schemaPath = m_schemaRegistry.addRevisions(schemaPath);
             if(parentIdStr!=null ){
                 parentId = new ModelNodeId(parentIdStr, m_entityRegistry.getQName(klass)
@@ -88,34 +87,24 @@ public class EntityToModelNodeMapperImpl implements EntityToModelNodeMapper {
                     parentId = EMNKeyUtil.populateNamespaces(parentId, parentSchemaPath, m_schemaRegistry);
                 }
             }
-        } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
+        } catch (IllegalArgumentException e) {
             throw new ModelNodeMapperException("Error while getting model node", e);
         }
 
         ModelNodeWithAttributes node = new ModelNodeWithAttributes(schemaPath,
                 parentId, m_modelNodeHelperRegistry, m_subsystemRegistry, m_schemaRegistry, modelNodeDSM);
         // Set the config attributes
-        Map<QName, Method> attributeGetters = m_entityRegistry.getAttributeGetters(klass);
-        Map<QName, Method> attributeNSGetters = m_entityRegistry.getYangAttributeNSGetters(klass);
         Map<QName, ConfigLeafAttribute> configValues = new HashMap<>();
-        for(Map.Entry<QName, Method> attributeGetter: attributeGetters.entrySet()){
-            try {
-                String value = (String)attributeGetter.getValue().invoke(entityObject);
-                if (value!=null) {
-                    Method identityRefNSGetter= attributeNSGetters.get(attributeGetter.getKey());
-                    ConfigLeafAttribute configLeafAttribute;
-                    if(identityRefNSGetter!=null){
-                        String namespace = (String)identityRefNSGetter.invoke(entityObject);
-                        configLeafAttribute = ConfigAttributeFactory.getConfigAttributeFromEntity(m_schemaRegistry,schemaPath,namespace,
-                                attributeGetter.getKey(),value);
-                    }else{
-                        configLeafAttribute = ConfigAttributeFactory.getConfigAttributeFromEntity(m_schemaRegistry,schemaPath,null,
-                                attributeGetter.getKey(),value);
-                    }
-                    configValues.put(attributeGetter.getKey(), configLeafAttribute);
+        for(QName attribute : entityAccessor.getAttributes()){
+            String value = entityAccessor.getAttribute(entityObject, attribute);
+            if (value!=null) {
+                String namespace = null;
+                if(entityAccessor.hasAttributeNS(attribute)){
+                    namespace = entityAccessor.getAttributeNS(entityObject, attribute);
                 }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new RuntimeException(e);
+                ConfigLeafAttribute configLeafAttribute = ConfigAttributeFactory.getConfigAttributeFromEntity(m_schemaRegistry,
+                        schemaPath, namespace, attribute, value);
+                configValues.put(attribute, configLeafAttribute);
             }
         }
         node.setAttributes(configValues);
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.LockModeType;
+
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcError;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorTag;
+import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeRdn;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.util.NetconfRpcErrorUtil;
+import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.server.RequestScope;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+
+/**
+ * Holds the state of a bulk modification of the current request, from the beginModify to the endModify of a DSM: the entity
+ * DSMs whose changes are flushed at the end of the modification and the parent entities already looked up with a lock,
+ * so that a parent is locked once for all the children created or deleted under it.
+ */
+public class RequestScopeBulkModifyContext {
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(RequestScopeBulkModifyContext.class,
+            LogAppNames.NETCONF_STACK);
+    private static final String REQUEST_SCOPE_BULK_MODIFY_CONTEXT = "RequestScopeBulkModifyContext-";
+    private static AtomicInteger c_instanceCounter = new AtomicInteger(0);
+    private final String m_instanceId;
+
+    public RequestScopeBulkModifyContext() {
+        m_instanceId = REQUEST_SCOPE_BULK_MODIFY_CONTEXT + c_instanceCounter.incrementAndGet();
+    }
+
+    /**
+     * Begins a bulk modification of the current request.
+     *
+     * @return the entity DSMs of a previous bulk modification of the request that was not ended, to be reset by the caller
+     */
+    public List<EntityDataStoreManager> begin() {
+        List<EntityDataStoreManager> staleDSMs = getModifiedDSMs();
+        RequestScope.getCurrentScope().putInCache(m_instanceId, new BulkModification());
+        return staleDSMs;
+    }
+
+    public boolean isActive() {
+        return getBulkModification() != null;
+    }
+
+    /**
+     * @return true if the entity DSM was not modified yet in this bulk modification
+     */
+    public boolean addModifiedDSM(EntityDataStoreManager entityDSM) {
+        BulkModification bulkModification = getBulkModification();
+        return bulkModification != null && bulkModification.m_modifiedDSMs.add(entityDSM);
+    }
+
+    /**
+     * Records the parent of a node created or deleted during the bulk modification, so that a failure of the flush at its end
+     * can be reported on the deepest node containing all of them.
+     */
+    public void addModifiedParent(ModelNodeId parentId, SchemaRegistry schemaRegistry) {
+        BulkModification bulkModification = getBulkModification();
+        if (bulkModification != null && parentId != null) {
+            bulkModification.addModifiedParent(parentId, schemaRegistry);
+        }
+    }
+
+    /**
+     * @return an operation-failed error for a failure of the flush of the bulk modification, whose error-path is the deepest
+     * node containing the parents of all the nodes created and deleted during it
+     */
+    public NetconfRpcError getFlushError(Exception flushFailure) {
+        NetconfRpcError rpcError = NetconfRpcErrorUtil.getApplicationError(NetconfRpcErrorTag.OPERATION_FAILED,
+                "Error while storing the changes: " + getRootCauseMessage(flushFailure));
+        BulkModification bulkModification = getBulkModification();
+        if (bulkModification != null && bulkModification.m_modifiedParentsAncestor != null
+                && !bulkModification.m_modifiedParentsAncestor.getRdnsReadOnly().isEmpty()) {
+            ModelNodeId errorId = bulkModification.m_modifiedParentsAncestor;
+            SchemaRegistry schemaRegistry = bulkModification.m_schemaRegistry;
+            rpcError.setErrorPath(errorId.xPathString(schemaRegistry), errorId.xPathStringNsByPrefix(schemaRegistry));
+        }
+        return rpcError;
+    }
+
+    /**
+     * @return null if the parent was not locked yet with the lockMode or a stronger one
+     */
+    public Object getLockedParent(Class parentKlass, Object parentPK, LockModeType lockMode) {
+        BulkModification bulkModification = getBulkModification();
+        if (bulkModification != null) {
+            LockedEntity lockedParent = bulkModification.getLockedEntities(parentKlass).get(parentPK);
+            if (lockedParent != null && (lockedParent.m_lockMode == lockMode || lockedParent.m_lockMode == LockModeType.PESSIMISTIC_WRITE)) {
+                LOGGER.debug("Context-instance {}, parent {} of {} already locked with {}", m_instanceId, parentPK, parentKlass,
+                        lockedParent.m_lockMode);
+                return lockedParent.m_entity;
+            }
+        }
+        return null;
+    }
+
+    public void putLockedParent(Class parentKlass, Object parentPK, LockModeType lockMode, Object parentEntity) {
+        BulkModification bulkModification = getBulkModification();
+        if (bulkModification != null) {
+            bulkModification.getLockedEntities(parentKlass).put(parentPK, new LockedEntity(parentEntity, lockMode));
+        }
+    }
+
+    /**
+     * To be called when entities are deleted, as a locked parent may be one of them.
+     */
+    public void clearLockedParents() {
+        BulkModification bulkModification = getBulkModification();
+        if (bulkModification != null) {
+            bulkModification.m_lockedEntities.clear();
+        }
+    }
+
+    /**
+     * @return the entity DSMs modified during the bulk modification of the current request
+     */
+    public List<EntityDataStoreManager> getModifiedDSMs() {
+        BulkModification bulkModification = getBulkModification();
+        if (bulkModification == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(bulkModification.m_modifiedDSMs);
+    }
+
+    /**
+     * Ends the bulk modification of the current request.
+     */
+    public void end() {
+        RequestScope.getCurrentScope().removeFromCache(m_instanceId);
+    }
+
+    private static String getRootCauseMessage(Throwable throwable) {
+        Throwable rootCause = throwable;
+        while (rootCause.getCause() != null && rootCause.getCause() != rootCause) {
+            rootCause = rootCause.getCause();
+        }
+        return rootCause.getMessage();
+    }
+
+    private BulkModification getBulkModification() {
+        return (BulkModification) RequestScope.getCurrentScope().getFromCache(m_instanceId);
+    }
+
+    private static class BulkModification {
+        private final Set<EntityDataStoreManager> m_modifiedDSMs = new LinkedHashSet<>();
+        private final Map<Class, Map<Object, LockedEntity>> m_lockedEntities = new HashMap<>();
+        private ModelNodeId m_modifiedParentsAncestor;
+        private SchemaRegistry m_schemaRegistry;
+
+        private void addModifiedParent(ModelNodeId parentId, SchemaRegistry schemaRegistry) {
+            if (m_modifiedParentsAncestor == null) {
+                m_modifiedParentsAncestor = new ModelNodeId(parentId);
+                m_schemaRegistry = schemaRegistry;
+                return;
+            }
+            List<ModelNodeRdn> ancestorRdns = m_modifiedParentsAncestor.getRdnsReadOnly();
+            List<ModelNodeRdn> parentRdns = parentId.getRdnsReadOnly();
+            int commonRdns = 0;
+            while (commonRdns < ancestorRdns.size() && commonRdns < parentRdns.size()
+                    && ancestorRdns.get(commonRdns).equals(parentRdns.get(commonRdns))) {
+                commonRdns++;
+            }
+            if (commonRdns < ancestorRdns.size()) {
+                m_modifiedParentsAncestor = new ModelNodeId(new ArrayList<>(ancestorRdns.subList(0, commonRdns)));
+            }
+        }
+
+        private Map<Object, LockedEntity> getLockedEntities(Class klass) {
+            return m_lockedEntities.computeIfAbsent(klass, key -> new HashMap<>());
+        }
+    }
+
+    private static class LockedEntity {
+        private final Object m_entity;
+        private final LockModeType m_lockMode;
+
+        private LockedEntity(Object entity, LockModeType lockMode) {
+            m_entity = entity;
+            m_lockMode = lockMode;
+        }
+    }
+}
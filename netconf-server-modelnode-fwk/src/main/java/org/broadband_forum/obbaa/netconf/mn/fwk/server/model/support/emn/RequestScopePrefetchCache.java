@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.broadband_forum.obbaa.netconf.server.RequestScope;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
+
+/**
+ * Holds the child entities prefetched for a set of parents during the current request, keyed by entity class and parent id.
+ * The entries are dropped as soon as the DSM modifies an entity, so a prefetch never hides a change made in the same request.
+ */
+public class RequestScopePrefetchCache {
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(RequestScopePrefetchCache.class, LogAppNames.NETCONF_STACK);
+    private static final String REQUEST_SCOPE_PREFETCH_CACHE = "RequestScopePrefetchCache-";
+    private static AtomicInteger c_instanceCounter = new AtomicInteger(0);
+    private final String m_instanceId;
+
+    public RequestScopePrefetchCache() {
+        m_instanceId = REQUEST_SCOPE_PREFETCH_CACHE + c_instanceCounter.incrementAndGet();
+    }
+
+    public void putChildEntities(Class entityClass, String parentId, List<Object> childEntities) {
+        Map<String, List<Object>> entitiesOfClass = getCache().get(entityClass);
+        if (entitiesOfClass == null) {
+            entitiesOfClass = new HashMap<>();
+            getCache().put(entityClass, entitiesOfClass);
+        }
+        entitiesOfClass.put(parentId, childEntities);
+    }
+
+    /**
+     * @return null if the children of the parent were not prefetched
+     */
+    public List<Object> getChildEntities(Class entityClass, String parentId) {
+        Map<Class, Map<String, List<Object>>> cache = (Map<Class, Map<String, List<Object>>>) RequestScope.getCurrentScope()
+                .getFromCache(m_instanceId);
+        if (cache != null) {
+            Map<String, List<Object>> entitiesOfClass = cache.get(entityClass);
+            if (entitiesOfClass != null) {
+                List<Object> childEntities = entitiesOfClass.get(parentId);
+                if (childEntities != null) {
+                    LOGGER.debug("Cache-instance {}, prefetched {} entities of {} found for parentId {}", m_instanceId,
+                            childEntities.size(), entityClass, parentId);
+                }
+                return childEntities;
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        RequestScope.getCurrentScope().removeFromCache(m_instanceId);
+    }
+
+    private Map<Class, Map<String, List<Object>>> getCache() {
+        RequestScope currentScope = RequestScope.getCurrentScope();
+        Map<Class, Map<String, List<Object>>> cache = (Map<Class, Map<String, List<Object>>>) currentScope.getFromCache(m_instanceId);
+        if (cache == null) {
+            cache = new HashMap<>();
+            currentScope.putInCache(m_instanceId, cache);
+        }
+        return cache;
+    }
+}
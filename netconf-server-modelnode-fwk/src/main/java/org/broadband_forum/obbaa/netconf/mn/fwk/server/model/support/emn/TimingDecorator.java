@@ -20,6 +20,7 @@ package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn;
 import static org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.DSMTimingLogger.endPhase;
 import static org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.DSMTimingLogger.startPhase;
 
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ConfigLeafA
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ListEntryInfo;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeHelperRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeWithAttributes;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PersistenceManagerUtil;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -68,6 +70,16 @@ public class TimingDecorator extends XmlSubtreeDSM{
         }
     }
 
+    @Override
+    public void abortModify() {
+        try {
+            startPhase("XmlSubtreeDSM.abortModify");
+            super.abortModify();
+        } finally {
+            endPhase("XmlSubtreeDSM.abortModify");
+        }
+    }
+
     @Override
     public List<ModelNode> listNodes(SchemaPath nodeType, SchemaRegistry mountRegistry) throws DataStoreException {
         try {
@@ -108,6 +120,27 @@ public class TimingDecorator extends XmlSubtreeDSM{
         }
     }
 
+    @Override
+    public List<ModelNode> findNodes(SchemaPath nodeType, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, SchemaRegistry mountRegistry,
+                                     PagingInput pagingInput) throws DataStoreException {
+        try {
+            startPhase("XmlSubtreeDSM.findNodes1");
+            return super.findNodes(nodeType, matchCriteria, parentId, mountRegistry, pagingInput);
+        } finally {
+            endPhase("XmlSubtreeDSM.findNodes1");
+        }
+    }
+
+    @Override
+    public void prefetchChildNodes(SchemaPath childType, Collection<ModelNodeId> parentIds, SchemaRegistry mountRegistry) throws DataStoreException {
+        try {
+            startPhase("XmlSubtreeDSM.prefetchChildNodes");
+            super.prefetchChildNodes(childType, parentIds, mountRegistry);
+        } finally {
+            endPhase("XmlSubtreeDSM.prefetchChildNodes");
+        }
+    }
+
     @Override
     public ModelNode createNode(ModelNode modelNode, ModelNodeId parentId) throws DataStoreException {
         try {
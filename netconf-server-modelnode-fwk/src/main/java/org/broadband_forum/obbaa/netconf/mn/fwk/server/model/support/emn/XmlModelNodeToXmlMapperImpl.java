@@ -295,10 +295,9 @@ public class XmlModelNodeToXmlMapperImpl implements XmlModelNodeToXmlMapper {
         try {
             //Get parentId and Schemapath
             Class<?> klass = getEntityClass(entity);
-            Method parentIdMethod = m_entityRegistry.getParentIdGetter(klass);
-            String parentIdStr = (String) parentIdMethod.invoke(entity);
-            Method schemaPathMethod = m_entityRegistry.getSchemaPathGetter(klass);
-            schemaPath = SchemaPathUtil.fromString((String) schemaPathMethod.invoke(entity));
+            EntityAccessor entityAccessor = DSMUtils.getEntityAccessor(m_entityRegistry, klass);
+            String parentIdStr = entityAccessor.getParentId(entity);
+            schemaPath = SchemaPathUtil.fromString(entityAccessor.getSchemaPath(entity));
             schemaPath = m_schemaRegistry.addRevisions(schemaPath);
             if (parentIdStr != null) {
                 parentId = constructParentIdFromEntity(schemaPath, klass, parentIdStr, m_entityRegistry, m_schemaRegistry);
@@ -544,23 +543,17 @@ public class XmlModelNodeToXmlMapperImpl implements XmlModelNodeToXmlMapper {
                                                                          EntityRegistry entityRegistry, Class<?> klass, Object entity) throws IllegalAccessException, InvocationTargetException {
         Map<QName, ConfigLeafAttribute> attributes = new LinkedHashMap<>();
         //Get attributes
-        Map<QName, Method> attributeGetters = entityRegistry.getAttributeGetters(klass);
-        Map<QName, Method> attributeNSGetters = entityRegistry.getYangAttributeNSGetters(klass);
-
-        for (Map.Entry<QName, Method> attributeGetter : attributeGetters.entrySet()) {
-            String value = (String) attributeGetter.getValue().invoke(entity);
+        EntityAccessor entityAccessor = DSMUtils.getEntityAccessor(entityRegistry, klass);
+        for (QName attribute : entityAccessor.getAttributes()) {
+            String value = entityAccessor.getAttribute(entity, attribute);
             if (value != null) {
-                Method identityRefNSGetter = attributeNSGetters.get(attributeGetter.getKey());
-                ConfigLeafAttribute configLeafAttribute;
-                if (identityRefNSGetter != null) {
-                    String namespace = (String) identityRefNSGetter.invoke(entity);
-                    configLeafAttribute = ConfigAttributeFactory.getConfigAttributeFromEntity(schemaRegistry, schemaPath, namespace,
-                            attributeGetter.getKey(), value);
-                } else {
-                    configLeafAttribute = ConfigAttributeFactory.getConfigAttributeFromEntity(schemaRegistry, schemaPath, null,
-                            attributeGetter.getKey(), value);
+                String namespace = null;
+                if (entityAccessor.hasAttributeNS(attribute)) {
+                    namespace = entityAccessor.getAttributeNS(entity, attribute);
                 }
-                attributes.put(attributeGetter.getKey(), configLeafAttribute);
+                ConfigLeafAttribute configLeafAttribute = ConfigAttributeFactory.getConfigAttributeFromEntity(schemaRegistry, schemaPath,
+                        namespace, attribute, value);
+                attributes.put(attribute, configLeafAttribute);
             }
         }
         return attributes;
@@ -64,6 +64,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeHe
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ModelNodeWithAttributes;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.DSValidationMountContext;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PersistenceManagerUtil;
 import org.broadband_forum.obbaa.netconf.server.RequestScope;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
@@ -411,6 +412,17 @@ public class XmlSubtreeDSM extends AnnotationBasedModelNodeDataStoreManager {
         return nodes;
     }
 
+    @Override
+    public List<ModelNode> findNodes(SchemaPath nodeType, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, SchemaRegistry mountRegistry,
+                                     PagingInput pagingInput) throws DataStoreException {
+        Class klass = m_entityRegistry.getEntityClass(nodeType);
+        if (klass != null && m_entityRegistry.getYangXmlSubtreeGetter(klass) == null) {
+            return super.findNodes(nodeType, matchCriteria, parentId, mountRegistry, pagingInput);
+        }
+        // the entries stored in an xml subtree can only be paged once they are parsed
+        return pagingInput.getPage(findNodes(nodeType, matchCriteria, parentId, mountRegistry));
+    }
+
     private void fillNodes(SchemaPath nodeType, Map<QName, ConfigLeafAttribute> matchCriteria, ModelNodeId parentId, List<ModelNode>
             nodes, SchemaPath storedParentSchemaPath, XmlModelNodeImpl storedParentModelNode) {
         if(storedParentModelNode != null){
@@ -539,6 +551,16 @@ public class XmlSubtreeDSM extends AnnotationBasedModelNodeDataStoreManager {
 
         }
         LOGGER.debug("Updating the modified stored parent XML subtree nodes from cache into hibernate context done");
+        super.endModify();
+    }
+
+    @Override
+    public void abortModify() {
+        // the modified nodes are not written, they are dropped from the cache so that they are read again from the store
+        for (XmlModelNodeImpl nodeToBeUpdated : m_dsmCache.getNodesToBeUpdated()) {
+            m_dsmCache.removeFromCache(nodeToBeUpdated.getModelNodeId());
+        }
+        super.abortModify();
     }
 
     private Element buildElementToBeSaved(String currentXmlStr, XmlModelNodeImpl node, Element xmlValue) {
@@ -904,7 +926,7 @@ public class XmlSubtreeDSM extends AnnotationBasedModelNodeDataStoreManager {
             return storedParentModelNode;
         }
         try {
-            Object storedParentEntity = getParentEntity(storedParentClass, modelNodeKey, storedGrandParentId, LockModeType.PESSIMISTIC_READ);
+            Object storedParentEntity = getParentEntity(storedParentClass, modelNodeKey, storedGrandParentId, getReadLockMode());
             if (storedParentEntity != null) {
                 String yangXmlSubtree = "";
                 boolean xmlLoaded = false;
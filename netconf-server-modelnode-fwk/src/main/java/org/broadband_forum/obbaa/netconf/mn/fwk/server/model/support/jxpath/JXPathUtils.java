@@ -16,6 +16,7 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.jxpath;
 
+import org.apache.commons.jxpath.CompiledExpression;
 import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.jxpath.ri.Compiler;
 import org.apache.commons.jxpath.ri.JXPathCompiledExpression;
@@ -32,7 +33,7 @@ import org.apache.commons.jxpath.ri.compiler.CoreOperationSubtract;
 import org.apache.commons.jxpath.ri.compiler.Expression;
 import org.apache.commons.lang3.StringUtils;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.constraints.validation.util.DataStoreValidationUtil;
-import org.broadband_forum.obbaa.netconf.server.RequestScope;
+import org.broadband_forum.obbaa.netconf.api.utils.SystemPropertyUtils;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
 import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
 import org.broadband_forum.obbaa.netconf.stack.logging.LogAppNames;
@@ -45,6 +46,9 @@ import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -57,6 +61,9 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 public class JXPathUtils {
 	
 	private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(JXPathUtils.class, LogAppNames.NETCONF_STACK);
@@ -75,9 +82,31 @@ public class JXPathUtils {
 	    XPATH_FUNCTION_STRING_ARGS.put(Compiler.FUNCTION_TRANSLATE, Arrays.asList(0, 1, 2));
 	}
 
-	private static final String EXPRESSION_CACHE = "EXPRESSION_CACHE";
+	public static final String JXPATH_EXPRESSION_CACHE_SIZE = "JXPATH_EXPRESSION_CACHE_SIZE";
+	private static final String DEFAULT_EXPRESSION_CACHE_SIZE = "20000";
+
+	// the compiled expressions are immutable and shared across requests, the same way JXPath shares its own
+	private static final Cache<String, CompiledExpression> c_compiledExpressions = CacheBuilder.newBuilder()
+			.maximumSize(getExpressionCacheSize()).build();
+	private static final MethodHandle c_getExpressionHandle = lookupGetExpression();
 
     private static XPath m_xPath = XPathFactory.newInstance().newXPath();
+
+	private static long getExpressionCacheSize() {
+		String cacheSize = SystemPropertyUtils.getInstance().getFromEnvOrSysProperty(JXPATH_EXPRESSION_CACHE_SIZE, DEFAULT_EXPRESSION_CACHE_SIZE);
+		long maximumSize;
+		try {
+			maximumSize = Long.parseLong(cacheSize);
+		} catch (NumberFormatException e) {
+			maximumSize = -1;
+		}
+		if (maximumSize < 0) {
+			LOGGER.warn("Invalid {} '{}', using the default of {}", JXPATH_EXPRESSION_CACHE_SIZE, cacheSize, DEFAULT_EXPRESSION_CACHE_SIZE);
+			maximumSize = Long.parseLong(DEFAULT_EXPRESSION_CACHE_SIZE);
+		}
+		return maximumSize;
+	}
+
     private static final String XPATH_EXPRESSION_LOCAL_NAME_FORMAT = "/*[local-name()='%s']";
     private static final String XPATH_EXPRESSION_LOCAL_VALUE_FORMAT = "[*[local-name()='%s' and . %s %s]]";
 
@@ -90,21 +119,28 @@ public class JXPathUtils {
     public static final String SQUARE_BRACE_CLOSE = "]";
 
 	public static Expression getExpression(JXPathCompiledExpression compiledExpression) {
-		if (compiledExpression != null) {
+		if (compiledExpression != null && c_getExpressionHandle != null) {
 			try {
-				Class<? extends JXPathCompiledExpression> clazz = compiledExpression.getClass();
-				Method method;
-				method = clazz.getDeclaredMethod("getExpression");
-				method.setAccessible(true);
-				return (Expression) method.invoke(compiledExpression);
-			} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
-					| InvocationTargetException e) {
+				return (Expression) c_getExpressionHandle.invokeExact(compiledExpression);
+			} catch (Throwable e) {
 				LOGGER.error("Error while getting expression", e);
 			}
 		}
 		return null;
 	}
 
+	private static MethodHandle lookupGetExpression() {
+		try {
+			Method method = JXPathCompiledExpression.class.getDeclaredMethod("getExpression");
+			method.setAccessible(true);
+			return MethodHandles.lookup().unreflect(method)
+					.asType(MethodType.methodType(Expression.class, JXPathCompiledExpression.class));
+		} catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+			LOGGER.error("Error while looking up JXPathCompiledExpression.getExpression", e);
+			return null;
+		}
+	}
+
 	/**
 	 * Give an object, it checks if its a numeric value or not and returns a Constant Expression of JXPath api
 	 * @param constantValue
@@ -237,12 +273,10 @@ public class JXPathUtils {
      * @return
      */
     public static Expression getExpression(String xPathCondition) {
-        Expression returnValue = getExpressionFromCache(xPathCondition);
-        if (returnValue == null && xPathCondition != null) {
-            returnValue = getExpression((JXPathCompiledExpression) JXPathContext.compile(xPathCondition)); 
-            cacheExpression(xPathCondition, returnValue);
+        if (xPathCondition == null) {
+            return null;
         }
-        return returnValue;
+        return getExpression((JXPathCompiledExpression) getCompiledExpression(xPathCondition));
     }
 
     public static Expression getExpressionWithoutCache(String xPathCondition) {
@@ -367,22 +401,16 @@ public class JXPathUtils {
         return false;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Expression getExpressionFromCache(String xPathCondition) {
-        RequestScope currentScope = RequestScope.getCurrentScope();
-        Map<String, Expression> expressionMap = (Map<String, Expression>) currentScope.getFromCache(EXPRESSION_CACHE);
-        if (expressionMap == null) {
-            expressionMap = new HashMap<String, Expression>(2000);
-            currentScope.putInCache(EXPRESSION_CACHE, expressionMap);
-        }
-        return expressionMap.get(xPathCondition);
-    }
-    
-    private static void cacheExpression(String xPathCondition, Expression expression) {
-        RequestScope currentScope = RequestScope.getCurrentScope();
-        Map<String, Expression> expressionMap = (Map<String, Expression>) currentScope.getFromCache(EXPRESSION_CACHE);
-        if (expressionMap != null) {
-            expressionMap.put(xPathCondition, expression);
+    /**
+     * Returns the compiled form of an XPath, so that evaluating it does not look it up again in the synchronized
+     * expression cache of JXPath.
+     */
+    public static CompiledExpression getCompiledExpression(String xPath) {
+        CompiledExpression compiledExpression = c_compiledExpressions.getIfPresent(xPath);
+        if (compiledExpression == null) {
+            compiledExpression = JXPathContext.compile(xPath);
+            c_compiledExpressions.put(xPath, compiledExpression);
         }
+        return compiledExpression;
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.broadband_forum.obbaa.netconf.mn.fwk.util.NoLockService;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+public class MountRegistryServiceImplTest {
+
+    private static final MountKey DEVICE_TYPE_1 = new MountKey() {
+    };
+    private static final MountKey DEVICE_TYPE_2 = new MountKey() {
+    };
+
+    private MountRegistryServiceImpl m_mountRegistryService;
+    private int m_createdRegistries;
+
+    @Before
+    public void setUp() {
+        m_mountRegistryService = new MountRegistryServiceImpl();
+        m_createdRegistries = 0;
+    }
+
+    private MountRegistries createMountRegistries() {
+        m_createdRegistries++;
+        return new MountRegistries(new NoLockService());
+    }
+
+    @Test
+    public void testMountPointsOfAKeyShareTheRegistries() {
+        MountRegistries registries = m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_1, this::createMountRegistries);
+        assertSame(registries, m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_1, this::createMountRegistries));
+        assertSame(registries, m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+        assertEquals(1, m_createdRegistries);
+        assertEquals(2, m_mountRegistryService.getReferenceCount(DEVICE_TYPE_1));
+
+        m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_2, this::createMountRegistries);
+        assertEquals(2, m_createdRegistries);
+
+        m_mountRegistryService.releaseMountRegistries(DEVICE_TYPE_1);
+        assertSame(registries, m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+        m_mountRegistryService.releaseMountRegistries(DEVICE_TYPE_1);
+        assertNull(m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+        assertEquals(0, m_mountRegistryService.getReferenceCount(DEVICE_TYPE_1));
+
+        m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_1, this::createMountRegistries);
+        assertEquals(3, m_createdRegistries);
+    }
+
+    @Test
+    public void testRegisteredRegistriesAreKeptUntilUnregistered() {
+        MountRegistries registries = createMountRegistries();
+        m_mountRegistryService.registerMountRegistries(DEVICE_TYPE_1, registries);
+        assertSame(registries, m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_1, this::createMountRegistries));
+        m_mountRegistryService.releaseMountRegistries(DEVICE_TYPE_1);
+        assertSame(registries, m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+
+        m_mountRegistryService.unRegisterMountRegistries(DEVICE_TYPE_1);
+        assertNull(m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+        m_mountRegistryService.releaseMountRegistries(DEVICE_TYPE_1);
+        assertNull(m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+    }
+
+    @Test
+    public void testRegistrationsAreNotCounted() {
+        MountRegistries registries = createMountRegistries();
+        m_mountRegistryService.registerMountRegistries(DEVICE_TYPE_1, registries);
+        m_mountRegistryService.registerMountRegistries(DEVICE_TYPE_1, registries);
+        assertEquals(0, m_mountRegistryService.getReferenceCount(DEVICE_TYPE_1));
+        assertSame(registries, m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_1, this::createMountRegistries));
+        assertEquals(1, m_mountRegistryService.getReferenceCount(DEVICE_TYPE_1));
+
+        m_mountRegistryService.unRegisterMountRegistries(DEVICE_TYPE_1);
+        assertNull(m_mountRegistryService.getMountRegistries(DEVICE_TYPE_1));
+        assertEquals(0, m_mountRegistryService.getReferenceCount(DEVICE_TYPE_1));
+    }
+
+    @Test
+    public void testPlugsWithTheSameModuleSetShareTheRegistries() throws SchemaBuildException {
+        MountKey moduleSet = ModuleSetMountKey.of(Arrays.asList(SchemaRegistryImplTest.c_toasterYangTypesFile,
+                SchemaRegistryImplTest.c_jukeboxYangFile), Collections.emptySet(), Collections.emptyMap());
+        MountKey sameModuleSet = ModuleSetMountKey.of(Arrays.asList(SchemaRegistryImplTest.c_jukeboxYangFile,
+                SchemaRegistryImplTest.c_toasterYangTypesFile), Collections.emptySet(), Collections.emptyMap());
+        MountKey otherModuleSet = ModuleSetMountKey.of(Arrays.asList(SchemaRegistryImplTest.c_jukeboxYangFile),
+                Collections.emptySet(), Collections.emptyMap());
+
+        MountRegistries registries = m_mountRegistryService.acquireMountRegistries(moduleSet, this::createMountRegistries);
+        assertSame(registries, m_mountRegistryService.acquireMountRegistries(sameModuleSet, this::createMountRegistries));
+        assertNotSame(registries, m_mountRegistryService.acquireMountRegistries(otherModuleSet, this::createMountRegistries));
+        assertEquals(2, m_createdRegistries);
+    }
+
+    @Test
+    public void testModuleSetRegistriesAreBuiltOnceAndReadOnly() throws SchemaBuildException {
+        List<YangTextSchemaSource> yangs = Arrays.asList(SchemaRegistryImplTest.c_toasterYangTypesFile);
+        ModuleSetMountKey moduleSet = ModuleSetMountKey.of(yangs, Collections.emptySet(), Collections.emptyMap());
+        MountRegistries registries = m_mountRegistryService.acquireModuleSetMountRegistries(moduleSet, null, SchemaPath.ROOT,
+                new NoLockService());
+        assertSame(registries, m_mountRegistryService.acquireModuleSetMountRegistries(ModuleSetMountKey.of(yangs,
+                Collections.emptySet(), Collections.emptyMap()), null, SchemaPath.ROOT, new NoLockService()));
+
+        SchemaRegistryImpl schemaRegistry = (SchemaRegistryImpl) registries.getSchemaRegistry();
+        assertTrue(schemaRegistry.isReadOnly());
+        assertEquals(moduleSet.getModuleSetId(), schemaRegistry.getName());
+        assertEquals(SchemaPath.ROOT, schemaRegistry.getMountPath());
+        assertFalse(schemaRegistry.getSchemaContext().getModules().isEmpty());
+        try {
+            schemaRegistry.loadSchemaContext("plug-1", yangs, Collections.emptySet(), Collections.emptyMap());
+            fail("A shared schema registry must be read-only");
+        } catch (UnsupportedOperationException e) {
+            assertEquals("Schema registry " + moduleSet.getModuleSetId() + " is read-only", e.getMessage());
+        }
+        try {
+            schemaRegistry.setMountPath(null);
+            fail("A shared schema registry must be read-only");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        m_mountRegistryService.releaseMountRegistries(moduleSet);
+        assertSame(registries, m_mountRegistryService.getMountRegistries(moduleSet));
+        m_mountRegistryService.releaseMountRegistries(moduleSet);
+        assertNull(m_mountRegistryService.getMountRegistries(moduleSet));
+    }
+
+    @Test
+    public void testRegistriesOfKeysWithTheSameModulesShareTheSchemaContext() throws SchemaBuildException {
+        List<YangTextSchemaSource> yangs = Arrays.asList(SchemaRegistryImplTest.c_toasterYangTypesFile);
+        SchemaRegistry schemaRegistry1 = m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_1, this::createMountRegistries)
+                .getSchemaRegistry();
+        SchemaRegistry schemaRegistry2 = m_mountRegistryService.acquireMountRegistries(DEVICE_TYPE_2, this::createMountRegistries)
+                .getSchemaRegistry();
+        schemaRegistry1.loadSchemaContext("plug-1", yangs, Collections.emptySet(), Collections.emptyMap());
+        schemaRegistry2.loadSchemaContext("plug-2", yangs, Collections.emptySet(), Collections.emptyMap());
+        assertSame(schemaRegistry1.getSchemaContext(), schemaRegistry2.getSchemaContext());
+    }
+}
@@ -20,7 +20,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.atLeastOnce;
@@ -50,6 +52,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 
+import org.apache.commons.jxpath.ri.compiler.LocationPath;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.broadband_forum.obbaa.netconf.api.parser.YangParserUtil;
@@ -145,7 +148,30 @@ public class SchemaRegistryImplTest {
         assertEquals("artist", m_schemaRegistry.lookupQName(JB_NS, "artist").getLocalName());
         assertEquals(JB_NS, m_schemaRegistry.lookupQName(JB_NS, "artist").getNamespace().toString());
         assertEquals(JB_REVISION, m_schemaRegistry.lookupQName(JB_NS, "artist").getRevision().get().toString());
-        verify(readWriteLockService, times(4)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
+    }
+
+    @Test
+    public void testSettersAndClearKeepTheRegistrations() throws SchemaBuildException {
+        m_schemaRegistry.buildSchemaContext(getYangFiles(), Collections.emptySet(), Collections.emptyMap());
+        SchemaRegistry parent = mock(SchemaRegistry.class);
+        m_schemaRegistry.setMountPath(JUKEBOX_PATH);
+        m_schemaRegistry.setParentRegistry(parent);
+        m_schemaRegistry.addToChildBigList(JUKEBOX_PATH);
+
+        assertEquals(JUKEBOX_PATH, m_schemaRegistry.getMountPath());
+        assertSame(parent, m_schemaRegistry.getParentRegistry());
+        assertTrue(m_schemaRegistry.isChildBigList(JUKEBOX_PATH));
+
+        m_schemaRegistry.setYangLibraryIgnored(true);
+        assertTrue(m_schemaRegistry.isYangLibraryIgnored());
+        assertTrue(m_schemaRegistry.isChildBigList(JUKEBOX_PATH));
+        assertSame(parent, m_schemaRegistry.getParentRegistry());
+
+        m_schemaRegistry.clear();
+        assertFalse(m_schemaRegistry.isChildBigList(JUKEBOX_PATH));
+        assertEquals(JUKEBOX_PATH, m_schemaRegistry.getMountPath());
+        assertNotNull(m_schemaRegistry.getDataSchemaNode(JUKEBOX_PATH));
     }
 
     private List<YangTextSchemaSource> getYangFiles() {
@@ -730,7 +756,7 @@ public class SchemaRegistryImplTest {
                 .appendLocalName("pma")
                 .build();
         assertEquals(9, m_schemaRegistry.getChildren(pmaSchemaPath).size());
-        verify(readWriteLockService, atLeastOnce()).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
 
         SchemaPath usersCountSchemaPath = new SchemaPathBuilder()
                 .withNamespace("urn:org:bbf2:pma")
@@ -751,6 +777,20 @@ public class SchemaRegistryImplTest {
         assertEquals(0, m_schemaRegistry.getChildren(usersCountSchemaPath).size());
     }
 
+    @Test
+    public void testIndexedChildrenAreBuiltOncePerSchemaSnapshot() throws SchemaBuildException {
+        m_schemaRegistry.buildSchemaContext(getYangFiles(), Collections.emptySet(), Collections.emptyMap());
+        Map<QName, DataSchemaNode> indexedChildren = m_schemaRegistry.getIndexedChildren(JUKEBOX_PATH);
+        assertFalse(indexedChildren.isEmpty());
+        assertSame(indexedChildren, m_schemaRegistry.getIndexedChildren(JUKEBOX_PATH));
+
+        m_schemaRegistry.loadSchemaContext("toaster", Collections.singletonList(c_toasterYangTypesFile), Collections.emptySet(),
+                Collections.emptyMap());
+        Map<QName, DataSchemaNode> reloadedIndexedChildren = m_schemaRegistry.getIndexedChildren(JUKEBOX_PATH);
+        assertNotSame(indexedChildren, reloadedIndexedChildren);
+        assertEquals(indexedChildren.keySet(), reloadedIndexedChildren.keySet());
+    }
+
     @Test
     public void testGetNonChoiceChildren() throws SchemaBuildException {
         ReadWriteLockServiceImpl readWriteLockService = spy(new ReadWriteLockServiceImpl());
@@ -939,9 +979,9 @@ public class SchemaRegistryImplTest {
         m_schemaRegistry.setReadWriteLockService(readWriteLockService);
         m_schemaRegistry.buildSchemaContext(getYangFiles(), Collections.emptySet(), Collections.emptyMap());
         assertEquals("jbox", m_schemaRegistry.getPrefix(JB_NS));
-        verify(readWriteLockService, times(1)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
         assertEquals("inet", m_schemaRegistry.getPrefix(IETF_INET_TYPES_NS));
-        verify(readWriteLockService, times(2)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
     }
 
     @Test
@@ -950,9 +990,9 @@ public class SchemaRegistryImplTest {
         m_schemaRegistry.setReadWriteLockService(readWriteLockService);
         m_schemaRegistry.buildSchemaContext(getYangFiles(), Collections.emptySet(), Collections.emptyMap());
         assertEquals(JB_NS, m_schemaRegistry.getNamespaceURI("jbox"));
-        verify(readWriteLockService, times(1)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
         assertEquals(IETF_INET_TYPES_NS, m_schemaRegistry.getNamespaceURI("inet"));
-        verify(readWriteLockService, times(2)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
     }
 
     @Test
@@ -969,7 +1009,8 @@ public class SchemaRegistryImplTest {
         assertEquals(MODULE_SET_ID, moduleSetId);
 
         assertEquals(JB_NS, m_schemaRegistry.getNamespaceURI("jbox"));
-        verify(readWriteLockService, times(3)).executeWithReadLock(Mockito.any());
+        // only the module-set-id lookups take the read lock
+        verify(readWriteLockService, times(2)).executeWithReadLock(Mockito.any());
     }
 
     @Test
@@ -1060,7 +1101,7 @@ public class SchemaRegistryImplTest {
         m_schemaRegistry.setReadWriteLockService(readWriteLockService);
         m_schemaRegistry.buildSchemaContext(getYangFiles(), Collections.emptySet(), Collections.emptyMap());
         assertEquals(JB_NS, m_schemaRegistry.getNamespaceOfModule("example-jukebox"));
-        verify(readWriteLockService, times(1)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
     }
 
     @Test
@@ -1071,10 +1112,10 @@ public class SchemaRegistryImplTest {
         verify(readWriteLockService).executeWithWriteLock(Mockito.any());
 
         Module module = m_schemaRegistry.getModuleByNamespace(JB_NS);
-        verify(readWriteLockService, times(1)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
         module = m_schemaRegistry.findModuleByNamespaceAndRevision(new URI(JB_NS), module.getRevision().orElse(null)).orElse(null);
         assertEquals("example-jukebox", module.getName());
-        verify(readWriteLockService, times(2)).executeWithReadLock(Mockito.any());
+        verify(readWriteLockService, never()).executeWithReadLock(Mockito.any());
 
     }
 
@@ -1449,4 +1490,20 @@ public class SchemaRegistryImplTest {
         assertFalse(clonedSchemaRegistry.getActionDefinitions().size() == schemaRegistry.getActionDefinitions().size());
         assertFalse(clonedSchemaRegistry.equals(schemaRegistry));
     }
+
+    @Test
+    public void testDeepCloneCopiesTheExpressionAndShortPathCaches() throws Exception {
+        DecoratedSchemaRegistryImpl schemaRegistry = new DecoratedSchemaRegistryImpl(Collections.<YangTextSchemaSource>emptyList(),
+                Collections.emptySet(), Collections.emptyMap(), false);
+        schemaRegistry.buildSchemaContext(getYangFiles(), Collections.emptySet(), Collections.emptyMap());
+        LocationPath locationPath = (LocationPath) JXPathUtils.getExpression("jukebox/library");
+        schemaRegistry.addExpressionsWithoutKeysInList("/jukebox/library/artist", locationPath);
+        String shortPath = schemaRegistry.getShortPath(JUKEBOX_PATH);
+
+        DecoratedSchemaRegistryImpl clonedSchemaRegistry = schemaRegistry.deepClone();
+        schemaRegistry.addExpressionsWithoutKeysInList("/jukebox/library/artist", (LocationPath) JXPathUtils.getExpression("jukebox"));
+
+        assertEquals(Collections.singleton(locationPath), clonedSchemaRegistry.getExpressionsWithoutKeysInList("/jukebox/library/artist"));
+        assertEquals(shortPath, clonedSchemaRegistry.getShortPath(JUKEBOX_PATH));
+    }
 }
@@ -79,6 +79,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 @RunWith(RequestScopeJunitRunner.class)
 public class DataStoreTest extends AbstractValidationTestSetup {
@@ -447,6 +448,29 @@ public class DataStoreTest extends AbstractValidationTestSetup {
         m_dataStore.edit(m_request, m_response, m_clientInfo);
     }
 
+    @Test
+    public void testGetConfigRepliesAreCachedUntilAnEdit() throws Exception {
+        Document doc = DocumentUtils.createDocument();
+        when(m_rootAggregator.getConfig(any(GetConfigContext.class), any(NetconfQueryParams.class)))
+                .thenReturn(Arrays.asList(doc.createElementNS("urn:test", "test:root")));
+        m_dataStore.setGetConfigReplyCache(new GetConfigReplyCache(10));
+
+        m_dataStore.getConfig(m_clientInfo, DocumentUtils.createDocument(), null, NetconfQueryParams.NO_PARAMS);
+        Document replyDoc = DocumentUtils.createDocument();
+        List<Element> reply = m_dataStore.getConfig(m_clientInfo, replyDoc, null, NetconfQueryParams.NO_PARAMS);
+        verify(m_rootAggregator, times(1)).getConfig(any(GetConfigContext.class), any(NetconfQueryParams.class));
+        assertEquals(1, reply.size());
+        assertEquals("root", reply.get(0).getLocalName());
+        assertEquals(replyDoc, reply.get(0).getOwnerDocument());
+
+        m_dataStore.getConfig(new NetconfClientInfo("other", 2), DocumentUtils.createDocument(), null, NetconfQueryParams.NO_PARAMS);
+        verify(m_rootAggregator, times(2)).getConfig(any(GetConfigContext.class), any(NetconfQueryParams.class));
+
+        m_dataStore.edit(m_request, m_response, m_clientInfo);
+        m_dataStore.getConfig(m_clientInfo, DocumentUtils.createDocument(), null, NetconfQueryParams.NO_PARAMS);
+        verify(m_rootAggregator, times(3)).getConfig(any(GetConfigContext.class), any(NetconfQueryParams.class));
+    }
+
     @Override
     public void setup() throws Exception {
 
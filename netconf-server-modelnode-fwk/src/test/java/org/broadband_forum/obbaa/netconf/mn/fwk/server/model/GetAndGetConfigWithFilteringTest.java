@@ -17,15 +17,24 @@
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model;
 
 import static org.broadband_forum.obbaa.netconf.api.util.DocumentUtils.createDocument;
+import static org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.JukeboxConstants.ALBUM_SCHEMA_PATH;
+import static org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.JukeboxConstants.ARTIST_SCHEMA_PATH;
 import static org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.JukeboxConstants.JB_NS;
 import static org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.JukeboxConstants.JB_REVISION;
 import static org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.JukeboxConstants.JUKEBOX_LOCAL_NAME;
+import static org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.JukeboxConstants.SONG_SCHEMA_PATH;
 import static org.broadband_forum.obbaa.netconf.server.util.TestUtil.assertXMLEquals;
 import static org.broadband_forum.obbaa.netconf.server.util.TestUtil.loadAsXml;
 import static org.broadband_forum.obbaa.netconf.server.util.TestUtil.verifyGet;
 import static org.broadband_forum.obbaa.netconf.server.util.TestUtil.verifyGetConfigWithPassword;
 import static org.broadband_forum.obbaa.netconf.server.util.TestUtil.verifyGetWithDepth;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -97,6 +106,7 @@ public class GetAndGetConfigWithFilteringTest extends SystemPropertyUtilsUserTes
 	private LocalSubSystem m_subSystem;
 	private NbiNotificationHelper m_nbiNotificationHelper;
 	private ModelNodeHelperRegistry m_modelNodeHelperRegistry = new ModelNodeHelperRegistryImpl(m_schemaRegistry);
+	private InMemoryDSM m_dsm;
 
 	@Before
 	public void initServer() throws SchemaBuildException, ModelNodeInitException, GetAttributeException {
@@ -114,8 +124,9 @@ public class GetAndGetConfigWithFilteringTest extends SystemPropertyUtilsUserTes
 		m_schemaRegistry.loadSchemaContext("jukebox", TestUtil.getJukeBoxYangs(), Collections.emptySet(), Collections.emptyMap());
 		m_subSystem = Mockito.mock(LocalSubSystem.class);
 		mockStateAttributes();
+		m_dsm = spy(new InMemoryDSM(m_schemaRegistry));
 		ModelNodeWithAttributes jukeBoxWithYang = YangUtils.createInMemoryModelNode(yangFilePath, m_subSystem, m_modelNodeHelperRegistry,
-				m_subSystemRegistry, m_schemaRegistry, new InMemoryDSM(m_schemaRegistry));
+				m_subSystemRegistry, m_schemaRegistry, m_dsm);
 		rootModelNodeAggregator.addModelServiceRoot(m_componentId, jukeBoxWithYang);
 		m_nbiNotificationHelper = mock(NbiNotificationHelper.class);
 		DataStore dataStore = new DataStore(StandardDataStores.RUNNING, rootModelNodeAggregator, m_subSystemRegistry);
@@ -234,6 +245,38 @@ public class GetAndGetConfigWithFilteringTest extends SystemPropertyUtilsUserTes
 				"/filter-with-depth-pruned-subtree-response.xml", MESSAGE_ID, PRUNED_SUBTREE, 5);
 	}
 
+	@Test
+	public void testGetWithPrunedSubtreeFilterDoesNotRetrieveSelectedSubtreesBelowDepth() throws Exception {
+		YangUtils.loadXmlDataIntoServer(m_server, TestUtil.class.getResource("/example-jukebox-playlist.xml").getPath());
+		reset(m_dsm);
+		// the match conditions on the playlist raise the depth of the query to 5, the selected library is needed up to depth 3 only
+		verifyGetWithDepth(m_server, "/filter-library-select-and-playlist-match.xml",
+				"/filter-library-select-and-playlist-match-depth-3-response.xml", MESSAGE_ID, PRUNED_SUBTREE, 3);
+		verify(m_dsm, never()).findNodes(eq(ARTIST_SCHEMA_PATH), any(), any(ModelNodeId.class), any(SchemaRegistry.class));
+	}
+
+	@Test
+	public void testGetConfigPagesBigLists() throws Exception {
+		m_schemaRegistry.addToChildBigList(ALBUM_SCHEMA_PATH);
+		verifyGetConfigWithListPaging(null, 1, 2, "/getandgetconfigwithfilteringtest/getconfig-unfiltered-offset-1-limit-2.xml");
+		verifyGetConfigWithListPaging("/getandgetconfigwithfilteringtest/filter-album-select.xml", 1, 1,
+				"/getandgetconfigwithfilteringtest/getconfig-album-offset-1-limit-1-response.xml");
+		verifyGetConfigWithListPaging("/getandgetconfigwithfilteringtest/filter-album-select.xml", 3, 1,
+				"/empty-response.xml");
+	}
+
+	@Test
+	public void testGetConfigPagesOnlyTheFirstBigListReached() throws Exception {
+		m_schemaRegistry.addToChildBigList(ALBUM_SCHEMA_PATH);
+		m_schemaRegistry.addToChildBigList(SONG_SCHEMA_PATH);
+		verifyGetConfigWithListPaging(null, 1, 2, "/getandgetconfigwithfilteringtest/getconfig-unfiltered-offset-1-limit-2.xml");
+	}
+
+	@Test
+	public void testGetConfigDoesNotPageListsThatAreNotBig() throws Exception {
+		verifyGetConfigWithListPaging(null, 1, 1, "/getandgetconfigwithfilteringtest/getconfig-unfiltered.xml");
+	}
+
 	@Test
 	public void testGetWithFilterHavingPseudoDepthLesserThanActualDepth() throws Exception {
 		verifyGetWithDepth(m_server, "/filter-with-pseudo-depth-lesser-than-actual-depth.xml",
@@ -425,6 +468,30 @@ public class GetAndGetConfigWithFilteringTest extends SystemPropertyUtilsUserTes
 		assertXMLEquals(expectedOutput, response);
 	}
 
+	private void verifyGetConfigWithListPaging(String filterInput, int offset, int limit, String expectedOutput) throws SAXException,
+			IOException {
+		NetconfClientInfo client = new NetconfClientInfo("test", 1);
+
+		GetConfigRequest request = new GetConfigRequest();
+		request.setMessageId(MESSAGE_ID);
+		request.setSource("running");
+		request.setOffset(offset);
+		request.setLimit(limit);
+		if (filterInput != null) {
+			NetconfFilter filter = new NetconfFilter();
+			filter.setType(SUBTREE);
+			filter.addXmlFilter(loadAsXml(filterInput));
+			request.setFilter(filter);
+		}
+
+		NetConfResponse response = new NetConfResponse();
+		response.setMessageId(MESSAGE_ID);
+
+		m_server.onGetConfig(client, request, response);
+
+		assertXMLEquals(expectedOutput, response);
+	}
+
 	private void populateStateValues(Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>> stateAttributes, Map<ModelNodeId, List<Element>> stateAttributesValues) {
 		Document document = createDocument();
 		Element albumElement = document.createElementNS(JB_NS, "album-count");
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model;
+
+import static org.broadband_forum.obbaa.netconf.api.server.NetconfQueryParams.UNBOUNDED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
+import org.broadband_forum.obbaa.netconf.api.server.NetconfQueryParams;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.mn.fwk.ChangeTreeNode;
+import org.broadband_forum.obbaa.netconf.server.RequestContext;
+import org.broadband_forum.obbaa.netconf.server.UserContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class GetConfigReplyCacheTest {
+
+    private static final String JUKEBOX_NS = "http://example.com/ns/example-jukebox";
+    private static final String OTHER_NS = "urn:other";
+
+    private GetConfigReplyCache m_cache;
+    private NetconfClientInfo m_client;
+    private List<Element> m_reply;
+
+    @Before
+    public void setUp() {
+        m_cache = new GetConfigReplyCache(10);
+        m_client = new NetconfClientInfo("admin", 1);
+        Document doc = DocumentUtils.createDocument();
+        m_reply = Arrays.asList(doc.createElementNS(JUKEBOX_NS, "jbox:jukebox"));
+    }
+
+    @Test
+    public void testNormalizeIgnoresTheOrderOfFilterNodes() {
+        FilterNode filter1 = new FilterNode();
+        FilterNode library1 = filter1.addContainmentNode("jukebox", JUKEBOX_NS).addContainmentNode("library", JUKEBOX_NS);
+        library1.addSelectNode("artist", JUKEBOX_NS);
+        library1.addMatchNode("name", JUKEBOX_NS, "Lenny");
+        library1.addSelectNode("album", JUKEBOX_NS);
+
+        FilterNode filter2 = new FilterNode();
+        FilterNode library2 = filter2.addContainmentNode("jukebox", JUKEBOX_NS).addContainmentNode("library", JUKEBOX_NS);
+        library2.addSelectNode("album", JUKEBOX_NS);
+        library2.addSelectNode("artist", JUKEBOX_NS);
+        library2.addMatchNode("name", JUKEBOX_NS, "Lenny");
+        assertEquals(GetConfigReplyCache.normalize(filter1), GetConfigReplyCache.normalize(filter2));
+
+        library2.getMatchNodes().get(0).setFilter("Depeche Mode");
+        assertNotEquals(GetConfigReplyCache.normalize(filter1), GetConfigReplyCache.normalize(filter2));
+        assertEquals("", GetConfigReplyCache.normalize(null));
+    }
+
+    @Test
+    public void testRepliesAreCachedPerFilterParamsAndUser() {
+        FilterNode filter = jukeboxFilter("library");
+        m_cache.put(m_client, filter, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+
+        Document doc = DocumentUtils.createDocument();
+        List<Element> cachedReply = m_cache.get(m_client, doc, jukeboxFilter("library"), NetconfQueryParams.NO_PARAMS);
+        assertEquals(1, cachedReply.size());
+        assertEquals("jukebox", cachedReply.get(0).getLocalName());
+        assertEquals(doc, cachedReply.get(0).getOwnerDocument());
+
+        assertNull(m_cache.get(new NetconfClientInfo("other", 2), doc, filter, NetconfQueryParams.NO_PARAMS));
+        assertNull(m_cache.get(m_client, doc, filter, new NetconfQueryParams(2, true)));
+        assertNull(m_cache.get(m_client, doc, jukeboxFilter("player"), NetconfQueryParams.NO_PARAMS));
+        assertNull(m_cache.get(m_client, doc, null, NetconfQueryParams.NO_PARAMS));
+    }
+
+    @Test
+    public void testRepliesAreCachedPerFields() {
+        Map<String, List<QName>> fields = Collections.singletonMap("library",
+                Collections.singletonList(QName.create(JUKEBOX_NS, "artist")));
+        m_cache.put(m_client, null, new NetconfQueryParams(UNBOUNDED, true, fields), m_reply, m_cache.getGeneration());
+
+        Document doc = DocumentUtils.createDocument();
+        assertNotNull(m_cache.get(m_client, doc, null, new NetconfQueryParams(UNBOUNDED, true, fields)));
+        assertNull(m_cache.get(m_client, doc, null, new NetconfQueryParams(UNBOUNDED, true, Collections.emptyMap())));
+    }
+
+    @Test
+    public void testRepliesAreNotCachedWhenTheAuthorizationIsBypassed() {
+        try {
+            RequestContext.setIsByPass(true);
+            m_cache.put(m_client, null, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+            assertEquals(0, m_cache.size());
+
+            RequestContext.setIsByPass(false);
+            m_cache.put(m_client, null, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+            assertEquals(1, m_cache.size());
+
+            RequestContext.setIsByPass(true);
+            assertNull(m_cache.get(m_client, DocumentUtils.createDocument(), null, NetconfQueryParams.NO_PARAMS));
+            RequestContext.setIsByPass(false);
+            RequestContext.setAdditionalUserCtxtTL(new UserContext("other", "2"));
+            assertNull(m_cache.get(m_client, DocumentUtils.createDocument(), null, NetconfQueryParams.NO_PARAMS));
+        } finally {
+            RequestContext.reset();
+        }
+    }
+
+    @Test
+    public void testInvalidateAllDropsTheRepliesBuiltWithThePreviousPermissions() {
+        long generation = m_cache.getGeneration();
+        m_cache.put(m_client, null, NetconfQueryParams.NO_PARAMS, m_reply, generation);
+        m_cache.invalidateAll();
+        assertEquals(0, m_cache.size());
+
+        m_cache.put(m_client, null, NetconfQueryParams.NO_PARAMS, m_reply, generation);
+        assertEquals(0, m_cache.size());
+    }
+
+    @Test
+    public void testOnlyTheRepliesSelectingAChangedPathAreInvalidated() {
+        FilterNode libraryFilter = jukeboxFilter("library");
+        FilterNode playerFilter = jukeboxFilter("player");
+        FilterNode otherFilter = new FilterNode();
+        otherFilter.addSelectNode("config", OTHER_NS);
+        m_cache.put(m_client, libraryFilter, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+        m_cache.put(m_client, playerFilter, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+        m_cache.put(m_client, otherFilter, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+        m_cache.put(m_client, null, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+        assertEquals(4, m_cache.size());
+
+        m_cache.beginChange();
+        m_cache.endChange(Collections.singletonList(changeTree(JUKEBOX_NS, "jukebox", "library", "artist", "name")));
+
+        Document doc = DocumentUtils.createDocument();
+        assertNull(m_cache.get(m_client, doc, libraryFilter, NetconfQueryParams.NO_PARAMS));
+        assertNull(m_cache.get(m_client, doc, null, NetconfQueryParams.NO_PARAMS));
+        assertNotNull(m_cache.get(m_client, doc, playerFilter, NetconfQueryParams.NO_PARAMS));
+        assertNotNull(m_cache.get(m_client, doc, otherFilter, NetconfQueryParams.NO_PARAMS));
+
+        m_cache.beginChange();
+        m_cache.endChange(Collections.singletonList(changeTree(JUKEBOX_NS, "jukebox")));
+        assertNull(m_cache.get(m_client, doc, playerFilter, NetconfQueryParams.NO_PARAMS));
+        assertNotNull(m_cache.get(m_client, doc, otherFilter, NetconfQueryParams.NO_PARAMS));
+
+        m_cache.beginChange();
+        m_cache.endChange(null);
+        assertEquals(0, m_cache.size());
+    }
+
+    @Test
+    public void testRepliesBuiltDuringAChangeAreNotCached() {
+        FilterNode filter = jukeboxFilter("library");
+        long generation = m_cache.getGeneration();
+        m_cache.beginChange();
+        m_cache.put(m_client, filter, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+        assertEquals(0, m_cache.size());
+
+        m_cache.endChange(Collections.emptyList());
+        m_cache.put(m_client, filter, NetconfQueryParams.NO_PARAMS, m_reply, generation);
+        assertEquals(0, m_cache.size());
+
+        m_cache.put(m_client, filter, NetconfQueryParams.NO_PARAMS, m_reply, m_cache.getGeneration());
+        assertEquals(1, m_cache.size());
+    }
+
+    private FilterNode jukeboxFilter(String selectNode) {
+        FilterNode filter = new FilterNode();
+        filter.addContainmentNode("jukebox", JUKEBOX_NS).addSelectNode(selectNode, JUKEBOX_NS);
+        return filter;
+    }
+
+    /**
+     * @return the root of a change tree with a single change at the given path
+     */
+    private ChangeTreeNode changeTree(String namespace, String... path) {
+        ChangeTreeNode root = mock(ChangeTreeNode.class);
+        ChangeTreeNode parent = root;
+        for (String localName : path) {
+            ChangeTreeNode node = mock(ChangeTreeNode.class);
+            SchemaNode type = mock(SchemaNode.class);
+            when(type.getQName()).thenReturn(QName.create(namespace, localName));
+            when(node.getType()).thenReturn(type);
+            when(node.getParent()).thenReturn(parent);
+            when(node.getChildren()).thenReturn(Collections.emptyMap());
+            Map<ModelNodeId, ChangeTreeNode> children = Collections.singletonMap(new ModelNodeId(), node);
+            when(parent.getChildren()).thenReturn(children);
+            parent = node;
+        }
+        return root;
+    }
+}
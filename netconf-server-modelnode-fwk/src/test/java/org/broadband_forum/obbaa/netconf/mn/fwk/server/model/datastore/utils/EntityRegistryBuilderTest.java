@@ -18,6 +18,8 @@ package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.utils;
 
 import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 
 import java.util.ArrayList;
@@ -37,6 +39,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaBuildException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistryImpl;
 
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EntityAccessor;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EntityRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn.EntityRegistryImpl;
 import org.broadband_forum.obbaa.netconf.server.util.TestUtil;
@@ -103,4 +106,30 @@ public class EntityRegistryBuilderTest {
         assertEquals(Album.class, m_entityRegistry.getEntityClass(albumSchemaPath));
         assertEquals(Song.class, m_entityRegistry.getEntityClass(songSchemaPath));
     }
+
+    @Test
+    public void testEntityAccessorReadsTheRegisteredGetters() throws AnnotationAnalysisException {
+        List<Class> classes = new ArrayList<>();
+        classes.add(Jukebox.class);
+        EntityRegistryBuilder.updateEntityRegistry("Jukebox", classes, m_entityRegistry, mock(SchemaRegistry.class),
+                mock(EntityDataStoreManager.class), m_modelNodeDSMRegistry);
+
+        Song song = new Song();
+        song.setParentId("parentId");
+        song.setSchemaPath("schemaPath");
+        song.setName("Let It Go");
+        song.setLocation("desktop/songs");
+        EntityAccessor songAccessor = m_entityRegistry.getEntityAccessor(Song.class);
+        QName nameQName = QName.create("http://example.com/ns/example-jukebox", "2014-07-03", "name");
+        QName formatQName = QName.create("http://example.com/ns/example-jukebox", "2014-07-03", "format");
+        assertEquals("parentId", songAccessor.getParentId(song));
+        assertEquals("schemaPath", songAccessor.getSchemaPath(song));
+        assertEquals(m_entityRegistry.getAttributeGetters(Song.class).keySet(), songAccessor.getAttributes());
+        assertEquals("Let It Go", songAccessor.getAttribute(song, nameQName));
+        assertNull(songAccessor.getAttribute(song, formatQName));
+        assertFalse(songAccessor.hasAttributeNS(nameQName));
+
+        m_entityRegistry.undeploy("Jukebox");
+        assertNull(m_entityRegistry.getEntityAccessor(Song.class));
+    }
 }
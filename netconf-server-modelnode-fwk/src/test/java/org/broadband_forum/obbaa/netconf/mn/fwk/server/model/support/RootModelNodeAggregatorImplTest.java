@@ -30,6 +30,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -487,9 +488,14 @@ public class RootModelNodeAggregatorImplTest {
                 .setConfigElement(new EditConfigElement().addConfigElementContent(loadAsXml(INVALID_EDIT1)));
         request.setMessageId("1");
         NetConfResponse response = new NetConfResponse().setMessageId("1");
+        reset(m_runningDsm);
         m_server.onEditConfig(new NetconfClientInfo("unit-test", 1), request, response);
         // assert Not Ok response
         assertFalse(response.isOk());
+        // the failed modification is aborted, its partial changes are not flushed
+        verify(m_runningDsm).beginModify();
+        verify(m_runningDsm).abortModify();
+        verify(m_runningDsm, never()).endModify();
 
         // do a get-config to be sure that nothing changes
         verifyGetConfig(m_server, "", FULL_GET_CONFIG_RESPONSE, "1");
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.broadband_forum.obbaa.netconf.api.server.NetconfQueryParams;
+import org.broadband_forum.obbaa.netconf.api.util.DocumentUtils;
+import org.broadband_forum.obbaa.netconf.api.util.Pair;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ConfigAttributeGetContext;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.FilterNode;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.GetException;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.StateAttributeGetContext;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.SubSystem;
+import org.broadband_forum.obbaa.netconf.server.RequestContext;
+import org.broadband_forum.obbaa.netconf.server.RequestScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class RootModelNodeAggregatorStateRetrievalTest {
+
+    private static final long RETRIEVAL_TIME_MILLIS = 300L;
+
+    private RootModelNodeAggregatorImpl m_aggregator;
+    private ExecutorService m_executor;
+    private ModelNodeId m_nodeId;
+    private Document m_document;
+
+    @Before
+    public void setUp() {
+        m_aggregator = new RootModelNodeAggregatorImpl(null, null, null, null);
+        m_executor = Executors.newFixedThreadPool(4);
+        m_aggregator.setStateRetrievalExecutor(m_executor);
+        m_nodeId = new ModelNodeId("/container=device", "urn:test");
+        m_document = DocumentUtils.createDocument();
+    }
+
+    @After
+    public void tearDown() {
+        m_executor.shutdownNow();
+        RequestContext.reset();
+        RequestScope.resetScope();
+    }
+
+    @Test
+    public void testSubSystemsAreQueriedConcurrentlyAndMergedInOrder() throws Exception {
+        Map<SubSystem, Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>>> subSystems = new LinkedHashMap<>();
+        for (String value : new String[] {"first", "second", "third"}) {
+            subSystems.put(slowSubSystem(value, RETRIEVAL_TIME_MILLIS), attributes());
+        }
+        StateAttributeGetContext stateContext = new StateAttributeGetContext(subSystems, new HashMap<>());
+
+        long start = System.currentTimeMillis();
+        Map<ModelNodeId, List<Element>> stateElements = m_aggregator.getAllStateElementsFromSubSystems(null,
+                new ConfigAttributeGetContext(), stateContext, mock(NetconfQueryParams.class));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue("retrieval took " + elapsed + " ms", elapsed < 3 * RETRIEVAL_TIME_MILLIS);
+        List<String> values = new ArrayList<>();
+        for (Element element : stateElements.get(m_nodeId)) {
+            values.add(element.getTextContent());
+        }
+        assertEquals("[first, second, third]", values.toString());
+    }
+
+    @Test
+    public void testSubSystemExceedingTheDeadlineFailsTheGet() throws Exception {
+        m_aggregator.setStateRetrievalTimeoutMillis(50L);
+        Map<SubSystem, Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>>> subSystems = new LinkedHashMap<>();
+        subSystems.put(slowSubSystem("fast", 0L), attributes());
+        subSystems.put(slowSubSystem("slow", 5000L), attributes());
+        StateAttributeGetContext stateContext = new StateAttributeGetContext(subSystems, new HashMap<>());
+        try {
+            m_aggregator.getAllStateElementsFromSubSystems(null, new ConfigAttributeGetContext(), stateContext,
+                    mock(NetconfQueryParams.class));
+            fail("Expected the get to time out");
+        } catch (GetException e) {
+            assertTrue(e.getRpcError().getErrorMessage().startsWith("Could not get state values: timed out"));
+        }
+    }
+
+    @Test
+    public void testEachSubSystemGetsTheWholeTimeout() throws Exception {
+        m_executor.shutdownNow();
+        m_executor = Executors.newSingleThreadExecutor();
+        m_aggregator.setStateRetrievalExecutor(m_executor);
+        m_aggregator.setStateRetrievalTimeoutMillis(3 * RETRIEVAL_TIME_MILLIS / 2);
+        Map<SubSystem, Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>>> subSystems = new LinkedHashMap<>();
+        subSystems.put(slowSubSystem("first", RETRIEVAL_TIME_MILLIS), attributes());
+        subSystems.put(slowSubSystem("second", RETRIEVAL_TIME_MILLIS), attributes());
+        StateAttributeGetContext stateContext = new StateAttributeGetContext(subSystems, new HashMap<>());
+
+        Map<ModelNodeId, List<Element>> stateElements = m_aggregator.getAllStateElementsFromSubSystems(null,
+                new ConfigAttributeGetContext(), stateContext, mock(NetconfQueryParams.class));
+        assertEquals(2, stateElements.get(m_nodeId).size());
+    }
+
+    @Test
+    public void testRequestContextButNotScopeIsPropagatedToTheSubSystems() throws Exception {
+        RequestScope.getCurrentScope().putInCache("requester", "caller");
+        RequestContext.setApplicationTL("caller");
+        Map<SubSystem, Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>>> subSystems = new LinkedHashMap<>();
+        for (int i = 0; i < 2; i++) {
+            SubSystem subSystem = mock(SubSystem.class);
+            when(subSystem.retrieveStateAttributes(anyMap(), any(NetconfQueryParams.class), any(StateAttributeGetContext.class)))
+                    .thenAnswer(invocation -> stateElements(RequestContext.getApplicationTL() + "/"
+                            + RequestScope.getCurrentScope().getFromCache("requester")));
+            subSystems.put(subSystem, attributes());
+        }
+        StateAttributeGetContext stateContext = new StateAttributeGetContext(subSystems, new HashMap<>());
+        Map<ModelNodeId, List<Element>> stateElements = m_aggregator.getAllStateElementsFromSubSystems(null,
+                new ConfigAttributeGetContext(), stateContext, mock(NetconfQueryParams.class));
+        assertEquals(2, stateElements.get(m_nodeId).size());
+        assertEquals("caller/null", stateElements.get(m_nodeId).get(1).getTextContent());
+    }
+
+    private SubSystem slowSubSystem(String value, long retrievalTimeMillis) throws Exception {
+        SubSystem subSystem = mock(SubSystem.class);
+        when(subSystem.retrieveStateAttributes(anyMap(), any(NetconfQueryParams.class), any(StateAttributeGetContext.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(retrievalTimeMillis);
+                    return stateElements(value);
+                });
+        return subSystem;
+    }
+
+    private Map<ModelNodeId, List<Element>> stateElements(String value) {
+        Element element;
+        synchronized (m_document) {
+            element = m_document.createElementNS("urn:test", "state");
+            element.setTextContent(value);
+        }
+        Map<ModelNodeId, List<Element>> stateElements = new HashMap<>();
+        stateElements.put(m_nodeId, new ArrayList<>(Collections.singletonList(element)));
+        return stateElements;
+    }
+
+    private Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>> attributes() {
+        Map<ModelNodeId, Pair<List<QName>, List<FilterNode>>> attributes = new HashMap<>();
+        attributes.put(m_nodeId, new Pair<>(Collections.singletonList(QName.create("urn:test", "state")), Collections.emptyList()));
+        return attributes;
+    }
+}
@@ -199,6 +199,14 @@ public class AggregatedDSMTest {
         verify(m_mnDSM2).endModify();
         verify(m_mnDSM3).endModify();
     }
+
+    @Test
+    public void testAbortEditDelegation(){
+        m_aggregatedDSM.abortModify();
+        verify(m_mnDSM1).abortModify();
+        verify(m_mnDSM2).abortModify();
+        verify(m_mnDSM3).abortModify();
+    }
     
     @Test
     public void testCreateNode(){
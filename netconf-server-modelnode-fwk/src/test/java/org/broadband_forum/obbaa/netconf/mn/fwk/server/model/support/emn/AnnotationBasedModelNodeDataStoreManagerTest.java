@@ -16,26 +16,39 @@
 
 package org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.emn;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.Metamodel;
 import javax.persistence.metamodel.Type;
 
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorTag;
 import org.broadband_forum.obbaa.netconf.api.util.SchemaPathBuilder;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaBuildException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.schema.SchemaRegistryImpl;
+import org.broadband_forum.obbaa.netconf.mn.fwk.schema.constraints.payloadparsing.typevalidators.ValidationException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNode;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.ModelNodeId;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.SubSystemRegistry;
@@ -44,6 +57,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.DataStore
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.ModelNodeDSMRegistry;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.ModelNodeDSMRegistryImpl;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.ModelNodeDataStoreManager;
+import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.ModelNodeKey;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.utils.AnnotationAnalysisException;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.datastore.utils.EntityRegistryBuilder;
 import org.broadband_forum.obbaa.netconf.mn.fwk.server.model.support.ConfigLeafAttribute;
@@ -60,7 +74,9 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.util.NoLockService;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
 import org.broadband_forum.obbaa.netconf.persistence.PersistenceManagerUtil;
 import org.broadband_forum.obbaa.netconf.persistence.test.entities.jukebox3.Song;
+import org.broadband_forum.obbaa.netconf.server.RequestScope;
 import org.broadband_forum.obbaa.netconf.server.RequestScopeJunitRunner;
+import org.broadband_forum.obbaa.netconf.server.RequestTask;
 import org.broadband_forum.obbaa.netconf.server.util.TestUtil;
 import org.junit.Before;
 import org.junit.Test;
@@ -158,4 +174,240 @@ public class AnnotationBasedModelNodeDataStoreManagerTest {
         verify(entityDSManager).commitTransaction();
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testFindNodeLocksTheEntityUnlessLockFreeReadsAreEnabledForAGet() {
+        EntityDataStoreManager entityDSManager = mock(EntityDataStoreManager.class);
+        Metamodel metaModel = mock(Metamodel.class);
+        EntityType entity = mock(EntityType.class);
+        Type type = mock(Type.class);
+        when(m_persistenceManagerUtil.getEntityDataStoreManager()).thenReturn(entityDSManager);
+        when(entityDSManager.getEntityManager()).thenReturn(mock(EntityManager.class));
+        when(entityDSManager.getMetaModel()).thenReturn(metaModel);
+        when(metaModel.entity(Billboard.class)).thenReturn(entity);
+        when(entity.getIdType()).thenReturn(type);
+        when(type.getJavaType()).thenReturn(String.class);
+        SchemaPath billboardSchemaPath = SchemaPath.create(true, BillboardConstants.BB_QNAME);
+
+        RequestScope.getCurrentScope().putInCache(RequestTask.CURRENT_REQ_TYPE, RequestTask.REQ_TYPE_GET);
+        m_dataStoreManager.findNode(billboardSchemaPath, ModelNodeKey.EMPTY_KEY, TestConstants.EMPTY_NODE_ID, m_schemaRegistry);
+        verify(entityDSManager).findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ);
+
+        AnnotationBasedModelNodeDataStoreManager.setLockFreeReads(true);
+        try {
+            m_dataStoreManager.findNode(billboardSchemaPath, ModelNodeKey.EMPTY_KEY, TestConstants.EMPTY_NODE_ID, m_schemaRegistry);
+            verify(entityDSManager).findById(Billboard.class, "", LockModeType.NONE);
+
+            RequestScope.getCurrentScope().putInCache(RequestTask.CURRENT_REQ_TYPE, RequestTask.REQ_TYPE_EDIT_CONFIG);
+            m_dataStoreManager.findNode(billboardSchemaPath, ModelNodeKey.EMPTY_KEY, TestConstants.EMPTY_NODE_ID, m_schemaRegistry);
+            verify(entityDSManager, times(2)).findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ);
+        } finally {
+            AnnotationBasedModelNodeDataStoreManager.setLockFreeReads(false);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testChildrenPrefetchedForSeveralParentsAreReadWithoutAQueryPerParent() {
+        EntityDataStoreManager entityDSManager = mock(EntityDataStoreManager.class);
+        when(m_persistenceManagerUtil.getEntityDataStoreManager()).thenReturn(entityDSManager);
+        AnnotationBasedModelNodeDataStoreManager dsm = new AnnotationBasedModelNodeDataStoreManager(m_persistenceManagerUtil,
+                m_entityRegistry, m_schemaRegistry, m_modelNodeHelperRegistry, m_subSystemRegistry, m_modelNodeDSMRegistry);
+        SchemaPath songSchemaPath = new SchemaPathBuilder().withParent(SchemaPath.create(true, BillboardConstants.BB_QNAME))
+                .appendLocalName(BillboardConstants.ARWARD_CHOICE_LOCAL_NAME).appendLocalName(BillboardConstants.SINGLE_CASE_LOCAL_NAME)
+                .appendLocalName(BillboardConstants.SONG_LOCAL_NAME).build();
+        ModelNodeId parent1 = new ModelNodeId("/container=billboard1", BillboardConstants.BB_NS);
+        ModelNodeId parent2 = new ModelNodeId("/container=billboard2", BillboardConstants.BB_NS);
+        ModelNodeId parent3 = new ModelNodeId("/container=billboard3", BillboardConstants.BB_NS);
+        Song song1a = buildSong("1a", parent1);
+        Song song1b = buildSong("1b", parent1);
+        Song song2a = buildSong("2a", parent2);
+        when(entityDSManager.findByMatchValueAndInValues(eq(Song.class), anyMap(), eq("parentId"), anyCollection(), any(String.class)))
+                .thenReturn(Arrays.asList(song1a, song2a, song1b));
+
+        dsm.prefetchChildNodes(songSchemaPath, Arrays.asList(parent1, parent2, parent3), m_schemaRegistry);
+        assertEquals(Arrays.asList(song1a, song1b), dsm.getChildEntities(songSchemaPath, parent1));
+        assertEquals(Arrays.asList(song2a), dsm.getEntities(Song.class, Collections.emptyMap(), parent2));
+        assertEquals(Collections.emptyList(), dsm.getChildEntities(songSchemaPath, parent3));
+        verify(entityDSManager, never()).findByMatchValue(any(Class.class), anyMap());
+        verify(entityDSManager, never()).findByMatchValue(any(Class.class), anyMap(), any(String.class));
+
+        // a modification drops the prefetched children
+        dsm.beginModify();
+        dsm.getChildEntities(songSchemaPath, parent1);
+        verify(entityDSManager).findByMatchValue(eq(Song.class), anyMap());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testBulkModifyLocksTheParentOnceAndFlushesAtTheEnd() {
+        EntityDataStoreManager entityDSManager = mock(EntityDataStoreManager.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        Metamodel metaModel = mock(Metamodel.class);
+        EntityType entity = mock(EntityType.class);
+        Type type = mock(Type.class);
+        when(m_persistenceManagerUtil.getEntityDataStoreManager()).thenReturn(entityDSManager);
+        when(entityDSManager.getEntityManager()).thenReturn(entityManager);
+        when(entityDSManager.getMetaModel()).thenReturn(metaModel);
+        when(metaModel.entity(Billboard.class)).thenReturn(entity);
+        when(entity.getIdType()).thenReturn(type);
+        when(type.getJavaType()).thenReturn(String.class);
+        when(entityDSManager.findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ)).thenReturn(new Billboard());
+        AnnotationBasedModelNodeDataStoreManager dsm = new AnnotationBasedModelNodeDataStoreManager(m_persistenceManagerUtil,
+                m_entityRegistry, m_schemaRegistry, m_modelNodeHelperRegistry, m_subSystemRegistry, m_modelNodeDSMRegistry);
+
+        AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(50);
+        try {
+            dsm.beginModify();
+            dsm.createNode(buildSongModelNode(dsm, "Heroes"), TestConstants.EMPTY_NODE_ID);
+            dsm.createNode(buildSongModelNode(dsm, "Changes"), TestConstants.EMPTY_NODE_ID);
+            verify(entityDSManager).findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ);
+            verify(entityDSManager, times(2)).persist(any(Song.class));
+            verify(entityDSManager).setJdbcBatchSize(50);
+            verify(entityManager, never()).flush();
+            verify(entityDSManager, never()).flush();
+
+            dsm.endModify();
+            verify(entityDSManager).flush();
+            verify(entityDSManager).setJdbcBatchSize(null);
+        } finally {
+            AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(0);
+        }
+
+        // without a bulk modification every created node is flushed
+        dsm.createNode(buildSongModelNode(dsm, "Fame"), TestConstants.EMPTY_NODE_ID);
+        verify(entityManager).flush();
+        verify(entityDSManager, times(2)).findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testBulkModifyFlushFailureIsReportedOnTheParentOfTheModifiedNodes() {
+        EntityDataStoreManager entityDSManager = mock(EntityDataStoreManager.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        Metamodel metaModel = mock(Metamodel.class);
+        EntityType entity = mock(EntityType.class);
+        Type type = mock(Type.class);
+        when(m_persistenceManagerUtil.getEntityDataStoreManager()).thenReturn(entityDSManager);
+        when(entityDSManager.getEntityManager()).thenReturn(entityManager);
+        when(entityDSManager.getMetaModel()).thenReturn(metaModel);
+        when(metaModel.entity(Billboard.class)).thenReturn(entity);
+        when(entity.getIdType()).thenReturn(type);
+        when(type.getJavaType()).thenReturn(String.class);
+        when(entityDSManager.findById(eq(Billboard.class), any(), eq(LockModeType.PESSIMISTIC_READ))).thenReturn(new Billboard());
+        doThrow(new RuntimeException("could not execute batch", new RuntimeException("unique constraint violated")))
+                .when(entityDSManager).flush();
+        AnnotationBasedModelNodeDataStoreManager dsm = new AnnotationBasedModelNodeDataStoreManager(m_persistenceManagerUtil,
+                m_entityRegistry, m_schemaRegistry, m_modelNodeHelperRegistry, m_subSystemRegistry, m_modelNodeDSMRegistry);
+
+        AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(50);
+        try {
+            ModelNodeId billboardId = new ModelNodeId("/container=billboard", BillboardConstants.BB_NS);
+            dsm.beginModify();
+            dsm.createNode(buildSongModelNode(dsm, "Heroes"), billboardId);
+            dsm.createNode(buildSongModelNode(dsm, "Changes"), billboardId);
+            try {
+                dsm.endModify();
+                fail("Expected the flush failure to be reported");
+            } catch (ValidationException e) {
+                assertEquals(NetconfRpcErrorTag.OPERATION_FAILED, e.getRpcError().getErrorTag());
+                assertEquals("Error while storing the changes: unique constraint violated", e.getRpcError().getErrorMessage());
+                assertEquals(billboardId.xPathString(m_schemaRegistry), e.getRpcError().getErrorPath());
+            }
+            verify(entityDSManager).setJdbcBatchSize(null);
+        } finally {
+            AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(0);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testBeginModifyResetsTheBatchSizeOfAModificationThatWasNotEnded() {
+        EntityDataStoreManager entityDSManager = mock(EntityDataStoreManager.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        Metamodel metaModel = mock(Metamodel.class);
+        EntityType entity = mock(EntityType.class);
+        Type type = mock(Type.class);
+        when(m_persistenceManagerUtil.getEntityDataStoreManager()).thenReturn(entityDSManager);
+        when(entityDSManager.getEntityManager()).thenReturn(entityManager);
+        when(entityDSManager.getMetaModel()).thenReturn(metaModel);
+        when(metaModel.entity(Billboard.class)).thenReturn(entity);
+        when(entity.getIdType()).thenReturn(type);
+        when(type.getJavaType()).thenReturn(String.class);
+        when(entityDSManager.findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ)).thenReturn(new Billboard());
+        AnnotationBasedModelNodeDataStoreManager dsm = new AnnotationBasedModelNodeDataStoreManager(m_persistenceManagerUtil,
+                m_entityRegistry, m_schemaRegistry, m_modelNodeHelperRegistry, m_subSystemRegistry, m_modelNodeDSMRegistry);
+
+        AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(50);
+        try {
+            dsm.beginModify();
+            dsm.createNode(buildSongModelNode(dsm, "Heroes"), TestConstants.EMPTY_NODE_ID);
+            verify(entityDSManager).setJdbcBatchSize(50);
+
+            // the previous modification failed before its endModify
+            dsm.beginModify();
+            verify(entityDSManager).setJdbcBatchSize(null);
+            verify(entityDSManager, never()).flush();
+        } finally {
+            AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(0);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testAbortModifyEndsTheBulkModificationWithoutFlushing() {
+        EntityDataStoreManager entityDSManager = mock(EntityDataStoreManager.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        Metamodel metaModel = mock(Metamodel.class);
+        EntityType entity = mock(EntityType.class);
+        Type type = mock(Type.class);
+        when(m_persistenceManagerUtil.getEntityDataStoreManager()).thenReturn(entityDSManager);
+        when(entityDSManager.getEntityManager()).thenReturn(entityManager);
+        when(entityDSManager.getMetaModel()).thenReturn(metaModel);
+        when(metaModel.entity(Billboard.class)).thenReturn(entity);
+        when(entity.getIdType()).thenReturn(type);
+        when(type.getJavaType()).thenReturn(String.class);
+        when(entityDSManager.findById(Billboard.class, "", LockModeType.PESSIMISTIC_READ)).thenReturn(new Billboard());
+        AnnotationBasedModelNodeDataStoreManager dsm = new AnnotationBasedModelNodeDataStoreManager(m_persistenceManagerUtil,
+                m_entityRegistry, m_schemaRegistry, m_modelNodeHelperRegistry, m_subSystemRegistry, m_modelNodeDSMRegistry);
+
+        AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(50);
+        try {
+            dsm.beginModify();
+            dsm.createNode(buildSongModelNode(dsm, "Heroes"), TestConstants.EMPTY_NODE_ID);
+            verify(entityDSManager).setJdbcBatchSize(50);
+
+            dsm.abortModify();
+            verify(entityDSManager).setJdbcBatchSize(null);
+            verify(entityDSManager, never()).flush();
+            verify(entityManager, never()).flush();
+
+            // the aborted modification is over, so ending again does nothing
+            dsm.endModify();
+            verify(entityDSManager, never()).flush();
+        } finally {
+            AnnotationBasedModelNodeDataStoreManager.setBulkModifyBatchSize(0);
+        }
+    }
+
+    private ModelNodeWithAttributes buildSongModelNode(ModelNodeDataStoreManager dsm, String name) {
+        SchemaPath songSchemaPath = new SchemaPathBuilder().withParent(SchemaPath.create(true, BillboardConstants.BB_QNAME))
+                .appendLocalName(BillboardConstants.ARWARD_CHOICE_LOCAL_NAME).appendLocalName(BillboardConstants.SINGLE_CASE_LOCAL_NAME)
+                .appendLocalName(BillboardConstants.SONG_LOCAL_NAME).build();
+        ModelNodeWithAttributes songModelNode = new ModelNodeWithAttributes(songSchemaPath, TestConstants.EMPTY_NODE_ID,
+                m_modelNodeHelperRegistry, m_subSystemRegistry, m_schemaRegistry, dsm);
+        Map<QName, ConfigLeafAttribute> songAttrValues = new HashMap<>();
+        songAttrValues.put(QName.create(BillboardConstants.BB_NS, BillboardConstants.BB_REVISION, "name"),
+                new GenericConfigAttribute("name", BillboardConstants.BB_NS, name));
+        songModelNode.setAttributes(songAttrValues);
+        return songModelNode;
+    }
+
+    private Song buildSong(String name, ModelNodeId parentId) {
+        Song song = new Song();
+        song.setName(name);
+        song.setParentId(parentId.getModelNodeIdAsString());
+        return song;
+    }
+
 }
@@ -126,6 +126,7 @@ import org.broadband_forum.obbaa.netconf.mn.fwk.tests.persistence.entities.rootw
 import org.broadband_forum.obbaa.netconf.mn.fwk.tests.persistence.entities.yangwithparentchildsameqname.Root;
 import org.broadband_forum.obbaa.netconf.mn.fwk.tests.persistence.entities.yangwithparentchildsameqname.RootList;
 import org.broadband_forum.obbaa.netconf.persistence.EntityDataStoreManager;
+import org.broadband_forum.obbaa.netconf.persistence.PagingInput;
 import org.broadband_forum.obbaa.netconf.persistence.PersistenceManagerUtil;
 import org.broadband_forum.obbaa.netconf.server.RequestScope;
 import org.broadband_forum.obbaa.netconf.server.RequestScopeJunitRunner;
@@ -526,6 +527,31 @@ public class XmlSubtreeDSMTest {
 
     }
 
+    @Test
+    public void testFindNodesWithPagingInput() throws AnnotationAnalysisException, DataStoreException {
+        initializeAlbumSubtreeEntity();
+        Map<QName, ConfigLeafAttribute> keys = Collections.emptyMap();
+
+        List<ModelNode> artistModelNodes = m_aggregatedDSM.findNodes(ARTIST_SCHEMA_PATH, keys, m_libraryNodeId, m_schemaRegistry,
+                new PagingInput(0, 1));
+        assertEquals(1, artistModelNodes.size());
+        assertEquals(m_artist1NodeId, artistModelNodes.get(0).getModelNodeId());
+
+        artistModelNodes = m_aggregatedDSM.findNodes(ARTIST_SCHEMA_PATH, keys, m_libraryNodeId, m_schemaRegistry,
+                new PagingInput(1, 5));
+        assertEquals(1, artistModelNodes.size());
+        assertEquals(m_artist2NodeId, artistModelNodes.get(0).getModelNodeId());
+
+        artistModelNodes = m_aggregatedDSM.findNodes(ARTIST_SCHEMA_PATH, keys, m_libraryNodeId, m_schemaRegistry,
+                new PagingInput(2, 5));
+        assertEquals(0, artistModelNodes.size());
+
+        List<ModelNode> albumModelNodes = executeWithResetScope(() -> m_aggregatedDSM.findNodes(ALBUM_SCHEMA_PATH, keys,
+                m_artist2NodeId, m_schemaRegistry, new PagingInput(1, 1)));
+        assertEquals(1, albumModelNodes.size());
+        assertEquals(m_albumNodeId, albumModelNodes.get(0).getModelNodeId());
+    }
+
     @Test
     public void testFindNodesWithNestedChildrenInAlbumSubtree() throws AnnotationAnalysisException, DataStoreException {
         initializeCDSubtreeEntity();
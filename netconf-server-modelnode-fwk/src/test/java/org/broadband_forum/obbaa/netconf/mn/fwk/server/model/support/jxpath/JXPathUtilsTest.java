@@ -20,12 +20,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.jxpath.ri.Compiler;
 import org.apache.commons.jxpath.ri.JXPathCompiledExpression;
 import org.apache.commons.jxpath.ri.compiler.Constant;
@@ -55,6 +57,15 @@ public class JXPathUtilsTest {
         assertNull(JXPathUtils.getExpression((JXPathCompiledExpression) null));
     }
 
+    @Test
+    public void testExpressionsAreCompiledOnce() {
+        Expression expression = JXPathUtils.getExpression("../a/b = current()");
+        assertEquals("../a/b = current()", expression.toString());
+        assertSame(expression, JXPathUtils.getExpression("../a/b = current()"));
+        assertSame(JXPathUtils.getCompiledExpression("a/b"), JXPathUtils.getCompiledExpression("a/b"));
+        assertEquals(3.0, JXPathUtils.getCompiledExpression("1 + 2").getValue(JXPathContext.newContext(null)));
+    }
+
     @Test
     public void testGetConstantExpression() {
         Constant result = JXPathUtils.getConstantExpression("test");
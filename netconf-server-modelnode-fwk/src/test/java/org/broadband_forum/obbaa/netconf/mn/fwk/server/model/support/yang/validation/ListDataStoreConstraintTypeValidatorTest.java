@@ -1100,4 +1100,54 @@ public class ListDataStoreConstraintTypeValidatorTest extends AbstractDataStoreV
 		assertEquals("Invalid XML Syntax reported in an element: single-unique", response.getErrors().get(0).getErrorMessage());
 		assertEquals(NetconfRpcErrorType.Application, response.getErrors().get(0).getErrorType());
 	}
+
+    @Test
+    public void testUniqueConstraintIsCheckedAgainstEntriesOfEarlierEdits() throws ModelNodeInitException {
+        getModelNode();
+        initialiseInterceptor();
+        editConfig(m_server, m_clientInfo, validation(singleUnique("1", "value1", null)), true);
+        editConfig(m_server, m_clientInfo, validation(singleUnique("2", "value2", null)), true);
+        assertEquals(1, m_dataStore.getUniqueConstraintIndex().size());
+
+        NetConfResponse response = editConfig(m_server, m_clientInfo, validation(singleUnique("3", "value1", null)), false);
+        assertEquals(EditContainmentNode.DATA_NOT_UNIQUE, response.getErrors().get(0).getErrorAppTag());
+
+        // a modification of an entry is not checked against its own value
+        editConfig(m_server, m_clientInfo, validation(singleUnique("1", "value1", "changed")), true);
+        response = editConfig(m_server, m_clientInfo, validation(singleUnique("2", "value1", null)), false);
+        assertEquals(EditContainmentNode.DATA_NOT_UNIQUE, response.getErrors().get(0).getErrorAppTag());
+    }
+
+    @Test
+    public void testUniqueConstraintIndexReleasesTheValuesOfDeletedAndModifiedEntries() throws ModelNodeInitException {
+        getModelNode();
+        initialiseInterceptor();
+        editConfig(m_server, m_clientInfo, validation(singleUnique("1", "value1", null)), true);
+        editConfig(m_server, m_clientInfo, validation(singleUnique("2", "value2", null)), true);
+        editConfig(m_server, m_clientInfo, validation(singleUnique("3", "value3", null)), true);
+
+        // the value of a deleted entry can be reused
+        editConfig(m_server, m_clientInfo, validation("<single-unique xmlns:xc=\"urn:ietf:params:xml:ns:netconf:base:1.0\" xc:operation=\"delete\">"
+                +    "<id>1</id>"
+                + "</single-unique>"), true);
+        assertEquals(1, m_dataStore.getUniqueConstraintIndex().size());
+        editConfig(m_server, m_clientInfo, validation(singleUnique("5", "value1", null)), true);
+
+        // the values of two entries can be swapped in one edit
+        editConfig(m_server, m_clientInfo, validation(singleUnique("5", "value2", null) + singleUnique("2", "value1", null)), true);
+        NetConfResponse response = editConfig(m_server, m_clientInfo, validation(singleUnique("3", "value2", null)), false);
+        assertEquals(EditContainmentNode.DATA_NOT_UNIQUE, response.getErrors().get(0).getErrorAppTag());
+    }
+
+    private String validation(String entries) {
+        return "<validation xmlns=\"urn:org:bbf2:pma:validation\">" + entries + "</validation>";
+    }
+
+    private String singleUnique(String id, String value, String status) {
+        return "<single-unique>"
+                +    "<id>" + id + "</id>"
+                +    "<value>" + value + "</value>"
+                +    (status == null ? "" : "<status>" + status + "</status>")
+                + "</single-unique>";
+    }
 }
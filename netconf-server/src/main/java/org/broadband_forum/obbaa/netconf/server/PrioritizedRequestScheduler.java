@@ -0,0 +1,527 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.broadband_forum.obbaa.netconf.api.LogAppNames;
+import org.broadband_forum.obbaa.netconf.api.messages.AbstractNetconfGetRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.AbstractNetconfRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.ActionRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.CopyConfigRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.CreateSubscriptionRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.DeleteConfigRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.EditConfigRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.GetConfigRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.LockRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.NetConfResponse;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcError;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorSeverity;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorTag;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorType;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.StandardDataStores;
+import org.broadband_forum.obbaa.netconf.api.messages.UnLockRequest;
+import org.broadband_forum.obbaa.netconf.server.ssh.NamedThreadFactory;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLogger;
+import org.broadband_forum.obbaa.netconf.stack.logging.AdvancedLoggerUtil;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A RequestScheduler that executes requests on a pool of worker threads while
+ * <ul>
+ *     <li>keeping the requests of a session in the order in which they were received, a session has at most one request executing,</li>
+ *     <li>letting get/get-config requests of different sessions run concurrently,</li>
+ *     <li>executing at most one write request per datastore at a time, reads on that datastore wait for the write to finish,
+ *     requests that do not access a datastore (close-session, kill-session, create-subscription) are neither reads nor writes,</li>
+ *     <li>picking the next request by {@link RequestCategory}, in the configured priority order (NBI, GUI then BACKGROUND by default).</li>
+ * </ul>
+ * Each category has a bounded queue, a request arriving when its queue is full is answered with a resource-denied error.
+ * The requests still queued when the scheduler is stopped are answered with an operation-failed error, a request the worker
+ * pool refuses to execute is answered with a resource-denied error.
+ * <p>
+ * A request with a with-delay does not hold a worker thread while waiting, it is put aside on a timer when it reaches the
+ * head of its session queue and is queued again once the delay has elapsed. Its session stays busy meanwhile, so the
+ * requests received after it on that session still wait for it.
+ */
+public class PrioritizedRequestScheduler implements RequestScheduler {
+    private static final AdvancedLogger LOGGER = AdvancedLoggerUtil.getGlobalDebugLogger(PrioritizedRequestScheduler.class, LogAppNames.NETCONF_LIB);
+    public static final List<RequestCategory> DEFAULT_PRIORITY_ORDER = Arrays.asList(RequestCategory.NBI, RequestCategory.GUI,
+            RequestCategory.BACKGROUND);
+    static final String QUEUE_FULL_ERROR = "Server is busy, the request queue for %s requests is full";
+    static final String SCHEDULER_STOPPED_ERROR = "Server is shutting down, the request was not executed";
+    static final String EXECUTION_REJECTED_ERROR = "Server is busy, the request could not be executed";
+    private static final String POOL_NAME = "NetconfRequestScheduler";
+    private static final String DELAY_TIMER_NAME = "NetconfRequestDelayTimer";
+
+    private final int m_workerThreads;
+    private final List<RequestCategory> m_priorityOrder;
+    private final Map<RequestCategory, Integer> m_queueCapacities;
+    /**
+     * The queued requests of each category, by arrival.
+     */
+    private final Map<RequestCategory, TreeMap<Long, RequestTask>> m_queues = new EnumMap<>(RequestCategory.class);
+    /**
+     * The queued requests that are at the head of an idle session, by arrival. Only these may start, so dispatching does
+     * not go through the requests waiting behind another request of their session.
+     */
+    private final Map<RequestCategory, TreeMap<Long, RequestTask>> m_readyTasks = new EnumMap<>(RequestCategory.class);
+    private final Map<RequestTask, Long> m_arrivals = new HashMap<>();
+    private long m_nextArrival;
+    private final Map<Object, Deque<RequestTask>> m_sessionQueues = new HashMap<>();
+    private final Set<Object> m_busySessions = new HashSet<>();
+    private final Set<String> m_datastoresBeingWritten = new HashSet<>();
+    private final Map<String, Integer> m_datastoreReaders = new HashMap<>();
+    private final Set<RequestTask> m_runningTasks = new LinkedHashSet<>();
+    private final Set<RequestTask> m_delayedTasks = new LinkedHashSet<>();
+    /**
+     * The requests the worker pool refused to execute, to be answered once the scheduler lock is released.
+     */
+    private final List<RequestTask> m_rejectedTasks = new ArrayList<>();
+    private final Map<RequestCategory, CategoryMetrics> m_metrics = new EnumMap<>(RequestCategory.class);
+    private ExecutorService m_executor;
+    private ScheduledExecutorService m_delayTimer;
+
+    public PrioritizedRequestScheduler(int workerThreads, int queueCapacity) {
+        this(workerThreads, DEFAULT_PRIORITY_ORDER, capacities(queueCapacity));
+    }
+
+    public PrioritizedRequestScheduler(int workerThreads, List<RequestCategory> priorityOrder, Map<RequestCategory, Integer> queueCapacities) {
+        m_workerThreads = workerThreads;
+        m_priorityOrder = new ArrayList<>(priorityOrder);
+        for (RequestCategory category : RequestCategory.values()) {
+            if (!m_priorityOrder.contains(category)) {
+                m_priorityOrder.add(category);
+            }
+            m_queues.put(category, new TreeMap<>());
+            m_readyTasks.put(category, new TreeMap<>());
+            m_metrics.put(category, new CategoryMetrics());
+        }
+        m_queueCapacities = new EnumMap<>(queueCapacities);
+    }
+
+    private static Map<RequestCategory, Integer> capacities(int queueCapacity) {
+        Map<RequestCategory, Integer> capacities = new EnumMap<>(RequestCategory.class);
+        for (RequestCategory category : RequestCategory.values()) {
+            capacities.put(category, queueCapacity);
+        }
+        return capacities;
+    }
+
+    @Override
+    public void start() {
+        synchronized (this) {
+            if (m_executor == null) {
+                m_executor = newExecutor();
+                m_delayTimer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(DELAY_TIMER_NAME));
+                LOGGER.info("Started request scheduler with {} worker threads", m_workerThreads);
+                dispatch();
+            }
+        }
+        replyToRejectedTasks();
+    }
+
+    @Override
+    public void stop() {
+        ExecutorService executor;
+        ScheduledExecutorService delayTimer;
+        List<RequestTask> droppedTasks;
+        synchronized (this) {
+            executor = m_executor;
+            delayTimer = m_delayTimer;
+            m_executor = null;
+            m_delayTimer = null;
+            droppedTasks = getQueuedRequests();
+            for (RequestTask delayedTask : m_delayedTasks) {
+                m_busySessions.remove(getSessionKey(delayedTask));
+            }
+            for (RequestCategory category : RequestCategory.values()) {
+                m_queues.get(category).clear();
+                m_readyTasks.get(category).clear();
+            }
+            m_arrivals.clear();
+            m_sessionQueues.clear();
+            m_delayedTasks.clear();
+        }
+        if (executor != null) {
+            delayTimer.shutdownNow();
+            executor.shutdown();
+            LOGGER.info("Stopped request scheduler");
+        }
+        for (RequestTask droppedTask : droppedTasks) {
+            LOGGER.warn("Failing request with message-id {} as the request scheduler is stopped", droppedTask.getRequest().getMessageId());
+            try {
+                sendError(droppedTask, NetconfRpcErrorTag.OPERATION_FAILED, SCHEDULER_STOPPED_ERROR);
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not reply to request with message-id {}", droppedTask.getRequest().getMessageId(), e);
+            }
+        }
+    }
+
+    @Override
+    public void scheduleTask(RequestTask requestTask) {
+        RequestCategory category = getCategory(requestTask);
+        boolean accepted;
+        synchronized (this) {
+            TreeMap<Long, RequestTask> queue = m_queues.get(category);
+            Integer capacity = m_queueCapacities.get(category);
+            accepted = capacity == null || queue.size() < capacity;
+            if (accepted) {
+                requestTask.setQueuedTime(System.currentTimeMillis());
+                requestTask.enqueued();
+                long arrival = m_nextArrival++;
+                m_arrivals.put(requestTask, arrival);
+                queue.put(arrival, requestTask);
+                Object sessionKey = getSessionKey(requestTask);
+                m_sessionQueues.computeIfAbsent(sessionKey, key -> new ArrayDeque<>()).addLast(requestTask);
+                markSessionReady(sessionKey);
+                dispatch();
+            }
+        }
+        replyToRejectedTasks();
+        if (!accepted) {
+            m_metrics.get(category).m_rejected.increment();
+            LOGGER.warn("Rejecting request with message-id {} as the {} request queue is full", requestTask.getRequest().getMessageId(),
+                    category);
+            sendError(requestTask, NetconfRpcErrorTag.RESOURCE_DENIED, String.format(QUEUE_FULL_ERROR, category));
+        }
+    }
+
+    @Override
+    public synchronized List<RequestTask> getQueuedRequests() {
+        List<RequestTask> queuedRequests = new ArrayList<>();
+        for (RequestCategory category : m_priorityOrder) {
+            queuedRequests.addAll(m_queues.get(category).values());
+        }
+        queuedRequests.addAll(m_delayedTasks);
+        return queuedRequests;
+    }
+
+    @Override
+    public synchronized List<RequestTask> getRunningRequests() {
+        return new ArrayList<>(m_runningTasks);
+    }
+
+    public synchronized int getQueueDepth(RequestCategory category) {
+        return m_queues.get(category).size();
+    }
+
+    public synchronized int getQueueDepth() {
+        int depth = 0;
+        for (TreeMap<Long, RequestTask> queue : m_queues.values()) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    public long getExecutedRequestCount(RequestCategory category) {
+        return m_metrics.get(category).m_executed.sum();
+    }
+
+    public long getRejectedRequestCount(RequestCategory category) {
+        return m_metrics.get(category).m_rejected.sum();
+    }
+
+    /**
+     * @return average time in milliseconds the executed requests of the category spent in the queue, based on
+     * {@link RequestTask#getWaitingTimeInQueue()}.
+     */
+    public long getAverageWaitingTimeInQueue(RequestCategory category) {
+        CategoryMetrics metrics = m_metrics.get(category);
+        long executed = metrics.m_measured.sum();
+        return executed == 0 ? 0 : metrics.m_totalWaitingTime.sum() / executed;
+    }
+
+    public long getMaxWaitingTimeInQueue(RequestCategory category) {
+        return m_metrics.get(category).m_maxWaitingTime.get();
+    }
+
+    @VisibleForTesting
+    ExecutorService newExecutor() {
+        return Executors.newFixedThreadPool(m_workerThreads, new NamedThreadFactory(POOL_NAME));
+    }
+
+    /**
+     * Starts every queued request that is allowed to run now. Must be called holding the scheduler lock.
+     */
+    private void dispatch() {
+        if (m_executor == null) {
+            return;
+        }
+        Set<String> datastoresWithPendingWrite = new HashSet<>();
+        for (RequestCategory category : m_priorityOrder) {
+            Iterator<RequestTask> iterator = m_readyTasks.get(category).values().iterator();
+            while (iterator.hasNext() && m_runningTasks.size() < m_workerThreads) {
+                RequestTask task = iterator.next();
+                Object sessionKey = getSessionKey(task);
+                int delay = task.getPendingDelay();
+                if (delay > 0) {
+                    iterator.remove();
+                    dequeue(task, category, sessionKey);
+                    delayTask(task, sessionKey, delay);
+                    continue;
+                }
+                String datastore = getDatastore(task);
+                if (!canStart(task, datastore, datastoresWithPendingWrite)) {
+                    if (getDatastoreAccess(task) == DatastoreAccess.WRITE) {
+                        // keep new reads off the datastore so that the write is not starved
+                        datastoresWithPendingWrite.add(datastore);
+                    }
+                    continue;
+                }
+                iterator.remove();
+                dequeue(task, category, sessionKey);
+                m_arrivals.remove(task);
+                startTask(task, sessionKey, datastore);
+            }
+        }
+    }
+
+    /**
+     * Makes the request at the head of the session queue ready to start, unless the session is busy.
+     */
+    private void markSessionReady(Object sessionKey) {
+        Deque<RequestTask> sessionQueue = m_sessionQueues.get(sessionKey);
+        if (sessionQueue != null && !m_busySessions.contains(sessionKey)) {
+            RequestTask head = sessionQueue.peekFirst();
+            m_readyTasks.get(getCategory(head)).put(m_arrivals.get(head), head);
+        }
+    }
+
+    private void dequeue(RequestTask task, RequestCategory category, Object sessionKey) {
+        m_queues.get(category).remove(m_arrivals.get(task));
+        Deque<RequestTask> sessionQueue = m_sessionQueues.get(sessionKey);
+        sessionQueue.pollFirst();
+        if (sessionQueue.isEmpty()) {
+            m_sessionQueues.remove(sessionKey);
+        }
+    }
+
+    private void delayTask(RequestTask task, Object sessionKey, int delay) {
+        LOGGER.debug("Delaying request with message-id {} by {} seconds", task.getRequest().getMessageId(), delay);
+        m_busySessions.add(sessionKey);
+        m_delayedTasks.add(task);
+        m_delayTimer.schedule(() -> requeueDelayedTask(task, sessionKey), delay, TimeUnit.SECONDS);
+    }
+
+    private void requeueDelayedTask(RequestTask task, Object sessionKey) {
+        synchronized (this) {
+            if (!m_delayedTasks.remove(task)) {
+                return;
+            }
+            task.delayElapsed();
+            m_busySessions.remove(sessionKey);
+            m_queues.get(getCategory(task)).put(m_arrivals.get(task), task);
+            m_sessionQueues.computeIfAbsent(sessionKey, key -> new ArrayDeque<>()).addFirst(task);
+            markSessionReady(sessionKey);
+            dispatch();
+        }
+        replyToRejectedTasks();
+    }
+
+    private boolean canStart(RequestTask task, String datastore, Set<String> datastoresWithPendingWrite) {
+        DatastoreAccess access = getDatastoreAccess(task);
+        if (access == DatastoreAccess.NONE) {
+            return true;
+        }
+        if (m_datastoresBeingWritten.contains(datastore)) {
+            return false;
+        }
+        if (access == DatastoreAccess.WRITE) {
+            return !m_datastoreReaders.containsKey(datastore);
+        }
+        return !datastoresWithPendingWrite.contains(datastore);
+    }
+
+    private void startTask(RequestTask task, Object sessionKey, String datastore) {
+        m_busySessions.add(sessionKey);
+        DatastoreAccess access = getDatastoreAccess(task);
+        if (access == DatastoreAccess.WRITE) {
+            m_datastoresBeingWritten.add(datastore);
+        } else if (access == DatastoreAccess.READ) {
+            m_datastoreReaders.merge(datastore, 1, Integer::sum);
+        }
+        m_runningTasks.add(task);
+        task.setOfferedTime(System.currentTimeMillis());
+        try {
+            m_executor.execute(() -> execute(task, sessionKey, datastore));
+        } catch (RejectedExecutionException e) {
+            LOGGER.error("Could not execute request with message-id {}", task.getRequest().getMessageId(), e);
+            release(task, sessionKey, datastore);
+            m_rejectedTasks.add(task);
+        }
+    }
+
+    private void execute(RequestTask task, Object sessionKey, String datastore) {
+        try {
+            task.run();
+        } finally {
+            recordMetrics(task);
+            synchronized (this) {
+                release(task, sessionKey, datastore);
+                markSessionReady(sessionKey);
+                dispatch();
+            }
+            replyToRejectedTasks();
+        }
+    }
+
+    private void release(RequestTask task, Object sessionKey, String datastore) {
+        m_runningTasks.remove(task);
+        m_busySessions.remove(sessionKey);
+        DatastoreAccess access = getDatastoreAccess(task);
+        if (access == DatastoreAccess.WRITE) {
+            m_datastoresBeingWritten.remove(datastore);
+        } else if (access == DatastoreAccess.READ) {
+            m_datastoreReaders.computeIfPresent(datastore, (key, readers) -> readers > 1 ? readers - 1 : null);
+        }
+    }
+
+    /**
+     * Answers the requests the worker pool refused with a resource-denied error, and dispatches the next request of their
+     * sessions. Must be called without holding the scheduler lock.
+     */
+    private void replyToRejectedTasks() {
+        while (true) {
+            List<RequestTask> rejectedTasks;
+            synchronized (this) {
+                if (m_rejectedTasks.isEmpty()) {
+                    return;
+                }
+                rejectedTasks = new ArrayList<>(m_rejectedTasks);
+                m_rejectedTasks.clear();
+                for (RequestTask rejectedTask : rejectedTasks) {
+                    markSessionReady(getSessionKey(rejectedTask));
+                }
+                dispatch();
+            }
+            for (RequestTask rejectedTask : rejectedTasks) {
+                m_metrics.get(getCategory(rejectedTask)).m_rejected.increment();
+                try {
+                    sendError(rejectedTask, NetconfRpcErrorTag.RESOURCE_DENIED, EXECUTION_REJECTED_ERROR);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Could not reply to request with message-id {}", rejectedTask.getRequest().getMessageId(), e);
+                }
+            }
+        }
+    }
+
+    private void recordMetrics(RequestTask task) {
+        CategoryMetrics metrics = m_metrics.get(getCategory(task));
+        metrics.m_executed.increment();
+        Long waitingTime = task.getWaitingTimeInQueue();
+        if (waitingTime != null) {
+            metrics.m_measured.increment();
+            metrics.m_totalWaitingTime.add(waitingTime);
+            metrics.m_maxWaitingTime.accumulateAndGet(waitingTime, Math::max);
+        }
+    }
+
+    private void sendError(RequestTask requestTask, NetconfRpcErrorTag errorTag, String errorMessage) {
+        NetConfResponse response = new NetConfResponse();
+        response.setOk(false);
+        response.addError(new NetconfRpcError(errorTag, NetconfRpcErrorType.Application, NetconfRpcErrorSeverity.Error, errorMessage));
+        requestTask.sendResponse(response);
+    }
+
+    @VisibleForTesting
+    static RequestCategory getCategory(RequestTask requestTask) {
+        RequestContext requestContext = requestTask.getRequestContext();
+        if (requestContext == null || requestContext.getRequestCategory() == null) {
+            return RequestCategory.NBI;
+        }
+        return requestContext.getRequestCategory();
+    }
+
+    private static Object getSessionKey(RequestTask requestTask) {
+        if (requestTask.getClientInfo() == null) {
+            return requestTask;
+        }
+        return requestTask.getClientInfo().getSessionId();
+    }
+
+    /**
+     * Only the operations that may change a datastore are writes. An rpc or action may change the data it acts on and
+     * lock/unlock must not overlap a write of their datastore, so they are writes too.
+     */
+    @VisibleForTesting
+    static DatastoreAccess getDatastoreAccess(RequestTask requestTask) {
+        AbstractNetconfRequest request = requestTask.getRequest();
+        if (request instanceof AbstractNetconfGetRequest) {
+            return DatastoreAccess.READ;
+        }
+        if (request instanceof EditConfigRequest || request instanceof CopyConfigRequest || request instanceof DeleteConfigRequest
+                || request instanceof LockRequest || request instanceof UnLockRequest || request instanceof ActionRequest
+                || (request instanceof NetconfRpcRequest && !(request instanceof CreateSubscriptionRequest))) {
+            return DatastoreAccess.WRITE;
+        }
+        return DatastoreAccess.NONE;
+    }
+
+    @VisibleForTesting
+    static String getDatastore(RequestTask requestTask) {
+        AbstractNetconfRequest request = requestTask.getRequest();
+        String datastore = null;
+        if (request instanceof EditConfigRequest) {
+            datastore = ((EditConfigRequest) request).getTarget();
+        } else if (request instanceof GetConfigRequest) {
+            datastore = ((GetConfigRequest) request).getSource();
+        } else if (request instanceof CopyConfigRequest) {
+            datastore = ((CopyConfigRequest) request).getTarget();
+        } else if (request instanceof DeleteConfigRequest) {
+            datastore = ((DeleteConfigRequest) request).getTarget();
+        } else if (request instanceof LockRequest) {
+            datastore = ((LockRequest) request).getTarget();
+        } else if (request instanceof UnLockRequest) {
+            datastore = ((UnLockRequest) request).getTarget();
+        }
+        return datastore == null ? StandardDataStores.RUNNING : datastore;
+    }
+
+    @VisibleForTesting
+    enum DatastoreAccess {
+        NONE, READ, WRITE
+    }
+
+    private static class CategoryMetrics {
+        private final LongAdder m_executed = new LongAdder();
+        private final LongAdder m_rejected = new LongAdder();
+        private final LongAdder m_measured = new LongAdder();
+        private final LongAdder m_totalWaitingTime = new LongAdder();
+        private final AtomicLong m_maxWaitingTime = new AtomicLong();
+    }
+}
@@ -56,6 +56,10 @@ public class RequestContext {
         c_isByPass.set(true);
     }
 
+    public static void setIsByPass(boolean isByPass) {
+        c_isByPass.set(isByPass);
+    }
+
     public static void setByPassPermissions(Set<String> permissions) {
         c_byPassPermissions.set(permissions);
     }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs a part of a request on another thread with the {@link RequestContext} of the thread that created it. It runs with
+ * a {@link RequestScope} of its own, the caches of a scope are not meant to be used by several threads at once. The
+ * thread-locals of the executing thread are restored afterwards, so this can also be run by the creating thread itself.
+ */
+public class RequestScopedCallable<V> implements Callable<V> {
+
+    private final Callable<V> m_delegate;
+    private final RequestCategory m_requestCategory;
+    private final String m_application;
+    private final UserContext m_loggedInUserCtxt;
+    private final UserContext m_additionalUserCtxt;
+    private final AggregateContext m_aggregateContext;
+    private final boolean m_isByPassed;
+    private final Set<String> m_byPassPermissions;
+
+    public RequestScopedCallable(Callable<V> delegate) {
+        m_delegate = delegate;
+        m_requestCategory = RequestContext.getRequestCategoryTL();
+        m_application = RequestContext.getApplicationTL();
+        m_loggedInUserCtxt = RequestContext.getLoggedInUserCtxtTL();
+        m_additionalUserCtxt = RequestContext.getAdditionalUserCtxtTL();
+        m_aggregateContext = RequestContext.getAggregateContextTL();
+        m_isByPassed = RequestContext.isByPassed();
+        m_byPassPermissions = RequestContext.getByPassPermissions();
+    }
+
+    @Override
+    public V call() throws Exception {
+        RequestScope requestScope = RequestScope.getCurrentScope();
+        RequestCategory requestCategory = RequestContext.getRequestCategoryTL();
+        String application = RequestContext.getApplicationTL();
+        UserContext loggedInUserCtxt = RequestContext.getLoggedInUserCtxtTL();
+        UserContext additionalUserCtxt = RequestContext.getAdditionalUserCtxtTL();
+        AggregateContext aggregateContext = RequestContext.getAggregateContextTL();
+        boolean isByPassed = RequestContext.isByPassed();
+        Set<String> byPassPermissions = RequestContext.getByPassPermissions();
+        try {
+            RequestScope.resetScope();
+            setThreadLocals(RequestScope.getCurrentScope(), m_requestCategory, m_application, m_loggedInUserCtxt, m_additionalUserCtxt,
+                    m_aggregateContext, m_isByPassed, m_byPassPermissions);
+            return m_delegate.call();
+        } finally {
+            setThreadLocals(requestScope, requestCategory, application, loggedInUserCtxt, additionalUserCtxt, aggregateContext,
+                    isByPassed, byPassPermissions);
+        }
+    }
+
+    private static void setThreadLocals(RequestScope requestScope, RequestCategory requestCategory, String application,
+                                        UserContext loggedInUserCtxt, UserContext additionalUserCtxt,
+                                        AggregateContext aggregateContext, boolean isByPassed, Set<String> byPassPermissions) {
+        RequestScope.setScope(requestScope);
+        RequestContext.setRequestCategoryTL(requestCategory);
+        RequestContext.setApplicationTL(application);
+        RequestContext.setLoggedInUserCtxtTL(loggedInUserCtxt);
+        RequestContext.setAdditionalUserCtxtTL(additionalUserCtxt);
+        RequestContext.setAggregateContextTL(aggregateContext);
+        RequestContext.setIsByPass(isByPassed);
+        RequestContext.setByPassPermissions(byPassPermissions);
+    }
+}
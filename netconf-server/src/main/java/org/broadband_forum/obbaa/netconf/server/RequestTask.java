@@ -91,6 +91,7 @@ public class RequestTask implements Runnable {
     private RequestTaskPostRequestExecuteListener m_requestTaskPostRequestExecuteListener;
     private Stopwatch m_enQueueTimer;
     private Long m_queueWaitingTime;
+    private volatile boolean m_delayElapsed;
 
     public RequestTask(NetconfClientInfo clientInfo, AbstractNetconfRequest netconfRequest, ResponseChannel channel,
                        NetconfServerMessageListener serverMessageListener, NetconfLogger netconfLogger,
@@ -170,11 +171,27 @@ public class RequestTask implements Runnable {
         return m_netconfRequest instanceof ActionRequest;
     }
 
-    private void delayRequest() throws InterruptedException {
-        int withDelay = 0;
-        if (m_netconfRequest instanceof AbstractNetconfRequest) {
-            withDelay = ((AbstractNetconfRequest) m_netconfRequest).getWithDelay();
+    /**
+     * @return the with-delay of the request in seconds, or 0 when the request has no with-delay or a scheduler
+     * already waited for it (see {@link #delayElapsed()}).
+     */
+    public int getPendingDelay() {
+        if (m_delayElapsed) {
+            return 0;
         }
+        return m_netconfRequest.getWithDelay();
+    }
+
+    /**
+     * Marks the with-delay of the request as already waited for, so that {@link #run()} executes it right away
+     * instead of sleeping on the worker thread.
+     */
+    public void delayElapsed() {
+        m_delayElapsed = true;
+    }
+
+    private void delayRequest() throws InterruptedException {
+        int withDelay = getPendingDelay();
         if (withDelay > 0) {
             try {
                 Thread.sleep(withDelay * 1000);
@@ -29,6 +29,7 @@ import org.broadband_forum.obbaa.netconf.api.util.NetconfMessageBuilderException
 import org.w3c.dom.Document;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
 public class NetconfMessageHandler extends AbstractSshNetconfServerMessageHandler {
 
@@ -55,6 +56,11 @@ public class NetconfMessageHandler extends AbstractSshNetconfServerMessageHandle
         return m_codec.encode(msg);
     }
 
+    @Override
+    public ByteBuf encode(Document msg, ByteBufAllocator allocator) throws NetconfMessageBuilderException {
+        return m_codec.encode(msg, allocator);
+    }
+
     @Override
     public DocumentInfo decode(ByteBuf in) throws NetconfMessageBuilderException, MessageToolargeException {
         return m_codec.decode(in);
@@ -25,6 +25,7 @@ import static org.broadband_forum.obbaa.netconf.api.util.NetconfResources.EOM_HA
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -374,13 +375,12 @@ public class SecureNetconfServerHandler extends SimpleChannelInboundHandler<Stri
 
         private void writeResponse(NetConfResponse response) throws NetconfMessageBuilderException {
             Document responseDoc = response.getResponseDocument();
-            byte[] responseBytes = m_handler.encode(responseDoc);
-            String str = new String(responseBytes);
+            ByteBuf responseBuf = m_handler.encode(responseDoc, m_channel.alloc());
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(String.format("SERVER: sending Response : %s", str));
+                LOGGER.debug(String.format("SERVER: sending Response : %s", responseBuf.toString(StandardCharsets.UTF_8)));
             }
             try {
-                doWrite(response, str);
+                doWrite(response, responseBuf);
             } catch (InterruptedException e) {
                 LOGGER.warn("Interrupted while sending close/kill session response", e);
             } finally {
@@ -394,11 +394,9 @@ public class SecureNetconfServerHandler extends SimpleChannelInboundHandler<Stri
         public synchronized void sendNotification(Notification notification) {
             try {
                 Document document = notification.getNotificationDocument();
-                byte[] notifByte = m_handler.encode(document);
-                String notificationString = new String(notifByte);
                 // lock output Stream to make sure no other thread writes same time to support inter-leave capability
                 if (m_channel.isOpen() && m_channel.isActive()) {
-                    doWrite(notification, notificationString);
+                    doWrite(notification, m_handler.encode(document, m_channel.alloc()));
                     if (LOGGER.isDebugEnabled()) {
                         LOGGER.debug("A notification has been pushed to " + m_clientInfo.toString());
                     }
@@ -421,9 +419,13 @@ public class SecureNetconfServerHandler extends SimpleChannelInboundHandler<Stri
             }
         }
 
-        private void doWrite(CompletableMessage message, String responseString) throws InterruptedException {
+        /**
+         * Writes the encoded message as is, the StringEncoder in the pipeline lets ByteBufs through untouched.
+         * The channel takes ownership of the buffer and releases it once it has been written.
+         */
+        private void doWrite(CompletableMessage message, ByteBuf encodedMessage) throws InterruptedException {
             try {
-                ChannelFuture channelFuture = m_channel.writeAndFlush(responseString);
+                ChannelFuture channelFuture = m_channel.writeAndFlush(encodedMessage);
                 channelFuture.addListener(new SecureChannelFutureListener(message, m_clientInfo));
                 if (m_closeSession) {
                     channelFuture.await(CLOSE_RESPONSE_TIME_OUT_SECS, TimeUnit.SECONDS);
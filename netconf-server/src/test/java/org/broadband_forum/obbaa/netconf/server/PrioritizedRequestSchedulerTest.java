@@ -0,0 +1,386 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.broadband_forum.obbaa.netconf.api.client.NetconfClientInfo;
+import org.broadband_forum.obbaa.netconf.api.messages.AbstractNetconfRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.CloseSessionRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.CreateSubscriptionRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.EditConfigRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.GetConfigRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.GetRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.KillSessionRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.NetConfResponse;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcErrorTag;
+import org.broadband_forum.obbaa.netconf.api.messages.NetconfRpcRequest;
+import org.broadband_forum.obbaa.netconf.api.messages.StandardDataStores;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PrioritizedRequestSchedulerTest {
+
+    private PrioritizedRequestScheduler m_scheduler;
+    private List<String> m_executedRequests;
+
+    @Before
+    public void setUp() {
+        m_executedRequests = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @After
+    public void tearDown() {
+        if (m_scheduler != null) {
+            m_scheduler.stop();
+        }
+    }
+
+    @Test
+    public void testRequestsOfASessionAreExecutedInOrder() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(4, 10);
+        m_scheduler.start();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        m_scheduler.scheduleTask(blockingTask("first", 1, false, RequestCategory.NBI, new GetRequest(), firstStarted, releaseFirst));
+        m_scheduler.scheduleTask(countingDownTask("second", 1, false, RequestCategory.NBI, new GetRequest(), secondDone));
+
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        assertFalse(secondDone.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, m_scheduler.getRunningRequests().size());
+        assertEquals(1, m_scheduler.getQueuedRequests().size());
+
+        releaseFirst.countDown();
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("first", "second"), m_executedRequests);
+    }
+
+    @Test
+    public void testReadsOfDifferentSessionsRunConcurrently() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(4, 10);
+        m_scheduler.start();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        m_scheduler.scheduleTask(blockingTask("get-1", 1, false, RequestCategory.NBI, new GetRequest(), bothStarted, release));
+        m_scheduler.scheduleTask(blockingTask("get-2", 2, false, RequestCategory.GUI, new GetConfigRequest().setSourceRunning(),
+                bothStarted, release));
+
+        assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(2, m_scheduler.getRunningRequests().size());
+        release.countDown();
+    }
+
+    @Test
+    public void testWritesOnADatastoreAreSerialized() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(4, 10);
+        m_scheduler.start();
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        CountDownLatch othersDone = new CountDownLatch(2);
+
+        m_scheduler.scheduleTask(blockingTask("write-1", 1, true, RequestCategory.NBI, new EditConfigRequest().setTargetRunning(),
+                writeStarted, releaseWrite));
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+        m_scheduler.scheduleTask(countingDownTask("write-2", 2, true, RequestCategory.NBI, new EditConfigRequest().setTargetRunning(),
+                othersDone));
+        m_scheduler.scheduleTask(countingDownTask("read-3", 3, false, RequestCategory.NBI, new GetConfigRequest().setSourceRunning(),
+                othersDone));
+
+        assertFalse(othersDone.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, m_scheduler.getRunningRequests().size());
+        assertEquals(2, m_scheduler.getQueueDepth(RequestCategory.NBI));
+
+        releaseWrite.countDown();
+        assertTrue(othersDone.await(5, TimeUnit.SECONDS));
+        assertEquals("write-1", m_executedRequests.get(0));
+        assertEquals("write-2", m_executedRequests.get(1));
+        assertEquals("read-3", m_executedRequests.get(2));
+    }
+
+    @Test
+    public void testWritesOnDifferentDatastoresRunConcurrently() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(4, 10);
+        m_scheduler.start();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        m_scheduler.scheduleTask(blockingTask("write-running", 1, true, RequestCategory.NBI,
+                new EditConfigRequest().setTargetRunning(), bothStarted, release));
+        m_scheduler.scheduleTask(blockingTask("write-candidate", 2, true, RequestCategory.NBI,
+                new EditConfigRequest().setTarget(StandardDataStores.CANDIDATE), bothStarted, release));
+
+        assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testDelayedRequestDoesNotHoldAWorker() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(1, 10);
+        m_scheduler.start();
+        CountDownLatch otherSessionDone = new CountDownLatch(1);
+        CountDownLatch sessionDone = new CountDownLatch(2);
+        RequestTask delayed = countingDownTask("delayed", 1, false, RequestCategory.NBI, new GetRequest(), sessionDone);
+        when(delayed.getPendingDelay()).thenReturn(1, 0);
+
+        m_scheduler.scheduleTask(delayed);
+        m_scheduler.scheduleTask(countingDownTask("after-delayed", 1, false, RequestCategory.NBI, new GetRequest(), sessionDone));
+        m_scheduler.scheduleTask(countingDownTask("other-session", 2, false, RequestCategory.NBI, new GetRequest(),
+                otherSessionDone));
+
+        assertTrue(otherSessionDone.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(Arrays.asList("other-session"), m_executedRequests);
+        assertEquals(2, m_scheduler.getQueuedRequests().size());
+
+        assertTrue(sessionDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("other-session", "delayed", "after-delayed"), m_executedRequests);
+        verify(delayed).delayElapsed();
+    }
+
+    @Test
+    public void testRequestsArePickedInPriorityOrder() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(1, 10);
+        CountDownLatch allDone = new CountDownLatch(3);
+        m_scheduler.scheduleTask(countingDownTask("background", 1, false, RequestCategory.BACKGROUND, new GetRequest(), allDone));
+        m_scheduler.scheduleTask(countingDownTask("gui", 2, false, RequestCategory.GUI, new GetRequest(), allDone));
+        m_scheduler.scheduleTask(countingDownTask("nbi", 3, false, RequestCategory.NBI, new GetRequest(), allDone));
+        assertEquals(3, m_scheduler.getQueueDepth());
+
+        m_scheduler.start();
+
+        assertTrue(allDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("nbi", "gui", "background"), m_executedRequests);
+    }
+
+    @Test
+    public void testRequestIsRejectedWhenQueueIsFull() {
+        m_scheduler = new PrioritizedRequestScheduler(1, 1);
+        RequestTask accepted = countingDownTask("accepted", 1, false, RequestCategory.GUI, new GetRequest(), new CountDownLatch(1));
+        RequestTask rejected = countingDownTask("rejected", 2, false, RequestCategory.GUI, new GetRequest(), new CountDownLatch(1));
+        RequestTask otherCategory = countingDownTask("nbi", 3, false, RequestCategory.NBI, new GetRequest(), new CountDownLatch(1));
+
+        m_scheduler.scheduleTask(accepted);
+        m_scheduler.scheduleTask(rejected);
+        m_scheduler.scheduleTask(otherCategory);
+
+        ArgumentCaptor<NetConfResponse> responseCaptor = ArgumentCaptor.forClass(NetConfResponse.class);
+        verify(rejected).sendResponse(responseCaptor.capture());
+        assertFalse(responseCaptor.getValue().isOk());
+        assertEquals(NetconfRpcErrorTag.RESOURCE_DENIED, responseCaptor.getValue().getErrors().get(0).getErrorTag());
+        assertEquals(String.format(PrioritizedRequestScheduler.QUEUE_FULL_ERROR, RequestCategory.GUI),
+                responseCaptor.getValue().getErrors().get(0).getErrorMessage());
+        verify(accepted, never()).sendResponse(any(NetConfResponse.class));
+        verify(otherCategory, never()).sendResponse(any(NetConfResponse.class));
+        assertEquals(1, m_scheduler.getRejectedRequestCount(RequestCategory.GUI));
+        assertEquals(0, m_scheduler.getRejectedRequestCount(RequestCategory.NBI));
+        assertEquals(1, m_scheduler.getQueueDepth(RequestCategory.GUI));
+        assertEquals(2, m_scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void testQueuedRequestsAreFailedWhenStopped() {
+        m_scheduler = new PrioritizedRequestScheduler(1, 10);
+        RequestTask first = countingDownTask("first", 1, false, RequestCategory.GUI, new GetRequest(), new CountDownLatch(1));
+        RequestTask second = countingDownTask("second", 1, true, RequestCategory.NBI, new EditConfigRequest(), new CountDownLatch(1));
+        m_scheduler.scheduleTask(first);
+        m_scheduler.scheduleTask(second);
+
+        m_scheduler.stop();
+
+        for (RequestTask task : Arrays.asList(first, second)) {
+            ArgumentCaptor<NetConfResponse> responseCaptor = ArgumentCaptor.forClass(NetConfResponse.class);
+            verify(task).sendResponse(responseCaptor.capture());
+            assertFalse(responseCaptor.getValue().isOk());
+            assertEquals(NetconfRpcErrorTag.OPERATION_FAILED, responseCaptor.getValue().getErrors().get(0).getErrorTag());
+            assertEquals(PrioritizedRequestScheduler.SCHEDULER_STOPPED_ERROR, responseCaptor.getValue().getErrors().get(0).getErrorMessage());
+        }
+        assertEquals(0, m_scheduler.getQueueDepth());
+        assertTrue(m_scheduler.getQueuedRequests().isEmpty());
+    }
+
+    @Test
+    public void testRequestsNotAccessingADatastoreDoNotWaitForAWrite() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(4, 10);
+        m_scheduler.start();
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        CountDownLatch othersDone = new CountDownLatch(3);
+
+        m_scheduler.scheduleTask(blockingTask("write-1", 1, true, RequestCategory.NBI, new EditConfigRequest().setTargetRunning(),
+                writeStarted, releaseWrite));
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+        m_scheduler.scheduleTask(countingDownTask("close-2", 2, true, RequestCategory.NBI, new CloseSessionRequest(), othersDone));
+        m_scheduler.scheduleTask(countingDownTask("kill-3", 3, true, RequestCategory.NBI, new KillSessionRequest(), othersDone));
+        m_scheduler.scheduleTask(countingDownTask("subscribe-4", 4, true, RequestCategory.NBI, new CreateSubscriptionRequest(),
+                othersDone));
+
+        assertTrue(othersDone.await(5, TimeUnit.SECONDS));
+        assertTrue(m_executedRequests.containsAll(Arrays.asList("close-2", "kill-3", "subscribe-4")));
+        releaseWrite.countDown();
+    }
+
+    @Test
+    public void testRejectedRequestIsAnsweredAndReleasesTheSession() {
+        ExecutorService executor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException("busy")).when(executor).execute(any(Runnable.class));
+        m_scheduler = new PrioritizedRequestScheduler(1, 10) {
+            @Override
+            ExecutorService newExecutor() {
+                return executor;
+            }
+        };
+        RequestTask first = countingDownTask("first", 1, true, RequestCategory.NBI, new EditConfigRequest().setTargetRunning(),
+                new CountDownLatch(1));
+        RequestTask second = countingDownTask("second", 1, false, RequestCategory.NBI, new GetRequest(), new CountDownLatch(1));
+        m_scheduler.scheduleTask(first);
+        m_scheduler.scheduleTask(second);
+
+        m_scheduler.start();
+
+        for (RequestTask task : Arrays.asList(first, second)) {
+            ArgumentCaptor<NetConfResponse> responseCaptor = ArgumentCaptor.forClass(NetConfResponse.class);
+            verify(task).sendResponse(responseCaptor.capture());
+            assertFalse(responseCaptor.getValue().isOk());
+            assertEquals(NetconfRpcErrorTag.RESOURCE_DENIED, responseCaptor.getValue().getErrors().get(0).getErrorTag());
+            assertEquals(PrioritizedRequestScheduler.EXECUTION_REJECTED_ERROR,
+                    responseCaptor.getValue().getErrors().get(0).getErrorMessage());
+            verify(task, never()).run();
+        }
+        assertEquals(2, m_scheduler.getRejectedRequestCount(RequestCategory.NBI));
+        assertEquals(0, m_scheduler.getQueueDepth());
+        assertTrue(m_scheduler.getRunningRequests().isEmpty());
+    }
+
+    @Test
+    public void testGetDatastoreAccess() {
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.READ,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, false, null, new GetRequest())));
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.READ,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, false, null, new GetConfigRequest().setSourceRunning())));
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.WRITE,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, true, null, new EditConfigRequest().setTargetRunning())));
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.WRITE,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, true, null, new NetconfRpcRequest())));
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.NONE,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, true, null, new CloseSessionRequest())));
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.NONE,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, true, null, new KillSessionRequest())));
+        assertEquals(PrioritizedRequestScheduler.DatastoreAccess.NONE,
+                PrioritizedRequestScheduler.getDatastoreAccess(task(1, true, null, new CreateSubscriptionRequest())));
+    }
+
+    @Test
+    public void testMetricsOfExecutedRequests() throws Exception {
+        m_scheduler = new PrioritizedRequestScheduler(2, 10);
+        m_scheduler.start();
+        CountDownLatch allDone = new CountDownLatch(2);
+        RequestTask first = countingDownTask("first", 1, false, RequestCategory.GUI, new GetRequest(), allDone);
+        RequestTask second = countingDownTask("second", 2, false, RequestCategory.GUI, new GetRequest(), allDone);
+        when(first.getWaitingTimeInQueue()).thenReturn(10L);
+        when(second.getWaitingTimeInQueue()).thenReturn(30L);
+
+        m_scheduler.scheduleTask(first);
+        m_scheduler.scheduleTask(second);
+        assertTrue(allDone.await(5, TimeUnit.SECONDS));
+
+        waitForNoRunningRequests();
+        assertEquals(2, m_scheduler.getExecutedRequestCount(RequestCategory.GUI));
+        assertEquals(0, m_scheduler.getExecutedRequestCount(RequestCategory.NBI));
+        assertEquals(20, m_scheduler.getAverageWaitingTimeInQueue(RequestCategory.GUI));
+        assertEquals(30, m_scheduler.getMaxWaitingTimeInQueue(RequestCategory.GUI));
+        verify(first).enqueued();
+        verify(first).setQueuedTime(any(Long.class));
+    }
+
+    @Test
+    public void testGetDatastore() {
+        assertEquals(StandardDataStores.CANDIDATE, PrioritizedRequestScheduler.getDatastore(
+                task(1, true, null, new EditConfigRequest().setTarget(StandardDataStores.CANDIDATE))));
+        assertEquals(StandardDataStores.RUNNING, PrioritizedRequestScheduler.getDatastore(
+                task(1, false, null, new GetConfigRequest().setSourceRunning())));
+        assertEquals(StandardDataStores.RUNNING, PrioritizedRequestScheduler.getDatastore(task(1, false, null, new GetRequest())));
+    }
+
+    @Test
+    public void testGetCategoryDefaultsToNbi() {
+        assertEquals(RequestCategory.NBI, PrioritizedRequestScheduler.getCategory(task(1, false, null, new GetRequest())));
+        assertEquals(RequestCategory.GUI, PrioritizedRequestScheduler.getCategory(
+                task(1, false, RequestCategory.GUI, new GetRequest())));
+    }
+
+    private void waitForNoRunningRequests() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!m_scheduler.getRunningRequests().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private RequestTask blockingTask(String name, int sessionId, boolean write, RequestCategory category,
+                                     AbstractNetconfRequest request, CountDownLatch started, CountDownLatch release) {
+        RequestTask task = task(sessionId, write, category, request);
+        doAnswer(invocation -> {
+            m_executedRequests.add(name);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(task).run();
+        return task;
+    }
+
+    private RequestTask countingDownTask(String name, int sessionId, boolean write, RequestCategory category,
+                                         AbstractNetconfRequest request, CountDownLatch done) {
+        RequestTask task = task(sessionId, write, category, request);
+        doAnswer(invocation -> {
+            m_executedRequests.add(name);
+            done.countDown();
+            return null;
+        }).when(task).run();
+        return task;
+    }
+
+    private RequestTask task(int sessionId, boolean write, RequestCategory category, AbstractNetconfRequest request) {
+        RequestTask task = mock(RequestTask.class);
+        request.setMessageId(String.valueOf(sessionId));
+        when(task.getRequest()).thenReturn(request);
+        when(task.isWrite()).thenReturn(write);
+        when(task.getClientInfo()).thenReturn(new NetconfClientInfo("ut", sessionId));
+        when(task.getRequestContext()).thenReturn(category == null ? null : new RequestContext(category));
+        return task;
+    }
+}
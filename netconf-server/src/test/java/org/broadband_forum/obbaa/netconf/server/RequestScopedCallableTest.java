@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Broadband Forum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.broadband_forum.obbaa.netconf.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestScopedCallableTest {
+
+    private ExecutorService m_executor;
+
+    @Before
+    public void setUp() {
+        m_executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        m_executor.shutdownNow();
+        RequestContext.reset();
+        RequestScope.resetScope();
+    }
+
+    @Test
+    public void testCallerContextButNotScopeIsPropagatedToTheExecutingThread() throws Exception {
+        UserContext loggedInUser = new UserContext("admin", "session1");
+        RequestContext.setLoggedInUserCtxtTL(loggedInUser);
+        RequestContext.setRequestCategoryTL(RequestCategory.NBI);
+        RequestContext.enableIsByPass();
+        RequestScope callerScope = RequestScope.getCurrentScope();
+        callerScope.putInCache("key", "value");
+
+        RequestScopedCallable<Object[]> callable = new RequestScopedCallable<>(() -> new Object[] {RequestScope.getCurrentScope(),
+                RequestContext.getLoggedInUserCtxtTL(), RequestContext.getRequestCategoryTL(), RequestContext.isByPassed(),
+                RequestScope.getCurrentScope().getFromCache("key")});
+        Object[] seen = m_executor.submit(callable).get();
+        assertNotSame(callerScope, seen[0]);
+        assertNull(seen[4]);
+        assertEquals(loggedInUser, seen[1]);
+        assertEquals(RequestCategory.NBI, seen[2]);
+        assertTrue((Boolean) seen[3]);
+
+        Object[] afterwards = m_executor.submit(() -> new Object[] {RequestScope.getCurrentScope(), RequestContext.getLoggedInUserCtxtTL(),
+                RequestContext.isByPassed()}).get();
+        assertNotSame(callerScope, afterwards[0]);
+        assertNotSame(seen[0], afterwards[0]);
+        assertNull(afterwards[1]);
+        assertFalse((Boolean) afterwards[2]);
+    }
+
+    @Test
+    public void testCallerContextIsKeptWhenRunOnTheCallerThread() throws Exception {
+        RequestScope callerScope = RequestScope.getCurrentScope();
+        UserContext loggedInUser = new UserContext("admin", "session1");
+        callerScope.putInCache("key", "value");
+        RequestScopedCallable<Object> callable = new RequestScopedCallable<>(() -> RequestScope.getCurrentScope().getFromCache("key"));
+        RequestContext.setLoggedInUserCtxtTL(loggedInUser);
+
+        assertNull(callable.call());
+        assertSame(callerScope, RequestScope.getCurrentScope());
+        assertEquals("value", RequestScope.getCurrentScope().getFromCache("key"));
+        assertEquals(loggedInUser, RequestContext.getLoggedInUserCtxtTL());
+    }
+}
@@ -147,6 +147,17 @@ public class RequestTaskTest {
         requestTask.doExecuteRequest();
         assertTrue(new Long(0) < requestTask.getWaitingTimeInQueue());
     }
+    @Test
+    public void testPendingDelay() {
+        RequestTask requestTask = new RequestTask(m_clientInfo, m_editConfigRequest, m_responseChannel, m_serverMessageListener,
+                m_netconfLogger, m_ncUserActivityLogHandler, m_ualLogger);
+        assertEquals(0, requestTask.getPendingDelay());
+        m_editConfigRequest.setWithDelay(2);
+        assertEquals(2, requestTask.getPendingDelay());
+        requestTask.delayElapsed();
+        assertEquals(0, requestTask.getPendingDelay());
+    }
+
     @Test
     public void testEnqueueTimerNotSet() throws NetconfMessageBuilderException, InterruptedException {
         RequestTask requestTask = new RequestTask(m_clientInfo, m_editConfigRequest, m_responseChannel, m_serverMessageListener,
@@ -19,7 +19,6 @@ package org.broadband_forum.obbaa.netconf.server.tls;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
-import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -48,6 +47,8 @@ import org.mockito.MockitoAnnotations;
 
 import com.google.common.base.Splitter;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -97,37 +98,38 @@ public class SecureNetconfServerHandlerTest extends TestCase {
         m_msgHandler.channelActive(m_context);
         when(m_channel.close()).thenReturn(m_future);
         when(m_context.pipeline()).thenReturn(m_pipeline);
+        when(m_channel.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
     }
 
     public void testInvalidXmlRequest() throws Exception {
         m_msgHandler.channelRead0(m_context, HELLO_10);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         try {
             m_msgHandler.channelRead0(m_context, "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"1001\"> <get></rpc>]]>]]>");
         } catch (NetconfMessageBuilderException e){
             assertEquals("Error while converting string to xml document" ,e.getCause().getMessage());
         }
-        verify(m_channel ,never()).writeAndFlush(anyString());
+        verify(m_channel ,never()).writeAndFlush(any(ByteBuf.class));
         assertTrue(m_msgHandler.getByteBuf().refCnt() > 0);
     }
 
     public void testCloseSessionRequest() throws Exception {
         m_msgHandler.channelRead0(m_context, HELLO_10);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         NetConfResponse response = new NetConfResponse();
         response.setMessageId("1");
         response.setOk(true);
         m_msgHandler.getResponseChannel().sendResponse(response, DocumentToPojoTransformer.getCloseSession(
                 DocumentUtils.stringToDocument("<rpc message-id=\"2\" " +
                         "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><close-session/></rpc>")));
-        verify(m_channel).writeAndFlush(anyString());
+        verify(m_channel).writeAndFlush(any(ByteBuf.class));
         verify(m_writeFuture).await(10, TimeUnit.SECONDS);
         assertEquals(0, m_msgHandler.getByteBuf().refCnt());
     }
 
     public void testSendResponse_exception() throws Exception {
         m_msgHandler.channelRead0(m_context, HELLO_10);
-        when(m_channel.writeAndFlush(anyString())).thenThrow(new RuntimeException("closed"));
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenThrow(new RuntimeException("closed"));
         NetConfResponse response = new NetConfResponse();
         response.setMessageId("1");
         response.setOk(true);
@@ -141,19 +143,19 @@ public class SecureNetconfServerHandlerTest extends TestCase {
 
     public void testSendResponseToGetRequest() throws Exception {
         m_msgHandler.channelRead0(m_context, HELLO_10);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         NetConfResponse response = new NetConfResponse();
         response.setMessageId("1");
         m_msgHandler.getResponseChannel().sendResponse(response, DocumentToPojoTransformer.getGet(
                 DocumentUtils.stringToDocument("<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" " +
                         "message-id=\"1001\"> <get/> </rpc>")));
-        verify(m_channel).writeAndFlush(anyString());
+        verify(m_channel).writeAndFlush(any(ByteBuf.class));
         verify(m_writeFuture, never()).await(anyInt(), anyObject());
     }
 
     public void testValidXmlRequest() throws Exception {
         m_msgHandler.channelRead0(m_context,HELLO_10);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         ArgumentCaptor<NetconfClientInfo> clientCaptor = ArgumentCaptor.forClass(NetconfClientInfo.class);
         m_msgHandler.channelRead0(m_context,
                "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"1001\"> <get> </get></rpc>]]>]]>");
@@ -162,7 +164,7 @@ public class SecureNetconfServerHandlerTest extends TestCase {
 
     public void testValid2XmlRequests() throws Exception {
         m_msgHandler.channelRead0(m_context,HELLO_10);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         ArgumentCaptor<NetconfClientInfo> clientCaptor = ArgumentCaptor.forClass(NetconfClientInfo.class);
         m_msgHandler.channelRead0(m_context,
                (GET_REQ + "\n\n       \n" +GET_REQ));
@@ -170,7 +172,7 @@ public class SecureNetconfServerHandlerTest extends TestCase {
     }
 
     public void testValidXmlsBeingSentInPackets1() throws Exception {
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         ArgumentCaptor<NetconfClientInfo> clientCaptor = ArgumentCaptor.forClass(NetconfClientInfo.class);
         sendMessageInPackets(HELLO_10 + GET_REQ + GET_REQ);
         verify(m_serverMessageHandler, times(2)).processRequest(clientCaptor.capture(), any(GetRequest.class), any(ResponseChannel.class));
@@ -205,7 +207,7 @@ public class SecureNetconfServerHandlerTest extends TestCase {
                 " </hello>\n" +
                 "]]>]]>";
         m_msgHandler.channelRead0(m_context, hello11);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
         verify(m_channel).close();
     }
 
@@ -228,7 +230,7 @@ public class SecureNetconfServerHandlerTest extends TestCase {
                 " </hello>\n" +
                 "]]>]]>";
         m_msgHandler.channelRead0(m_context, hello11);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
 
 
         //chunk size is wrong -> Throws some other exception
@@ -258,7 +260,7 @@ public class SecureNetconfServerHandlerTest extends TestCase {
                 " </hello>\n" +
                 "]]>]]>";
         m_msgHandler.channelRead0(m_context, hello11);
-        when(m_channel.writeAndFlush(anyString())).thenReturn(m_writeFuture);
+        when(m_channel.writeAndFlush(any(ByteBuf.class))).thenReturn(m_writeFuture);
 
         String chunkedGet = "\n#86\n<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"30\">\n" +
                 "    <get>\n" + // no closing tag for get
@@ -17,18 +17,19 @@
 package org.broadband_forum.obbaa.netconf.stack;
 
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class DefaultNcNotificationCounterService implements NcNotificationCounterService {
     private ConcurrentHashMap<Integer, AtomicLong> m_outNotificationsMap = new ConcurrentHashMap<>();
-    private Map<String,AtomicLong> m_numberOfNotificationsForUsers = new HashMap<>();
+    private Map<String,AtomicLong> m_numberOfNotificationsForUsers = new ConcurrentHashMap<>();
+    // a concurrent map cannot hold a null user name, the notifications of sessions without a user are counted apart
+    private AtomicLong m_numberOfNotificationsWithoutUser = new AtomicLong(0);
 
     @Override
     public long getNumberOfNotifications() {
-        long result = 0l;
+        long result = m_numberOfNotificationsWithoutUser.get();
         for(AtomicLong count :m_numberOfNotificationsForUsers.values()) {
             result+=count.get();
         }
@@ -41,10 +42,11 @@ public class DefaultNcNotificationCounterService implements NcNotificationCounte
 
     @Override
     public void increaseNumberOfNotificationsForUsers(String userName) {
-        if(m_numberOfNotificationsForUsers.get(userName) == null) {
-            m_numberOfNotificationsForUsers.put(userName, new AtomicLong(0));
+        if (userName == null) {
+            m_numberOfNotificationsWithoutUser.incrementAndGet();
+            return;
         }
-        m_numberOfNotificationsForUsers.get(userName).incrementAndGet();
+        m_numberOfNotificationsForUsers.computeIfAbsent(userName, user -> new AtomicLong(0)).incrementAndGet();
     }
 
     @Override
@@ -61,7 +63,6 @@ public class DefaultNcNotificationCounterService implements NcNotificationCounte
 
     @Override
     public void increaseOutNotifications(Integer sessionId) {
-        ensureEntryExistsForSession(sessionId);
-        m_outNotificationsMap.get(sessionId).incrementAndGet();
+        m_outNotificationsMap.computeIfAbsent(sessionId, session -> new AtomicLong(0)).incrementAndGet();
     }
 }
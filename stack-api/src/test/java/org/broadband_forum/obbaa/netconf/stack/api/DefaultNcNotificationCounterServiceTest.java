@@ -51,4 +51,12 @@ public class DefaultNcNotificationCounterServiceTest {
         m_counterService.increaseOutNotifications(20);
         assertEquals(2L, m_counterService.getOutNotifications(20));
     }
+
+    @Test
+    public void testNotificationsWithoutUserAreCounted(){
+        m_counterService.increaseNumberOfNotificationsForUsers(null);
+        m_counterService.increaseNumberOfNotificationsForUsers("adminuser");
+        assertEquals(2L, m_counterService.getNumberOfNotifications());
+        assertEquals(1, m_counterService.getNumberOfNotificationsMapForUsers().size());
+    }
 }